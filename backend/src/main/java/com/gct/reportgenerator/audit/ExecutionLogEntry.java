@@ -0,0 +1,29 @@
+package com.gct.reportgenerator.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * 报表执行日志条目（对应execution_logs表的一行）
+ *
+ * @param userId       执行用户ID
+ * @param reportId     报表ID
+ * @param paramsJson   执行参数（JSON），无参数时为空
+ * @param executeTime  执行开始时间
+ * @param success      是否执行成功
+ * @param errorMessage 失败原因，成功时为空
+ * @param durationMs   执行耗时（毫秒）
+ * @param rowCount     返回行数
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public record ExecutionLogEntry(
+        Long userId,
+        Long reportId,
+        String paramsJson,
+        LocalDateTime executeTime,
+        boolean success,
+        String errorMessage,
+        long durationMs,
+        long rowCount
+) {
+}
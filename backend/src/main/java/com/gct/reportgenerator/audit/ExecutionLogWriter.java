@@ -0,0 +1,268 @@
+package com.gct.reportgenerator.audit;
+
+import com.gct.reportgenerator.config.AuditProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 执行日志异步批量写入器
+ *
+ * 请求线程只把日志放入有界环形缓冲区（{@link ArrayBlockingQueue}）后立即返回，不等待数据库；
+ * 后台线程攒够batchSize条或等待超过flushInterval后，用一条多行INSERT在一个事务中写入。
+ *
+ * 溢出策略：缓冲区写满说明数据库持续跟不上，此时丢弃新日志并计入gct.audit.execution-log.dropped，
+ * 不阻塞报表请求。应用关闭时先停止接收，再把缓冲区中剩余的日志全部写完。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class ExecutionLogWriter implements SmartLifecycle {
+
+    private static final String INSERT_PREFIX = "INSERT INTO execution_logs "
+            + "(user_id, report_id, params_json, execute_time, success, error_message, execution_duration_ms, "
+            + "row_count, created_at, updated_at) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMNS = 10;
+
+    /**
+     * 单次等待的上限，保证停止信号能被及时发现
+     */
+    private static final long MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<ExecutionLogEntry> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long shutdownTimeoutMillis;
+
+    /**
+     * 满批次的INSERT语句，避免每批重新拼接
+     */
+    private final String fullBatchSql;
+
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+    private final AtomicLong lastDropWarning = new AtomicLong();
+
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private Thread worker;
+
+    public ExecutionLogWriter(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              AuditProperties auditProperties,
+                              MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.buffer = new ArrayBlockingQueue<>(auditProperties.getQueueCapacity());
+        this.batchSize = auditProperties.getBatchSize();
+        this.flushIntervalNanos = auditProperties.getFlushInterval().toNanos();
+        this.shutdownTimeoutMillis = auditProperties.getShutdownTimeout().toMillis();
+        this.fullBatchSql = insertSql(batchSize);
+
+        this.writtenCounter = Counter.builder("gct.audit.execution-log.written")
+                .description("已写入的执行日志数")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("gct.audit.execution-log.dropped")
+                .description("因缓冲区已满被丢弃的执行日志数")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("gct.audit.execution-log.failed")
+                .description("因写入失败丢失的执行日志数")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("gct.audit.execution-log.batch")
+                .description("执行日志批量写入耗时")
+                .register(meterRegistry);
+        Gauge.builder("gct.audit.execution-log.pending", buffer, BlockingQueue::size)
+                .description("等待写入的执行日志数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 提交一条执行日志（不阻塞）
+     *
+     * @param entry 执行日志
+     * @return 是否已放入缓冲区；缓冲区已满、已停止或日志缺少用户/报表时返回false
+     */
+    public boolean append(ExecutionLogEntry entry) {
+        if (entry.userId() == null || entry.reportId() == null) {
+            // 缺少非空字段会让整批INSERT失败
+            log.warn("执行日志缺少用户或报表ID，已忽略: {}", entry);
+            return false;
+        }
+        if (accepting && buffer.offer(entry)) {
+            return true;
+        }
+        droppedCounter.increment();
+        warnDropped();
+        return false;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        accepting = true;
+        running = true;
+        worker = new Thread(this::drainLoop, "execution-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread current;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            accepting = false;
+            running = false;
+            current = worker;
+        }
+        try {
+            current.join(shutdownTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (current.isAlive()) {
+            log.warn("执行日志写入器未能在{}ms内写完，剩余{}条", shutdownTimeoutMillis, buffer.size());
+            current.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 在Web服务器停止之后才停止（处理中的请求仍可提交日志），数据源在所有生命周期组件停止后才关闭
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drainLoop() {
+        List<ExecutionLogEntry> batch = new ArrayList<>(batchSize);
+        try {
+            while (running) {
+                ExecutionLogEntry first = buffer.poll(MAX_WAIT_NANOS, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch);
+                flush(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // 停止后写完缓冲区中的剩余日志
+        while (!Thread.currentThread().isInterrupted() && buffer.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+        }
+    }
+
+    /**
+     * 攒够一批或等待超过flushInterval
+     */
+    private void fillBatch(List<ExecutionLogEntry> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (running && batch.size() < batchSize) {
+            if (buffer.drainTo(batch, batchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            ExecutionLogEntry next = buffer.poll(Math.min(remaining, MAX_WAIT_NANOS), TimeUnit.NANOSECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+    }
+
+    private void flush(List<ExecutionLogEntry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        int size = batch.size();
+        try {
+            batchTimer.record(() -> transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.update(size == batchSize ? fullBatchSql : insertSql(size), toArgs(batch))));
+            writtenCounter.increment(size);
+        } catch (RuntimeException e) {
+            failedCounter.increment(size);
+            log.error("执行日志批量写入失败, 丢失{}条", size, e);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW_PLACEHOLDER.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+        }
+        return sql.toString();
+    }
+
+    private static Object[] toArgs(List<ExecutionLogEntry> batch) {
+        Object[] args = new Object[batch.size() * COLUMNS];
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        int i = 0;
+        for (ExecutionLogEntry entry : batch) {
+            args[i++] = entry.userId();
+            args[i++] = entry.reportId();
+            args[i++] = entry.paramsJson();
+            args[i++] = Timestamp.valueOf(entry.executeTime());
+            args[i++] = entry.success();
+            args[i++] = entry.errorMessage();
+            args[i++] = entry.durationMs();
+            args[i++] = entry.rowCount();
+            args[i++] = now;
+            args[i++] = now;
+        }
+        return args;
+    }
+
+    /**
+     * 丢弃告警每分钟最多输出一次，避免日志风暴
+     */
+    private void warnDropped() {
+        long now = System.currentTimeMillis();
+        long last = lastDropWarning.get();
+        if (now - last >= 60_000 && lastDropWarning.compareAndSet(last, now)) {
+            log.warn("执行日志缓冲区已满或写入器已停止，日志被丢弃（累计{}条）", (long) droppedCounter.count());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+/**
+ * Audit层 - 执行审计
+ * 
+ * 职责:
+ * - 记录报表执行日志（execution_logs）
+ * - 异步批量写入，审计不占用请求线程的数据库事务
+ * 
+ * @author GCT Team
+ * @since 1.0.0
+ */
+package com.gct.reportgenerator.audit;
@@ -0,0 +1,288 @@
+package com.gct.reportgenerator.cache;
+
+import com.gct.reportgenerator.config.ReportCacheProperties;
+import com.gct.reportgenerator.entity.Report;
+import com.gct.reportgenerator.event.ReportChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 导出文件缓存（磁盘）
+ *
+ * 以 {@link ExportArtifactKey#digest()} 为文件名保存渲染好的导出文件，相同报表版本、参数和格式的导出
+ * 在有效期内直接从文件传输，不再执行查询和渲染。有效期与结果缓存相同（报表的cache_ttl_seconds或全局默认值），
+ * 为0的报表不缓存。总大小限制在磁盘预算内，超出时按最近最少使用（LRU）淘汰。
+ * 报表、参数或列配置变更时立即从索引中删除该报表的全部条目，文件由定时清理删除。
+ * 索引只保存在内存中，启动时清空缓存目录。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class ExportArtifactCache {
+
+    private static final String PART_SUFFIX = ".part";
+
+    private final Path directory;
+    private final long diskBudget;
+    private final Duration defaultTtl;
+    private final Clock clock;
+
+    /**
+     * 按访问顺序排列，最久未访问的在前
+     */
+    private final LinkedHashMap<String, Artifact> index = new LinkedHashMap<>(16, 0.75f, true);
+    private final Queue<Path> pendingDeletes = new ConcurrentLinkedQueue<>();
+    private long totalBytes;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    @Autowired
+    public ExportArtifactCache(ReportCacheProperties reportCacheProperties, MeterRegistry meterRegistry) {
+        this(reportCacheProperties, meterRegistry, Clock.systemUTC());
+    }
+
+    ExportArtifactCache(ReportCacheProperties reportCacheProperties, MeterRegistry meterRegistry, Clock clock) {
+        this.directory = reportCacheProperties.getExportDirectory().toAbsolutePath().normalize();
+        this.diskBudget = reportCacheProperties.getExportDiskBudget().toBytes();
+        this.defaultTtl = reportCacheProperties.getResultDefaultTtl();
+        this.clock = clock;
+        prepareDirectory();
+
+        this.hitCounter = Counter.builder("gct.export.artifact-cache.requests")
+                .tag("result", "hit")
+                .description("导出文件缓存命中次数")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("gct.export.artifact-cache.requests")
+                .tag("result", "miss")
+                .description("导出文件缓存未命中次数")
+                .register(meterRegistry);
+        this.evictionCounter = Counter.builder("gct.export.artifact-cache.evictions")
+                .description("超出磁盘预算被淘汰的导出文件数")
+                .register(meterRegistry);
+        Gauge.builder("gct.export.artifact-cache.bytes", this, ExportArtifactCache::totalBytes)
+                .description("导出文件缓存占用的磁盘空间")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 打开缓存的导出文件
+     *
+     * 在索引锁内打开文件，之后即使条目被淘汰，已打开的通道仍可读完整个文件。
+     *
+     * @param key 缓存键
+     * @return 已打开的文件（调用方负责关闭），未命中或已过期时为空
+     */
+    public synchronized Optional<CachedArtifact> open(ExportArtifactKey key) {
+        String digest = key.digest();
+        Artifact artifact = index.get(digest);
+        if (artifact != null && artifact.expiresAt().isAfter(clock.instant())) {
+            try {
+                FileChannel channel = FileChannel.open(artifact.file(), StandardOpenOption.READ);
+                hitCounter.increment();
+                return Optional.of(new CachedArtifact(channel, artifact.size(), artifact.rows()));
+            } catch (NoSuchFileException e) {
+                log.warn("导出缓存文件已被删除: {}", artifact.file());
+            } catch (IOException e) {
+                log.warn("打开导出缓存文件失败: {}", artifact.file(), e);
+            }
+        }
+        if (artifact != null) {
+            remove(digest);
+        }
+        missCounter.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * 为渲染中的导出文件分配临时路径（与缓存文件在同一目录，渲染完成后原子重命名）
+     *
+     * @param key 缓存键
+     * @return 临时文件路径
+     */
+    public Path newTempFile(ExportArtifactKey key) {
+        return directory.resolve(key.digest() + "." + UUID.randomUUID() + PART_SUFFIX);
+    }
+
+    /**
+     * 缓存渲染完成的导出文件；报表未启用缓存或文件超过磁盘预算时删除该文件
+     *
+     * @param key      缓存键
+     * @param report   报表
+     * @param rendered {@link #newTempFile} 分配的临时文件
+     * @param rows     导出行数
+     */
+    public void put(ExportArtifactKey key, Report report, Path rendered, long rows) {
+        Duration ttl = ttlOf(report);
+        try {
+            long size = Files.size(rendered);
+            if (ttl.isZero() || ttl.isNegative() || size > diskBudget) {
+                Files.deleteIfExists(rendered);
+                return;
+            }
+            String digest = key.digest();
+            Path file = directory.resolve(key.format().fileName(digest, key.gzip()));
+            synchronized (this) {
+                Files.move(rendered, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Artifact previous = index.put(digest,
+                        new Artifact(key.reportId(), file, size, rows, clock.instant().plus(ttl)));
+                totalBytes += size - (previous != null ? previous.size() : 0);
+                evictOverBudget();
+            }
+        } catch (IOException e) {
+            log.warn("缓存导出文件失败, reportId: {}", key.reportId(), e);
+            deleteQuietly(rendered);
+        }
+    }
+
+    /**
+     * 使报表的全部缓存文件失效（文件由定时清理删除）
+     *
+     * @param reportId 报表ID
+     */
+    public synchronized void invalidate(Long reportId) {
+        index.entrySet().removeIf(entry -> {
+            if (!entry.getValue().reportId().equals(reportId)) {
+                return false;
+            }
+            totalBytes -= entry.getValue().size();
+            pendingDeletes.add(entry.getValue().file());
+            return true;
+        });
+    }
+
+    @EventListener
+    public void onReportChanged(ReportChangedEvent event) {
+        invalidate(event.reportId());
+        log.debug("导出文件缓存已失效, reportId: {}", event.reportId());
+    }
+
+    /**
+     * 删除失效和过期的缓存文件
+     */
+    @Scheduled(fixedDelayString = "${gct.report-cache.export-cleanup-interval:1m}")
+    public synchronized void cleanUp() {
+        Instant now = clock.instant();
+        index.entrySet().removeIf(entry -> {
+            if (entry.getValue().expiresAt().isAfter(now)) {
+                return false;
+            }
+            totalBytes -= entry.getValue().size();
+            pendingDeletes.add(entry.getValue().file());
+            return true;
+        });
+        Path file;
+        while ((file = pendingDeletes.poll()) != null) {
+            Path pending = file;
+            // 失效后同一内容地址可能已重新缓存
+            if (index.values().stream().noneMatch(artifact -> artifact.file().equals(pending))) {
+                deleteQuietly(pending);
+            }
+        }
+    }
+
+    /**
+     * @return 缓存文件总字节数
+     */
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    private void remove(String digest) {
+        Artifact artifact = index.remove(digest);
+        if (artifact != null) {
+            totalBytes -= artifact.size();
+            deleteQuietly(artifact.file());
+        }
+    }
+
+    private void evictOverBudget() {
+        Iterator<Map.Entry<String, Artifact>> eldest = index.entrySet().iterator();
+        while (totalBytes > diskBudget && eldest.hasNext()) {
+            Artifact artifact = eldest.next().getValue();
+            eldest.remove();
+            totalBytes -= artifact.size();
+            deleteQuietly(artifact.file());
+            evictionCounter.increment();
+        }
+    }
+
+    private Duration ttlOf(Report report) {
+        Integer seconds = report.getCacheTtlSeconds();
+        return seconds != null ? Duration.ofSeconds(seconds) : defaultTtl;
+    }
+
+    private void prepareDirectory() {
+        try {
+            Files.createDirectories(directory);
+            // 索引不跨进程保存，上次运行遗留的文件无法再命中
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("无法创建导出缓存目录: " + directory, e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除导出缓存文件失败: {}", file, e);
+        }
+    }
+
+    /**
+     * 已打开的缓存文件
+     *
+     * @param channel 只读文件通道
+     * @param size    文件大小
+     * @param rows    导出行数
+     */
+    public record CachedArtifact(FileChannel channel, long size, long rows) {
+    }
+
+    /**
+     * 索引条目
+     *
+     * @param reportId  报表ID
+     * @param file      缓存文件
+     * @param size      文件大小
+     * @param rows      导出行数
+     * @param expiresAt 过期时间
+     */
+    private record Artifact(Long reportId, Path file, long size, long rows, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.gct.reportgenerator.cache;
+
+import com.gct.reportgenerator.execution.ReportDefinition;
+import com.gct.reportgenerator.export.ExportFormat;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * 导出文件缓存键：报表ID + 报表版本 + 规范化参数 + 导出格式
+ *
+ * 这些字段决定导出文件的内容，{@link #digest()} 作为缓存文件名（内容寻址），相同请求得到同一个文件。
+ *
+ * @param reportId  报表ID
+ * @param updatedAt 报表最后更新时间
+ * @param revision  报表定义加载序号
+ * @param params    规范化后的参数（有序映射）
+ * @param format    导出格式
+ * @param gzip      是否gzip压缩
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public record ExportArtifactKey(Long reportId, LocalDateTime updatedAt, long revision, Map<String, Object> params,
+                                ExportFormat format, boolean gzip) {
+
+    /**
+     * 以报表当前定义和规范化参数构造缓存键
+     *
+     * @param definition 报表定义
+     * @param params     规范化参数
+     * @param format     导出格式
+     * @param gzip       是否gzip压缩
+     * @return 缓存键
+     */
+    public static ExportArtifactKey of(ReportDefinition definition, Map<String, Object> params,
+                                       ExportFormat format, boolean gzip) {
+        return new ExportArtifactKey(definition.reportId(), definition.updatedAt(), definition.revision(), params,
+                format, gzip);
+    }
+
+    /**
+     * 计算内容地址：各字段带长度前缀拼接后取SHA-256，参数值带类型名，避免不同参数拼接出相同的文本
+     *
+     * @return 64位十六进制摘要
+     */
+    public String digest() {
+        StringBuilder text = new StringBuilder(128);
+        append(text, String.valueOf(reportId));
+        append(text, String.valueOf(updatedAt));
+        append(text, Long.toString(revision));
+        append(text, format.name());
+        append(text, Boolean.toString(gzip));
+        params.forEach((name, value) -> {
+            append(text, name);
+            append(text, value == null ? "null" : value.getClass().getSimpleName());
+            append(text, String.valueOf(value));
+        });
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void append(StringBuilder text, String field) {
+        text.append(field.length()).append(':').append(field);
+    }
+}
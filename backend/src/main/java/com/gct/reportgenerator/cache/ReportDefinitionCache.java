@@ -0,0 +1,258 @@
+package com.gct.reportgenerator.cache;
+
+import com.gct.reportgenerator.config.ReportCacheProperties;
+import com.gct.reportgenerator.entity.User;
+import com.gct.reportgenerator.event.ReportChangedEvent;
+import com.gct.reportgenerator.execution.ReportDefinition;
+import com.gct.reportgenerator.repository.ReportRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 报表定义缓存（报表目录）
+ *
+ * 在内存中保存全部报表的 {@link ReportDefinition} 快照，目录列表和报表执行只读内存：
+ * <ul>
+ *   <li>首次访问时由 {@link ReportMetadataLoader} 以固定数量的集合查询一次加载全部报表（启动时不访问报表表）</li>
+ *   <li>收到 {@link ReportChangedEvent} 时把报表标记为过期，下次访问时批量重新加载</li>
+ *   <li>定时比较reports.updated_at，只重新加载被直接修改（未经过实体回调）的报表，并移除已删除的报表</li>
+ *   <li>查找目录中没有的报表时按需加载一次（加载之后新建的报表）；仍不存在的ID在短时间内记为不存在，
+ *       重复查找不再访问数据库</li>
+ * </ul>
+ * 报表加载或移除时同步增量更新 {@link ReportPermissionIndex}，权限判断和按角色列出报表都不访问数据库。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class ReportDefinitionCache {
+
+    private static final long ABSENT_MAXIMUM_SIZE = 10_000;
+
+    private final ReportMetadataLoader reportMetadataLoader;
+    private final ReportRepository reportRepository;
+
+    private final Map<Long, ReportDefinition> definitions = new ConcurrentHashMap<>();
+    private final Set<Long> stale = ConcurrentHashMap.newKeySet();
+    private final Cache<Long, Boolean> absent;
+    private volatile boolean loaded;
+    private volatile List<ReportDefinition> catalog;
+    private final ReportPermissionIndex permissionIndex = new ReportPermissionIndex();
+
+    private final Counter reloadCounter;
+
+    public ReportDefinitionCache(ReportMetadataLoader reportMetadataLoader,
+                                 ReportRepository reportRepository,
+                                 ReportCacheProperties reportCacheProperties,
+                                 MeterRegistry meterRegistry) {
+        this.reportMetadataLoader = reportMetadataLoader;
+        this.reportRepository = reportRepository;
+        this.absent = Caffeine.newBuilder()
+                .expireAfterWrite(reportCacheProperties.getCatalogNegativeTtl())
+                .maximumSize(ABSENT_MAXIMUM_SIZE)
+                .build();
+        this.reloadCounter = Counter.builder("gct.report.catalog.reloaded")
+                .description("重新加载的报表定义数")
+                .register(meterRegistry);
+        Gauge.builder("gct.report.catalog.size", definitions, Map::size)
+                .description("缓存的报表定义数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 查找报表定义
+     *
+     * @param reportId 报表ID
+     * @return 报表定义（可选）
+     */
+    public Optional<ReportDefinition> find(Long reportId) {
+        ensureLoaded();
+        if (!stale.contains(reportId)) {
+            ReportDefinition definition = definitions.get(reportId);
+            if (definition != null) {
+                return Optional.of(definition);
+            }
+            if (absent.getIfPresent(reportId) != null) {
+                return Optional.empty();
+            }
+        }
+        // 已过期，或在全量加载之后新建的报表
+        reload(Set.of(reportId));
+        ReportDefinition definition = definitions.get(reportId);
+        if (definition == null) {
+            absent.put(reportId, Boolean.TRUE);
+        }
+        return Optional.ofNullable(definition);
+    }
+
+    /**
+     * 查找用户有权访问的报表定义
+     *
+     * @param reportId 报表ID
+     * @param role     用户角色
+     * @return 报表定义；报表不存在或无权访问时为空
+     */
+    public Optional<ReportDefinition> findPermitted(Long reportId, User.UserRole role) {
+        // find会先重新加载过期的报表，权限索引随之更新
+        return find(reportId).filter(definition -> permissionIndex.permits(role, reportId));
+    }
+
+    /**
+     * 用户有权访问的报表定义（按报表ID排序）
+     *
+     * @param role 用户角色；ADMIN可访问全部报表
+     * @return 报表定义列表
+     */
+    public List<ReportDefinition> list(User.UserRole role) {
+        List<ReportDefinition> all = list();
+        if (role == User.UserRole.ADMIN) {
+            return all;
+        }
+        List<ReportDefinition> permitted = new ArrayList<>(permissionIndex.count(role));
+        permissionIndex.forEachPermitted(role, id -> {
+            ReportDefinition definition = definitions.get((long) id);
+            if (definition != null) {
+                permitted.add(definition);
+            }
+        });
+        return permitted;
+    }
+
+    /**
+     * 全部报表定义（按报表ID排序，不可修改）
+     *
+     * @return 报表定义列表
+     */
+    public List<ReportDefinition> list() {
+        ensureLoaded();
+        if (!stale.isEmpty()) {
+            reload(Set.copyOf(stale));
+        }
+        List<ReportDefinition> current = catalog;
+        if (current == null) {
+            current = definitions.values().stream()
+                    .sorted(Comparator.comparing(ReportDefinition::reportId))
+                    .toList();
+            catalog = current;
+        }
+        return current;
+    }
+
+    /**
+     * 标记报表定义过期
+     *
+     * @param reportId 报表ID
+     */
+    public void invalidate(Long reportId) {
+        absent.invalidate(reportId);
+        stale.add(reportId);
+        catalog = null;
+    }
+
+    @EventListener
+    public void onReportChanged(ReportChangedEvent event) {
+        invalidate(event.reportId());
+        log.debug("报表定义已标记过期, reportId: {}", event.reportId());
+    }
+
+    /**
+     * 按reports.updated_at增量刷新（尚未加载时跳过）
+     */
+    @Scheduled(fixedDelayString = "${gct.report-cache.catalog-refresh-interval:60s}")
+    public void refresh() {
+        if (!loaded) {
+            return;
+        }
+        Set<Long> changed = new HashSet<>(stale);
+        Set<Long> existing = new HashSet<>();
+        for (ReportRepository.ReportVersion version : reportRepository.findAllVersions()) {
+            existing.add(version.getId());
+            ReportDefinition definition = definitions.get(version.getId());
+            if (definition == null || !Objects.equals(definition.updatedAt(), version.getUpdatedAt())) {
+                changed.add(version.getId());
+            }
+        }
+        List<Long> removed = definitions.keySet().stream().filter(id -> !existing.contains(id)).toList();
+        if (!removed.isEmpty()) {
+            removed.forEach(definitions::remove);
+            permissionIndex.update(Map.of(), removed);
+            catalog = null;
+        }
+        if (!changed.isEmpty()) {
+            reload(changed);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            Map<Long, ReportDefinition> all = reportMetadataLoader.loadAll();
+            definitions.putAll(all);
+            permissionIndex.update(roles(all), List.of());
+            catalog = null;
+            loaded = true;
+            log.info("报表目录已加载, 报表数: {}", all.size());
+        }
+    }
+
+    /**
+     * 批量重新加载；加载期间再次被标记过期的报表保持过期状态，下次访问时再加载
+     */
+    private void reload(Set<Long> reportIds) {
+        stale.removeAll(reportIds);
+        Map<Long, ReportDefinition> reloaded = reportMetadataLoader.load(reportIds);
+        List<Long> missing = new ArrayList<>();
+        for (Long id : reportIds) {
+            ReportDefinition definition = reloaded.get(id);
+            if (definition != null) {
+                definitions.put(id, definition);
+            } else {
+                definitions.remove(id);
+                missing.add(id);
+            }
+        }
+        permissionIndex.update(roles(reloaded), missing);
+        catalog = null;
+        reloadCounter.increment(reloaded.size());
+        if (!missing.isEmpty()) {
+            log.debug("报表不存在或已删除, reportIds: {}", missing);
+        }
+    }
+
+    private static Map<Long, Set<User.UserRole>> roles(Map<Long, ReportDefinition> definitions) {
+        Map<Long, Set<User.UserRole>> roles = new HashMap<>(definitions.size() * 2);
+        definitions.forEach((id, definition) -> roles.put(id, definition.roles()));
+        return roles;
+    }
+
+    /**
+     * 测试用：当前缓存的定义（不触发加载）
+     */
+    Map<Long, ReportDefinition> snapshot() {
+        return new HashMap<>(definitions);
+    }
+}
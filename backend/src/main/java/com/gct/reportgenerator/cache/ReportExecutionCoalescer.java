@@ -0,0 +1,152 @@
+package com.gct.reportgenerator.cache;
+
+import com.gct.reportgenerator.exception.QueryCancelledException;
+import com.gct.reportgenerator.exception.QueryTimeoutException;
+import com.gct.reportgenerator.exception.TooManyRequestsException;
+import com.gct.reportgenerator.execution.ExecutionGovernor;
+import com.gct.reportgenerator.execution.ReportResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 报表执行合并（single-flight）
+ *
+ * 以 {@link ReportResultKey}（报表ID、报表版本、规范化参数）为键记录正在执行的查询。
+ * 同一个键的查询在执行期间，相同的请求不再发起新查询，而是等待这次执行并得到同一个结果（或同一个查询异常）；
+ * 执行结束后立即移除记录，之后的请求由结果缓存命中或重新执行。
+ * 等待时间以调用方给出的最长等待时间为限，超出时按查询超时处理；
+ * 执行方的查询被取消（如客户端断开）或执行方用户达到并发上限属于执行方自己的失败，等待的请求改为自己重新执行
+ * （按自己的用户名额重新申请准入）。
+ * 执行方应在结束前把结果放入结果缓存，使移除记录之后到达的请求能命中缓存。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class ReportExecutionCoalescer {
+
+    private final ConcurrentMap<ReportResultKey, CompletableFuture<ReportResult>> inFlight =
+            new ConcurrentHashMap<>();
+
+    private final Counter executedCounter;
+    private final Counter coalescedCounter;
+
+    public ReportExecutionCoalescer(MeterRegistry meterRegistry) {
+        this.executedCounter = Counter.builder("gct.report.execution.coalescing")
+                .tag("result", "executed")
+                .description("实际发起查询的报表执行请求数")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("gct.report.execution.coalescing")
+                .tag("result", "coalesced")
+                .description("合并到正在执行的查询上的报表执行请求数")
+                .register(meterRegistry);
+        Gauge.builder("gct.report.execution.coalescing.ratio", this, ReportExecutionCoalescer::coalescingRatio)
+                .description("被合并的请求占全部报表执行请求的比例")
+                .register(meterRegistry);
+        Gauge.builder("gct.report.execution.in-flight", inFlight, ConcurrentMap::size)
+                .description("正在执行的不同报表查询数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 执行报表查询；相同键的查询正在执行时等待其结果
+     *
+     * @param key     缓存键
+     * @param maxWait 等待正在执行的查询的最长时间（查询超时加上排队时间）
+     * @param loader  实际执行查询的函数（在调用线程中执行）
+     * @return 查询结果
+     * @throws QueryTimeoutException   等待超过最长等待时间
+     * @throws QueryCancelledException 等待期间线程被中断
+     */
+    public ReportResult execute(ReportResultKey key, Duration maxWait, Supplier<ReportResult> loader) {
+        while (true) {
+            CompletableFuture<ReportResult> flight = new CompletableFuture<>();
+            CompletableFuture<ReportResult> existing = inFlight.putIfAbsent(key, flight);
+            if (existing != null) {
+                coalescedCounter.increment();
+                log.debug("合并到正在执行的报表查询, reportId: {}", key.reportId());
+                ReportResult result = await(existing, maxWait);
+                if (result != null) {
+                    return result;
+                }
+                log.debug("正在执行的报表查询因执行方自身原因失败，重新执行, reportId: {}", key.reportId());
+                // 执行方可能尚未移除已结束的记录
+                inFlight.remove(key, existing);
+                continue;
+            }
+
+            executedCounter.increment();
+            try {
+                ReportResult result = loader.get();
+                flight.complete(result);
+                return result;
+            } catch (RuntimeException | Error e) {
+                flight.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, flight);
+            }
+        }
+    }
+
+    /**
+     * @return 被合并的请求占全部请求的比例（启动以来累计）
+     */
+    public double coalescingRatio() {
+        double coalesced = coalescedCounter.count();
+        double total = coalesced + executedCounter.count();
+        return total == 0 ? 0 : coalesced / total;
+    }
+
+    /**
+     * 等待正在执行的查询
+     *
+     * @return 查询结果；执行方的失败不属于查询本身（应由调用方重新执行）时为null
+     */
+    private static ReportResult await(CompletableFuture<ReportResult> flight, Duration maxWait) {
+        try {
+            return flight.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryCancelledException("报表查询已取消", e);
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("报表查询超时（" + maxWait.toSeconds() + "秒）", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (isLeaderOnly(cause)) {
+                return null;
+            }
+            // 与执行方抛出相同的异常，由全局异常处理映射为相同的响应
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * 只属于执行方的失败：执行方的请求被取消或执行方用户达到并发上限，与查询本身无关
+     * （报表名额和全局排队对所有请求相同，不在此列）
+     */
+    private static boolean isLeaderOnly(Throwable failure) {
+        return failure instanceof QueryCancelledException
+                || failure instanceof TooManyRequestsException rejected
+                && ExecutionGovernor.USER_LIMIT_CODE.equals(rejected.getCode());
+    }
+}
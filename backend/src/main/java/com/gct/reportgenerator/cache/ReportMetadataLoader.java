@@ -0,0 +1,204 @@
+package com.gct.reportgenerator.cache;
+
+import com.gct.reportgenerator.entity.Report;
+import com.gct.reportgenerator.entity.ReportColumn;
+import com.gct.reportgenerator.entity.ReportParam;
+import com.gct.reportgenerator.entity.ReportPermission;
+import com.gct.reportgenerator.entity.User;
+import com.gct.reportgenerator.exception.BusinessException;
+import com.gct.reportgenerator.execution.ReportDefinition;
+import com.gct.reportgenerator.execution.ReportPlan;
+import com.gct.reportgenerator.execution.ReportPlanCompiler;
+import com.gct.reportgenerator.execution.SqlSafetyValidator;
+import com.gct.reportgenerator.format.FormatContext;
+import com.gct.reportgenerator.format.ReportFormatter;
+import com.gct.reportgenerator.repository.ReportColumnRepository;
+import com.gct.reportgenerator.repository.ReportParamRepository;
+import com.gct.reportgenerator.repository.ReportPermissionRepository;
+import com.gct.reportgenerator.repository.ReportRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.jackson.JacksonProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 报表元数据批量加载器
+ *
+ * 无论加载多少个报表，都只在一个只读事务中执行固定的4条集合查询（reports、report_params、
+ * report_columns、report_permissions各一条，ID超过 {@link #CHUNK_SIZE} 个时分批），
+ * 在内存中按report_id组装成 {@link ReportDefinition} 快照，避免逐个报表加载关联数据的N+1查询。
+ * 组装时完成SQL安全校验、执行计划编译和列格式化器编译；校验或编译失败的报表仍会加载（目录中可见），但不可执行。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class ReportMetadataLoader {
+
+    /**
+     * 单条IN查询的ID上限（SQLite旧版本绑定参数上限为999）
+     */
+    static final int CHUNK_SIZE = 500;
+
+    private final ReportRepository reportRepository;
+    private final ReportParamRepository reportParamRepository;
+    private final ReportColumnRepository reportColumnRepository;
+    private final ReportPermissionRepository reportPermissionRepository;
+    private final SqlSafetyValidator sqlSafetyValidator;
+    private final FormatContext formatContext;
+    private final AtomicLong revisions = new AtomicLong();
+
+    public ReportMetadataLoader(ReportRepository reportRepository,
+                                ReportParamRepository reportParamRepository,
+                                ReportColumnRepository reportColumnRepository,
+                                ReportPermissionRepository reportPermissionRepository,
+                                SqlSafetyValidator sqlSafetyValidator,
+                                JacksonProperties jacksonProperties) {
+        this.reportRepository = reportRepository;
+        this.reportParamRepository = reportParamRepository;
+        this.reportColumnRepository = reportColumnRepository;
+        this.reportPermissionRepository = reportPermissionRepository;
+        this.sqlSafetyValidator = sqlSafetyValidator;
+        this.formatContext = FormatContext.from(jacksonProperties);
+    }
+
+    /**
+     * 加载全部报表
+     *
+     * @return 报表ID到定义快照的映射
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, ReportDefinition> loadAll() {
+        List<Report> reports = reportRepository.findAll();
+        List<Long> ids = reports.stream().map(Report::getId).toList();
+        return assemble(reports,
+                reportParamRepository.findAll(),
+                reportColumnRepository.findAll(),
+                reportPermissionRepository.findAll(),
+                ids);
+    }
+
+    /**
+     * 加载指定报表（不存在的ID不在结果中）
+     *
+     * @param reportIds 报表ID
+     * @return 报表ID到定义快照的映射
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, ReportDefinition> load(Collection<Long> reportIds) {
+        List<Long> ids = List.copyOf(reportIds);
+        List<Report> reports = new ArrayList<>();
+        List<ReportParam> params = new ArrayList<>();
+        List<ReportColumn> columns = new ArrayList<>();
+        List<ReportPermission> permissions = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE));
+            reports.addAll(reportRepository.findAllById(chunk));
+            params.addAll(reportParamRepository.findByReportIdIn(chunk));
+            columns.addAll(reportColumnRepository.findByReportIdIn(chunk));
+            permissions.addAll(reportPermissionRepository.findByReportIdIn(chunk));
+        }
+        return assemble(reports, params, columns, permissions, ids);
+    }
+
+    private Map<Long, ReportDefinition> assemble(List<Report> reports, List<ReportParam> params,
+                                                 List<ReportColumn> columns, List<ReportPermission> permissions,
+                                                 List<Long> ids) {
+        Map<Long, List<ReportParam>> paramsByReport = new HashMap<>();
+        params.stream()
+                .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                .forEach(param -> paramsByReport.computeIfAbsent(param.getReportId(), k -> new ArrayList<>())
+                        .add(copy(param)));
+        Map<Long, List<ReportColumn>> columnsByReport = new HashMap<>();
+        columns.stream()
+                .sorted((a, b) -> Integer.compare(a.getColumnOrder(), b.getColumnOrder()))
+                .forEach(column -> columnsByReport.computeIfAbsent(column.getReportId(), k -> new ArrayList<>())
+                        .add(copy(column)));
+        Map<Long, Set<User.UserRole>> rolesByReport = new HashMap<>();
+        for (ReportPermission permission : permissions) {
+            rolesByReport.computeIfAbsent(permission.getReportId(), k -> EnumSet.noneOf(User.UserRole.class))
+                    .add(permission.getRole());
+        }
+
+        Map<Long, ReportDefinition> definitions = new HashMap<>(reports.size() * 2);
+        for (Report report : reports) {
+            Long id = report.getId();
+            definitions.put(id, definition(copy(report),
+                    List.copyOf(paramsByReport.getOrDefault(id, List.of())),
+                    List.copyOf(columnsByReport.getOrDefault(id, List.of())),
+                    Set.copyOf(rolesByReport.getOrDefault(id, Set.of()))));
+        }
+        log.debug("报表元数据已加载, 请求: {}, 加载: {}", ids.size(), definitions.size());
+        return definitions;
+    }
+
+    private ReportDefinition definition(Report report, List<ReportParam> params, List<ReportColumn> columns,
+                                        Set<User.UserRole> roles) {
+        ReportPlan plan = null;
+        BusinessException planError = null;
+        try {
+            sqlSafetyValidator.requireAllowed(report.getSqlContent());
+            plan = ReportPlanCompiler.compile(report, params);
+        } catch (BusinessException e) {
+            log.warn("报表SQL无效, reportId: {}, 原因: {}", report.getId(), e.getMessage());
+            planError = e;
+        }
+        return new ReportDefinition(report, params, columns, roles, plan, planError,
+                ReportFormatter.compile(columns, formatContext), revisions.incrementAndGet());
+    }
+
+    /**
+     * 复制实体，快照不受持久化上下文中后续修改的影响
+     */
+    private static Report copy(Report report) {
+        return Report.builder()
+                .id(report.getId())
+                .name(report.getName())
+                .description(report.getDescription())
+                .sqlContent(report.getSqlContent())
+                .creatorId(report.getCreatorId())
+                .queryTimeoutSeconds(report.getQueryTimeoutSeconds())
+                .cacheTtlSeconds(report.getCacheTtlSeconds())
+                .pageKey(report.getPageKey())
+                .createdAt(report.getCreatedAt())
+                .updatedAt(report.getUpdatedAt())
+                .build();
+    }
+
+    private static ReportParam copy(ReportParam param) {
+        return ReportParam.builder()
+                .id(param.getId())
+                .reportId(param.getReportId())
+                .paramName(param.getParamName())
+                .paramType(param.getParamType())
+                .required(param.getRequired())
+                .defaultValue(param.getDefaultValue())
+                .createdAt(param.getCreatedAt())
+                .updatedAt(param.getUpdatedAt())
+                .build();
+    }
+
+    private static ReportColumn copy(ReportColumn column) {
+        return ReportColumn.builder()
+                .id(column.getId())
+                .reportId(column.getReportId())
+                .fieldName(column.getFieldName())
+                .displayName(column.getDisplayName())
+                .columnWidth(column.getColumnWidth())
+                .formatType(column.getFormatType())
+                .columnOrder(column.getColumnOrder())
+                .createdAt(column.getCreatedAt())
+                .updatedAt(column.getUpdatedAt())
+                .build();
+    }
+}
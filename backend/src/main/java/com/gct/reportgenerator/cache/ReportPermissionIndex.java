@@ -0,0 +1,131 @@
+package com.gct.reportgenerator.cache;
+
+import com.gct.reportgenerator.entity.User;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * 角色-报表权限索引
+ *
+ * 每个角色对应一个以报表ID为下标的 {@link BitSet}：单个报表的权限判断为O(1)，
+ * 列出某角色可见的报表为O(n/64)，均不访问数据库。ADMIN不参与索引，始终拥有全部权限。
+ *
+ * 写时复制：更新只复制受影响角色的位图，然后整体替换快照，读取无需加锁，总能看到某次更新前后的完整状态。
+ * 由 {@link ReportDefinitionCache} 在报表定义加载或移除时增量维护。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public final class ReportPermissionIndex {
+
+    private volatile Map<User.UserRole, BitSet> bitsets = new EnumMap<>(User.UserRole.class);
+
+    /**
+     * 判断角色能否访问报表
+     *
+     * @param role     用户角色
+     * @param reportId 报表ID
+     * @return 是否有权限
+     */
+    public boolean permits(User.UserRole role, Long reportId) {
+        if (role == User.UserRole.ADMIN) {
+            return true;
+        }
+        if (role == null || !indexable(reportId)) {
+            return false;
+        }
+        BitSet bits = bitsets.get(role);
+        return bits != null && bits.get(reportId.intValue());
+    }
+
+    /**
+     * 按报表ID升序遍历角色被授权的报表（不含ADMIN的隐式权限）
+     *
+     * @param role   用户角色
+     * @param action 接收报表ID
+     */
+    public void forEachPermitted(User.UserRole role, IntConsumer action) {
+        BitSet bits = bitsets.get(role);
+        if (bits == null) {
+            return;
+        }
+        for (int id = bits.nextSetBit(0); id >= 0; id = bits.nextSetBit(id + 1)) {
+            action.accept(id);
+        }
+    }
+
+    /**
+     * @param role 用户角色
+     * @return 角色被授权的报表数
+     */
+    public int count(User.UserRole role) {
+        BitSet bits = bitsets.get(role);
+        return bits != null ? bits.cardinality() : 0;
+    }
+
+    /**
+     * 批量更新报表的授权角色
+     *
+     * @param granted 报表ID到授权角色的映射（覆盖原有授权）
+     * @param removed 已删除的报表ID
+     */
+    public synchronized void update(Map<Long, Set<User.UserRole>> granted, Collection<Long> removed) {
+        Map<User.UserRole, BitSet> next = new EnumMap<>(User.UserRole.class);
+        next.putAll(bitsets);
+        EnumMap<User.UserRole, Boolean> copied = new EnumMap<>(User.UserRole.class);
+        for (Map.Entry<Long, Set<User.UserRole>> entry : granted.entrySet()) {
+            if (!indexable(entry.getKey())) {
+                // 超出int范围的ID无法索引，只有ADMIN可以访问
+                continue;
+            }
+            int id = entry.getKey().intValue();
+            for (User.UserRole role : User.UserRole.values()) {
+                if (role == User.UserRole.ADMIN) {
+                    continue;
+                }
+                boolean permitted = entry.getValue().contains(role);
+                BitSet bits = next.get(role);
+                if (permitted == (bits != null && bits.get(id))) {
+                    continue;
+                }
+                writable(next, copied, role).set(id, permitted);
+            }
+        }
+        for (Long reportId : removed) {
+            if (!indexable(reportId)) {
+                continue;
+            }
+            int id = reportId.intValue();
+            for (User.UserRole role : User.UserRole.values()) {
+                BitSet bits = next.get(role);
+                if (bits != null && bits.get(id)) {
+                    writable(next, copied, role).clear(id);
+                }
+            }
+        }
+        if (!copied.isEmpty()) {
+            bitsets = next;
+        }
+    }
+
+    /**
+     * 本次更新中首次修改某角色的位图时复制一份，之后在副本上继续修改
+     */
+    private static BitSet writable(Map<User.UserRole, BitSet> next, Map<User.UserRole, Boolean> copied,
+                                   User.UserRole role) {
+        if (copied.putIfAbsent(role, Boolean.TRUE) == null) {
+            BitSet current = next.get(role);
+            next.put(role, current != null ? (BitSet) current.clone() : new BitSet());
+        }
+        return next.get(role);
+    }
+
+    private static boolean indexable(Long reportId) {
+        return reportId != null && reportId >= 0 && reportId <= Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,140 @@
+package com.gct.reportgenerator.cache;
+
+import com.gct.reportgenerator.config.ReportCacheProperties;
+import com.gct.reportgenerator.entity.Report;
+import com.gct.reportgenerator.event.ReportChangedEvent;
+import com.gct.reportgenerator.execution.ReportResult;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 报表结果缓存
+ *
+ * 以 {@link ReportResultKey}（报表ID、报表版本、规范化参数）为键缓存查询结果，命中时不访问数据库。
+ * 总大小按结果的估算字节数限制在内存预算内，超出时由Caffeine按W-TinyLFU（近似LRU+LFU）淘汰；
+ * 每个条目的有效期取报表的cache_ttl_seconds或全局默认值。
+ * 报表、参数或列配置变更时立即删除该报表的全部条目。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class ReportResultCache {
+
+    private final Cache<ReportResultKey, CachedResult> results;
+    private final Duration defaultTtl;
+
+    public ReportResultCache(ReportCacheProperties reportCacheProperties, MeterRegistry meterRegistry) {
+        this.defaultTtl = reportCacheProperties.getResultDefaultTtl();
+        this.results = Caffeine.newBuilder()
+                .maximumWeight(reportCacheProperties.getResultMemoryBudget().toBytes())
+                .weigher((ReportResultKey key, CachedResult value) -> value.weight())
+                .expireAfter(new TtlExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, "reportResults");
+        Gauge.builder("gct.report.result-cache.bytes", results,
+                        cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .description("结果缓存占用的估算内存")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 查找缓存的结果
+     *
+     * @param key 缓存键
+     * @return 查询结果（可选）
+     */
+    public Optional<ReportResult> get(ReportResultKey key) {
+        CachedResult cached = results.getIfPresent(key);
+        return cached != null ? Optional.of(cached.result()) : Optional.empty();
+    }
+
+    /**
+     * 缓存结果，报表未启用缓存（有效期为0）时忽略
+     *
+     * @param key    缓存键
+     * @param report 报表
+     * @param result 查询结果
+     */
+    public void put(ReportResultKey key, Report report, ReportResult result) {
+        Duration ttl = ttlOf(report);
+        if (ttl.isZero() || ttl.isNegative()) {
+            return;
+        }
+        long bytes = result.estimatedBytes();
+        results.put(key, new CachedResult(result, (int) Math.min(Integer.MAX_VALUE, bytes), ttl.toNanos()));
+    }
+
+    /**
+     * 删除报表的全部缓存结果
+     *
+     * @param reportId 报表ID
+     */
+    public void invalidate(Long reportId) {
+        results.asMap().keySet().removeIf(key -> key.reportId().equals(reportId));
+    }
+
+    /**
+     * 立即执行待处理的淘汰（淘汰默认在后台异步进行）
+     */
+    void cleanUp() {
+        results.cleanUp();
+    }
+
+    @EventListener
+    public void onReportChanged(ReportChangedEvent event) {
+        invalidate(event.reportId());
+        log.debug("报表结果缓存已失效, reportId: {}", event.reportId());
+    }
+
+    private Duration ttlOf(Report report) {
+        Integer seconds = report.getCacheTtlSeconds();
+        return seconds != null ? Duration.ofSeconds(seconds) : defaultTtl;
+    }
+
+    /**
+     * 缓存条目
+     *
+     * @param result   查询结果
+     * @param weight   估算字节数
+     * @param ttlNanos 有效期
+     */
+    private record CachedResult(ReportResult result, int weight, long ttlNanos) {
+    }
+
+    /**
+     * 按条目各自的有效期过期，读取不延长有效期
+     */
+    private static final class TtlExpiry implements Expiry<ReportResultKey, CachedResult> {
+
+        @Override
+        public long expireAfterCreate(ReportResultKey key, CachedResult value, long currentTime) {
+            return value.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(ReportResultKey key, CachedResult value, long currentTime,
+                                      long currentDuration) {
+            return value.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(ReportResultKey key, CachedResult value, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.gct.reportgenerator.cache;
+
+import com.gct.reportgenerator.execution.ReportDefinition;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 结果缓存键：报表ID + 报表版本 + 规范化参数
+ *
+ * @param reportId  报表ID
+ * @param updatedAt 报表最后更新时间
+ * @param revision  报表定义加载序号
+ * @param params    规范化后的参数（有序映射）
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public record ReportResultKey(Long reportId, LocalDateTime updatedAt, long revision, Map<String, Object> params) {
+
+    /**
+     * 以报表当前定义和规范化参数构造缓存键
+     *
+     * @param definition 报表定义
+     * @param params     规范化参数
+     * @return 缓存键
+     */
+    public static ReportResultKey of(ReportDefinition definition, Map<String, Object> params) {
+        return new ReportResultKey(definition.reportId(), definition.updatedAt(), definition.revision(), params);
+    }
+}
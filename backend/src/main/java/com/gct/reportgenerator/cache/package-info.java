@@ -0,0 +1,11 @@
+/**
+ * Cache层 - 报表缓存
+ * 
+ * 职责:
+ * - 缓存报表定义和查询结果，重复执行不访问数据库
+ * - 报表定义变更时立即失效
+ * 
+ * @author GCT Team
+ * @since 1.0.0
+ */
+package com.gct.reportgenerator.cache;
@@ -0,0 +1,37 @@
+package com.gct.reportgenerator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 执行审计配置
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "gct.audit")
+public class AuditProperties {
+
+    /**
+     * 待写入执行日志的缓冲区容量，写满后新日志被丢弃并计入指标
+     */
+    private int queueCapacity = 8_192;
+
+    /**
+     * 每批写入的最大行数（单条多行INSERT，一个事务）
+     */
+    private int batchSize = 200;
+
+    /**
+     * 缓冲区未攒满一批时的最长等待时间
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * 应用关闭时等待剩余日志写完的最长时间
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
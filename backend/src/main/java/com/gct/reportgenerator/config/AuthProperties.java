@@ -0,0 +1,188 @@
+package com.gct.reportgenerator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 认证配置
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "gct.auth")
+public class AuthProperties {
+
+    /**
+     * Token配置
+     */
+    private final Token token = new Token();
+
+    /**
+     * 密码哈希配置
+     */
+    private final Password password = new Password();
+
+    /**
+     * 用户认证主体缓存配置
+     */
+    private final PrincipalCache principalCache = new PrincipalCache();
+
+    /**
+     * Token吊销列表配置
+     */
+    private final Revocation revocation = new Revocation();
+
+    /**
+     * 会话配置
+     */
+    private final Session session = new Session();
+
+    /**
+     * 登录限流配置
+     */
+    private final LoginThrottle loginThrottle = new LoginThrottle();
+
+    @Data
+    public static class Token {
+
+        /**
+         * HMAC签名密钥，多节点部署时必须配置为相同值；为空时启动生成随机密钥
+         */
+        private String secret;
+
+        /**
+         * Token有效期
+         */
+        private Duration ttl = Duration.ofHours(12);
+    }
+
+    @Data
+    public static class Password {
+
+        /**
+         * 哈希线程数，默认为CPU核数的一半
+         */
+        private int poolSize = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        /**
+         * 等待队列长度，队列满时立即拒绝
+         */
+        private int queueCapacity = 64;
+
+        /**
+         * 单次哈希（含排队）的最长等待时间
+         */
+        private Duration timeout = Duration.ofSeconds(5);
+
+        /**
+         * 固定BCrypt强度，为空时启动按目标延迟自动校准
+         */
+        private Integer strength;
+
+        /**
+         * 自动校准的目标校验延迟（p50）
+         */
+        private Duration targetLatency = Duration.ofMillis(50);
+
+        /**
+         * 自动校准的最小强度（安全下限）
+         */
+        private int minStrength = 10;
+
+        /**
+         * 自动校准的最大强度
+         */
+        private int maxStrength = 14;
+    }
+
+    @Data
+    public static class PrincipalCache {
+
+        /**
+         * 最大缓存用户数
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * 缓存有效期（用户变更时会立即失效，TTL仅作兜底）；按用户ID的条目超过TTL后在后台刷新，
+         * 不阻塞请求
+         */
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Revocation {
+
+        /**
+         * 布隆过滤器预期容量
+         */
+        private long expectedEntries = 100_000;
+
+        /**
+         * 布隆过滤器期望误判率
+         */
+        private double falsePositiveRate = 0.01;
+
+        /**
+         * 吊销列表容量上限，应不小于Token有效期内的登出次数。
+         * 超过时仍记录吊销（不淘汰未过期的记录），只记录错误日志和指标
+         */
+        private int maximumSize = 200_000;
+
+        /**
+         * 持久化文件，重启后恢复未过期的吊销记录
+         */
+        private String storeFile = "./data/revoked-tokens.dat";
+    }
+
+    @Data
+    public static class Session {
+
+        /**
+         * 空闲超时时间，超过该时间无请求则会话过期
+         */
+        private Duration idleTimeout = Duration.ofMinutes(30);
+
+        /**
+         * 最后访问时间批量写入数据库的间隔，也是多节点之间空闲判定的误差上限
+         */
+        private Duration flushInterval = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class LoginThrottle {
+
+        /**
+         * 计数槽位数（按用户名、IP各一组，向上取整为2的幂），决定内存占用
+         */
+        private int stripes = 65_536;
+
+        /**
+         * 同一用户名允许的连续失败次数，达到后开始退避
+         */
+        private int usernameFreeAttempts = 5;
+
+        /**
+         * 同一IP允许的连续失败次数（NAT后多用户共享IP，阈值更高）
+         */
+        private int addressFreeAttempts = 20;
+
+        /**
+         * 首次退避时间，之后每次失败翻倍
+         */
+        private Duration baseDelay = Duration.ofSeconds(1);
+
+        /**
+         * 最长退避时间
+         */
+        private Duration maxDelay = Duration.ofMinutes(15);
+
+        /**
+         * 失败计数有效期，超过该时间没有新的失败则计数自动清零
+         */
+        private Duration window = Duration.ofMinutes(15);
+    }
+}
@@ -0,0 +1,99 @@
+package com.gct.reportgenerator.config;
+
+import com.gct.reportgenerator.entity.Report;
+import com.gct.reportgenerator.entity.User;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 报表查询执行配置
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "gct.execution")
+public class ExecutionProperties {
+
+    /**
+     * JDBC游标每次从数据库抓取的行数
+     */
+    private int fetchSize = 200;
+
+    /**
+     * 默认查询超时时间（报表可单独配置），从执行开始到结果读完为止
+     */
+    private Duration queryTimeout = Duration.ofSeconds(30);
+
+    /**
+     * 在线查询返回的最大行数，超出部分被截断（导出不受限制）
+     */
+    private int maxRows = 10_000;
+
+    /**
+     * 流式查询（NDJSON）的超时时间：流式查询不限制行数，读取全部结果需要的时间比在线查询长
+     */
+    private Duration streamTimeout = Duration.ofMinutes(5);
+
+    /**
+     * 分页查询的默认每页行数
+     */
+    private int pageSize = 100;
+
+    /**
+     * 分页查询允许的最大每页行数
+     */
+    private int maxPageSize = 1_000;
+
+    /**
+     * 准入控制配置
+     */
+    private final Admission admission = new Admission();
+
+    /**
+     * 报表的查询超时时间
+     *
+     * @param report 报表
+     * @return 报表单独配置的超时时间，未配置时为默认查询超时时间
+     */
+    public Duration queryTimeoutOf(Report report) {
+        Integer seconds = report.getQueryTimeoutSeconds();
+        return seconds != null && seconds > 0 ? Duration.ofSeconds(seconds) : queryTimeout;
+    }
+
+    @Data
+    public static class Admission {
+
+        /**
+         * 全局同时执行的查询数上限，应不超过只读连接池大小
+         */
+        private int globalLimit = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * 等待全局执行名额的请求数上限，队列满时立即拒绝
+         */
+        private int queueCapacity = 32;
+
+        /**
+         * 等待全局执行名额的最长时间，超时后拒绝
+         */
+        private Duration queueTimeout = Duration.ofSeconds(2);
+
+        /**
+         * 每个用户同时执行的查询数上限（按角色分级），达到上限时立即拒绝，不排队
+         */
+        private Map<User.UserRole, Integer> userLimits = new EnumMap<>(Map.of(
+                User.UserRole.VIEWER, 2,
+                User.UserRole.DESIGNER, 3,
+                User.UserRole.ADMIN, 4));
+
+        /**
+         * 每个报表同时执行的查询数上限，达到上限时立即拒绝，不排队
+         */
+        private int reportLimit = 4;
+    }
+}
@@ -0,0 +1,102 @@
+package com.gct.reportgenerator.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 报表导出配置
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "gct.export")
+public class ExportProperties {
+
+    /**
+     * JDBC游标每次从数据库抓取的行数
+     */
+    private int fetchSize = 500;
+
+    /**
+     * XLSX写出时内存中保留的行数窗口，超出部分刷写到临时文件
+     */
+    @Min(1)
+    private int xlsxWindowSize = 100;
+
+    /**
+     * 导出超时时间（导出需要读完全部数据，不使用报表的交互查询超时）
+     */
+    private Duration timeout = Duration.ofMinutes(10);
+
+    /**
+     * CSV/TSV导出配置
+     */
+    private final Delimited delimited = new Delimited();
+
+    /**
+     * 异步导出任务配置
+     */
+    private final Jobs jobs = new Jobs();
+
+    @Data
+    public static class Delimited {
+
+        /**
+         * 编码缓冲区大小，缓冲区写满后整块写入通道
+         */
+        private DataSize bufferSize = DataSize.ofKilobytes(64);
+
+        /**
+         * 缓冲池保留的空闲缓冲区数，超出的缓冲区用完后由GC回收
+         */
+        private int pooledBuffers = 16;
+
+        /**
+         * 是否在文件开头写出UTF-8 BOM（Excel打开中文CSV需要）
+         */
+        private boolean bom = true;
+    }
+
+    @Data
+    public static class Jobs {
+
+        /**
+         * 同时执行的导出任务数（单节点上限）。每个任务占用一个数据库连接，
+         * 应小于连接池大小，避免导出占满连接而阻塞在线查询
+         */
+        private int poolSize = 2;
+
+        /**
+         * 等待执行的任务数上限，队列满时立即拒绝
+         */
+        private int queueCapacity = 16;
+
+        /**
+         * 每个用户同时排队和执行中的任务数上限
+         */
+        private int perUserLimit = 2;
+
+        /**
+         * 导出文件的暂存目录（启动时清空）
+         */
+        private Path spoolDir = Path.of("./data/export-spool");
+
+        /**
+         * 任务结束后保留任务状态和导出文件的时长
+         */
+        private Duration ttl = Duration.ofMinutes(30);
+
+        /**
+         * 清理过期任务的间隔
+         */
+        private Duration cleanupInterval = Duration.ofMinutes(1);
+    }
+}
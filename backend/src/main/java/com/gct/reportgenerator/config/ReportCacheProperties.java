@@ -0,0 +1,59 @@
+package com.gct.reportgenerator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 报表缓存配置
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "gct.report-cache")
+public class ReportCacheProperties {
+
+    /**
+     * 报表目录按reports.updated_at增量刷新的间隔（兜底绕过实体回调直接修改数据库的情况）
+     */
+    private Duration catalogRefreshInterval = Duration.ofSeconds(60);
+
+    /**
+     * 报表目录中不存在的报表ID的缓存时间，期间再次查找不访问数据库（报表变更事件会立即清除）
+     */
+    private Duration catalogNegativeTtl = Duration.ofSeconds(10);
+
+    /**
+     * 结果缓存的内存预算（按结果估算大小计），超出时按W-TinyLFU（近似LRU+LFU）淘汰
+     */
+    private DataSize resultMemoryBudget = DataSize.ofMegabytes(64);
+
+    /**
+     * 结果缓存默认有效期（报表可通过cache_ttl_seconds单独配置），为0时不缓存
+     */
+    private Duration resultDefaultTtl = Duration.ofMinutes(5);
+
+    /**
+     * 导出文件缓存目录（启动时清空），有效期与结果缓存相同
+     */
+    private Path exportDirectory = Path.of("./data/export-cache");
+
+    /**
+     * 导出文件缓存的磁盘预算，超出时按最近最少使用淘汰
+     */
+    private DataSize exportDiskBudget = DataSize.ofGigabytes(1);
+
+    /**
+     * 删除失效和过期导出文件的间隔
+     */
+    private Duration exportCleanupInterval = Duration.ofMinutes(1);
+
+    /**
+     * SQL安全校验结论缓存的最大条目数（按SQL内容哈希缓存）
+     */
+    private long sqlVerdictMaximumSize = 10_000;
+}
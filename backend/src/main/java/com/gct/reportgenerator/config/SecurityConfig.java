@@ -1,7 +1,16 @@
 package com.gct.reportgenerator.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gct.reportgenerator.security.PasswordCostCalibrator;
+import com.gct.reportgenerator.security.SessionIdleTracker;
+import com.gct.reportgenerator.security.TokenAuthenticationFilter;
+import com.gct.reportgenerator.security.TokenRevocationList;
+import com.gct.reportgenerator.security.TokenService;
+import com.gct.reportgenerator.security.UserPrincipalCache;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 /**
@@ -15,10 +24,29 @@ public class SecurityConfig {
 
     /**
      * 密码加密器
-     * 使用BCrypt算法
+     * 使用BCrypt算法，强度由启动时校准得到
      */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder passwordEncoder(PasswordCostCalibrator passwordCostCalibrator) {
+        return new BCryptPasswordEncoder(passwordCostCalibrator.getStrength());
+    }
+
+    /**
+     * Token认证过滤器
+     * 拦截所有/api/v1接口，白名单路径在过滤器内放行
+     */
+    @Bean
+    public FilterRegistrationBean<TokenAuthenticationFilter> tokenAuthenticationFilter(
+            TokenService tokenService,
+            TokenRevocationList tokenRevocationList,
+            SessionIdleTracker sessionIdleTracker,
+            UserPrincipalCache userPrincipalCache,
+            ObjectMapper objectMapper) {
+        FilterRegistrationBean<TokenAuthenticationFilter> registration = new FilterRegistrationBean<>(
+                new TokenAuthenticationFilter(tokenService, tokenRevocationList, sessionIdleTracker,
+                        userPrincipalCache, objectMapper));
+        registration.addUrlPatterns("/api/v1/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
     }
 }
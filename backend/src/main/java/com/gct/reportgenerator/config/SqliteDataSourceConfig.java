@@ -0,0 +1,108 @@
+package com.gct.reportgenerator.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * SQLite性能模式数据源配置
+ *
+ * SQLite同一时刻只允许一个写事务，多个写连接只会互相等待锁并产生SQLITE_BUSY。性能模式下：
+ * <ul>
+ *   <li>写连接池只有一个连接（WAL日志、synchronous=NORMAL），Flyway迁移、JPA写事务和
+ *       非事务JDBC操作都经由它串行执行，写入之间在连接池排队而不是在SQLite文件锁上竞争</li>
+ *   <li>只读连接池按CPU核数配置，以只读方式打开；WAL模式下读不阻塞写、写不阻塞读</li>
+ *   <li>对外暴露的主数据源是延迟获取连接的代理，只读事务（{@code @Transactional(readOnly = true)}，
+ *       包括Spring Data的查询方法）路由到只读连接池，其余路由到写连接</li>
+ * </ul>
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "gct.sqlite", name = "performance-mode", havingValue = "true")
+@Slf4j
+public class SqliteDataSourceConfig {
+
+    /**
+     * 写连接（单连接）
+     */
+    @Bean(destroyMethod = "close")
+    public HikariDataSource sqliteWriteDataSource(DataSourceProperties dataSourceProperties,
+                                                  SqliteProperties sqliteProperties) {
+        SQLiteConfig config = baseConfig(sqliteProperties);
+        config.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        config.setSynchronous(SQLiteConfig.SynchronousMode.NORMAL);
+        config.setTransactionMode(SQLiteConfig.TransactionMode.IMMEDIATE);
+
+        HikariDataSource dataSource = pool("sqlite-writer", dataSourceProperties, config, sqliteProperties);
+        dataSource.setMaximumPoolSize(1);
+        dataSource.setMinimumIdle(1);
+        return dataSource;
+    }
+
+    /**
+     * 只读连接池
+     */
+    @Bean(destroyMethod = "close")
+    public HikariDataSource sqliteReadDataSource(DataSourceProperties dataSourceProperties,
+                                                 SqliteProperties sqliteProperties) {
+        SQLiteConfig config = baseConfig(sqliteProperties);
+        config.setReadOnly(true);
+
+        HikariDataSource dataSource = pool("sqlite-reader", dataSourceProperties, config, sqliteProperties);
+        dataSource.setMaximumPoolSize(sqliteProperties.getReadPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * 主数据源：按事务的只读属性在读写连接池之间路由
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource sqliteWriteDataSource,
+                                 HikariDataSource sqliteReadDataSource,
+                                 SqliteProperties sqliteProperties) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(sqliteWriteDataSource);
+        proxy.setReadOnlyDataSource(sqliteReadDataSource);
+        // 显式给出连接默认值，避免代理初始化时提前打开连接（此时Flyway尚未建库）
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+        log.info("SQLite性能模式已启用: WAL, 单写连接, 只读连接池大小={}", sqliteProperties.getReadPoolSize());
+        return proxy;
+    }
+
+    private SQLiteConfig baseConfig(SqliteProperties sqliteProperties) {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setBusyTimeout((int) sqliteProperties.getBusyTimeout().toMillis());
+        // 负数表示以KiB为单位
+        config.setCacheSize((int) -sqliteProperties.getCacheSize().toKilobytes());
+        config.setTempStore(SQLiteConfig.TempStore.MEMORY);
+        config.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, String.valueOf(sqliteProperties.getMmapSize().toBytes()));
+        return config;
+    }
+
+    private HikariDataSource pool(String poolName, DataSourceProperties dataSourceProperties,
+                                  SQLiteConfig config, SqliteProperties sqliteProperties) {
+        SQLiteDataSource sqliteDataSource = new SQLiteDataSource(config);
+        sqliteDataSource.setUrl(dataSourceProperties.determineUrl());
+
+        // 使用无参构造，连接池在首次获取连接时才初始化
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(poolName);
+        dataSource.setDataSource(sqliteDataSource);
+        dataSource.setConnectionTimeout(sqliteProperties.getConnectionTimeout().toMillis());
+        return dataSource;
+    }
+}
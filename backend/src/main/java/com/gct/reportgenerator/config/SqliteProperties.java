@@ -0,0 +1,48 @@
+package com.gct.reportgenerator.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * SQLite性能模式配置
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "gct.sqlite")
+public class SqliteProperties {
+
+    /**
+     * 是否启用性能模式（WAL + 只读连接池 + 单写连接），内存数据库不支持
+     */
+    private boolean performanceMode = false;
+
+    /**
+     * 只读连接池大小，默认为CPU核数
+     */
+    private int readPoolSize = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 等待写连接或只读连接的最长时间
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(30);
+
+    /**
+     * 数据库忙时的等待时间（WAL模式下仅在检查点等极少数情况出现）
+     */
+    private Duration busyTimeout = Duration.ofSeconds(5);
+
+    /**
+     * 每个连接的页缓存大小
+     */
+    private DataSize cacheSize = DataSize.ofMegabytes(16);
+
+    /**
+     * 内存映射读取的大小，0表示关闭
+     */
+    private DataSize mmapSize = DataSize.ofMegabytes(256);
+}
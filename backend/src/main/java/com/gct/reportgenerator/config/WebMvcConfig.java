@@ -0,0 +1,24 @@
+package com.gct.reportgenerator.config;
+
+import com.gct.reportgenerator.execution.QueryCancellationInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Web MVC配置
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    /**
+     * 流式响应的异步请求中止时取消正在执行的报表查询
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new QueryCancellationInterceptor());
+    }
+}
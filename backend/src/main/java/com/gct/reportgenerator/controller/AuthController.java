@@ -2,6 +2,7 @@ package com.gct.reportgenerator.controller;
 
 import com.gct.reportgenerator.dto.LoginRequest;
 import com.gct.reportgenerator.dto.LoginResponse;
+import com.gct.reportgenerator.security.AuthenticatedUser;
 import com.gct.reportgenerator.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,6 +11,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -39,6 +41,7 @@ public class AuthController {
      * 用户登录
      * 
      * @param request 登录请求
+     * @param httpRequest HTTP请求（用于获取客户端IP）
      * @return 登录响应（包含token）
      */
     @Operation(
@@ -58,26 +61,33 @@ public class AuthController {
         @ApiResponse(
             responseCode = "401", 
             description = "用户已被禁用"
+        ),
+        @ApiResponse(
+            responseCode = "429", 
+            description = "连续登录失败次数过多，请按Retry-After等待后重试"
         )
     })
     @PostMapping("/login")
     public ResponseEntity<LoginResponse> login(
         @Parameter(description = "登录请求信息", required = true)
-        @Valid @RequestBody LoginRequest request
+        @Valid @RequestBody LoginRequest request,
+        HttpServletRequest httpRequest
     ) {
         log.info("收到登录请求, username: {}", request.getUsername());
-        LoginResponse response = authService.login(request);
+        // 经过受信任的反向代理时，remoteAddr已由RemoteIpValve替换为X-Forwarded-For中的客户端IP
+        LoginResponse response = authService.login(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
 
     /**
      * 用户登出
      * 
+     * @param currentUser 当前用户（未携带有效Token时为空）
      * @return 登出成功响应
      */
     @Operation(
         summary = "用户登出", 
-        description = "用户主动登出，清除会话信息（后续将实现Token黑名单机制）"
+        description = "用户主动登出，吊销当前Token，之后使用该Token的请求返回401"
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -86,21 +96,24 @@ public class AuthController {
         )
     })
     @PostMapping("/logout")
-    public ResponseEntity<Map<String, String>> logout() {
-        log.info("用户登出");
-        // 暂时简单处理，前端清除token即可
-        // 后续可以加入token黑名单机制
+    public ResponseEntity<Map<String, String>> logout(
+        @Parameter(hidden = true)
+        @RequestAttribute(value = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser currentUser
+    ) {
+        log.info("收到登出请求");
+        authService.logout(currentUser);
         return ResponseEntity.ok(Map.of("message", "登出成功"));
     }
 
     /**
      * 获取当前用户信息
      * 
+     * @param currentUser 当前用户
      * @return 用户信息
      */
     @Operation(
         summary = "获取当前用户信息", 
-        description = "根据Token获取当前登录用户的详细信息（待实现Token解析逻辑）"
+        description = "根据Token解析当前登录用户信息，无需查询数据库"
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -113,14 +126,16 @@ public class AuthController {
         )
     })
     @GetMapping("/current")
-    public ResponseEntity<Map<String, Object>> getCurrentUser() {
-        // TODO: 从token中解析用户信息
-        // 暂时返回mock数据
+    public ResponseEntity<Map<String, Object>> getCurrentUser(
+        @Parameter(hidden = true)
+        @RequestAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE) AuthenticatedUser currentUser
+    ) {
         Map<String, Object> userInfo = new HashMap<>();
-        userInfo.put("id", 1);
-        userInfo.put("username", "admin");
-        userInfo.put("role", "ADMIN");
+        userInfo.put("id", currentUser.userId());
+        userInfo.put("username", currentUser.username());
+        userInfo.put("role", currentUser.role().name());
         userInfo.put("enabled", true);
+        userInfo.put("expiresAt", currentUser.expiresAt());
         
         return ResponseEntity.ok(userInfo);
     }
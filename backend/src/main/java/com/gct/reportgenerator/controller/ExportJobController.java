@@ -0,0 +1,192 @@
+package com.gct.reportgenerator.controller;
+
+import com.gct.reportgenerator.dto.ExportJobStatus;
+import com.gct.reportgenerator.dto.ReportExecuteRequest;
+import com.gct.reportgenerator.execution.ReportDefinition;
+import com.gct.reportgenerator.export.ExportFormat;
+import com.gct.reportgenerator.export.ExportJob;
+import com.gct.reportgenerator.security.AuthenticatedUser;
+import com.gct.reportgenerator.service.ExportJobService;
+import com.gct.reportgenerator.service.ReportExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * 异步导出任务控制器
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+@Tag(name = "异步导出", description = "后台导出任务相关接口")
+public class ExportJobController {
+
+    private final ExportJobService exportJobService;
+    private final ReportExportService reportExportService;
+
+    /**
+     * 创建导出任务
+     *
+     * @param reportId    报表ID
+     * @param format      导出格式
+     * @param gzip        是否gzip压缩（仅CSV/TSV）
+     * @param request     报表参数
+     * @param currentUser 当前用户
+     * @return 任务状态
+     */
+    @Operation(
+        summary = "创建导出任务",
+        description = "在后台把报表查询结果导出为XLSX/CSV/TSV文件，立即返回任务ID；通过任务状态接口轮询进度，完成后下载文件"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "202",
+            description = "任务已创建"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "参数错误"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "报表不存在或无权访问"
+        ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "用户导出任务过多或导出队列已满"
+        )
+    })
+    @PostMapping("/reports/{reportId}/export-jobs")
+    public ResponseEntity<ExportJobStatus> submit(
+        @Parameter(description = "报表ID", required = true)
+        @PathVariable Long reportId,
+        @Parameter(description = "导出格式")
+        @RequestParam(defaultValue = "XLSX") ExportFormat format,
+        @Parameter(description = "是否gzip压缩（仅CSV/TSV）")
+        @RequestParam(defaultValue = "false") boolean gzip,
+        @RequestBody(required = false) ReportExecuteRequest request,
+        @RequestAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE) AuthenticatedUser currentUser
+    ) {
+        log.info("收到导出任务请求, reportId: {}", reportId);
+        ReportDefinition definition = reportExportService.getDefinition(reportId, currentUser.role());
+        Map<String, Object> params = request == null ? null : request.getParams();
+        // 创建任务之前校验参数，参数错误返回400
+        Map<String, Object> normalized = definition.requirePlan().normalize(params);
+        ExportJobStatus status = exportJobService.submit(definition, normalized, currentUser.userId(),
+                currentUser.role(), format, gzip);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+    }
+
+    /**
+     * 查询导出任务状态和进度
+     *
+     * @param jobId       任务ID
+     * @param currentUser 当前用户
+     * @return 任务状态
+     */
+    @Operation(summary = "查询导出任务", description = "返回任务状态、已写出的行数和字节数")
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "查询成功"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "任务不存在或已过期"
+        )
+    })
+    @GetMapping("/export-jobs/{jobId}")
+    public ResponseEntity<ExportJobStatus> status(
+        @Parameter(description = "任务ID", required = true)
+        @PathVariable String jobId,
+        @RequestAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE) AuthenticatedUser currentUser
+    ) {
+        return ResponseEntity.ok(exportJobService.getStatus(jobId, currentUser.userId()));
+    }
+
+    /**
+     * 下载导出文件
+     *
+     * @param jobId       任务ID
+     * @param currentUser 当前用户
+     * @return 导出文件
+     */
+    @Operation(summary = "下载导出文件", description = "任务完成后下载导出文件，文件在任务结束后保留一段时间")
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "下载成功"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "任务尚未完成"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "任务不存在或已过期"
+        )
+    })
+    @GetMapping("/export-jobs/{jobId}/file")
+    public ResponseEntity<Resource> download(
+        @Parameter(description = "任务ID", required = true)
+        @PathVariable String jobId,
+        @RequestAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE) AuthenticatedUser currentUser
+    ) {
+        ExportJob job = exportJobService.getCompleted(jobId, currentUser.userId());
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(job.fileName(), StandardCharsets.UTF_8)
+                .build();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .contentType(MediaType.parseMediaType(job.mediaType()))
+                .body(new FileSystemResource(job.getFile()));
+    }
+
+    /**
+     * 取消导出任务
+     *
+     * @param jobId       任务ID
+     * @param currentUser 当前用户
+     * @return 无内容
+     */
+    @Operation(summary = "取消导出任务", description = "取消排队中或执行中的任务，已结束的任务不受影响")
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "204",
+            description = "已取消"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "任务不存在或已过期"
+        )
+    })
+    @DeleteMapping("/export-jobs/{jobId}")
+    public ResponseEntity<Void> cancel(
+        @Parameter(description = "任务ID", required = true)
+        @PathVariable String jobId,
+        @RequestAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE) AuthenticatedUser currentUser
+    ) {
+        exportJobService.cancel(jobId, currentUser.userId());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,188 @@
+package com.gct.reportgenerator.controller;
+
+import com.gct.reportgenerator.entity.Report;
+import com.gct.reportgenerator.execution.QueryCancellation;
+import com.gct.reportgenerator.execution.ReportDefinition;
+import com.gct.reportgenerator.export.ExportFormat;
+import com.gct.reportgenerator.security.AuthenticatedUser;
+import com.gct.reportgenerator.service.ReportExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 报表导出控制器
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@RestController
+@RequestMapping("/api/v1/reports")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+@Tag(name = "报表导出", description = "报表数据导出相关接口")
+public class ReportExportController {
+
+    private static final MediaType XLSX_MEDIA_TYPE =
+            MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    private final ReportExportService reportExportService;
+
+    /**
+     * 导出报表为Excel
+     * 
+     * @param reportId 报表ID
+     * @param params 报表参数（查询字符串）
+     * @param currentUser 当前用户
+     * @param request HTTP请求
+     * @return XLSX文件流
+     */
+    @Operation(
+        summary = "导出Excel",
+        description = "流式导出报表查询结果为XLSX文件，按列配置设置表头、列宽和格式，不限制行数"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "导出成功"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "参数错误"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "报表不存在或无权访问"
+        ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "同时执行的查询过多（用户、报表或全局上限）"
+        ),
+        @ApiResponse(
+            responseCode = "504",
+            description = "导出超时"
+        )
+    })
+    @GetMapping("/{reportId}/export")
+    public ResponseEntity<StreamingResponseBody> exportXlsx(
+        @Parameter(description = "报表ID", required = true)
+        @PathVariable Long reportId,
+        @Parameter(description = "报表参数，未传的参数使用默认值")
+        @RequestParam Map<String, String> params,
+        @RequestAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE) AuthenticatedUser currentUser,
+        HttpServletRequest request
+    ) {
+        log.info("收到导出请求, reportId: {}", reportId);
+        ReportDefinition definition = reportExportService.getDefinition(reportId, currentUser.role());
+        Report report = definition.report();
+        // 在开始写出响应之前校验参数，参数错误返回400
+        Map<String, Object> normalized = definition.requirePlan().normalize(params);
+        // 客户端断开或异步请求超时时由拦截器取消查询
+        QueryCancellation cancellation = new QueryCancellation();
+        request.setAttribute(QueryCancellation.REQUEST_ATTRIBUTE, cancellation);
+        StreamingResponseBody body = out -> reportExportService.export(definition, normalized, currentUser.userId(),
+                currentUser.role(), ExportFormat.XLSX, false, cancellation, Channels.newChannel(out), rows -> {
+                });
+
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(report.getName() + ".xlsx", StandardCharsets.UTF_8)
+                .build();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .contentType(XLSX_MEDIA_TYPE)
+                .body(body);
+    }
+
+    /**
+     * 导出报表为CSV/TSV
+     * 
+     * @param reportId 报表ID
+     * @param format 导出格式（csv或tsv）
+     * @param params 报表参数（查询字符串）
+     * @param acceptEncoding 客户端支持的内容编码，包含gzip时压缩响应
+     * @param currentUser 当前用户
+     * @param request HTTP请求
+     * @return CSV/TSV文件流
+     */
+    @Operation(
+        summary = "导出CSV/TSV",
+        description = "流式导出报表查询结果为UTF-8编码的CSV或TSV文件，列顺序、表头和格式与Excel导出一致，不限制行数；"
+                + "请求头Accept-Encoding包含gzip时压缩响应"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "导出成功"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "参数错误"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "报表不存在或无权访问"
+        ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "同时执行的查询过多（用户、报表或全局上限）"
+        ),
+        @ApiResponse(
+            responseCode = "504",
+            description = "导出超时"
+        )
+    })
+    @GetMapping("/{reportId}/export/{format:csv|tsv}")
+    public ResponseEntity<StreamingResponseBody> exportDelimited(
+        @Parameter(description = "报表ID", required = true)
+        @PathVariable Long reportId,
+        @Parameter(description = "导出格式", required = true)
+        @PathVariable String format,
+        @Parameter(description = "报表参数，未传的参数使用默认值")
+        @RequestParam Map<String, String> params,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+        @RequestAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE) AuthenticatedUser currentUser,
+        HttpServletRequest request
+    ) {
+        log.info("收到导出请求, reportId: {}, 格式: {}", reportId, format);
+        ExportFormat exportFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        ReportDefinition definition = reportExportService.getDefinition(reportId, currentUser.role());
+        Map<String, Object> normalized = definition.requirePlan().normalize(params);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        QueryCancellation cancellation = new QueryCancellation();
+        request.setAttribute(QueryCancellation.REQUEST_ATTRIBUTE, cancellation);
+        StreamingResponseBody body = out -> reportExportService.export(definition, normalized,
+                currentUser.userId(), currentUser.role(), exportFormat, gzip, cancellation, Channels.newChannel(out),
+                rows -> {
+                });
+
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(exportFormat.fileName(definition.report().getName(), false), StandardCharsets.UTF_8)
+                .build();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(new MediaType(MediaType.parseMediaType(exportFormat.mediaType()), StandardCharsets.UTF_8));
+        if (gzip) {
+            // 传输压缩，客户端解压后得到原始文件
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
@@ -0,0 +1,262 @@
+package com.gct.reportgenerator.controller;
+
+import com.gct.reportgenerator.dto.ReportExecuteRequest;
+import com.gct.reportgenerator.dto.ReportPage;
+import com.gct.reportgenerator.dto.ReportPageRequest;
+import com.gct.reportgenerator.dto.ReportSummary;
+import com.gct.reportgenerator.execution.QueryCancellation;
+import com.gct.reportgenerator.execution.ReportDefinition;
+import com.gct.reportgenerator.execution.ReportResult;
+import com.gct.reportgenerator.export.StreamingJsonWriter;
+import com.gct.reportgenerator.format.FormattedResult;
+import com.gct.reportgenerator.security.AuthenticatedUser;
+import com.gct.reportgenerator.service.ReportQueryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 报表查询控制器
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@RestController
+@RequestMapping("/api/v1/reports")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+@Tag(name = "报表查询", description = "报表在线查询相关接口")
+public class ReportQueryController {
+
+    private final ReportQueryService reportQueryService;
+
+    /**
+     * 报表目录
+     * 
+     * @param currentUser 当前用户
+     * @return 当前用户可见的报表
+     */
+    @Operation(
+        summary = "报表目录",
+        description = "返回当前用户可见的报表及其参数定义，数据来自内存中的报表定义快照"
+    )
+    @GetMapping
+    public ResponseEntity<List<ReportSummary>> list(
+        @RequestAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE) AuthenticatedUser currentUser
+    ) {
+        return ResponseEntity.ok(reportQueryService.listReports(currentUser.role()));
+    }
+
+    /**
+     * 执行报表查询
+     * 
+     * @param reportId 报表ID
+     * @param request 查询请求
+     * @param currentUser 当前用户
+     * @return 查询结果
+     */
+    @Operation(
+        summary = "执行报表查询",
+        description = "按参数执行报表并返回结果，相同报表版本和参数的重复查询直接返回缓存结果"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "查询成功",
+            content = @Content(schema = @Schema(implementation = ReportResult.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "参数错误或SQL执行失败"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "报表不存在或无权访问"
+        ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "同时执行的查询过多（用户、报表或全局上限）"
+        ),
+        @ApiResponse(
+            responseCode = "504",
+            description = "查询超时"
+        )
+    })
+    @PostMapping("/{reportId}/execute")
+    public ResponseEntity<ReportResult> execute(
+        @Parameter(description = "报表ID", required = true)
+        @PathVariable Long reportId,
+        @RequestBody(required = false) ReportExecuteRequest request,
+        @RequestAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE) AuthenticatedUser currentUser
+    ) {
+        log.info("收到报表查询请求, reportId: {}, userId: {}", reportId, currentUser.userId());
+        ReportResult result = reportQueryService.execute(reportId,
+                request != null ? request.getParams() : null, currentUser);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * 执行报表查询并按列配置格式化
+     * 
+     * @param reportId 报表ID
+     * @param request 查询请求
+     * @param currentUser 当前用户
+     * @return 格式化后的查询结果
+     */
+    @Operation(
+        summary = "执行报表查询（格式化）",
+        description = "按report_columns的格式类型（数值、货币、日期、日期时间）把单元格格式化为文本，供网格直接展示"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "查询成功",
+            content = @Content(schema = @Schema(implementation = FormattedResult.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "参数错误或SQL执行失败"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "报表不存在或无权访问"
+        ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "同时执行的查询过多（用户、报表或全局上限）"
+        ),
+        @ApiResponse(
+            responseCode = "504",
+            description = "查询超时"
+        )
+    })
+    @PostMapping("/{reportId}/execute/formatted")
+    public ResponseEntity<FormattedResult> executeFormatted(
+        @Parameter(description = "报表ID", required = true)
+        @PathVariable Long reportId,
+        @RequestBody(required = false) ReportExecuteRequest request,
+        @RequestAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE) AuthenticatedUser currentUser
+    ) {
+        log.info("收到报表格式化查询请求, reportId: {}, userId: {}", reportId, currentUser.userId());
+        FormattedResult result = reportQueryService.executeFormatted(reportId,
+                request != null ? request.getParams() : null, currentUser);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * 分页执行报表查询
+     * 
+     * @param reportId 报表ID
+     * @param request 分页请求
+     * @param currentUser 当前用户
+     * @return 本页数据和续页令牌
+     */
+    @Operation(
+        summary = "分页执行报表查询",
+        description = "按报表声明的分页键（page_key）做keyset分页，返回不透明的续页令牌；任意一页的代价与第一页相同"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "查询成功",
+            content = @Content(schema = @Schema(implementation = ReportPage.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "参数错误、报表不支持分页、续页令牌无效或已过期"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "报表不存在或无权访问"
+        ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "同时执行的查询过多（用户、报表或全局上限）"
+        ),
+        @ApiResponse(
+            responseCode = "504",
+            description = "查询超时"
+        )
+    })
+    @PostMapping("/{reportId}/execute/page")
+    public ResponseEntity<ReportPage> executePage(
+        @Parameter(description = "报表ID", required = true)
+        @PathVariable Long reportId,
+        @RequestBody(required = false) ReportPageRequest request,
+        @RequestAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE) AuthenticatedUser currentUser
+    ) {
+        log.info("收到报表分页查询请求, reportId: {}, userId: {}", reportId, currentUser.userId());
+        ReportPage page = reportQueryService.executePage(reportId,
+                request != null ? request : new ReportPageRequest(), currentUser);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * 流式执行报表查询
+     * 
+     * @param reportId 报表ID
+     * @param format 输出格式
+     * @param request 查询请求
+     * @param currentUser 当前用户
+     * @param httpRequest HTTP请求
+     * @return NDJSON或分块传输的JSON
+     */
+    @Operation(
+        summary = "流式执行报表查询",
+        description = "边读取游标边写出结果，每批刷新一次，不限制行数。NDJSON格式第一行为列名，之后每行一个数据行数组，"
+            + "最后一行为 {\"rowCount\": n}；缺少最后一行表示结果不完整。客户端断开时查询随即取消"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "开始写出结果"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "参数错误"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "报表不存在或无权访问"
+        )
+    })
+    @PostMapping("/{reportId}/execute/stream")
+    public ResponseEntity<StreamingResponseBody> executeStream(
+        @Parameter(description = "报表ID", required = true)
+        @PathVariable Long reportId,
+        @Parameter(description = "输出格式：NDJSON（默认）或JSON")
+        @RequestParam(defaultValue = "NDJSON") StreamingJsonWriter.Format format,
+        @RequestBody(required = false) ReportExecuteRequest request,
+        @RequestAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE) AuthenticatedUser currentUser,
+        HttpServletRequest httpRequest
+    ) {
+        log.info("收到报表流式查询请求, reportId: {}, userId: {}", reportId, currentUser.userId());
+        ReportDefinition definition = reportQueryService.getDefinition(reportId, currentUser);
+        // 在开始写出响应之前校验参数，参数错误返回400
+        Map<String, Object> params = definition.requirePlan()
+                .normalize(request != null ? request.getParams() : null);
+        // 客户端断开或异步请求超时时由拦截器取消查询
+        QueryCancellation cancellation = new QueryCancellation();
+        httpRequest.setAttribute(QueryCancellation.REQUEST_ATTRIBUTE, cancellation);
+        StreamingResponseBody body = out ->
+                reportQueryService.stream(definition, params, currentUser, format, cancellation, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.mediaType()))
+                .body(body);
+    }
+}
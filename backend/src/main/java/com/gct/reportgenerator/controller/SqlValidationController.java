@@ -0,0 +1,53 @@
+package com.gct.reportgenerator.controller;
+
+import com.gct.reportgenerator.dto.SqlValidateRequest;
+import com.gct.reportgenerator.execution.SqlSafetyValidator;
+import com.gct.reportgenerator.execution.SqlVerdict;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * SQL校验控制器
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@RestController
+@RequestMapping("/api/v1/sql")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "SQL校验", description = "报表设计时的SQL安全校验接口")
+public class SqlValidationController {
+
+    private final SqlSafetyValidator sqlSafetyValidator;
+
+    /**
+     * 校验SQL是否为允许执行的单条SELECT查询
+     * 
+     * @param request 校验请求
+     * @return 校验结果
+     */
+    @Operation(
+        summary = "SQL安全校验",
+        description = "只允许单条SELECT查询（可使用WITH），结果按SQL内容缓存，可在编辑时频繁调用"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "校验完成",
+            content = @Content(schema = @Schema(implementation = SqlVerdict.class))
+        )
+    })
+    @PostMapping("/validate")
+    public ResponseEntity<SqlVerdict> validate(@Valid @RequestBody SqlValidateRequest request) {
+        return ResponseEntity.ok(sqlSafetyValidator.validate(request.getSql()));
+    }
+}
@@ -0,0 +1,129 @@
+package com.gct.reportgenerator.dto;
+
+import com.gct.reportgenerator.export.ExportJob;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 导出任务状态DTO
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "导出任务状态")
+public class ExportJobStatus {
+
+    /**
+     * 任务ID
+     */
+    @Schema(description = "任务ID")
+    private String id;
+
+    /**
+     * 报表ID
+     */
+    @Schema(description = "报表ID", example = "1")
+    private Long reportId;
+
+    /**
+     * 报表名称
+     */
+    @Schema(description = "报表名称", example = "销售汇总")
+    private String reportName;
+
+    /**
+     * 导出格式
+     */
+    @Schema(description = "导出格式", allowableValues = {"XLSX", "CSV", "TSV"})
+    private String format;
+
+    /**
+     * 是否gzip压缩
+     */
+    @Schema(description = "是否gzip压缩")
+    private boolean gzip;
+
+    /**
+     * 任务状态
+     */
+    @Schema(description = "任务状态", allowableValues = {"QUEUED", "RUNNING", "COMPLETED", "FAILED", "CANCELLED"})
+    private String status;
+
+    /**
+     * 已写出的行数
+     */
+    @Schema(description = "已写出的行数")
+    private long rowsWritten;
+
+    /**
+     * 已写出的字节数
+     */
+    @Schema(description = "已写出的字节数")
+    private long bytesWritten;
+
+    /**
+     * 创建时间
+     */
+    @Schema(description = "创建时间")
+    private Instant createdAt;
+
+    /**
+     * 开始执行时间
+     */
+    @Schema(description = "开始执行时间")
+    private Instant startedAt;
+
+    /**
+     * 结束时间
+     */
+    @Schema(description = "结束时间")
+    private Instant finishedAt;
+
+    /**
+     * 任务记录和导出文件的清理时间
+     */
+    @Schema(description = "任务记录和导出文件的清理时间")
+    private Instant expiresAt;
+
+    /**
+     * 失败原因
+     */
+    @Schema(description = "失败原因")
+    private String error;
+
+    /**
+     * 由导出任务构造
+     *
+     * @param job 导出任务
+     * @param ttl 任务结束后的保留时间
+     * @return 任务状态
+     */
+    public static ExportJobStatus from(ExportJob job, Duration ttl) {
+        Instant finishedAt = job.getFinishedAt();
+        return ExportJobStatus.builder()
+                .id(job.getId())
+                .reportId(job.getReportId())
+                .reportName(job.getReportName())
+                .format(job.getFormat().name())
+                .gzip(job.isGzip())
+                .status(job.getStatus().name())
+                .rowsWritten(job.getRowsWritten())
+                .bytesWritten(job.getBytesWritten())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(finishedAt)
+                .expiresAt(finishedAt == null ? null : finishedAt.plus(ttl))
+                .error(job.getError())
+                .build();
+    }
+}
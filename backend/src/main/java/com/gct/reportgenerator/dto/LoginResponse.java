@@ -20,9 +20,10 @@ import lombok.NoArgsConstructor;
 public class LoginResponse {
 
     /**
-     * JWT Token
+     * 签名Token
      */
-    @Schema(description = "访问令牌", example = "TOKEN_1_1737878400000")
+    @Schema(description = "访问令牌（HMAC签名，请求时放入Authorization: Bearer头）",
+            example = "AQAAAAAAAAABAAABlJ2xQAAAAAGUnbFAAA.6f1mN8rK0pQ2x")
     private String token;
 
     /**
@@ -0,0 +1,29 @@
+package com.gct.reportgenerator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 报表查询请求DTO
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "报表查询请求对象")
+public class ReportExecuteRequest {
+
+    /**
+     * 报表参数（参数名 -> 值），未传的参数使用默认值
+     */
+    @Schema(description = "报表参数", example = "{\"startDate\": \"2024-01-01\"}")
+    private Map<String, Object> params;
+}
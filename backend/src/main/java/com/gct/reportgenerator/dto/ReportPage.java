@@ -0,0 +1,20 @@
+package com.gct.reportgenerator.dto;
+
+import com.gct.reportgenerator.execution.ReportResult;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * 报表分页查询结果DTO
+ *
+ * @param result         本页数据
+ * @param nextPageToken  下一页的续页令牌，没有下一页时为null
+ * @param estimatedTotal 总行数（第一页查询时统计，数据变化后可能不准确），未统计为null
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Schema(description = "报表分页查询结果")
+public record ReportPage(
+        @Schema(description = "本页数据") ReportResult result,
+        @Schema(description = "下一页的续页令牌，没有下一页时为null") String nextPageToken,
+        @Schema(description = "总行数估计，未统计时为null") Long estimatedTotal) {
+}
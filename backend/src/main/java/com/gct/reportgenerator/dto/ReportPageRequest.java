@@ -0,0 +1,47 @@
+package com.gct.reportgenerator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 报表分页查询请求DTO
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "报表分页查询请求对象")
+public class ReportPageRequest {
+
+    /**
+     * 报表参数（参数名 -> 值），未传的参数使用默认值；续页时须与第一页相同
+     */
+    @Schema(description = "报表参数", example = "{\"startDate\": \"2024-01-01\"}")
+    private Map<String, Object> params;
+
+    /**
+     * 每页行数，为空时使用全局配置
+     */
+    @Schema(description = "每页行数", example = "100")
+    private Integer pageSize;
+
+    /**
+     * 上一页返回的续页令牌，为空时查询第一页
+     */
+    @Schema(description = "续页令牌，为空时查询第一页")
+    private String pageToken;
+
+    /**
+     * 查询第一页时是否统计总行数（之后的页沿用第一页的统计结果）
+     */
+    @Schema(description = "是否统计总行数", example = "false")
+    private boolean includeTotal;
+}
@@ -0,0 +1,111 @@
+package com.gct.reportgenerator.dto;
+
+import com.gct.reportgenerator.entity.ReportParam;
+import com.gct.reportgenerator.execution.ReportDefinition;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 报表目录条目DTO
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "报表目录条目")
+public class ReportSummary {
+
+    /**
+     * 报表ID
+     */
+    @Schema(description = "报表ID", example = "1")
+    private Long id;
+
+    /**
+     * 报表名称
+     */
+    @Schema(description = "报表名称", example = "销售汇总")
+    private String name;
+
+    /**
+     * 报表描述
+     */
+    @Schema(description = "报表描述")
+    private String description;
+
+    /**
+     * 最后更新时间
+     */
+    @Schema(description = "最后更新时间")
+    private LocalDateTime updatedAt;
+
+    /**
+     * 报表参数
+     */
+    @Schema(description = "报表参数")
+    private List<Param> params;
+
+    /**
+     * 是否支持分页查询（报表声明了分页键）
+     */
+    @Schema(description = "是否支持分页查询")
+    private boolean pageable;
+
+    /**
+     * 报表参数定义
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "报表参数定义")
+    public static class Param {
+
+        @Schema(description = "参数名", example = "region")
+        private String name;
+
+        @Schema(description = "参数类型", example = "STRING", allowableValues = {"STRING", "NUMBER", "DATE", "DATETIME"})
+        private String type;
+
+        @Schema(description = "是否必填")
+        private Boolean required;
+
+        @Schema(description = "默认值")
+        private String defaultValue;
+    }
+
+    /**
+     * 由报表定义快照构造
+     *
+     * @param definition 报表定义
+     * @return 目录条目
+     */
+    public static ReportSummary from(ReportDefinition definition) {
+        return ReportSummary.builder()
+                .id(definition.reportId())
+                .name(definition.report().getName())
+                .description(definition.report().getDescription())
+                .updatedAt(definition.updatedAt())
+                .params(definition.params().stream().map(ReportSummary::param).toList())
+                .pageable(definition.plan() != null && definition.plan().keyset() != null)
+                .build();
+    }
+
+    private static Param param(ReportParam param) {
+        return Param.builder()
+                .name(param.getParamName())
+                .type(param.getParamType().name())
+                .required(param.getRequired())
+                .defaultValue(param.getDefaultValue())
+                .build();
+    }
+}
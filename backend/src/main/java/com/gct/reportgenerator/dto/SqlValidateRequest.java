@@ -0,0 +1,30 @@
+package com.gct.reportgenerator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * SQL校验请求DTO
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "SQL校验请求对象")
+public class SqlValidateRequest {
+
+    /**
+     * 待校验的SQL
+     */
+    @Schema(description = "SQL", example = "SELECT * FROM sales WHERE region = :region",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotBlank(message = "SQL不能为空")
+    private String sql;
+}
@@ -0,0 +1,88 @@
+package com.gct.reportgenerator.entity;
+
+import com.gct.reportgenerator.event.ReportChangeListener;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 报表实体类
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Entity
+@Table(name = "reports")
+@EntityListeners(ReportChangeListener.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Report {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 报表名称（唯一）
+     */
+    @Column(nullable = false, unique = true, length = 100)
+    private String name;
+
+    /**
+     * 报表描述
+     */
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    /**
+     * 报表SQL（仅允许SELECT）
+     */
+    @Column(name = "sql_content", nullable = false, columnDefinition = "TEXT")
+    private String sqlContent;
+
+    /**
+     * 创建者ID
+     */
+    @Column(name = "creator_id", nullable = false)
+    private Long creatorId;
+
+    /**
+     * 查询超时时间（秒），为空时使用全局默认值
+     */
+    @Column(name = "query_timeout_seconds")
+    private Integer queryTimeoutSeconds;
+
+    /**
+     * 结果缓存有效期（秒），为空时使用全局默认值，0表示不缓存
+     */
+    @Column(name = "cache_ttl_seconds")
+    private Integer cacheTtlSeconds;
+
+    /**
+     * 分页键：查询结果中唯一且非空的排序列（逗号分隔组成复合键，可加ASC/DESC），为空时不支持分页查询
+     */
+    @Column(name = "page_key", length = 200)
+    private String pageKey;
+
+    /**
+     * 创建时间
+     */
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * 更新时间
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
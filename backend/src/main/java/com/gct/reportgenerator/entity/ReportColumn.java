@@ -0,0 +1,113 @@
+package com.gct.reportgenerator.entity;
+
+import com.gct.reportgenerator.event.ReportChangeListener;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 报表列配置实体类
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Entity
+@Table(name = "report_columns")
+@EntityListeners(ReportChangeListener.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportColumn {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 所属报表ID
+     */
+    @Column(name = "report_id", nullable = false)
+    private Long reportId;
+
+    /**
+     * 查询结果字段名
+     */
+    @Column(name = "field_name", nullable = false, length = 50)
+    private String fieldName;
+
+    /**
+     * 显示名称
+     */
+    @Column(name = "display_name", nullable = false, length = 100)
+    private String displayName;
+
+    /**
+     * 列宽（像素）
+     */
+    @Column(name = "column_width")
+    private Integer columnWidth;
+
+    /**
+     * 格式类型
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format_type", length = 20)
+    private FormatType formatType;
+
+    /**
+     * 列顺序
+     */
+    @Column(name = "column_order", nullable = false)
+    private Integer columnOrder;
+
+    /**
+     * 创建时间
+     */
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * 更新时间
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * 列格式类型枚举
+     */
+    public enum FormatType {
+        /**
+         * 文本
+         */
+        TEXT,
+
+        /**
+         * 数值
+         */
+        NUMBER,
+
+        /**
+         * 日期
+         */
+        DATE,
+
+        /**
+         * 日期时间
+         */
+        DATETIME,
+
+        /**
+         * 货币
+         */
+        CURRENCY
+    }
+}
@@ -0,0 +1,102 @@
+package com.gct.reportgenerator.entity;
+
+import com.gct.reportgenerator.event.ReportChangeListener;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 报表参数实体类
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Entity
+@Table(name = "report_params")
+@EntityListeners(ReportChangeListener.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportParam {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 所属报表ID
+     */
+    @Column(name = "report_id", nullable = false)
+    private Long reportId;
+
+    /**
+     * 参数名（SQL中以 :参数名 引用）
+     */
+    @Column(name = "param_name", nullable = false, length = 50)
+    private String paramName;
+
+    /**
+     * 参数类型
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "param_type", nullable = false, length = 20)
+    private ParamType paramType;
+
+    /**
+     * 是否必填
+     */
+    @Column(nullable = false)
+    private Boolean required;
+
+    /**
+     * 默认值
+     */
+    @Column(name = "default_value")
+    private String defaultValue;
+
+    /**
+     * 创建时间
+     */
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * 更新时间
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * 参数类型枚举
+     */
+    public enum ParamType {
+        /**
+         * 字符串
+         */
+        STRING,
+
+        /**
+         * 数值
+         */
+        NUMBER,
+
+        /**
+         * 日期（yyyy-MM-dd）
+         */
+        DATE,
+
+        /**
+         * 日期时间（yyyy-MM-dd HH:mm:ss）
+         */
+        DATETIME
+    }
+}
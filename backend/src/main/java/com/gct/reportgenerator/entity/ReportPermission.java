@@ -0,0 +1,59 @@
+package com.gct.reportgenerator.entity;
+
+import com.gct.reportgenerator.event.ReportChangeListener;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 报表权限实体类（按角色授权）
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Entity
+@Table(name = "report_permissions")
+@EntityListeners(ReportChangeListener.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportPermission {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 报表ID
+     */
+    @Column(name = "report_id", nullable = false)
+    private Long reportId;
+
+    /**
+     * 可访问该报表的角色
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private User.UserRole role;
+
+    /**
+     * 创建时间
+     */
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * 更新时间
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
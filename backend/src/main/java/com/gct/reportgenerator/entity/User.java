@@ -1,5 +1,6 @@
 package com.gct.reportgenerator.entity;
 
+import com.gct.reportgenerator.security.UserPrincipalCacheListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,6 +19,7 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "users")
+@EntityListeners(UserPrincipalCacheListener.class)
 @Data
 @Builder
 @NoArgsConstructor
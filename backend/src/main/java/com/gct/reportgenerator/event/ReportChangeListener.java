@@ -0,0 +1,69 @@
+package com.gct.reportgenerator.event;
+
+import com.gct.reportgenerator.entity.Report;
+import com.gct.reportgenerator.entity.ReportColumn;
+import com.gct.reportgenerator.entity.ReportParam;
+import com.gct.reportgenerator.entity.ReportPermission;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 报表定义实体变更监听器
+ *
+ * 报表、参数、列配置、权限新增、修改、删除后立即发布 {@link ReportChangedEvent}；处于事务中时在事务结束
+ * （提交或回滚）后再发布一次，避免并发请求在提交前读到旧数据并重新放入缓存。
+ * 注意：JPQL批量更新不触发实体回调，需要调用方自行发布事件。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Component
+public class ReportChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReportChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onReportChanged(Object entity) {
+        Long reportId = reportId(entity);
+        if (reportId == null) {
+            return;
+        }
+        ReportChangedEvent event = new ReportChangedEvent(reportId);
+        eventPublisher.publishEvent(event);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eventPublisher.publishEvent(event);
+                }
+            });
+        }
+    }
+
+    private static Long reportId(Object entity) {
+        if (entity instanceof Report report) {
+            return report.getId();
+        }
+        if (entity instanceof ReportParam param) {
+            return param.getReportId();
+        }
+        if (entity instanceof ReportColumn column) {
+            return column.getReportId();
+        }
+        if (entity instanceof ReportPermission permission) {
+            return permission.getReportId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,13 @@
+package com.gct.reportgenerator.event;
+
+/**
+ * 报表定义变更事件
+ *
+ * 报表本身、参数或列配置新增、修改、删除后发布，同步分发，监听方应只做内存中的失效操作。
+ *
+ * @param reportId 报表ID
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public record ReportChangedEvent(Long reportId) {
+}
@@ -0,0 +1,11 @@
+/**
+ * Event层 - 应用内事件
+ * 
+ * 职责:
+ * - 报表定义（SQL、参数、列配置）变更时发布事件
+ * - 各类报表缓存据此立即失效
+ * 
+ * @author GCT Team
+ * @since 1.0.0
+ */
+package com.gct.reportgenerator.event;
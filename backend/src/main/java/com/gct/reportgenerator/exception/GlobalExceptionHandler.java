@@ -1,6 +1,7 @@
 package com.gct.reportgenerator.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -8,6 +9,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -33,6 +35,60 @@ public class GlobalExceptionHandler {
                 .body(errorResponse);
     }
 
+    /**
+     * 处理资源不存在异常
+     */
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleNotFoundException(ResourceNotFoundException e) {
+        log.warn("资源不存在: {}", e.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(e.getCode(), e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(errorResponse);
+    }
+
+    /**
+     * 处理查询超时异常
+     */
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleQueryTimeoutException(QueryTimeoutException e) {
+        log.warn("查询超时: {}", e.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(e.getCode(), e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(errorResponse);
+    }
+
+    /**
+     * 处理查询取消异常（客户端通常已断开，响应仅作记录）
+     */
+    @ExceptionHandler(QueryCancelledException.class)
+    public ResponseEntity<ErrorResponse> handleQueryCancelledException(QueryCancelledException e) {
+        log.info("查询已取消: {}", e.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(e.getCode(), e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(errorResponse);
+    }
+
+    /**
+     * 处理请求过多异常
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequestsException(TooManyRequestsException e) {
+        log.warn("请求被拒绝: {}", e.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(e.getCode(), e.getMessage());
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS);
+        if (e.getRetryAfter() != null) {
+            builder.header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(e.getRetryAfter())));
+        }
+        return builder.body(errorResponse);
+    }
+
+    private static long retryAfterSeconds(Duration retryAfter) {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+
     /**
      * 处理参数校验异常
      */
@@ -0,0 +1,14 @@
+package com.gct.reportgenerator.exception;
+
+/**
+ * 报表查询被取消异常（客户端断开或请求中止）
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public class QueryCancelledException extends BusinessException {
+
+    public QueryCancelledException(String message, Throwable cause) {
+        super("QUERY_CANCELLED", message, cause);
+    }
+}
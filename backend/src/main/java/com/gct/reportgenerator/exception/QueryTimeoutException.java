@@ -0,0 +1,14 @@
+package com.gct.reportgenerator.exception;
+
+/**
+ * 报表查询超时异常
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public class QueryTimeoutException extends BusinessException {
+
+    public QueryTimeoutException(String message, Throwable cause) {
+        super("QUERY_TIMEOUT", message, cause);
+    }
+}
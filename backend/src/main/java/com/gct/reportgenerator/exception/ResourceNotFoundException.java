@@ -0,0 +1,14 @@
+package com.gct.reportgenerator.exception;
+
+/**
+ * 资源不存在异常
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public class ResourceNotFoundException extends BusinessException {
+
+    public ResourceNotFoundException(String message) {
+        super("NOT_FOUND", message);
+    }
+}
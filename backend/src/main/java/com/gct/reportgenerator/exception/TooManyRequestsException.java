@@ -0,0 +1,29 @@
+package com.gct.reportgenerator.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * 请求过多异常（资源繁忙，快速拒绝）
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Getter
+public class TooManyRequestsException extends BusinessException {
+
+    /**
+     * 建议的重试等待时间（响应头Retry-After），未知时为空
+     */
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String code, String message) {
+        this(code, message, null);
+    }
+
+    public TooManyRequestsException(String code, String message, Duration retryAfter) {
+        super(code, message);
+        this.retryAfter = retryAfter;
+    }
+}
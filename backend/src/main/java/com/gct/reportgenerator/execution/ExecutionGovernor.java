@@ -0,0 +1,207 @@
+package com.gct.reportgenerator.execution;
+
+import com.gct.reportgenerator.config.ExecutionProperties;
+import com.gct.reportgenerator.entity.User;
+import com.gct.reportgenerator.exception.QueryCancelledException;
+import com.gct.reportgenerator.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 报表执行准入控制
+ *
+ * 每次查询执行前依次占用三类名额：
+ * <ul>
+ *   <li>用户名额：按用户角色分级（VIEWER/DESIGNER/ADMIN），达到上限时立即拒绝</li>
+ *   <li>报表名额：每个报表同时执行的查询数，达到上限时立即拒绝</li>
+ *   <li>全局名额：同时执行的查询总数，不足时按先来先得排队，队列已满或等待超时时拒绝</li>
+ * </ul>
+ * 用户和报表名额不排队，一个用户或一个重报表最多占用自己的名额，不会占满全局队列而拖慢其他请求。
+ * 拒绝时抛出 {@link TooManyRequestsException}（HTTP 429，带Retry-After）。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class ExecutionGovernor {
+
+    /**
+     * 用户达到并发上限时的错误码（只与该用户有关，合并执行的其他用户不共享）
+     */
+    public static final String USER_LIMIT_CODE = "EXECUTION_USER_LIMIT";
+
+    private final ExecutionProperties.Admission config;
+    private final Semaphore globalPermits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ConcurrentMap<Long, Integer> runningByUser = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Integer> runningByReport = new ConcurrentHashMap<>();
+
+    private final Timer admittedWaitTimer;
+    private final Timer rejectedWaitTimer;
+    private final Map<String, Counter> rejectedCounters;
+
+    public ExecutionGovernor(ExecutionProperties executionProperties, MeterRegistry meterRegistry) {
+        this.config = executionProperties.getAdmission();
+        this.globalPermits = new Semaphore(config.getGlobalLimit(), true);
+        this.admittedWaitTimer = Timer.builder("gct.report.admission.wait")
+                .tag("result", "admitted")
+                .description("报表查询等待执行名额的时间")
+                .register(meterRegistry);
+        this.rejectedWaitTimer = Timer.builder("gct.report.admission.wait")
+                .tag("result", "rejected")
+                .description("报表查询被拒绝前等待的时间")
+                .register(meterRegistry);
+        this.rejectedCounters = Stream.of("user", "report", "queue_full", "queue_timeout")
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), reason -> Counter
+                        .builder("gct.report.admission.rejected")
+                        .tag("reason", reason)
+                        .description("准入控制拒绝的报表查询数")
+                        .register(meterRegistry)));
+        Gauge.builder("gct.report.admission.queued", queued, AtomicInteger::get)
+                .description("等待全局执行名额的请求数")
+                .register(meterRegistry);
+        Gauge.builder("gct.report.admission.active", globalPermits,
+                        permits -> config.getGlobalLimit() - permits.availablePermits())
+                .description("占用全局执行名额的查询数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 申请执行名额
+     *
+     * @param userId   执行用户ID（为空时不检查用户名额）
+     * @param role     执行用户角色（为空时按VIEWER分级）
+     * @param reportId 报表ID
+     * @return 执行名额，执行结束后关闭
+     * @throws TooManyRequestsException 用户或报表达到并发上限、排队队列已满或等待超时
+     * @throws QueryCancelledException  等待期间线程被中断
+     */
+    public Permit admit(Long userId, User.UserRole role, Long reportId) {
+        long start = System.nanoTime();
+        Permit permit = new Permit(userId, reportId);
+        try {
+            if (userId != null) {
+                int limit = userLimit(role);
+                if (!tryIncrement(runningByUser, userId, limit)) {
+                    throw reject("user", USER_LIMIT_CODE,
+                            "您同时执行的报表查询过多（上限" + limit + "个），请稍后重试");
+                }
+                permit.userHeld = true;
+            }
+            if (!tryIncrement(runningByReport, reportId, config.getReportLimit())) {
+                throw reject("report", "EXECUTION_REPORT_LIMIT", "该报表同时执行的查询过多，请稍后重试");
+            }
+            permit.reportHeld = true;
+            acquireGlobal();
+            permit.globalHeld = true;
+            admittedWaitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return permit;
+        } catch (RuntimeException e) {
+            permit.close();
+            if (e instanceof TooManyRequestsException) {
+                rejectedWaitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            throw e;
+        }
+    }
+
+    private void acquireGlobal() {
+        if (globalPermits.tryAcquire()) {
+            return;
+        }
+        if (queued.incrementAndGet() > config.getQueueCapacity()) {
+            queued.decrementAndGet();
+            throw reject("queue_full", "EXECUTION_QUEUE_FULL", "系统繁忙，请稍后重试");
+        }
+        try {
+            if (!globalPermits.tryAcquire(config.getQueueTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                throw reject("queue_timeout", "EXECUTION_QUEUE_TIMEOUT", "系统繁忙，请稍后重试");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryCancelledException("报表查询已取消", e);
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    private int userLimit(User.UserRole role) {
+        Map<User.UserRole, Integer> limits = config.getUserLimits();
+        Integer limit = limits.get(role != null ? role : User.UserRole.VIEWER);
+        return limit != null ? limit : config.getGlobalLimit();
+    }
+
+    private TooManyRequestsException reject(String reason, String code, String message) {
+        rejectedCounters.get(reason).increment();
+        log.info("报表查询被准入控制拒绝, 原因: {}", reason);
+        return new TooManyRequestsException(code, message, config.getQueueTimeout());
+    }
+
+    /**
+     * 原子地在计数未达上限时加一
+     */
+    private static boolean tryIncrement(ConcurrentMap<Long, Integer> running, Long key, int limit) {
+        boolean[] admitted = new boolean[1];
+        running.compute(key, (k, count) -> {
+            int current = count != null ? count : 0;
+            if (current >= limit) {
+                return count;
+            }
+            admitted[0] = true;
+            return current + 1;
+        });
+        return admitted[0];
+    }
+
+    private static void decrement(ConcurrentMap<Long, Integer> running, Long key) {
+        running.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * 执行名额，关闭时归还占用的全部名额（可重复关闭）
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final Long userId;
+        private final Long reportId;
+        private boolean userHeld;
+        private boolean reportHeld;
+        private boolean globalHeld;
+
+        private Permit(Long userId, Long reportId) {
+            this.userId = userId;
+            this.reportId = reportId;
+        }
+
+        @Override
+        public void close() {
+            if (globalHeld) {
+                globalHeld = false;
+                globalPermits.release();
+            }
+            if (reportHeld) {
+                reportHeld = false;
+                decrement(runningByReport, reportId);
+            }
+            if (userHeld) {
+                userHeld = false;
+                decrement(runningByUser, userId);
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.gct.reportgenerator.execution;
+
+import com.gct.reportgenerator.exception.BusinessException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * 编译后的keyset分页计划（不可变，线程安全）
+ *
+ * 把报表SQL作为子查询，按reports.page_key声明的排序列排序；下一页只取排在上一页最后一行之后的行
+ * （{@code k1 > ? OR (k1 = ? AND k2 > ?)}），不使用OFFSET，数据库不需要扫描并丢弃前面的行。
+ * 排序列有索引时，任意一页的代价与第一页相同。分页键必须在结果中唯一且非空，否则页与页之间会遗漏或重复行。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public final class KeysetPlan {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+    private static final String SOURCE_ALIAS = "page_src";
+
+    private final String[] keys;
+    private final String firstPageSql;
+    private final String nextPageSql;
+    private final String countSql;
+    private final int[] argOrder;
+    private final int fingerprint;
+
+    private KeysetPlan(String[] keys, String firstPageSql, String nextPageSql, String countSql, int[] argOrder) {
+        this.keys = keys;
+        this.firstPageSql = firstPageSql;
+        this.nextPageSql = nextPageSql;
+        this.countSql = countSql;
+        this.argOrder = argOrder;
+        this.fingerprint = Objects.hash(nextPageSql, countSql);
+    }
+
+    /**
+     * 编译分页计划
+     *
+     * @param sql     以 ? 为占位符的报表SQL（不含结尾分号）
+     * @param pageKey 分页键声明，如 {@code "order_date DESC, id DESC"}
+     * @return 分页计划
+     * @throws BusinessException 分页键格式错误
+     */
+    static KeysetPlan compile(String sql, String pageKey) {
+        List<String> names = new ArrayList<>();
+        List<Boolean> descending = new ArrayList<>();
+        for (String part : pageKey.split(",", -1)) {
+            String[] tokens = part.trim().split("\\s+");
+            boolean valid = tokens.length <= 2 && IDENTIFIER.matcher(tokens[0]).matches();
+            boolean desc = false;
+            if (valid && tokens.length == 2) {
+                String direction = tokens[1].toUpperCase(Locale.ROOT);
+                valid = direction.equals("ASC") || direction.equals("DESC");
+                desc = direction.equals("DESC");
+            }
+            if (!valid) {
+                throw new BusinessException("REPORT_PAGE_KEY_INVALID", "分页键格式错误: " + pageKey);
+            }
+            names.add(tokens[0]);
+            descending.add(desc);
+        }
+
+        // 换行后再闭合括号，报表SQL结尾的行注释不会注释掉括号
+        String source = "SELECT * FROM (\n" + sql + "\n) " + SOURCE_ALIAS;
+        StringBuilder orderBy = new StringBuilder(" ORDER BY ");
+        StringBuilder after = new StringBuilder(" WHERE (");
+        List<Integer> argOrder = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            orderBy.append(i > 0 ? ", " : "").append(names.get(i)).append(descending.get(i) ? " DESC" : " ASC");
+            after.append(i > 0 ? " OR (" : "(");
+            for (int j = 0; j < i; j++) {
+                after.append(names.get(j)).append(" = ? AND ");
+                argOrder.add(j);
+            }
+            after.append(names.get(i)).append(descending.get(i) ? " < ?" : " > ?").append(')');
+            argOrder.add(i);
+        }
+        after.append(')');
+
+        return new KeysetPlan(names.toArray(new String[0]),
+                source + orderBy,
+                source + after + orderBy,
+                "SELECT COUNT(*) FROM (\n" + sql + "\n) " + SOURCE_ALIAS,
+                argOrder.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * @return 分页键列名
+     */
+    public List<String> keys() {
+        return List.of(keys);
+    }
+
+    /**
+     * 分页语句的指纹（报表SQL或分页键变化时改变，不依赖节点），用于识别过期的续页令牌
+     *
+     * @return 指纹
+     */
+    public int fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * 第一页
+     *
+     * @param pageSize 每页行数
+     * @return 语句（多取一行，用于判断是否还有下一页）
+     */
+    public KeysetStatement firstPage(int pageSize) {
+        return new KeysetStatement(firstPageSql, new Object[0], pageSize + 1);
+    }
+
+    /**
+     * 排在指定分页键之后的一页
+     *
+     * @param after    上一页最后一行的分页键值（{@link #keyOf(ReportResult, int)} 的结果）
+     * @param pageSize 每页行数
+     * @return 语句（多取一行，用于判断是否还有下一页）
+     */
+    public KeysetStatement nextPage(Object[] after, int pageSize) {
+        Object[] args = new Object[argOrder.length];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = after[argOrder[i]];
+        }
+        return new KeysetStatement(nextPageSql, args, pageSize + 1);
+    }
+
+    /**
+     * 统计报表总行数
+     *
+     * @return 语句
+     */
+    public KeysetStatement count() {
+        return new KeysetStatement(countSql, new Object[0], 0);
+    }
+
+    /**
+     * 读取一行的分页键值
+     *
+     * @param result 查询结果
+     * @param row    行下标
+     * @return 按分页键顺序排列的值
+     * @throws BusinessException 结果中缺少分页键列、分页键为null或类型不可比较
+     */
+    public Object[] keyOf(ReportResult result, int row) {
+        Object[] values = new Object[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            ResultColumn column = find(result, keys[i]);
+            Object value = column.get(row);
+            if (value == null) {
+                throw new BusinessException("PAGE_KEY_NULL", "分页键列值为空: " + keys[i]);
+            }
+            if (!KeysetStatement.isBindable(value)) {
+                throw new BusinessException("PAGE_KEY_INVALID", "分页键列类型不支持: " + keys[i]);
+            }
+            values[i] = value;
+        }
+        return values;
+    }
+
+    private static ResultColumn find(ReportResult result, String key) {
+        for (ResultColumn column : result.columns()) {
+            if (column.name().equalsIgnoreCase(key)) {
+                return column;
+            }
+        }
+        throw new BusinessException("PAGE_KEY_INVALID", "查询结果中没有分页键列: " + key);
+    }
+}
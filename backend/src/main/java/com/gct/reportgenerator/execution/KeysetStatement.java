@@ -0,0 +1,56 @@
+package com.gct.reportgenerator.execution;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 由 {@link KeysetPlan} 生成的分页或计数语句
+ *
+ * 语句中先是报表参数的占位符，之后是分页键的占位符。分页键值来自上一页的查询结果，
+ * 按读取时的类型原样绑定（日期类型按JDBC 4.2的java.time类型绑定），与库中的值直接比较。
+ *
+ * @param sql     以 ? 为占位符的SQL
+ * @param args    分页键参数（按占位符顺序）
+ * @param maxRows 最多读取的行数，0表示不限制
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public record KeysetStatement(String sql, Object[] args, int maxRows) {
+
+    /**
+     * 绑定分页键参数
+     *
+     * @param ps   语句
+     * @param from 第一个分页键占位符的位置（从1开始）
+     * @throws SQLException 绑定失败
+     */
+    public void bind(PreparedStatement ps, int from) throws SQLException {
+        for (int i = 0; i < args.length; i++) {
+            int index = from + i;
+            Object value = args[i];
+            if (value instanceof Long number) {
+                ps.setLong(index, number);
+            } else if (value instanceof Double number) {
+                ps.setDouble(index, number);
+            } else if (value instanceof BigDecimal number) {
+                ps.setBigDecimal(index, number);
+            } else if (value instanceof String text) {
+                ps.setString(index, text);
+            } else {
+                ps.setObject(index, value);
+            }
+        }
+    }
+
+    /**
+     * @param value 分页键值
+     * @return 是否可以作为分页键绑定
+     */
+    static boolean isBindable(Object value) {
+        return value instanceof Long || value instanceof Double || value instanceof BigDecimal
+                || value instanceof String || value instanceof LocalDate || value instanceof LocalDateTime;
+    }
+}
@@ -0,0 +1,134 @@
+package com.gct.reportgenerator.execution;
+
+import com.gct.reportgenerator.exception.BusinessException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Base64;
+
+/**
+ * 续页令牌（对客户端不透明）
+ *
+ * 记录上一页最后一行的分页键值，以及令牌所属的报表、分页语句指纹和参数摘要；
+ * 令牌只用于定位下一页，分页键值始终以绑定参数传给数据库，篡改令牌不能改变执行的SQL。
+ * 编码为紧凑的二进制后做URL安全的Base64，不依赖节点状态，可在任意节点续页。
+ *
+ * @param reportId    报表ID
+ * @param fingerprint 分页语句指纹（{@link KeysetPlan#fingerprint()}）
+ * @param paramsHash  规范化参数的摘要
+ * @param after       上一页最后一行的分页键值
+ * @param total       第一页统计的总行数，未统计为null
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public record PageToken(long reportId, int fingerprint, int paramsHash, Object[] after, Long total) {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final byte LONG = 'L';
+    private static final byte DOUBLE = 'D';
+    private static final byte DECIMAL = 'N';
+    private static final byte STRING = 'S';
+    private static final byte DATE = 'd';
+    private static final byte DATETIME = 't';
+
+    /**
+     * @return 令牌文本
+     */
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(reportId);
+            out.writeInt(fingerprint);
+            out.writeInt(paramsHash);
+            out.writeLong(total != null ? total : -1);
+            out.writeByte(after.length);
+            for (Object value : after) {
+                write(out, value);
+            }
+        } catch (IOException e) {
+            throw new BusinessException("PAGE_KEY_INVALID", "分页键值过长，无法生成续页令牌");
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * 解析令牌
+     *
+     * @param token 令牌文本
+     * @return 令牌
+     * @throws BusinessException 令牌格式错误
+     */
+    public static PageToken decode(String token) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (in.readByte() != FORMAT_VERSION) {
+                throw invalid();
+            }
+            long reportId = in.readLong();
+            int fingerprint = in.readInt();
+            int paramsHash = in.readInt();
+            long total = in.readLong();
+            Object[] after = new Object[in.readUnsignedByte()];
+            for (int i = 0; i < after.length; i++) {
+                after[i] = read(in);
+            }
+            if (in.read() != -1) {
+                throw invalid();
+            }
+            return new PageToken(reportId, fingerprint, paramsHash, after, total >= 0 ? total : null);
+        } catch (IOException | IllegalArgumentException | DateTimeException e) {
+            throw invalid();
+        }
+    }
+
+    private static void write(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof Long number) {
+            out.writeByte(LONG);
+            out.writeLong(number);
+        } else if (value instanceof Double number) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(number);
+        } else if (value instanceof BigDecimal number) {
+            out.writeByte(DECIMAL);
+            out.writeUTF(number.toString());
+        } else if (value instanceof String text) {
+            out.writeByte(STRING);
+            out.writeUTF(text);
+        } else if (value instanceof LocalDate date) {
+            out.writeByte(DATE);
+            out.writeLong(date.toEpochDay());
+        } else if (value instanceof LocalDateTime dateTime) {
+            out.writeByte(DATETIME);
+            out.writeLong(dateTime.toLocalDate().toEpochDay());
+            out.writeLong(dateTime.toLocalTime().toNanoOfDay());
+        } else {
+            throw new IllegalArgumentException("不支持的分页键类型: " + value.getClass().getName());
+        }
+    }
+
+    private static Object read(DataInputStream in) throws IOException {
+        return switch (in.readByte()) {
+            case LONG -> in.readLong();
+            case DOUBLE -> in.readDouble();
+            case DECIMAL -> new BigDecimal(in.readUTF());
+            case STRING -> in.readUTF();
+            case DATE -> LocalDate.ofEpochDay(in.readLong());
+            case DATETIME -> LocalDateTime.of(LocalDate.ofEpochDay(in.readLong()),
+                    LocalTime.ofNanoOfDay(in.readLong()));
+            default -> throw invalid();
+        };
+    }
+
+    private static BusinessException invalid() {
+        return new BusinessException("PAGE_TOKEN_INVALID", "续页令牌无效");
+    }
+}
@@ -0,0 +1,130 @@
+package com.gct.reportgenerator.execution;
+
+import com.gct.reportgenerator.entity.ReportParam;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 报表参数类型的转换与绑定
+ *
+ * 每种param_type对应一个无状态、线程安全的实例：parse把请求文本转换为规范值
+ * （语义相同的输入得到相等的结果），bind把规范值绑定到语句。
+ * SQLite没有日期类型，日期和日期时间按ISO文本绑定，与库中文本格式的日期直接比较。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public enum ParamCodec {
+
+    STRING {
+        @Override
+        public Object parse(String text) {
+            return text;
+        }
+
+        @Override
+        public void bind(PreparedStatement ps, int index, Object value) throws SQLException {
+            ps.setString(index, (String) value);
+        }
+    },
+
+    NUMBER {
+        @Override
+        public Object parse(String text) {
+            BigDecimal number = new BigDecimal(text.trim()).stripTrailingZeros();
+            // 整数保持scale为0，避免200被规范化为2E+2
+            return number.scale() < 0 ? number.setScale(0) : number;
+        }
+
+        /**
+         * 整数按long绑定；小数按double绑定（sqlite-jdbc会把BigDecimal绑定为文本）
+         */
+        @Override
+        public void bind(PreparedStatement ps, int index, Object value) throws SQLException {
+            BigDecimal number = (BigDecimal) value;
+            if (number.scale() <= 0 && number.precision() - number.scale() <= 18) {
+                ps.setLong(index, number.longValueExact());
+            } else {
+                ps.setDouble(index, number.doubleValue());
+            }
+        }
+    },
+
+    DATE {
+        @Override
+        public Object parse(String text) {
+            return LocalDate.parse(text.trim());
+        }
+
+        @Override
+        public void bind(PreparedStatement ps, int index, Object value) throws SQLException {
+            ps.setString(index, ((LocalDate) value).format(DateTimeFormatter.ISO_LOCAL_DATE));
+        }
+    },
+
+    DATETIME {
+        /**
+         * 绑定精度为秒，秒的小数部分直接截断，使规范值与实际绑定的值一致
+         */
+        @Override
+        public Object parse(String text) {
+            return LocalDateTime.parse(text.trim(), DATETIME_INPUT).truncatedTo(ChronoUnit.SECONDS);
+        }
+
+        @Override
+        public void bind(PreparedStatement ps, int index, Object value) throws SQLException {
+            ps.setString(index, ((LocalDateTime) value).format(DATETIME_OUTPUT));
+        }
+    };
+
+    /**
+     * 日期与时间之间接受空格或T分隔
+     */
+    private static final DateTimeFormatter DATETIME_INPUT = new DateTimeFormatterBuilder()
+            .append(DateTimeFormatter.ISO_LOCAL_DATE)
+            .optionalStart().appendLiteral(' ').optionalEnd()
+            .optionalStart().appendLiteral('T').optionalEnd()
+            .append(DateTimeFormatter.ISO_LOCAL_TIME)
+            .toFormatter();
+
+    private static final DateTimeFormatter DATETIME_OUTPUT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * 把请求文本转换为规范值
+     *
+     * @param text 非空文本
+     * @return 规范值
+     * @throws RuntimeException 格式错误（NumberFormatException或DateTimeParseException）
+     */
+    public abstract Object parse(String text);
+
+    /**
+     * 绑定规范值，null值需由调用方处理
+     *
+     * @param ps    语句
+     * @param index 参数位置（从1开始）
+     * @param value 规范值
+     * @throws SQLException 绑定失败
+     */
+    public abstract void bind(PreparedStatement ps, int index, Object value) throws SQLException;
+
+    /**
+     * @param type 参数类型
+     * @return 对应的转换器
+     */
+    public static ParamCodec of(ReportParam.ParamType type) {
+        return switch (type) {
+            case STRING -> STRING;
+            case NUMBER -> NUMBER;
+            case DATE -> DATE;
+            case DATETIME -> DATETIME;
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package com.gct.reportgenerator.execution;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 查询取消句柄
+ *
+ * 执行器在语句创建后绑定语句；超时看门狗或客户端断开时调用 {@link #cancel(Reason)}，
+ * 通过 {@link Statement#cancel()} 中断正在执行的查询（SQLite为sqlite3_interrupt），立即释放连接和CPU。
+ * 在绑定语句之前已取消的查询不会开始执行。
+ *
+ * SQLite在语句开始执行时会清除此前的中断标记，因此取消与开始执行之间存在极小的竞争窗口，
+ * 执行器的看门狗在超时后会持续重复中断直到语句解除绑定。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Slf4j
+public class QueryCancellation {
+
+    /**
+     * 保存在请求属性中的键，异步请求出错或超时时据此取消查询
+     */
+    public static final String REQUEST_ATTRIBUTE = "gct.queryCancellation";
+
+    /**
+     * 取消原因
+     */
+    public enum Reason {
+        /**
+         * 超过查询超时时间
+         */
+        TIMEOUT,
+        /**
+         * 客户端断开或请求被中止
+         */
+        CLIENT_ABORTED
+    }
+
+    private Statement statement;
+    private Reason reason;
+
+    /**
+     * 取消查询，重复调用只保留第一次的原因，但每次都会中断已绑定的语句
+     *
+     * @param reason 取消原因
+     */
+    public synchronized void cancel(Reason reason) {
+        if (this.reason == null) {
+            this.reason = reason;
+        }
+        interrupt();
+    }
+
+    /**
+     * @return 是否已取消
+     */
+    public synchronized boolean isCancelled() {
+        return reason != null;
+    }
+
+    /**
+     * @return 取消原因，未取消时为空
+     */
+    public synchronized Reason getReason() {
+        return reason;
+    }
+
+    /**
+     * 绑定正在执行的语句（由执行器调用）
+     *
+     * @param statement 语句
+     * @throws SQLException 查询已被取消
+     */
+    public synchronized void attach(Statement statement) throws SQLException {
+        if (reason != null) {
+            throw new SQLException("查询已取消: " + reason);
+        }
+        this.statement = statement;
+    }
+
+    /**
+     * 解除语句绑定，须在连接归还连接池之前调用（由执行器调用）
+     */
+    public synchronized void detach() {
+        this.statement = null;
+    }
+
+    private void interrupt() {
+        if (statement == null) {
+            return;
+        }
+        try {
+            statement.cancel();
+        } catch (SQLException e) {
+            log.debug("取消查询失败: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.gct.reportgenerator.execution;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 异步请求出错（客户端断开）或超时时取消请求关联的报表查询
+ *
+ * 流式响应（StreamingResponseBody）在异步线程中执行查询，控制器将 {@link QueryCancellation}
+ * 放入请求属性 {@link QueryCancellation#REQUEST_ATTRIBUTE}，由本拦截器在请求中止时取消。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Slf4j
+public class QueryCancellationInterceptor implements CallableProcessingInterceptor {
+
+    @Override
+    public <T> Object handleTimeout(NativeWebRequest request, Callable<T> task) {
+        cancel(request, QueryCancellation.Reason.TIMEOUT);
+        return RESULT_NONE;
+    }
+
+    @Override
+    public <T> Object handleError(NativeWebRequest request, Callable<T> task, Throwable t) {
+        cancel(request, QueryCancellation.Reason.CLIENT_ABORTED);
+        return RESULT_NONE;
+    }
+
+    private void cancel(NativeWebRequest request, QueryCancellation.Reason reason) {
+        Object cancellation = request.getAttribute(QueryCancellation.REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cancellation instanceof QueryCancellation queryCancellation) {
+            log.debug("异步请求中止，取消报表查询: {}", reason);
+            queryCancellation.cancel(reason);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.gct.reportgenerator.execution;
+
+import com.gct.reportgenerator.entity.Report;
+import com.gct.reportgenerator.entity.ReportColumn;
+import com.gct.reportgenerator.entity.ReportParam;
+import com.gct.reportgenerator.entity.User;
+import com.gct.reportgenerator.exception.BusinessException;
+import com.gct.reportgenerator.format.ReportFormatter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 报表定义快照（报表、参数、列配置、授权角色、编译后的执行计划和列格式化器）
+ *
+ * 所有集合均不可修改，实体为与持久化上下文分离的副本，快照可在线程间共享，不应被修改。
+ *
+ * @param report    报表
+ * @param params    参数定义（按ID排序）
+ * @param columns   列配置（按列顺序排序）
+ * @param roles     被授权访问的角色
+ * @param plan      编译后的执行计划；SQL未通过校验或编译失败时为null
+ * @param planError SQL未通过校验或编译失败的原因
+ * @param formatter 按列配置编译的格式化器
+ * @param revision  加载序号，每次重新加载递增；与updated_at一起标识报表版本，
+ *                  参数或列配置变更（不更新reports.updated_at）后重新加载的定义同样得到新版本
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public record ReportDefinition(Report report, List<ReportParam> params, List<ReportColumn> columns,
+                               Set<User.UserRole> roles, ReportPlan plan, BusinessException planError,
+                               ReportFormatter formatter, long revision) {
+
+    /**
+     * @return 报表ID
+     */
+    public Long reportId() {
+        return report.getId();
+    }
+
+    /**
+     * @return 报表最后更新时间
+     */
+    public LocalDateTime updatedAt() {
+        return report.getUpdatedAt();
+    }
+
+    /**
+     * 获取可执行的执行计划
+     *
+     * @return 执行计划
+     * @throws BusinessException 报表SQL未通过校验或编译失败
+     */
+    public ReportPlan requirePlan() {
+        if (plan == null) {
+            throw new BusinessException(planError.getCode(), planError.getMessage());
+        }
+        return plan;
+    }
+}
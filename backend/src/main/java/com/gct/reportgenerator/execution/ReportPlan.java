@@ -0,0 +1,137 @@
+package com.gct.reportgenerator.execution;
+
+import com.gct.reportgenerator.entity.ReportParam;
+import com.gct.reportgenerator.exception.BusinessException;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 编译后的报表执行计划（不可变，线程安全）
+ *
+ * 由 {@link ReportPlanCompiler} 对一个报表版本编译一次：命名参数已改写为位置参数，
+ * 绑定顺序、每个参数的类型转换器和已转换的默认值都已确定，每次执行只需转换请求值并绑定。
+ * 报表声明了分页键时同时编译 {@link KeysetPlan}。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public final class ReportPlan {
+
+    private final String sql;
+    private final CompiledParam[] bindOrder;
+    private final Map<String, CompiledParam> params;
+    private final KeysetPlan keyset;
+
+    ReportPlan(String sql, CompiledParam[] bindOrder, Map<String, CompiledParam> params, KeysetPlan keyset) {
+        this.sql = sql;
+        this.bindOrder = bindOrder;
+        this.params = params;
+        this.keyset = keyset;
+    }
+
+    /**
+     * @return 以 ? 为占位符的SQL
+     */
+    public String sql() {
+        return sql;
+    }
+
+    /**
+     * @return 按占位符顺序排列的参数名（同一参数可出现多次）
+     */
+    public List<String> bindOrder() {
+        return Arrays.stream(bindOrder).map(CompiledParam::name).toList();
+    }
+
+    /**
+     * @return 报表参数占位符的个数
+     */
+    public int parameterCount() {
+        return bindOrder.length;
+    }
+
+    /**
+     * @return keyset分页计划，报表未声明分页键时为null
+     */
+    public KeysetPlan keyset() {
+        return keyset;
+    }
+
+    /**
+     * 规范化请求参数：未传或为空的参数使用默认值，按参数类型转换
+     *
+     * @param values 请求参数，可为空
+     * @return 参数名到规范值的有序映射（缺省且无默认值的可选参数值为null），语义相同的请求得到相等的结果
+     * @throws BusinessException 缺少必填参数、参数未定义或格式错误
+     */
+    public Map<String, Object> normalize(Map<String, ?> values) {
+        Map<String, ?> provided = values != null ? values : Map.of();
+        for (String name : provided.keySet()) {
+            if (!params.containsKey(name)) {
+                throw new BusinessException("PARAM_UNKNOWN", "报表未定义参数: " + name);
+            }
+        }
+        Map<String, Object> normalized = new TreeMap<>();
+        for (CompiledParam param : params.values()) {
+            Object raw = provided.get(param.name());
+            String text = raw == null ? null : raw.toString();
+            normalized.put(param.name(), text == null || text.isEmpty() ? param.defaultOrRequire() : param.parse(text));
+        }
+        return Collections.unmodifiableMap(normalized);
+    }
+
+    /**
+     * 按绑定顺序绑定规范化参数
+     *
+     * @param ps     语句
+     * @param values {@link #normalize(Map)} 的结果
+     * @throws SQLException 绑定失败
+     */
+    public void bind(PreparedStatement ps, Map<String, Object> values) throws SQLException {
+        for (int i = 0; i < bindOrder.length; i++) {
+            CompiledParam param = bindOrder[i];
+            Object value = values.get(param.name());
+            if (value == null) {
+                ps.setNull(i + 1, Types.NULL);
+            } else {
+                param.codec().bind(ps, i + 1, value);
+            }
+        }
+    }
+
+    /**
+     * 编译后的参数定义
+     *
+     * @param name         参数名
+     * @param type         参数类型
+     * @param codec        类型转换器
+     * @param required     是否必填
+     * @param defaultValue 已转换的默认值，可为null
+     */
+    record CompiledParam(String name, ReportParam.ParamType type, ParamCodec codec, boolean required,
+                         Object defaultValue) {
+
+        Object parse(String text) {
+            try {
+                return codec.parse(text);
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new BusinessException("PARAM_INVALID", "参数格式错误: " + name + "（" + type + "）");
+            }
+        }
+
+        Object defaultOrRequire() {
+            if (defaultValue == null && required) {
+                throw new BusinessException("PARAM_REQUIRED", "缺少必填参数: " + name);
+            }
+            return defaultValue;
+        }
+    }
+}
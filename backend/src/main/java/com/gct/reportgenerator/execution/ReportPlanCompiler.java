@@ -0,0 +1,89 @@
+package com.gct.reportgenerator.execution;
+
+import com.gct.reportgenerator.entity.Report;
+import com.gct.reportgenerator.entity.ReportParam;
+import com.gct.reportgenerator.exception.BusinessException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 报表执行计划编译器
+ *
+ * 用 {@link SqlLexer} 单趟扫描sql_content，把 {@code :参数名} 改写为 {@code ?} 并记录绑定顺序；
+ * 字符串常量、带引号的标识符和注释中的冒号原样保留，{@code ::} 类型转换不视为参数；结尾的分号被去掉，
+ * 改写后的SQL可以作为子查询（keyset分页）。
+ * 引用了report_params中未定义的参数、SQL中出现位置参数、默认值或分页键格式错误时编译失败。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public final class ReportPlanCompiler {
+
+    private ReportPlanCompiler() {
+    }
+
+    /**
+     * 编译报表执行计划
+     *
+     * @param report 报表
+     * @param params 参数定义
+     * @return 执行计划
+     * @throws BusinessException 报表SQL或参数定义无效
+     */
+    public static ReportPlan compile(Report report, List<ReportParam> params) {
+        Map<String, ReportPlan.CompiledParam> compiled = new LinkedHashMap<>();
+        for (ReportParam param : params) {
+            compiled.put(param.getParamName(), compileParam(param));
+        }
+
+        String sql = report.getSqlContent();
+        StringBuilder rewritten = new StringBuilder(sql.length());
+        List<ReportPlan.CompiledParam> bindOrder = new ArrayList<>();
+        SqlLexer lexer = new SqlLexer(sql);
+        int copied = 0;
+        for (SqlLexer.TokenType type = lexer.next(); type != SqlLexer.TokenType.END; type = lexer.next()) {
+            if (type == SqlLexer.TokenType.SYMBOL && sql.charAt(lexer.start()) == ';') {
+                // 校验器只允许分号出现在语句末尾（之后只能是注释）
+                break;
+            }
+            if (type == SqlLexer.TokenType.POSITIONAL_PARAM) {
+                throw new BusinessException("REPORT_SQL_INVALID", "报表SQL请使用 :参数名 引用参数");
+            }
+            if (type != SqlLexer.TokenType.NAMED_PARAM) {
+                continue;
+            }
+            String name = sql.substring(lexer.start() + 1, lexer.end());
+            ReportPlan.CompiledParam param = compiled.get(name);
+            if (param == null) {
+                throw new BusinessException("REPORT_SQL_INVALID", "报表SQL引用了未定义的参数: " + name);
+            }
+            bindOrder.add(param);
+            rewritten.append(sql, copied, lexer.start()).append('?');
+            copied = lexer.end();
+        }
+        rewritten.append(sql, copied, lexer.start());
+        String statement = rewritten.toString().stripTrailing();
+        String pageKey = report.getPageKey();
+        KeysetPlan keyset = pageKey != null && !pageKey.isBlank() ? KeysetPlan.compile(statement, pageKey) : null;
+        return new ReportPlan(statement, bindOrder.toArray(new ReportPlan.CompiledParam[0]), compiled, keyset);
+    }
+
+    private static ReportPlan.CompiledParam compileParam(ReportParam param) {
+        ParamCodec codec = ParamCodec.of(param.getParamType());
+        String defaultText = param.getDefaultValue();
+        Object defaultValue = null;
+        if (defaultText != null && !defaultText.isEmpty()) {
+            try {
+                defaultValue = codec.parse(defaultText);
+            } catch (RuntimeException e) {
+                throw new BusinessException("REPORT_PARAM_INVALID",
+                        "参数默认值格式错误: " + param.getParamName() + "（" + param.getParamType() + "）");
+            }
+        }
+        return new ReportPlan.CompiledParam(param.getParamName(), param.getParamType(), codec,
+                Boolean.TRUE.equals(param.getRequired()), defaultValue);
+    }
+}
@@ -0,0 +1,67 @@
+package com.gct.reportgenerator.execution;
+
+import com.gct.reportgenerator.entity.Report;
+import com.gct.reportgenerator.entity.User;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 一次报表查询执行请求
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Getter
+@Builder
+public class ReportQuery {
+
+    /**
+     * 报表
+     */
+    private final Report report;
+
+    /**
+     * 编译后的执行计划
+     */
+    private final ReportPlan plan;
+
+    /**
+     * 规范化后的报表参数（{@link ReportPlan#normalize(Map)} 的结果）
+     */
+    @Builder.Default
+    private final Map<String, Object> params = Map.of();
+
+    /**
+     * keyset分页或计数语句，为空时执行报表SQL本身
+     */
+    private final KeysetStatement keyset;
+
+    /**
+     * 执行用户ID（记录执行日志）
+     */
+    private final Long userId;
+
+    /**
+     * 执行用户角色（准入控制按角色分级限制并发）
+     */
+    private final User.UserRole role;
+
+    /**
+     * 抓取行数，为空时使用全局配置
+     */
+    private final Integer fetchSize;
+
+    /**
+     * 超时时间，为空时使用报表配置或全局默认值
+     */
+    private final Duration timeout;
+
+    /**
+     * 取消句柄
+     */
+    @Builder.Default
+    private final QueryCancellation cancellation = new QueryCancellation();
+}
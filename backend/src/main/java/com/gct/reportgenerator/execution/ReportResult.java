@@ -0,0 +1,171 @@
+package com.gct.reportgenerator.execution;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 报表查询结果（列式存储，不可变，可在缓存中跨请求共享）
+ *
+ * 每列一个 {@link ResultColumn}，数值、日期按原始类型数组保存，字符串字典编码，null用位图表示，
+ * 以数值为主的报表占用内存为逐行Object数组的几分之一。JSON输出仍为按行排列的二维数组，
+ * 直接从列中写出，不生成中间行对象。
+ *
+ * @param columns   结果列
+ * @param rowCount  行数
+ * @param truncated 结果超过行数上限被截断
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Schema(description = "报表查询结果，JSON格式为 {columns: [列名], rows: [[值]], rowCount, truncated}")
+public record ReportResult(List<ResultColumn> columns, int rowCount, boolean truncated) implements JsonSerializable {
+
+    private static final int OBJECT_OVERHEAD = 16;
+    private static final int REFERENCE_SIZE = 8;
+
+    /**
+     * 从结果集读取至多maxRows行
+     *
+     * @param rs      结果集
+     * @param maxRows 行数上限
+     * @return 查询结果
+     * @throws SQLException 读取失败
+     */
+    public static ReportResult read(ResultSet rs, int maxRows) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        ResultColumn.Builder[] builders = new ResultColumn.Builder[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            builders[i] = new ResultColumn.Builder(metaData.getColumnLabel(i + 1), metaData.getColumnType(i + 1));
+        }
+
+        int rows = 0;
+        boolean truncated = false;
+        while (rs.next()) {
+            if (rows >= maxRows) {
+                truncated = true;
+                break;
+            }
+            for (int i = 0; i < columnCount; i++) {
+                builders[i].add(rs.getObject(i + 1));
+            }
+            rows++;
+        }
+        return build(builders, rows, truncated);
+    }
+
+    /**
+     * 由按行排列的数据构建
+     *
+     * @param names     列名
+     * @param rows      数据行，每行按列顺序排列
+     * @param truncated 是否被截断
+     * @return 查询结果
+     */
+    public static ReportResult of(List<String> names, List<Object[]> rows, boolean truncated) {
+        ResultColumn.Builder[] builders = new ResultColumn.Builder[names.size()];
+        for (int i = 0; i < builders.length; i++) {
+            builders[i] = new ResultColumn.Builder(names.get(i), Types.OTHER);
+        }
+        for (Object[] row : rows) {
+            for (int i = 0; i < builders.length; i++) {
+                builders[i].add(row[i]);
+            }
+        }
+        return build(builders, rows.size(), truncated);
+    }
+
+    private static ReportResult build(ResultColumn.Builder[] builders, int rows, boolean truncated) {
+        List<ResultColumn> columns = new ArrayList<>(builders.length);
+        for (ResultColumn.Builder builder : builders) {
+            columns.add(builder.build());
+        }
+        return new ReportResult(List.copyOf(columns), rows, truncated);
+    }
+
+    /**
+     * @return 列名
+     */
+    public List<String> columnNames() {
+        return columns.stream().map(ResultColumn::name).toList();
+    }
+
+    /**
+     * 读取单元格的值
+     *
+     * @param row    行下标
+     * @param column 列下标
+     * @return 值，null表示SQL NULL
+     */
+    public Object get(int row, int column) {
+        return columns.get(column).get(row);
+    }
+
+    /**
+     * 估算占用的堆内存（字节），用于结果缓存的内存预算
+     *
+     * @return 估算字节数
+     */
+    public long estimatedBytes() {
+        long bytes = OBJECT_OVERHEAD * 2L + (long) REFERENCE_SIZE * columns.size();
+        for (ResultColumn column : columns) {
+            bytes += column.estimatedBytes();
+        }
+        return bytes;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeStartObject();
+        gen.writeArrayFieldStart("columns");
+        for (ResultColumn column : columns) {
+            gen.writeString(column.name());
+        }
+        gen.writeEndArray();
+        gen.writeArrayFieldStart("rows");
+        for (int row = 0; row < rowCount; row++) {
+            gen.writeStartArray();
+            for (ResultColumn column : columns) {
+                writeValue(gen, serializers, column, row);
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndArray();
+        gen.writeNumberField("rowCount", rowCount);
+        gen.writeBooleanField("truncated", truncated);
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+
+    /**
+     * 数值和字符串直接写出，日期等其他类型按全局ObjectMapper配置序列化
+     */
+    private static void writeValue(JsonGenerator gen, SerializerProvider serializers, ResultColumn column, int row)
+            throws IOException {
+        if (column.isNull(row)) {
+            gen.writeNull();
+            return;
+        }
+        switch (column.type()) {
+            case LONG -> gen.writeNumber(column.getLong(row));
+            case DOUBLE -> gen.writeNumber(column.getDouble(row));
+            case STRING -> gen.writeString(column.getString(row));
+            default -> serializers.defaultSerializeValue(column.get(row), gen);
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.gct.reportgenerator.execution;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 列式结果中的一列（不可变）
+ *
+ * 每列只持有一个原始类型数组和一个null位图，不为每个值创建包装对象：
+ * <ul>
+ *   <li>{@link Type#LONG}：整数，long[]</li>
+ *   <li>{@link Type#DOUBLE}：浮点数，double[]</li>
+ *   <li>{@link Type#DATE}：日期，int[]（epoch day）</li>
+ *   <li>{@link Type#DATETIME}：日期时间，long[]（按UTC换算的epoch微秒，不含时区）</li>
+ *   <li>{@link Type#STRING}：字典编码的字符串，int[]编码 + 去重后的字符串字典</li>
+ *   <li>{@link Type#OBJECT}：其他类型（BigDecimal、二进制等），Object[]</li>
+ * </ul>
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public final class ResultColumn {
+
+    /**
+     * 列存储类型
+     */
+    public enum Type {
+        LONG, DOUBLE, DATE, DATETIME, STRING, OBJECT
+    }
+
+    private static final int OBJECT_OVERHEAD = 16;
+    private static final int REFERENCE_SIZE = 8;
+
+    private final String name;
+    private final Type type;
+    private final int size;
+    private final BitSet nulls;
+    private final long[] longs;
+    private final double[] doubles;
+    private final int[] ints;
+    private final String[] dictionary;
+    private final Object[] objects;
+
+    private ResultColumn(Builder builder) {
+        this.name = builder.name;
+        this.type = builder.type;
+        this.size = builder.size;
+        this.nulls = builder.nulls;
+        this.longs = builder.longs != null ? Arrays.copyOf(builder.longs, size) : null;
+        this.doubles = builder.doubles != null ? Arrays.copyOf(builder.doubles, size) : null;
+        this.ints = builder.ints != null ? Arrays.copyOf(builder.ints, size) : null;
+        this.dictionary = builder.dictionary != null ? new String[builder.dictionary.size()] : null;
+        if (this.dictionary != null) {
+            builder.dictionary.forEach((text, code) -> this.dictionary[code] = text);
+        }
+        this.objects = builder.objects != null ? Arrays.copyOf(builder.objects, size) : null;
+    }
+
+    /**
+     * @return 列名
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return 存储类型
+     */
+    public Type type() {
+        return type;
+    }
+
+    /**
+     * @return 行数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param row 行下标
+     * @return 该行的值是否为null
+     */
+    public boolean isNull(int row) {
+        return nulls.get(row);
+    }
+
+    /**
+     * 读取整数值（{@link Type#LONG}，null为0）
+     */
+    public long getLong(int row) {
+        return longs[row];
+    }
+
+    /**
+     * 读取日期值（{@link Type#DATE}，epoch day）
+     */
+    public int getEpochDay(int row) {
+        return ints[row];
+    }
+
+    /**
+     * 读取数值（{@link Type#LONG} 或 {@link Type#DOUBLE}，null为0），不创建包装对象
+     */
+    public double getDouble(int row) {
+        return type == Type.LONG ? longs[row] : doubles[row];
+    }
+
+    /**
+     * 读取字符串值（{@link Type#STRING}）
+     */
+    public String getString(int row) {
+        return nulls.get(row) ? null : dictionary[ints[row]];
+    }
+
+    /**
+     * 读取任意类型的值（按需创建包装对象，日期类型返回 {@link LocalDate}/{@link LocalDateTime}）
+     *
+     * @param row 行下标
+     * @return 值，null表示SQL NULL
+     */
+    public Object get(int row) {
+        if (nulls.get(row)) {
+            return null;
+        }
+        return switch (type) {
+            case LONG -> longs[row];
+            case DOUBLE -> doubles[row];
+            case DATE -> LocalDate.ofEpochDay(ints[row]);
+            case DATETIME -> toDateTime(longs[row]);
+            case STRING -> dictionary[ints[row]];
+            case OBJECT -> objects[row];
+        };
+    }
+
+    /**
+     * @return 不同字符串的个数（仅 {@link Type#STRING}）
+     */
+    public int dictionarySize() {
+        return dictionary != null ? dictionary.length : 0;
+    }
+
+    /**
+     * 估算占用的堆内存（字节）
+     *
+     * @return 估算字节数
+     */
+    public long estimatedBytes() {
+        long bytes = OBJECT_OVERHEAD * 3L + sizeOf(name) + nulls.size() / 8;
+        if (longs != null) {
+            bytes += OBJECT_OVERHEAD + 8L * longs.length;
+        }
+        if (doubles != null) {
+            bytes += OBJECT_OVERHEAD + 8L * doubles.length;
+        }
+        if (ints != null) {
+            bytes += OBJECT_OVERHEAD + 4L * ints.length;
+        }
+        if (dictionary != null) {
+            bytes += OBJECT_OVERHEAD + (long) REFERENCE_SIZE * dictionary.length;
+            for (String text : dictionary) {
+                bytes += sizeOf(text);
+            }
+        }
+        if (objects != null) {
+            bytes += OBJECT_OVERHEAD + (long) REFERENCE_SIZE * objects.length;
+            for (Object value : objects) {
+                bytes += sizeOf(value);
+            }
+        }
+        return bytes;
+    }
+
+    static long sizeOf(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String text) {
+            return OBJECT_OVERHEAD * 2L + text.length() * 2L;
+        }
+        if (value instanceof byte[] bytes) {
+            return OBJECT_OVERHEAD + bytes.length;
+        }
+        if (value instanceof BigDecimal || value instanceof BigInteger) {
+            return OBJECT_OVERHEAD * 3L;
+        }
+        return OBJECT_OVERHEAD + REFERENCE_SIZE;
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        Instant instant = dateTime.toInstant(ZoneOffset.UTC);
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    private static LocalDateTime toDateTime(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * 列构建器（非线程安全）
+     *
+     * 初始存储类型由JDBC列类型决定。SQLite等动态类型数据库中同一列的值类型可能不同，
+     * 因此按实际值调整：第一个非null值与初始类型不符时改用该值的类型；之后整数列遇到浮点数时提升为DOUBLE
+     * （浮点列中的整数直接按浮点数保存），其他不一致时退化为OBJECT，保证不丢失值。
+     */
+    static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 64;
+
+        private final String name;
+        private Type type;
+        private int size;
+        private boolean hasValue;
+        private final BitSet nulls = new BitSet();
+        private long[] longs;
+        private double[] doubles;
+        private int[] ints;
+        private Map<String, Integer> dictionary;
+        private Object[] objects;
+
+        Builder(String name, int sqlType) {
+            this.name = name;
+            allocate(typeOf(sqlType), INITIAL_CAPACITY);
+        }
+
+        /**
+         * 追加一个值
+         *
+         * @param value JDBC返回的值，null表示SQL NULL
+         */
+        void add(Object value) {
+            ensureCapacity(size + 1);
+            if (value == null) {
+                nulls.set(size++);
+                return;
+            }
+            Type valueType = typeOfValue(value);
+            if (valueType != type && !(type == Type.DOUBLE && valueType == Type.LONG)) {
+                if (!hasValue) {
+                    allocate(valueType, capacity());
+                } else if (type == Type.LONG && valueType == Type.DOUBLE) {
+                    promoteToDouble();
+                } else if (type != Type.OBJECT) {
+                    promoteToObject();
+                }
+            }
+            hasValue = true;
+            switch (type) {
+                case LONG -> longs[size] = ((Number) value).longValue();
+                case DOUBLE -> doubles[size] = ((Number) value).doubleValue();
+                case DATE -> ints[size] = (int) toLocalDate(value).toEpochDay();
+                case DATETIME -> longs[size] = toMicros(toLocalDateTime(value));
+                case STRING -> ints[size] = dictionary.computeIfAbsent((String) value, k -> dictionary.size());
+                case OBJECT -> objects[size] = value;
+            }
+            size++;
+        }
+
+        ResultColumn build() {
+            return new ResultColumn(this);
+        }
+
+        private static Type typeOf(int sqlType) {
+            return switch (sqlType) {
+                case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> Type.LONG;
+                case Types.REAL, Types.FLOAT, Types.DOUBLE -> Type.DOUBLE;
+                case Types.DATE -> Type.DATE;
+                case Types.TIMESTAMP -> Type.DATETIME;
+                case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR,
+                     Types.LONGNVARCHAR -> Type.STRING;
+                default -> Type.OBJECT;
+            };
+        }
+
+        private static Type typeOfValue(Object value) {
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                return Type.LONG;
+            }
+            if (value instanceof Double || value instanceof Float) {
+                return Type.DOUBLE;
+            }
+            if (value instanceof java.sql.Date || value instanceof LocalDate) {
+                return Type.DATE;
+            }
+            if (value instanceof java.sql.Timestamp || value instanceof LocalDateTime) {
+                return Type.DATETIME;
+            }
+            if (value instanceof String) {
+                return Type.STRING;
+            }
+            return Type.OBJECT;
+        }
+
+        private static LocalDate toLocalDate(Object value) {
+            return value instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) value;
+        }
+
+        private static LocalDateTime toLocalDateTime(Object value) {
+            return value instanceof java.sql.Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+        }
+
+        private void allocate(Type newType, int capacity) {
+            type = newType;
+            longs = null;
+            doubles = null;
+            ints = null;
+            dictionary = null;
+            objects = null;
+            switch (newType) {
+                case LONG, DATETIME -> longs = new long[capacity];
+                case DOUBLE -> doubles = new double[capacity];
+                case DATE -> ints = new int[capacity];
+                case STRING -> {
+                    ints = new int[capacity];
+                    dictionary = new HashMap<>();
+                }
+                case OBJECT -> objects = new Object[capacity];
+            }
+        }
+
+        private int capacity() {
+            return switch (type) {
+                case LONG, DATETIME -> longs.length;
+                case DOUBLE -> doubles.length;
+                case DATE, STRING -> ints.length;
+                case OBJECT -> objects.length;
+            };
+        }
+
+        private void ensureCapacity(int required) {
+            int capacity = capacity();
+            if (required <= capacity) {
+                return;
+            }
+            int grown = Math.max(required, capacity + (capacity >> 1));
+            switch (type) {
+                case LONG, DATETIME -> longs = Arrays.copyOf(longs, grown);
+                case DOUBLE -> doubles = Arrays.copyOf(doubles, grown);
+                case DATE, STRING -> ints = Arrays.copyOf(ints, grown);
+                case OBJECT -> objects = Arrays.copyOf(objects, grown);
+            }
+        }
+
+        private void promoteToDouble() {
+            double[] promoted = new double[longs.length];
+            for (int i = 0; i < size; i++) {
+                promoted[i] = longs[i];
+            }
+            longs = null;
+            doubles = promoted;
+            type = Type.DOUBLE;
+        }
+
+        private void promoteToObject() {
+            ResultColumn current = build();
+            Object[] promoted = new Object[capacity()];
+            for (int i = 0; i < size; i++) {
+                promoted[i] = current.get(i);
+            }
+            allocate(Type.OBJECT, promoted.length);
+            objects = promoted;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.gct.reportgenerator.execution;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 结果集流式处理器
+ *
+ * 逐行消费仅向前游标，返回实际处理的行数（记录到执行日志）。
+ * 抛出的IOException视为客户端已断开，执行器会立即关闭游标并释放连接。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface RowStreamHandler {
+
+    /**
+     * 处理结果集
+     *
+     * @param rs 仅向前结果集
+     * @return 处理的行数
+     * @throws SQLException 读取结果集失败
+     * @throws IOException  写出失败（通常是客户端断开）
+     */
+    long handle(ResultSet rs) throws SQLException, IOException;
+}
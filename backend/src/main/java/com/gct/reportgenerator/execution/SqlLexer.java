@@ -0,0 +1,222 @@
+package com.gct.reportgenerator.execution;
+
+/**
+ * 报表SQL词法扫描器
+ *
+ * 单趟扫描，跳过空白和注释（{@code --} 行注释、{@code /* *}{@code /} 块注释），
+ * 把字符串常量和带引号的标识符（{@code "..."}、{@code `...`}、{@code [...]}）作为整体，
+ * 识别命名参数 {@code :name}、位置参数 {@code ?} 和 {@code ::} 类型转换。
+ * 不分配token对象，调用方通过 {@link #start()}/{@link #end()} 读取当前token的位置。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+final class SqlLexer {
+
+    /**
+     * token类型
+     */
+    enum TokenType {
+        /**
+         * 关键字、标识符或数字
+         */
+        WORD,
+        /**
+         * 命名参数 :name
+         */
+        NAMED_PARAM,
+        /**
+         * 位置参数 ?
+         */
+        POSITIONAL_PARAM,
+        /**
+         * 字符串常量
+         */
+        STRING,
+        /**
+         * 带引号的标识符
+         */
+        QUOTED_IDENTIFIER,
+        /**
+         * 其他符号（单个字符，{@code ::} 为两个字符）
+         */
+        SYMBOL,
+        /**
+         * 扫描结束
+         */
+        END
+    }
+
+    private final String sql;
+    private final int length;
+    private int position;
+    private int start;
+    private int end;
+    private boolean unterminated;
+
+    SqlLexer(String sql) {
+        this.sql = sql;
+        this.length = sql.length();
+    }
+
+    /**
+     * 读取下一个token
+     *
+     * @return token类型，结束时为 {@link TokenType#END}
+     */
+    TokenType next() {
+        skipWhitespaceAndComments();
+        start = position;
+        if (position >= length) {
+            end = position;
+            return TokenType.END;
+        }
+        char c = sql.charAt(position);
+        TokenType type;
+        switch (c) {
+            case '\'' -> {
+                position = skipQuoted(position, '\'');
+                type = TokenType.STRING;
+            }
+            case '"' -> {
+                position = skipQuoted(position, '"');
+                type = TokenType.QUOTED_IDENTIFIER;
+            }
+            case '`' -> {
+                position = skipQuoted(position, '`');
+                type = TokenType.QUOTED_IDENTIFIER;
+            }
+            case '[' -> {
+                position = skipQuoted(position, ']');
+                type = TokenType.QUOTED_IDENTIFIER;
+            }
+            case '?' -> {
+                position++;
+                type = TokenType.POSITIONAL_PARAM;
+            }
+            case ':' -> {
+                if (position + 1 < length && sql.charAt(position + 1) == ':') {
+                    position += 2;
+                    type = TokenType.SYMBOL;
+                } else if (position + 1 < length && isNameStart(sql.charAt(position + 1))) {
+                    position = skipName(position + 2);
+                    type = TokenType.NAMED_PARAM;
+                } else {
+                    position++;
+                    type = TokenType.SYMBOL;
+                }
+            }
+            default -> {
+                if (isNamePart(c)) {
+                    position = skipName(position + 1);
+                    type = TokenType.WORD;
+                } else {
+                    position++;
+                    type = TokenType.SYMBOL;
+                }
+            }
+        }
+        end = position;
+        return type;
+    }
+
+    /**
+     * @return 当前token的起始位置
+     */
+    int start() {
+        return start;
+    }
+
+    /**
+     * @return 当前token的结束位置（不含）
+     */
+    int end() {
+        return end;
+    }
+
+    /**
+     * @return 当前token的文本
+     */
+    String text() {
+        return sql.substring(start, end);
+    }
+
+    /**
+     * @return 当前token的第一个字符
+     */
+    char firstChar() {
+        return sql.charAt(start);
+    }
+
+    /**
+     * @param word 关键字（大写）
+     * @return 当前token是否为该关键字（忽略大小写，不分配对象）
+     */
+    boolean is(String word) {
+        return end - start == word.length() && sql.regionMatches(true, start, word, 0, word.length());
+    }
+
+    /**
+     * @return 是否存在未闭合的字符串、标识符或块注释
+     */
+    boolean unterminated() {
+        return unterminated;
+    }
+
+    private void skipWhitespaceAndComments() {
+        while (position < length) {
+            char c = sql.charAt(position);
+            if (Character.isWhitespace(c)) {
+                position++;
+            } else if (c == '-' && position + 1 < length && sql.charAt(position + 1) == '-') {
+                int newline = sql.indexOf('\n', position);
+                position = newline < 0 ? length : newline + 1;
+            } else if (c == '/' && position + 1 < length && sql.charAt(position + 1) == '*') {
+                int close = sql.indexOf("*/", position + 2);
+                if (close < 0) {
+                    unterminated = true;
+                    position = length;
+                } else {
+                    position = close + 2;
+                }
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 跳过引号内的内容，连续两个结束引号表示转义
+     */
+    private int skipQuoted(int from, char close) {
+        int i = from + 1;
+        while (i < length) {
+            if (sql.charAt(i) == close) {
+                if (close != ']' && i + 1 < length && sql.charAt(i + 1) == close) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        unterminated = true;
+        return length;
+    }
+
+    private int skipName(int from) {
+        int i = from;
+        while (i < length && isNamePart(sql.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isNameStart(char c) {
+        return Character.isLetter(c) || c == '_';
+    }
+
+    private static boolean isNamePart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+}
@@ -0,0 +1,187 @@
+package com.gct.reportgenerator.execution;
+
+import com.gct.reportgenerator.config.ReportCacheProperties;
+import com.gct.reportgenerator.exception.BusinessException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * SQL安全校验器（只允许单条SELECT查询）
+ *
+ * 基于 {@link SqlLexer} 单趟扫描，注释、字符串常量和带引号的标识符中的内容不参与判断：
+ * <ul>
+ *   <li>第一个关键字必须是SELECT或WITH（允许前置括号）</li>
+ *   <li>任何位置出现DML/DDL、事务控制、PRAGMA、ATTACH、SELECT INTO、FOR UPDATE等关键字即拒绝
+ *       （WITH ... DELETE 之类的CTE写操作同样被拒绝）；{@code t.update} 这类限定列名和
+ *       {@code REPLACE(...)} 字符串函数除外</li>
+ *   <li>COMMENT、LOCK、CALL等常被用作列名的非保留字只在语句或子句开头的位置拒绝
+ *       （如 {@code WITH x AS (...) CALL ...}、{@code ... LOCK IN SHARE MODE}）；
+ *       出现在SELECT、逗号、左括号、运算符、WHERE/BY/AS等之后时按标识符处理</li>
+ *   <li>分号之后不能再有语句，括号内不能出现分号</li>
+ *   <li>存在未闭合的字符串、标识符或注释时拒绝</li>
+ * </ul>
+ * 结论按SQL内容的SHA-256缓存，同一报表版本的SQL只扫描一次。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Component
+public class SqlSafetyValidator {
+
+    private static final Set<String> FORBIDDEN_KEYWORDS = Set.of(
+            "INSERT", "UPDATE", "DELETE", "MERGE", "UPSERT", "REPLACE",
+            "CREATE", "DROP", "ALTER", "TRUNCATE",
+            "ATTACH", "DETACH", "PRAGMA", "VACUUM", "REINDEX",
+            "GRANT", "REVOKE", "EXEC", "EXECUTE",
+            "COMMIT", "ROLLBACK", "SAVEPOINT",
+            "INTO", "LOAD_EXTENSION"
+    );
+
+    /**
+     * 只在语句或子句开头时拒绝的关键字（可以作为列名、别名使用）
+     */
+    private static final Set<String> STATEMENT_KEYWORDS = Set.of(
+            "RENAME", "COMMENT", "ANALYZE", "CALL", "BEGIN", "RELEASE", "LOCK"
+    );
+
+    /**
+     * 之后只能跟表达式或标识符、不能开始新子句的关键字
+     */
+    private static final Set<String> IDENTIFIER_CONTEXT = Set.of(
+            "SELECT", "WITH", "RECURSIVE", "DISTINCT", "ALL", "FROM", "JOIN", "ON", "USING",
+            "WHERE", "AND", "OR", "NOT", "BY", "HAVING", "AS", "CASE", "WHEN", "THEN", "ELSE",
+            "IS", "LIKE", "BETWEEN"
+    );
+
+    private final Cache<String, SqlVerdict> verdicts;
+
+    public SqlSafetyValidator(ReportCacheProperties reportCacheProperties, MeterRegistry meterRegistry) {
+        this.verdicts = Caffeine.newBuilder()
+                .maximumSize(reportCacheProperties.getSqlVerdictMaximumSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verdicts, "sqlVerdicts");
+    }
+
+    /**
+     * 校验SQL（结论按内容缓存）
+     *
+     * @param sql SQL
+     * @return 校验结论
+     */
+    public SqlVerdict validate(String sql) {
+        if (sql == null || sql.isBlank()) {
+            return SqlVerdict.rejected("SQL不能为空");
+        }
+        return verdicts.get(sha256(sql), key -> inspect(sql));
+    }
+
+    /**
+     * 校验SQL，不允许时抛出异常
+     *
+     * @param sql SQL
+     * @throws BusinessException 不是单条SELECT查询
+     */
+    public void requireAllowed(String sql) {
+        SqlVerdict verdict = validate(sql);
+        if (!verdict.allowed()) {
+            throw new BusinessException("SQL_NOT_ALLOWED", verdict.reason());
+        }
+    }
+
+    /**
+     * 单趟扫描SQL
+     */
+    static SqlVerdict inspect(String sql) {
+        SqlLexer lexer = new SqlLexer(sql);
+        boolean started = false;
+        boolean statementEnded = false;
+        boolean afterDot = false;
+        boolean expectFunctionCall = false;
+        boolean identifierPosition = false;
+        int depth = 0;
+
+        for (SqlLexer.TokenType type = lexer.next(); type != SqlLexer.TokenType.END; type = lexer.next()) {
+            boolean symbol = type == SqlLexer.TokenType.SYMBOL;
+            char c = lexer.firstChar();
+            if (statementEnded) {
+                return SqlVerdict.rejected("只允许单条SQL语句");
+            }
+            if (expectFunctionCall && !(symbol && c == '(')) {
+                return SqlVerdict.rejected("不允许的关键字: REPLACE");
+            }
+            expectFunctionCall = false;
+
+            if (!started) {
+                if (symbol && c == '(') {
+                    depth++;
+                    continue;
+                }
+                if (type != SqlLexer.TokenType.WORD || !(lexer.is("SELECT") || lexer.is("WITH"))) {
+                    return SqlVerdict.rejected("只允许SELECT查询");
+                }
+                started = true;
+                identifierPosition = true;
+                continue;
+            }
+
+            if (symbol) {
+                if (c == '(') {
+                    depth++;
+                } else if (c == ')') {
+                    depth--;
+                } else if (c == ';') {
+                    if (depth != 0) {
+                        return SqlVerdict.rejected("括号内不允许出现分号");
+                    }
+                    statementEnded = true;
+                }
+                identifierPosition = c != ')' && c != ';';
+            } else if (type == SqlLexer.TokenType.WORD) {
+                String word = lexer.text().toUpperCase(Locale.ROOT);
+                if (!afterDot && FORBIDDEN_KEYWORDS.contains(word)) {
+                    if (!word.equals("REPLACE")) {
+                        return SqlVerdict.rejected("不允许的关键字: " + word);
+                    }
+                    expectFunctionCall = true;
+                } else if (!afterDot && !identifierPosition && STATEMENT_KEYWORDS.contains(word)) {
+                    return SqlVerdict.rejected("不允许的关键字: " + word);
+                }
+                identifierPosition = IDENTIFIER_CONTEXT.contains(word);
+            } else {
+                identifierPosition = false;
+            }
+            afterDot = symbol && c == '.';
+        }
+
+        if (lexer.unterminated()) {
+            return SqlVerdict.rejected("存在未闭合的字符串、标识符或注释");
+        }
+        if (!started) {
+            return SqlVerdict.rejected("只允许SELECT查询");
+        }
+        if (expectFunctionCall) {
+            return SqlVerdict.rejected("不允许的关键字: REPLACE");
+        }
+        return SqlVerdict.ALLOWED;
+    }
+
+    private static String sha256(String sql) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(sql.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
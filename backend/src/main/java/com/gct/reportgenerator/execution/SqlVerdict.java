@@ -0,0 +1,23 @@
+package com.gct.reportgenerator.execution;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * SQL安全校验结论
+ *
+ * @param allowed 是否允许执行
+ * @param reason  不允许的原因，允许时为null
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Schema(description = "SQL安全校验结果")
+public record SqlVerdict(
+        @Schema(description = "是否允许执行") boolean allowed,
+        @Schema(description = "不允许的原因") String reason) {
+
+    static final SqlVerdict ALLOWED = new SqlVerdict(true, null);
+
+    static SqlVerdict rejected(String reason) {
+        return new SqlVerdict(false, reason);
+    }
+}
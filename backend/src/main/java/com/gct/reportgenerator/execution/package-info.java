@@ -0,0 +1,13 @@
+/**
+ * Execution层 - 报表查询执行引擎
+ * 
+ * 职责:
+ * - 以仅向前游标流式读取报表SQL的结果，不在内存中缓存结果集
+ * - 控制抓取行数、查询超时和取消
+ * - 按用户、报表和全局并发上限进行准入控制
+ * - 记录每次执行的耗时和行数
+ * 
+ * @author GCT Team
+ * @since 1.0.0
+ */
+package com.gct.reportgenerator.execution;
@@ -0,0 +1,63 @@
+package com.gct.reportgenerator.export;
+
+import com.gct.reportgenerator.config.ExportProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 导出编码缓冲池（直接内存）
+ *
+ * 直接缓冲区写入FileChannel时不需要再复制到临时的本地内存，且分配和回收代价高，因此在导出之间复用。
+ * 池中最多保留pooledBuffers个空闲缓冲区；池空时分配新的缓冲区，归还时池已满则丢弃，由GC回收。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Component
+public class ByteBufferPool {
+
+    private final int bufferSize;
+    private final BlockingQueue<ByteBuffer> idle;
+
+    @Autowired
+    public ByteBufferPool(ExportProperties exportProperties) {
+        this((int) exportProperties.getDelimited().getBufferSize().toBytes(),
+                exportProperties.getDelimited().getPooledBuffers());
+    }
+
+    ByteBufferPool(int bufferSize, int pooledBuffers) {
+        this.bufferSize = bufferSize;
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, pooledBuffers));
+    }
+
+    /**
+     * 借出一个已清空的缓冲区
+     *
+     * @return 缓冲区
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = idle.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * 归还缓冲区（归还后调用方不得再使用）
+     *
+     * @param buffer 缓冲区
+     */
+    public void release(ByteBuffer buffer) {
+        buffer.clear();
+        idle.offer(buffer);
+    }
+
+    /**
+     * @return 缓冲区大小（字节）
+     */
+    public int bufferSize() {
+        return bufferSize;
+    }
+}
@@ -0,0 +1,316 @@
+package com.gct.reportgenerator.export;
+
+import com.gct.reportgenerator.execution.ReportResult;
+import com.gct.reportgenerator.execution.ResultColumn;
+import com.gct.reportgenerator.format.ColumnFormatter;
+import com.gct.reportgenerator.format.ReportFormatter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * CSV/TSV写出器
+ *
+ * 每行由列格式化器追加到复用的StringBuilder，再直接按UTF-8编码进池化的直接缓冲区，缓冲区写满后整块写入通道；
+ * 不经过POI，也不为单元格创建中间字符串或字节数组。列顺序、表头和格式与XLSX导出一致（report_columns）。
+ * <ul>
+ *   <li>CSV：RFC 4180，包含分隔符、双引号或换行的字段用双引号包围，字段内双引号写两次</li>
+ *   <li>TSV：字段内的制表符和换行替换为空格</li>
+ * </ul>
+ * 空值写出为空字段，行以CRLF结尾。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Slf4j
+public class DelimitedWriter {
+
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    /**
+     * 报告进度的行数间隔
+     */
+    private static final int PROGRESS_INTERVAL = 1024;
+
+    private final ExportFormat format;
+    private final ByteBufferPool bufferPool;
+    private final boolean bom;
+    private final LongConsumer progress;
+
+    /**
+     * @param format     CSV或TSV
+     * @param bufferPool 编码缓冲池
+     * @param bom        是否在开头写出UTF-8 BOM
+     * @param progress   进度回调（已写出的行数）
+     */
+    public DelimitedWriter(ExportFormat format, ByteBufferPool bufferPool, boolean bom, LongConsumer progress) {
+        if (!format.delimited()) {
+            throw new IllegalArgumentException("不是分隔符格式: " + format);
+        }
+        this.format = format;
+        this.bufferPool = bufferPool;
+        this.bom = bom;
+        this.progress = progress;
+    }
+
+    /**
+     * 将结果集逐行写出
+     *
+     * @param rs        仅向前读取的结果集
+     * @param columns   列配置，为空时按结果集原始列导出
+     * @param formatter 报表格式化器
+     * @param channel   输出通道（不会被关闭）
+     * @return 写出的数据行数
+     * @throws SQLException 读取结果集失败
+     * @throws IOException  写出失败
+     */
+    public long write(ResultSet rs, List<ExportColumn> columns, ReportFormatter formatter,
+                      WritableByteChannel channel) throws SQLException, IOException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        List<String> labels = new ArrayList<>(metaData.getColumnCount());
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            labels.add(metaData.getColumnLabel(i));
+        }
+        Layout layout = layout(labels, columns, formatter);
+
+        Encoder encoder = new Encoder(bufferPool.acquire(), channel);
+        try {
+            StringBuilder line = writeHeader(layout, encoder);
+            long rows = 0;
+            while (rs.next()) {
+                line.setLength(0);
+                for (int i = 0; i < layout.size(); i++) {
+                    if (i > 0) {
+                        line.append(format.delimiter());
+                    }
+                    Object value = rs.getObject(layout.indexes[i] + 1);
+                    if (value != null) {
+                        int start = line.length();
+                        layout.formatters[i].format(value, line);
+                        escape(line, start);
+                    }
+                }
+                endLine(line, encoder);
+                if (++rows % PROGRESS_INTERVAL == 0) {
+                    progress.accept(rows);
+                }
+            }
+            encoder.drain();
+            progress.accept(rows);
+            return rows;
+        } finally {
+            bufferPool.release(encoder.buffer);
+        }
+    }
+
+    /**
+     * 将内存中的列式结果写出（如结果缓存中的结果），数值和日期从原始类型直接格式化
+     *
+     * @param result    查询结果
+     * @param columns   列配置，为空时按结果原始列导出
+     * @param formatter 报表格式化器
+     * @param channel   输出通道（不会被关闭）
+     * @return 写出的数据行数
+     * @throws IOException 写出失败
+     */
+    public long write(ReportResult result, List<ExportColumn> columns, ReportFormatter formatter,
+                      WritableByteChannel channel) throws IOException {
+        Layout layout = layout(result.columnNames(), columns, formatter);
+        ResultColumn[] source = new ResultColumn[layout.size()];
+        for (int i = 0; i < source.length; i++) {
+            source[i] = result.columns().get(layout.indexes[i]);
+        }
+
+        Encoder encoder = new Encoder(bufferPool.acquire(), channel);
+        try {
+            StringBuilder line = writeHeader(layout, encoder);
+            for (int row = 0; row < result.rowCount(); row++) {
+                line.setLength(0);
+                for (int i = 0; i < source.length; i++) {
+                    if (i > 0) {
+                        line.append(format.delimiter());
+                    }
+                    int start = line.length();
+                    layout.formatters[i].format(source[i], row, line);
+                    escape(line, start);
+                }
+                endLine(line, encoder);
+                if ((row + 1) % PROGRESS_INTERVAL == 0) {
+                    progress.accept(row + 1);
+                }
+            }
+            encoder.drain();
+            progress.accept(result.rowCount());
+            return result.rowCount();
+        } finally {
+            bufferPool.release(encoder.buffer);
+        }
+    }
+
+    private StringBuilder writeHeader(Layout layout, Encoder encoder) throws IOException {
+        if (bom) {
+            encoder.buffer.put(UTF8_BOM);
+        }
+        StringBuilder line = new StringBuilder(256);
+        for (int i = 0; i < layout.size(); i++) {
+            if (i > 0) {
+                line.append(format.delimiter());
+            }
+            int start = line.length();
+            line.append(layout.headers[i]);
+            escape(line, start);
+        }
+        endLine(line, encoder);
+        return line;
+    }
+
+    private void endLine(StringBuilder line, Encoder encoder) throws IOException {
+        line.append('\r').append('\n');
+        encoder.encode(line);
+    }
+
+    /**
+     * 转义从start开始的字段内容
+     */
+    private void escape(StringBuilder line, int start) {
+        char delimiter = format.delimiter();
+        if (format == ExportFormat.TSV) {
+            for (int i = start; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == '\t' || c == '\n' || c == '\r') {
+                    line.setCharAt(i, ' ');
+                }
+            }
+            return;
+        }
+        boolean quote = false;
+        for (int i = start; i < line.length() && !quote; i++) {
+            char c = line.charAt(i);
+            quote = c == delimiter || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            return;
+        }
+        for (int i = line.length() - 1; i >= start; i--) {
+            if (line.charAt(i) == '"') {
+                line.insert(i, '"');
+            }
+        }
+        line.insert(start, '"').append('"');
+    }
+
+    /**
+     * 将结果列绑定到输出列：有列配置时按配置顺序和显示名称输出，结果中不存在的配置列跳过
+     */
+    private Layout layout(List<String> labels, List<ExportColumn> columns, ReportFormatter formatter) {
+        ColumnFormatter[] byResultColumn = formatter.bind(labels);
+        List<Integer> indexes = new ArrayList<>();
+        List<String> headers = new ArrayList<>();
+        if (columns == null || columns.isEmpty()) {
+            for (int i = 0; i < labels.size(); i++) {
+                indexes.add(i);
+                headers.add(labels.get(i));
+            }
+        } else {
+            Map<String, Integer> indexByLabel = new HashMap<>();
+            for (int i = 0; i < labels.size(); i++) {
+                indexByLabel.putIfAbsent(labels.get(i).toLowerCase(Locale.ROOT), i);
+            }
+            for (ExportColumn column : columns) {
+                Integer index = indexByLabel.get(column.fieldName().toLowerCase(Locale.ROOT));
+                if (index == null) {
+                    log.warn("列配置字段在查询结果中不存在, 已跳过: {}", column.fieldName());
+                    continue;
+                }
+                indexes.add(index);
+                headers.add(column.displayName());
+            }
+        }
+
+        Layout layout = new Layout(new int[indexes.size()], new String[indexes.size()],
+                new ColumnFormatter[indexes.size()]);
+        for (int i = 0; i < layout.size(); i++) {
+            layout.indexes[i] = indexes.get(i);
+            layout.headers[i] = headers.get(i);
+            layout.formatters[i] = byResultColumn[indexes.get(i)];
+        }
+        return layout;
+    }
+
+    /**
+     * 输出列布局
+     *
+     * @param indexes    结果列下标（从0开始）
+     * @param headers    表头
+     * @param formatters 列格式化器
+     */
+    private record Layout(int[] indexes, String[] headers, ColumnFormatter[] formatters) {
+
+        int size() {
+            return indexes.length;
+        }
+    }
+
+    /**
+     * UTF-8编码器：逐字符编码到缓冲区，缓冲区剩余空间不足一个字符时写入通道
+     */
+    private static final class Encoder {
+
+        private final ByteBuffer buffer;
+        private final WritableByteChannel channel;
+
+        Encoder(ByteBuffer buffer, WritableByteChannel channel) {
+            this.buffer = buffer;
+            this.channel = channel;
+        }
+
+        void encode(CharSequence chars) throws IOException {
+            int length = chars.length();
+            for (int i = 0; i < length; i++) {
+                if (buffer.remaining() < 4) {
+                    drain();
+                }
+                char c = chars.charAt(i);
+                if (c < 0x80) {
+                    buffer.put((byte) c);
+                } else if (c < 0x800) {
+                    buffer.put((byte) (0xC0 | c >> 6));
+                    buffer.put((byte) (0x80 | c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, chars.charAt(++i));
+                    buffer.put((byte) (0xF0 | codePoint >> 18));
+                    buffer.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+                    buffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+                    buffer.put((byte) (0x80 | codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    // 不成对的代理字符无法编码，与String.getBytes(UTF_8)一致替换为'?'
+                    buffer.put((byte) '?');
+                } else {
+                    buffer.put((byte) (0xE0 | c >> 12));
+                    buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+                    buffer.put((byte) (0x80 | c & 0x3F));
+                }
+            }
+        }
+
+        void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
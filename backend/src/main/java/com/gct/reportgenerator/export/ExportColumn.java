@@ -0,0 +1,40 @@
+package com.gct.reportgenerator.export;
+
+import com.gct.reportgenerator.entity.ReportColumn;
+
+/**
+ * 导出列定义
+ * 
+ * @param fieldName   查询结果字段名
+ * @param displayName 表头显示名称
+ * @param width       列宽（像素）
+ * @param formatType  格式类型
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public record ExportColumn(
+        String fieldName,
+        String displayName,
+        int width,
+        ReportColumn.FormatType formatType
+) {
+
+    /**
+     * 默认列宽（像素），与report_columns.column_width默认值一致
+     */
+    public static final int DEFAULT_WIDTH = 120;
+
+    /**
+     * 根据列配置创建导出列
+     * 
+     * @param column 报表列配置
+     * @return 导出列
+     */
+    public static ExportColumn from(ReportColumn column) {
+        return new ExportColumn(
+                column.getFieldName(),
+                column.getDisplayName(),
+                column.getColumnWidth() != null ? column.getColumnWidth() : DEFAULT_WIDTH,
+                column.getFormatType() != null ? column.getFormatType() : ReportColumn.FormatType.TEXT);
+    }
+}
@@ -0,0 +1,68 @@
+package com.gct.reportgenerator.export;
+
+/**
+ * 导出文件格式
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public enum ExportFormat {
+
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx", '\0'),
+    CSV("text/csv", "csv", ','),
+    TSV("text/tab-separated-values", "tsv", '\t');
+
+    /**
+     * gzip压缩文件的Content-Type
+     */
+    public static final String GZIP_MEDIA_TYPE = "application/gzip";
+
+    private final String mediaType;
+    private final String extension;
+    private final char delimiter;
+
+    ExportFormat(String mediaType, String extension, char delimiter) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * @return Content-Type
+     */
+    public String mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @return 文件扩展名（不含点）
+     */
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * @return 字段分隔符（仅CSV/TSV）
+     */
+    public char delimiter() {
+        return delimiter;
+    }
+
+    /**
+     * @return 是否为按分隔符分隔的文本格式
+     */
+    public boolean delimited() {
+        return this != XLSX;
+    }
+
+    /**
+     * 生成导出文件名
+     *
+     * @param baseName 文件名（通常为报表名称）
+     * @param gzip     是否gzip压缩
+     * @return 带扩展名的文件名
+     */
+    public String fileName(String baseName, boolean gzip) {
+        return baseName + "." + extension + (gzip ? ".gz" : "");
+    }
+}
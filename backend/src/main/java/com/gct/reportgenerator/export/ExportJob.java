@@ -0,0 +1,220 @@
+package com.gct.reportgenerator.export;
+
+import com.gct.reportgenerator.entity.User;
+import com.gct.reportgenerator.execution.QueryCancellation;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 异步导出任务（线程安全）
+ *
+ * 状态只能按 QUEUED → RUNNING → COMPLETED/FAILED/CANCELLED 前进（排队中的任务可直接取消），
+ * 进度（已写出的行数和字节数）由执行导出的工作线程更新，轮询线程读取。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Getter
+public final class ExportJob {
+
+    /**
+     * 任务状态
+     */
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+        /**
+         * @return 任务是否已结束
+         */
+        public boolean finished() {
+            return this == COMPLETED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    private final String id;
+    private final Long reportId;
+    private final String reportName;
+    private final Long userId;
+    private final User.UserRole role;
+    private final ExportFormat format;
+    private final boolean gzip;
+    private final Path file;
+    private final Instant createdAt;
+    private final QueryCancellation cancellation = new QueryCancellation();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong rowsWritten = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong bytesWritten = new AtomicLong();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    /**
+     * @param id         任务ID
+     * @param reportId   报表ID
+     * @param reportName 报表名称（下载文件名）
+     * @param userId     创建任务的用户ID
+     * @param role       创建任务的用户角色
+     * @param format     导出格式
+     * @param gzip       是否gzip压缩（仅CSV/TSV）
+     * @param file       导出文件路径
+     * @param createdAt  创建时间
+     */
+    public ExportJob(String id, Long reportId, String reportName, Long userId, User.UserRole role,
+                     ExportFormat format, boolean gzip, Path file, Instant createdAt) {
+        this.id = id;
+        this.reportId = reportId;
+        this.reportName = reportName;
+        this.userId = userId;
+        this.role = role;
+        this.format = format;
+        this.gzip = gzip;
+        this.file = file;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * 开始执行
+     *
+     * @param now 当前时间
+     * @return 任务仍在排队（未被取消）时返回true
+     */
+    public synchronized boolean start(Instant now) {
+        if (status != Status.QUEUED) {
+            return false;
+        }
+        status = Status.RUNNING;
+        startedAt = now;
+        return true;
+    }
+
+    /**
+     * 导出成功
+     *
+     * @param now  当前时间
+     * @param rows 导出行数
+     */
+    public synchronized void complete(Instant now, long rows) {
+        rowsWritten.set(rows);
+        finish(Status.COMPLETED, now, null);
+    }
+
+    /**
+     * 导出失败
+     *
+     * @param now   当前时间
+     * @param error 失败原因
+     */
+    public synchronized void fail(Instant now, String error) {
+        finish(Status.FAILED, now, error);
+    }
+
+    /**
+     * 取消任务：排队中的任务直接结束，执行中的任务取消查询（由工作线程结束任务）
+     *
+     * @param now 当前时间
+     * @return 任务尚未结束时返回true
+     */
+    public synchronized boolean cancel(Instant now) {
+        if (status.finished()) {
+            return false;
+        }
+        if (status == Status.QUEUED) {
+            finish(Status.CANCELLED, now, null);
+        } else {
+            cancellation.cancel(QueryCancellation.Reason.CLIENT_ABORTED);
+        }
+        return true;
+    }
+
+    /**
+     * 执行中的任务被取消后结束任务
+     *
+     * @param now 当前时间
+     */
+    public synchronized void cancelled(Instant now) {
+        finish(Status.CANCELLED, now, null);
+    }
+
+    private void finish(Status finalStatus, Instant now, String message) {
+        if (status.finished()) {
+            return;
+        }
+        status = finalStatus;
+        finishedAt = now;
+        error = message;
+    }
+
+    /**
+     * 包装输出通道，统计写出的字节数
+     *
+     * @param channel 输出通道
+     * @return 统计字节数的输出通道
+     */
+    public WritableByteChannel countBytes(WritableByteChannel channel) {
+        return new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) throws IOException {
+                int written = channel.write(src);
+                bytesWritten.addAndGet(written);
+                return written;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return channel.isOpen();
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        };
+    }
+
+    /**
+     * @return 下载文件名
+     */
+    public String fileName() {
+        return format.fileName(reportName, gzip);
+    }
+
+    /**
+     * @return 下载文件的Content-Type
+     */
+    public String mediaType() {
+        return gzip ? ExportFormat.GZIP_MEDIA_TYPE : format.mediaType();
+    }
+
+    /**
+     * 更新已写出的行数（进度回调）
+     *
+     * @param rows 已写出的行数
+     */
+    public void updateRowsWritten(long rows) {
+        rowsWritten.set(rows);
+    }
+
+    /**
+     * @return 已写出的行数
+     */
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    /**
+     * @return 已写出的字节数
+     */
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+}
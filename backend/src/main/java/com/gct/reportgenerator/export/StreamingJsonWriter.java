@@ -0,0 +1,216 @@
+package com.gct.reportgenerator.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gct.reportgenerator.execution.ReportResult;
+import com.gct.reportgenerator.execution.ResultColumn;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 流式JSON写出器（边读游标边写出，每批刷新一次）
+ *
+ * 支持两种格式：
+ * <ul>
+ *   <li>{@link Format#NDJSON}：每行一个JSON值。第一行为 {@code {"columns":[...]}}，之后每行是一个数据行数组，
+ *       最后一行为 {@code {"rowCount":n}}；没有最后一行说明结果不完整（查询失败或被取消）</li>
+ *   <li>{@link Format#JSON}：与在线查询结果相同的 {@code {columns, rows, rowCount, truncated}} 对象，分块传输</li>
+ * </ul>
+ * 只持有JSON生成器的固定大小缓冲，内存占用与行数无关。值的JSON表示与在线查询结果一致：
+ * 数值和字符串直接写出，日期转换为java.time类型后按全局ObjectMapper配置序列化。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public class StreamingJsonWriter {
+
+    /**
+     * 输出格式
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson"),
+        JSON("application/json");
+
+        private final String mediaType;
+
+        Format(String mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        /**
+         * @return 响应的Content-Type
+         */
+        public String mediaType() {
+            return mediaType;
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter valueWriter;
+    private final Format format;
+    private final int batchSize;
+
+    /**
+     * @param objectMapper 全局ObjectMapper
+     * @param format       输出格式
+     * @param batchSize    每写出多少行刷新一次（通常与游标抓取行数相同）
+     */
+    public StreamingJsonWriter(ObjectMapper objectMapper, Format format, int batchSize) {
+        this.objectMapper = objectMapper;
+        // 默认每写一个值刷新一次，逐个单元格发送网络包
+        this.valueWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.format = format;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * 逐行写出结果集
+     *
+     * @param rs  仅向前结果集
+     * @param out 输出流（不会被关闭）
+     * @return 写出的行数
+     * @throws SQLException 读取结果集失败
+     * @throws IOException  写出失败（通常是客户端断开）
+     */
+    public long write(ResultSet rs, OutputStream out) throws SQLException, IOException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        String[] names = new String[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            names[i] = metaData.getColumnLabel(i + 1);
+        }
+
+        try (JsonGenerator gen = createGenerator(out)) {
+            writeHeader(gen, List.of(names));
+            long rows = 0;
+            while (rs.next()) {
+                gen.writeStartArray();
+                for (int i = 1; i <= columnCount; i++) {
+                    writeValue(gen, rs.getObject(i));
+                }
+                endRow(gen);
+                if (++rows % batchSize == 0) {
+                    gen.flush();
+                }
+            }
+            writeTrailer(gen, rows);
+            return rows;
+        }
+    }
+
+    /**
+     * 写出已读取的列式结果（结果缓存命中时使用）
+     *
+     * @param result 查询结果
+     * @param out    输出流（不会被关闭）
+     * @return 写出的行数
+     * @throws IOException 写出失败
+     */
+    public long write(ReportResult result, OutputStream out) throws IOException {
+        List<ResultColumn> columns = result.columns();
+        try (JsonGenerator gen = createGenerator(out)) {
+            writeHeader(gen, result.columnNames());
+            for (int row = 0; row < result.rowCount(); row++) {
+                gen.writeStartArray();
+                for (ResultColumn column : columns) {
+                    if (column.isNull(row)) {
+                        gen.writeNull();
+                        continue;
+                    }
+                    switch (column.type()) {
+                        case LONG -> gen.writeNumber(column.getLong(row));
+                        case DOUBLE -> gen.writeNumber(column.getDouble(row));
+                        case STRING -> gen.writeString(column.getString(row));
+                        default -> valueWriter.writeValue(gen, column.get(row));
+                    }
+                }
+                endRow(gen);
+                if ((row + 1) % batchSize == 0) {
+                    gen.flush();
+                }
+            }
+            writeTrailer(gen, result.rowCount());
+            return result.rowCount();
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        JsonGenerator gen = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        // 输出流由容器管理；出错时不自动补全JSON，客户端通过结尾是否完整判断结果是否完整
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        if (format == Format.NDJSON) {
+            gen.setRootValueSeparator(null);
+        }
+        return gen;
+    }
+
+    private void writeHeader(JsonGenerator gen, List<String> names) throws IOException {
+        gen.writeStartObject();
+        gen.writeArrayFieldStart("columns");
+        for (String name : names) {
+            gen.writeString(name);
+        }
+        gen.writeEndArray();
+        if (format == Format.NDJSON) {
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+        } else {
+            gen.writeArrayFieldStart("rows");
+        }
+        // 查询已开始返回结果，先把列名发给客户端
+        gen.flush();
+    }
+
+    private void endRow(JsonGenerator gen) throws IOException {
+        gen.writeEndArray();
+        if (format == Format.NDJSON) {
+            gen.writeRaw('\n');
+        }
+    }
+
+    private void writeTrailer(JsonGenerator gen, long rows) throws IOException {
+        if (format == Format.NDJSON) {
+            gen.writeStartObject();
+            gen.writeNumberField("rowCount", rows);
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+        } else {
+            gen.writeEndArray();
+            gen.writeNumberField("rowCount", rows);
+            gen.writeBooleanField("truncated", false);
+            gen.writeEndObject();
+        }
+        // 关闭生成器时刷新
+    }
+
+    private void writeValue(JsonGenerator gen, Object value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else if (value instanceof String text) {
+            gen.writeString(text);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short
+                || value instanceof Byte) {
+            gen.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            gen.writeNumber(((Number) value).doubleValue());
+        } else if (value instanceof BigDecimal number) {
+            gen.writeNumber(number);
+        } else if (value instanceof java.sql.Timestamp timestamp) {
+            valueWriter.writeValue(gen, timestamp.toLocalDateTime());
+        } else if (value instanceof java.sql.Date date) {
+            valueWriter.writeValue(gen, date.toLocalDate());
+        } else {
+            valueWriter.writeValue(gen, value);
+        }
+    }
+}
@@ -0,0 +1,478 @@
+package com.gct.reportgenerator.export;
+
+import com.gct.reportgenerator.entity.ReportColumn.FormatType;
+import com.gct.reportgenerator.execution.ReportResult;
+import com.gct.reportgenerator.execution.ResultColumn;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormat;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.streaming.SXSSFRow;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * 流式XLSX写出器
+ *
+ * 基于SXSSF滑动窗口：内存中只保留最近windowSize行，其余行刷写到压缩临时文件，
+ * 因此堆内存占用与导出行数无关。数据直接从JDBC游标逐行读取，不做整体缓存；
+ * 也可以直接写出内存中已有的列式查询结果。
+ * 超过单个Sheet行数上限时自动续写到新Sheet。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Slf4j
+public class StreamingXlsxWriter {
+
+    /**
+     * 单个Sheet最大行下标（含表头行）
+     */
+    private static final int MAX_ROW_INDEX = SpreadsheetVersion.EXCEL2007.getLastRowIndex();
+
+    /**
+     * 单元格文本最大长度
+     */
+    private static final int MAX_TEXT_LENGTH = SpreadsheetVersion.EXCEL2007.getMaxTextLength();
+
+    /**
+     * Sheet名称最大长度
+     */
+    private static final int MAX_SHEET_NAME_LENGTH = 31;
+
+    /**
+     * 列宽上限（Excel单位：1/256字符）
+     */
+    private static final int MAX_COLUMN_WIDTH = 255 * 256;
+
+    /**
+     * 兼容SQLite文本时间（yyyy-MM-dd HH:mm:ss[.SSS]）和ISO格式
+     */
+    private static final DateTimeFormatter DATETIME_PARSER = new DateTimeFormatterBuilder()
+            .append(DateTimeFormatter.ISO_LOCAL_DATE)
+            .optionalStart().appendLiteral(' ').optionalEnd()
+            .optionalStart().appendLiteral('T').optionalEnd()
+            .append(DateTimeFormatter.ISO_LOCAL_TIME)
+            .toFormatter(Locale.ROOT);
+
+    private static final Map<FormatType, String> DATA_FORMATS = Map.of(
+            FormatType.NUMBER, "#,##0.00",
+            FormatType.CURRENCY, "¥#,##0.00",
+            FormatType.DATE, "yyyy-mm-dd",
+            FormatType.DATETIME, "yyyy-mm-dd hh:mm:ss"
+    );
+
+    private final int windowSize;
+    private final ZoneId zoneId;
+    private final LongConsumer progress;
+
+    /**
+     * @param windowSize 内存中保留的行数窗口
+     * @param zoneId     数值型时间戳转换使用的时区
+     */
+    public StreamingXlsxWriter(int windowSize, ZoneId zoneId) {
+        this(windowSize, zoneId, rows -> {
+        });
+    }
+
+    /**
+     * @param windowSize 内存中保留的行数窗口
+     * @param zoneId     数值型时间戳转换使用的时区
+     * @param progress   进度回调，每写出一个窗口的行和写出结束时以已写出的行数调用
+     * @throws IllegalArgumentException windowSize小于1（SXSSF把-1视为不限制内存中的行数）
+     */
+    public StreamingXlsxWriter(int windowSize, ZoneId zoneId, LongConsumer progress) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("XLSX行数窗口必须大于0: " + windowSize);
+        }
+        this.windowSize = windowSize;
+        this.zoneId = zoneId;
+        this.progress = progress;
+    }
+
+    /**
+     * 将结果集逐行写出为XLSX
+     *
+     * @param rs        仅向前读取的结果集
+     * @param columns   列配置，为空时按结果集原始列导出
+     * @param sheetName Sheet名称
+     * @param out       输出流（调用方负责关闭）
+     * @return 写出的数据行数
+     */
+    public long write(ResultSet rs, List<ExportColumn> columns, String sheetName, OutputStream out)
+            throws SQLException, IOException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        List<String> labels = new ArrayList<>(metaData.getColumnCount());
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            labels.add(metaData.getColumnLabel(i));
+        }
+        return write(new RowSource() {
+            @Override
+            public boolean next() throws SQLException {
+                return rs.next();
+            }
+
+            @Override
+            public Object value(int index) throws SQLException {
+                return rs.getObject(index + 1);
+            }
+        }, labels, columns, sheetName, out);
+    }
+
+    /**
+     * 将内存中的列式结果写出为XLSX（如结果缓存中的结果），数值列直接读取原始类型
+     *
+     * @param result    查询结果
+     * @param columns   列配置，为空时按结果原始列导出
+     * @param sheetName Sheet名称
+     * @param out       输出流（调用方负责关闭）
+     * @return 写出的数据行数
+     */
+    public long write(ReportResult result, List<ExportColumn> columns, String sheetName, OutputStream out)
+            throws IOException {
+        try {
+            return write(new RowSource() {
+                private int row = -1;
+
+                @Override
+                public boolean next() {
+                    return ++row < result.rowCount();
+                }
+
+                @Override
+                public Object value(int index) {
+                    return result.get(row, index);
+                }
+
+                @Override
+                public boolean primitiveNumber(int index) {
+                    ResultColumn.Type type = result.columns().get(index).type();
+                    return type == ResultColumn.Type.LONG || type == ResultColumn.Type.DOUBLE;
+                }
+
+                @Override
+                public boolean isNull(int index) {
+                    return result.columns().get(index).isNull(row);
+                }
+
+                @Override
+                public double number(int index) {
+                    return result.columns().get(index).getDouble(row);
+                }
+            }, result.columnNames(), columns, sheetName, out);
+        } catch (SQLException e) {
+            // 内存结果不会访问数据库
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long write(RowSource source, List<String> labels, List<ExportColumn> columns, String sheetName,
+                       OutputStream out) throws SQLException, IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(windowSize);
+        workbook.setCompressTempFiles(true);
+        try {
+            List<Binding> bindings = bind(labels, columns);
+            CellStyle headerStyle = createHeaderStyle(workbook);
+            Map<FormatType, CellStyle> styles = createDataStyles(workbook);
+
+            String baseName = WorkbookUtil.createSafeSheetName(sheetName);
+            int sheetNo = 1;
+            SXSSFSheet sheet = createSheet(workbook, baseName, sheetNo, bindings, headerStyle);
+            int rowIndex = 1;
+            long total = 0;
+            boolean[] direct = new boolean[bindings.size()];
+            for (int i = 0; i < direct.length; i++) {
+                direct[i] = bindings.get(i).numeric() && source.primitiveNumber(bindings.get(i).index());
+            }
+
+            while (source.next()) {
+                if (rowIndex > MAX_ROW_INDEX) {
+                    sheet = createSheet(workbook, baseName, ++sheetNo, bindings, headerStyle);
+                    rowIndex = 1;
+                }
+                SXSSFRow row = sheet.createRow(rowIndex++);
+                for (int i = 0; i < bindings.size(); i++) {
+                    Binding binding = bindings.get(i);
+                    if (direct[i]) {
+                        if (!source.isNull(binding.index())) {
+                            Cell cell = row.createCell(i);
+                            cell.setCellValue(source.number(binding.index()));
+                            if (binding.formatType() != null) {
+                                cell.setCellStyle(styles.get(binding.formatType()));
+                            }
+                        }
+                        continue;
+                    }
+                    Object value = source.value(binding.index());
+                    if (value != null) {
+                        writeCell(row.createCell(i), value, binding.formatType(), styles);
+                    }
+                }
+                if (++total % windowSize == 0) {
+                    progress.accept(total);
+                }
+            }
+
+            progress.accept(total);
+            workbook.write(out);
+            log.debug("XLSX写出完成, 行数: {}, Sheet数: {}", total, sheetNo);
+            return total;
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * 将列配置绑定到结果列下标
+     */
+    private List<Binding> bind(List<String> labels, List<ExportColumn> columns) {
+        List<Binding> bindings = new ArrayList<>();
+
+        if (columns == null || columns.isEmpty()) {
+            for (int i = 0; i < labels.size(); i++) {
+                bindings.add(new Binding(i, labels.get(i), ExportColumn.DEFAULT_WIDTH, null));
+            }
+            return bindings;
+        }
+
+        Map<String, Integer> indexByLabel = new HashMap<>();
+        for (int i = 0; i < labels.size(); i++) {
+            indexByLabel.putIfAbsent(labels.get(i).toLowerCase(Locale.ROOT), i);
+        }
+        for (ExportColumn column : columns) {
+            Integer index = indexByLabel.get(column.fieldName().toLowerCase(Locale.ROOT));
+            if (index == null) {
+                log.warn("列配置字段在查询结果中不存在, 已跳过: {}", column.fieldName());
+                continue;
+            }
+            bindings.add(new Binding(index, column.displayName(), column.width(), column.formatType()));
+        }
+        return bindings;
+    }
+
+    private SXSSFSheet createSheet(SXSSFWorkbook workbook, String baseName, int sheetNo,
+                                   List<Binding> bindings, CellStyle headerStyle) {
+        String name = baseName;
+        if (sheetNo > 1) {
+            String suffix = "_" + sheetNo;
+            name = baseName.substring(0, Math.min(baseName.length(), MAX_SHEET_NAME_LENGTH - suffix.length())) + suffix;
+        }
+        SXSSFSheet sheet = workbook.createSheet(name);
+        SXSSFRow header = sheet.createRow(0);
+        for (int i = 0; i < bindings.size(); i++) {
+            Binding binding = bindings.get(i);
+            Cell cell = header.createCell(i);
+            cell.setCellValue(binding.header());
+            cell.setCellStyle(headerStyle);
+            sheet.setColumnWidth(i, toColumnWidth(binding.width()));
+        }
+        sheet.createFreezePane(0, 1);
+        return sheet;
+    }
+
+    private CellStyle createHeaderStyle(SXSSFWorkbook workbook) {
+        Font font = workbook.createFont();
+        font.setBold(true);
+        CellStyle style = workbook.createCellStyle();
+        style.setFont(font);
+        return style;
+    }
+
+    /**
+     * 每种格式类型只创建一个样式，避免超过Excel样式数量上限
+     */
+    private Map<FormatType, CellStyle> createDataStyles(SXSSFWorkbook workbook) {
+        DataFormat dataFormat = workbook.createDataFormat();
+        Map<FormatType, CellStyle> styles = new HashMap<>();
+        DATA_FORMATS.forEach((type, pattern) -> {
+            CellStyle style = workbook.createCellStyle();
+            style.setDataFormat(dataFormat.getFormat(pattern));
+            styles.put(type, style);
+        });
+        return styles;
+    }
+
+    private void writeCell(Cell cell, Object value, FormatType formatType, Map<FormatType, CellStyle> styles) {
+        if (formatType == null) {
+            writeInferred(cell, value, styles);
+            return;
+        }
+        switch (formatType) {
+            case NUMBER, CURRENCY -> {
+                Double number = toNumber(value);
+                if (number != null) {
+                    cell.setCellValue(number);
+                    cell.setCellStyle(styles.get(formatType));
+                } else {
+                    writeText(cell, value);
+                }
+            }
+            case DATE, DATETIME -> {
+                LocalDateTime dateTime = toDateTime(value);
+                if (dateTime != null) {
+                    cell.setCellValue(dateTime);
+                    cell.setCellStyle(styles.get(formatType));
+                } else {
+                    writeText(cell, value);
+                }
+            }
+            default -> writeText(cell, value);
+        }
+    }
+
+    /**
+     * 未配置格式的列按值的运行时类型写出
+     */
+    private void writeInferred(Cell cell, Object value, Map<FormatType, CellStyle> styles) {
+        if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else if (value instanceof java.util.Date || value instanceof LocalDateTime || value instanceof LocalDate) {
+            cell.setCellValue(toDateTime(value));
+            cell.setCellStyle(styles.get(value instanceof java.sql.Date || value instanceof LocalDate
+                    ? FormatType.DATE : FormatType.DATETIME));
+        } else if (value instanceof Boolean bool) {
+            cell.setCellValue(bool);
+        } else {
+            writeText(cell, value);
+        }
+    }
+
+    private void writeText(Cell cell, Object value) {
+        String text = value instanceof byte[] ? "[BINARY]" : value.toString();
+        if (text.length() > MAX_TEXT_LENGTH) {
+            text = text.substring(0, MAX_TEXT_LENGTH);
+        }
+        cell.setCellValue(text);
+    }
+
+    private Double toNumber(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (value instanceof String text) {
+            try {
+                return Double.parseDouble(text.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private LocalDateTime toDateTime(Object value) {
+        if (value instanceof java.sql.Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate().atStartOfDay();
+        }
+        if (value instanceof java.util.Date date) {
+            return LocalDateTime.ofInstant(date.toInstant(), zoneId);
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime;
+        }
+        if (value instanceof LocalDate date) {
+            return date.atStartOfDay();
+        }
+        if (value instanceof Number number) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(number.longValue()), zoneId);
+        }
+        if (value instanceof String text) {
+            return parseDateTime(text.trim());
+        }
+        return null;
+    }
+
+    private LocalDateTime parseDateTime(String text) {
+        try {
+            if (text.length() <= 10) {
+                return LocalDate.parse(text).atStartOfDay();
+            }
+            return LocalDateTime.parse(text, DATETIME_PARSER);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private int toColumnWidth(int pixels) {
+        // Excel列宽单位为1/256字符，默认字体下约7像素一个字符
+        return Math.min(MAX_COLUMN_WIDTH, Math.max(1, pixels) * 256 / 7);
+    }
+
+    /**
+     * 结果列与输出列的绑定关系
+     *
+     * @param index      结果列下标（从0开始）
+     * @param header     表头
+     * @param width      列宽（像素）
+     * @param formatType 格式类型，null表示按值类型推断
+     */
+    private record Binding(int index, String header, int width, FormatType formatType) {
+
+        /**
+         * 未配置格式或配置为数值格式的列可以直接写出原始类型数值
+         */
+        boolean numeric() {
+            return formatType == null || formatType == FormatType.NUMBER || formatType == FormatType.CURRENCY;
+        }
+    }
+
+    /**
+     * 按行读取的数据来源
+     */
+    private interface RowSource {
+
+        boolean next() throws SQLException;
+
+        /**
+         * @param index 列下标（从0开始）
+         * @return 当前行的值
+         */
+        Object value(int index) throws SQLException;
+
+        /**
+         * @return 该列是否按原始类型保存数值（可通过 {@link #number(int)} 读取，不创建包装对象）
+         */
+        default boolean primitiveNumber(int index) {
+            return false;
+        }
+
+        /**
+         * @return 当前行该列是否为空
+         */
+        default boolean isNull(int index) throws SQLException {
+            return value(index) == null;
+        }
+
+        /**
+         * @return 当前行该列的数值（调用前须确认不为空）
+         */
+        default double number(int index) throws SQLException {
+            return ((Number) value(index)).doubleValue();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+/**
+ * Export层 - 报表导出引擎
+ * 
+ * 职责:
+ * - 将查询游标流式写出为Excel等文件格式
+ * - 应用列配置（显示名称、列宽、格式类型）
+ * - 保证导出内存占用与行数无关
+ * 
+ * @author GCT Team
+ * @since 1.0.0
+ */
+package com.gct.reportgenerator.export;
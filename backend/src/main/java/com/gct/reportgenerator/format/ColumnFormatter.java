@@ -0,0 +1,54 @@
+package com.gct.reportgenerator.format;
+
+import com.gct.reportgenerator.entity.ReportColumn.FormatType;
+import com.gct.reportgenerator.execution.ResultColumn;
+
+/**
+ * 列格式化器
+ *
+ * 实现无状态、线程安全，可在请求间共享；结果追加到调用方提供并复用的缓冲区，
+ * 数值和日期按原始类型直接输出字符，不创建 {@code DecimalFormat}/{@code SimpleDateFormat} 或中间字符串。
+ * null值不输出任何内容，由调用方决定如何表示。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public interface ColumnFormatter {
+
+    /**
+     * 格式化列式结果中的一个值
+     *
+     * @param column 结果列
+     * @param row    行下标
+     * @param out    输出缓冲区
+     */
+    void format(ResultColumn column, int row, StringBuilder out);
+
+    /**
+     * 格式化JDBC返回的值
+     *
+     * @param value 值
+     * @param out   输出缓冲区
+     */
+    void format(Object value, StringBuilder out);
+
+    /**
+     * 按格式类型创建格式化器
+     *
+     * @param formatType 格式类型，null按文本处理
+     * @param context    格式化环境
+     * @return 格式化器
+     */
+    static ColumnFormatter of(FormatType formatType, FormatContext context) {
+        if (formatType == null) {
+            return new TextFormatter(context);
+        }
+        return switch (formatType) {
+            case NUMBER -> new NumberFormatter(context, "");
+            case CURRENCY -> new NumberFormatter(context, "¥");
+            case DATE -> new TemporalFormatter(context, false);
+            case DATETIME -> new TemporalFormatter(context, true);
+            case TEXT -> new TextFormatter(context);
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.gct.reportgenerator.format;
+
+import org.springframework.boot.autoconfigure.jackson.JacksonProperties;
+
+import java.text.DecimalFormatSymbols;
+import java.time.ZoneId;
+import java.util.Locale;
+
+/**
+ * 格式化环境（时区和数字符号），与JSON序列化使用同一配置
+ *
+ * @param zoneId            数值型时间戳转换使用的时区
+ * @param groupingSeparator 千分位分隔符
+ * @param decimalSeparator  小数点
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public record FormatContext(ZoneId zoneId, char groupingSeparator, char decimalSeparator) {
+
+    /**
+     * 按spring.jackson.time-zone和spring.jackson.locale创建，未配置时使用系统默认值
+     *
+     * @param jacksonProperties Jackson配置
+     * @return 格式化环境
+     */
+    public static FormatContext from(JacksonProperties jacksonProperties) {
+        ZoneId zoneId = jacksonProperties.getTimeZone() != null
+                ? jacksonProperties.getTimeZone().toZoneId()
+                : ZoneId.systemDefault();
+        Locale locale = jacksonProperties.getLocale() != null ? jacksonProperties.getLocale() : Locale.getDefault();
+        return of(zoneId, locale);
+    }
+
+    /**
+     * @param zoneId 时区
+     * @param locale 数字符号使用的区域
+     * @return 格式化环境
+     */
+    public static FormatContext of(ZoneId zoneId, Locale locale) {
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        return new FormatContext(zoneId, symbols.getGroupingSeparator(), symbols.getDecimalSeparator());
+    }
+}
@@ -0,0 +1,97 @@
+package com.gct.reportgenerator.format;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.gct.reportgenerator.execution.ReportResult;
+import com.gct.reportgenerator.execution.ResultColumn;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 按列配置格式化后的查询结果（网格展示用）
+ *
+ * 序列化时所有单元格共用一个 {@link StringBuilder} 和一个字符数组，格式化结果直接从字符数组写入JSON，
+ * 不为单元格创建字符串。
+ *
+ * @param result     查询结果
+ * @param formatters 与结果列一一对应的格式化器
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Schema(description = "格式化后的报表查询结果，JSON格式为 {columns: [列名], rows: [[文本]], rowCount, truncated}")
+public record FormattedResult(ReportResult result, ColumnFormatter[] formatters) implements JsonSerializable {
+
+    /**
+     * @param result    查询结果
+     * @param formatter 报表格式化器
+     * @return 格式化后的结果
+     */
+    public static FormattedResult of(ReportResult result, ReportFormatter formatter) {
+        return new FormattedResult(result, formatter.bind(result.columnNames()));
+    }
+
+    /**
+     * 格式化单个单元格（测试和调试用，会创建字符串）
+     *
+     * @param row    行下标
+     * @param column 列下标
+     * @return 格式化文本，null值返回null
+     */
+    public String text(int row, int column) {
+        ResultColumn resultColumn = result.columns().get(column);
+        if (resultColumn.isNull(row)) {
+            return null;
+        }
+        StringBuilder out = new StringBuilder();
+        formatters[column].format(resultColumn, row, out);
+        return out.toString();
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        List<ResultColumn> columns = result.columns();
+        gen.writeStartObject();
+        gen.writeArrayFieldStart("columns");
+        for (ResultColumn column : columns) {
+            gen.writeString(column.name());
+        }
+        gen.writeEndArray();
+
+        StringBuilder buffer = new StringBuilder(64);
+        char[] chars = new char[64];
+        gen.writeArrayFieldStart("rows");
+        for (int row = 0; row < result.rowCount(); row++) {
+            gen.writeStartArray();
+            for (int i = 0; i < columns.size(); i++) {
+                ResultColumn column = columns.get(i);
+                if (column.isNull(row)) {
+                    gen.writeNull();
+                    continue;
+                }
+                buffer.setLength(0);
+                formatters[i].format(column, row, buffer);
+                int length = buffer.length();
+                if (length > chars.length) {
+                    chars = new char[Math.max(length, chars.length * 2)];
+                }
+                buffer.getChars(0, length, chars, 0);
+                gen.writeString(chars, 0, length);
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndArray();
+        gen.writeNumberField("rowCount", result.rowCount());
+        gen.writeBooleanField("truncated", result.truncated());
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+}
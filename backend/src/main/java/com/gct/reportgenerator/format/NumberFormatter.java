@@ -0,0 +1,149 @@
+package com.gct.reportgenerator.format;
+
+import com.gct.reportgenerator.execution.ResultColumn;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * 数值/货币格式化器，输出与XLSX导出格式一致：{@code #,##0.00}、{@code ¥#,##0.00}
+ *
+ * long和double直接按数字写出：double先按分四舍五入为long，超出精确范围（约9e13）时才退回BigDecimal。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+final class NumberFormatter implements ColumnFormatter {
+
+    /**
+     * 乘以100后仍能用long精确表示分的上限
+     */
+    private static final double MAX_EXACT_CENTS = 9.0e13;
+
+    private final String prefix;
+    private final char groupingSeparator;
+    private final char decimalSeparator;
+
+    NumberFormatter(FormatContext context, String prefix) {
+        this.prefix = prefix;
+        this.groupingSeparator = context.groupingSeparator();
+        this.decimalSeparator = context.decimalSeparator();
+    }
+
+    @Override
+    public void format(ResultColumn column, int row, StringBuilder out) {
+        if (column.isNull(row)) {
+            return;
+        }
+        switch (column.type()) {
+            case LONG -> appendLong(column.getLong(row), out);
+            case DOUBLE -> appendDouble(column.getDouble(row), out);
+            default -> format(column.get(row), out);
+        }
+    }
+
+    @Override
+    public void format(Object value, StringBuilder out) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            appendLong(((Number) value).longValue(), out);
+        } else if (value instanceof BigDecimal decimal) {
+            appendDecimal(decimal, out);
+        } else if (value instanceof BigInteger integer) {
+            appendDecimal(new BigDecimal(integer), out);
+        } else if (value instanceof Number number) {
+            appendDouble(number.doubleValue(), out);
+        } else if (value instanceof String text) {
+            // SQLite中以文本保存的数值
+            try {
+                appendDouble(Double.parseDouble(text.trim()), out);
+            } catch (NumberFormatException e) {
+                out.append(text);
+            }
+        } else {
+            out.append(value);
+        }
+    }
+
+    private void appendLong(long value, StringBuilder out) {
+        if (value == Long.MIN_VALUE) {
+            appendDecimal(BigDecimal.valueOf(value), out);
+            return;
+        }
+        if (value < 0) {
+            out.append('-');
+        }
+        out.append(prefix);
+        appendGrouped(Math.abs(value), out);
+        out.append(decimalSeparator).append("00");
+    }
+
+    private void appendDouble(double value, StringBuilder out) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            out.append(value);
+            return;
+        }
+        double abs = Math.abs(value);
+        if (abs >= MAX_EXACT_CENTS) {
+            appendDecimal(new BigDecimal(value), out);
+            return;
+        }
+        long cents = Math.round(abs * 100);
+        if (value < 0 && cents != 0) {
+            out.append('-');
+        }
+        out.append(prefix);
+        appendGrouped(cents / 100, out);
+        int fraction = (int) (cents % 100);
+        out.append(decimalSeparator).append((char) ('0' + fraction / 10)).append((char) ('0' + fraction % 10));
+    }
+
+    /**
+     * 超出long/double精确范围时的慢路径
+     */
+    private void appendDecimal(BigDecimal value, StringBuilder out) {
+        BigDecimal rounded = value.setScale(2, RoundingMode.HALF_UP);
+        if (rounded.signum() < 0) {
+            out.append('-');
+        }
+        out.append(prefix);
+        String digits = rounded.unscaledValue().abs().toString();
+        int integerLength = digits.length() - 2;
+        if (integerLength <= 0) {
+            out.append('0');
+        }
+        for (int i = 0; i < integerLength; i++) {
+            if (i > 0 && (integerLength - i) % 3 == 0) {
+                out.append(groupingSeparator);
+            }
+            out.append(digits.charAt(i));
+        }
+        out.append(decimalSeparator);
+        if (integerLength < 0) {
+            out.append('0');
+        }
+        out.append(digits, Math.max(0, integerLength), digits.length());
+    }
+
+    /**
+     * 按千分位写出非负整数
+     */
+    private void appendGrouped(long value, StringBuilder out) {
+        long divisor = 1;
+        int digits = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+            digits++;
+        }
+        for (int remaining = digits; remaining > 0; remaining--) {
+            out.append((char) ('0' + (value / divisor) % 10));
+            if (remaining > 1 && (remaining - 1) % 3 == 0) {
+                out.append(groupingSeparator);
+            }
+            divisor /= 10;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.gct.reportgenerator.format;
+
+import com.gct.reportgenerator.entity.ReportColumn;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 报表格式化器（按报表版本编译一次，随报表定义快照缓存）
+ *
+ * 为每个report_columns配置创建对应的 {@link ColumnFormatter}；同一格式类型共用一个实例。
+ * 查询结果中没有列配置的字段按文本格式化。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public final class ReportFormatter {
+
+    private final Map<String, ColumnFormatter> formattersByField;
+    private final ColumnFormatter fallback;
+
+    private ReportFormatter(Map<String, ColumnFormatter> formattersByField, ColumnFormatter fallback) {
+        this.formattersByField = formattersByField;
+        this.fallback = fallback;
+    }
+
+    /**
+     * 编译报表的列格式化器
+     *
+     * @param columns 列配置
+     * @param context 格式化环境
+     * @return 报表格式化器
+     */
+    public static ReportFormatter compile(List<ReportColumn> columns, FormatContext context) {
+        Map<ReportColumn.FormatType, ColumnFormatter> byType = new HashMap<>();
+        Map<String, ColumnFormatter> byField = new HashMap<>();
+        for (ReportColumn column : columns) {
+            ReportColumn.FormatType type = column.getFormatType() != null
+                    ? column.getFormatType()
+                    : ReportColumn.FormatType.TEXT;
+            byField.putIfAbsent(column.getFieldName().toLowerCase(Locale.ROOT),
+                    byType.computeIfAbsent(type, t -> ColumnFormatter.of(t, context)));
+        }
+        ColumnFormatter fallback = byType.computeIfAbsent(ReportColumn.FormatType.TEXT,
+                t -> ColumnFormatter.of(t, context));
+        return new ReportFormatter(Map.copyOf(byField), fallback);
+    }
+
+    /**
+     * 按查询结果的列名绑定格式化器（字段名不区分大小写）
+     *
+     * @param labels 结果列名
+     * @return 与结果列一一对应的格式化器
+     */
+    public ColumnFormatter[] bind(List<String> labels) {
+        ColumnFormatter[] formatters = new ColumnFormatter[labels.size()];
+        for (int i = 0; i < formatters.length; i++) {
+            formatters[i] = formattersByField.getOrDefault(labels.get(i).toLowerCase(Locale.ROOT), fallback);
+        }
+        return formatters;
+    }
+}
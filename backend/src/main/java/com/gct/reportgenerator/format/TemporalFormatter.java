@@ -0,0 +1,179 @@
+package com.gct.reportgenerator.format;
+
+import com.gct.reportgenerator.execution.ResultColumn;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+
+/**
+ * 日期/日期时间格式化器，输出 {@code yyyy-MM-dd} 或 {@code yyyy-MM-dd HH:mm:ss}
+ *
+ * 列式结果中的epoch day/epoch微秒直接换算为年月日时分秒写出；
+ * SQLite以文本保存的ISO日期时间按位置截取，不解析；数值按epoch毫秒在配置的时区下换算。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+final class TemporalFormatter implements ColumnFormatter {
+
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    private final boolean withTime;
+    private final ZoneRules zoneRules;
+
+    /**
+     * 固定偏移时区的偏移秒数，非固定偏移时为null
+     */
+    private final Integer fixedOffsetSeconds;
+
+    TemporalFormatter(FormatContext context, boolean withTime) {
+        this.withTime = withTime;
+        ZoneId zoneId = context.zoneId();
+        this.zoneRules = zoneId.getRules();
+        this.fixedOffsetSeconds = zoneRules.isFixedOffset()
+                ? zoneRules.getOffset(Instant.EPOCH).getTotalSeconds()
+                : null;
+    }
+
+    @Override
+    public void format(ResultColumn column, int row, StringBuilder out) {
+        if (column.isNull(row)) {
+            return;
+        }
+        switch (column.type()) {
+            case DATE -> appendEpochSecond((long) column.getEpochDay(row) * SECONDS_PER_DAY, out);
+            case DATETIME -> appendEpochSecond(Math.floorDiv(column.getLong(row), MICROS_PER_SECOND), out);
+            case LONG -> appendEpochMilli(column.getLong(row), out);
+            case STRING -> appendText(column.getString(row), out);
+            default -> format(column.get(row), out);
+        }
+    }
+
+    @Override
+    public void format(Object value, StringBuilder out) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            appendDate(dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(), out);
+            if (withTime) {
+                appendTime(dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond(), out);
+            }
+        } else if (value instanceof LocalDate date) {
+            appendEpochSecond(date.toEpochDay() * SECONDS_PER_DAY, out);
+        } else if (value instanceof java.sql.Timestamp timestamp) {
+            format(timestamp.toLocalDateTime(), out);
+        } else if (value instanceof java.sql.Date date) {
+            format(date.toLocalDate(), out);
+        } else if (value instanceof java.util.Date date) {
+            appendEpochMilli(date.getTime(), out);
+        } else if (value instanceof Number number) {
+            appendEpochMilli(number.longValue(), out);
+        } else if (value instanceof String text) {
+            appendText(text, out);
+        } else {
+            out.append(value);
+        }
+    }
+
+    /**
+     * 数值型时间戳（epoch毫秒）按配置的时区换算为本地时间
+     */
+    private void appendEpochMilli(long epochMilli, StringBuilder out) {
+        long epochSecond = Math.floorDiv(epochMilli, 1000L);
+        int offset = fixedOffsetSeconds != null
+                ? fixedOffsetSeconds
+                : zoneRules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+        appendEpochSecond(epochSecond + offset, out);
+    }
+
+    /**
+     * 写出本地时间（以UTC计的epoch秒表示）
+     */
+    private void appendEpochSecond(long localEpochSecond, StringBuilder out) {
+        long epochDay = Math.floorDiv(localEpochSecond, SECONDS_PER_DAY);
+        int secondOfDay = Math.floorMod(localEpochSecond, SECONDS_PER_DAY);
+
+        // 公历换算（Howard Hinnant, civil_from_days），避免创建LocalDate
+        long z = epochDay + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        appendDate(year, month, day, out);
+        if (withTime) {
+            appendTime(secondOfDay / 3600, secondOfDay / 60 % 60, secondOfDay % 60, out);
+        }
+    }
+
+    /**
+     * 已是ISO格式（yyyy-MM-dd[ HH:mm:ss]或yyyy-MM-ddTHH:mm:ss）的文本按位置截取，其他文本原样输出
+     */
+    private void appendText(String text, StringBuilder out) {
+        if (!isIsoDate(text)) {
+            out.append(text);
+            return;
+        }
+        out.append(text, 0, 10);
+        if (!withTime) {
+            return;
+        }
+        if (text.length() >= 19 && (text.charAt(10) == ' ' || text.charAt(10) == 'T')
+                && text.charAt(13) == ':' && text.charAt(16) == ':') {
+            out.append(' ').append(text, 11, 19);
+        } else if (text.length() >= 16 && (text.charAt(10) == ' ' || text.charAt(10) == 'T')
+                && text.charAt(13) == ':') {
+            out.append(' ').append(text, 11, 16).append(":00");
+        } else {
+            out.append(" 00:00:00");
+        }
+    }
+
+    private static boolean isIsoDate(String text) {
+        if (text.length() < 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return false;
+        }
+        for (int i = 0; i < 10; i++) {
+            if (i != 4 && i != 7 && !Character.isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void appendDate(long year, int month, int day, StringBuilder out) {
+        if (year >= 0 && year <= 9999) {
+            int y = (int) year;
+            out.append((char) ('0' + y / 1000)).append((char) ('0' + y / 100 % 10))
+                    .append((char) ('0' + y / 10 % 10)).append((char) ('0' + y % 10));
+        } else {
+            out.append(year);
+        }
+        out.append('-');
+        appendTwoDigits(month, out);
+        out.append('-');
+        appendTwoDigits(day, out);
+    }
+
+    private static void appendTime(int hour, int minute, int second, StringBuilder out) {
+        out.append(' ');
+        appendTwoDigits(hour, out);
+        out.append(':');
+        appendTwoDigits(minute, out);
+        out.append(':');
+        appendTwoDigits(second, out);
+    }
+
+    private static void appendTwoDigits(int value, StringBuilder out) {
+        out.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+}
@@ -0,0 +1,66 @@
+package com.gct.reportgenerator.format;
+
+import com.gct.reportgenerator.execution.ResultColumn;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 文本格式化器（TEXT列和未配置格式的列）
+ *
+ * 数值按原值输出，日期/日期时间按ISO格式（{@code yyyy-MM-dd}、{@code yyyy-MM-dd HH:mm:ss}）输出，二进制输出占位符。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+final class TextFormatter implements ColumnFormatter {
+
+    private static final String BINARY_PLACEHOLDER = "[BINARY]";
+
+    private final TemporalFormatter dateFormatter;
+    private final TemporalFormatter dateTimeFormatter;
+
+    TextFormatter(FormatContext context) {
+        this.dateFormatter = new TemporalFormatter(context, false);
+        this.dateTimeFormatter = new TemporalFormatter(context, true);
+    }
+
+    @Override
+    public void format(ResultColumn column, int row, StringBuilder out) {
+        if (column.isNull(row)) {
+            return;
+        }
+        switch (column.type()) {
+            case LONG -> out.append(column.getLong(row));
+            case DOUBLE -> out.append(column.getDouble(row));
+            case STRING -> out.append(column.getString(row));
+            case DATE -> dateFormatter.format(column, row, out);
+            case DATETIME -> dateTimeFormatter.format(column, row, out);
+            case OBJECT -> format(column.get(row), out);
+        }
+    }
+
+    @Override
+    public void format(Object value, StringBuilder out) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof String text) {
+            out.append(text);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short
+                || value instanceof Byte) {
+            out.append(((Number) value).longValue());
+        } else if (value instanceof BigDecimal decimal) {
+            out.append(decimal.toPlainString());
+        } else if (value instanceof LocalDate || value instanceof java.sql.Date) {
+            dateFormatter.format(value, out);
+        } else if (value instanceof LocalDateTime || value instanceof java.util.Date) {
+            dateTimeFormatter.format(value, out);
+        } else if (value instanceof byte[]) {
+            out.append(BINARY_PLACEHOLDER);
+        } else {
+            out.append(value);
+        }
+    }
+}
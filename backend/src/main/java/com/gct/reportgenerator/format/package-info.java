@@ -0,0 +1,11 @@
+/**
+ * Format层 - 报表列格式化
+ * 
+ * 职责:
+ * - 按report_columns.format_type把单元格值格式化为文本（网格展示、文本导出）
+ * - 每个报表版本编译一次，格式化器无状态、线程安全，写入调用方复用的缓冲区
+ * 
+ * @author GCT Team
+ * @since 1.0.0
+ */
+package com.gct.reportgenerator.format;
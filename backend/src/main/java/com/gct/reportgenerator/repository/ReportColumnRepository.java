@@ -0,0 +1,26 @@
+package com.gct.reportgenerator.repository;
+
+import com.gct.reportgenerator.entity.ReportColumn;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 报表列配置数据访问接口
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Repository
+public interface ReportColumnRepository extends JpaRepository<ReportColumn, Long> {
+
+    /**
+     * 批量查询多个报表的列配置
+     * 
+     * @param reportIds 报表ID
+     * @return 列配置列表
+     */
+    List<ReportColumn> findByReportIdIn(Collection<Long> reportIds);
+}
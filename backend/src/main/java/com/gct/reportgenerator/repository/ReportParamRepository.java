@@ -0,0 +1,26 @@
+package com.gct.reportgenerator.repository;
+
+import com.gct.reportgenerator.entity.ReportParam;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 报表参数数据访问接口
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Repository
+public interface ReportParamRepository extends JpaRepository<ReportParam, Long> {
+
+    /**
+     * 批量查询多个报表的参数定义
+     * 
+     * @param reportIds 报表ID
+     * @return 参数列表
+     */
+    List<ReportParam> findByReportIdIn(Collection<Long> reportIds);
+}
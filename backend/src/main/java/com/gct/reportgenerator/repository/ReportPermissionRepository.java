@@ -0,0 +1,26 @@
+package com.gct.reportgenerator.repository;
+
+import com.gct.reportgenerator.entity.ReportPermission;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 报表权限数据访问接口
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Repository
+public interface ReportPermissionRepository extends JpaRepository<ReportPermission, Long> {
+
+    /**
+     * 批量查询多个报表的权限
+     * 
+     * @param reportIds 报表ID
+     * @return 权限列表
+     */
+    List<ReportPermission> findByReportIdIn(Collection<Long> reportIds);
+}
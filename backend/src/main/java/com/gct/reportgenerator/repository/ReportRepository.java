@@ -0,0 +1,43 @@
+package com.gct.reportgenerator.repository;
+
+import com.gct.reportgenerator.entity.Report;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 报表数据访问接口
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Repository
+public interface ReportRepository extends JpaRepository<Report, Long> {
+
+    /**
+     * 查询所有报表的ID和最后更新时间（用于增量刷新元数据缓存）
+     * 
+     * @return 报表版本列表
+     */
+    @Query("SELECT r.id AS id, r.updatedAt AS updatedAt FROM Report r")
+    List<ReportVersion> findAllVersions();
+
+    /**
+     * 报表版本投影
+     */
+    interface ReportVersion {
+
+        /**
+         * @return 报表ID
+         */
+        Long getId();
+
+        /**
+         * @return 最后更新时间
+         */
+        LocalDateTime getUpdatedAt();
+    }
+}
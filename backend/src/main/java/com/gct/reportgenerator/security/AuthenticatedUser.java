@@ -0,0 +1,30 @@
+package com.gct.reportgenerator.security;
+
+import com.gct.reportgenerator.entity.User;
+
+/**
+ * 已认证用户，由签名Token解析得到，无需查询数据库
+ * 
+ * @param userId    用户ID
+ * @param username  用户名
+ * @param role      用户角色
+ * @param issuedAt  签发时间（毫秒）
+ * @param expiresAt 过期时间（毫秒）
+ * @param tokenId   Token唯一标识
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public record AuthenticatedUser(
+        Long userId,
+        String username,
+        User.UserRole role,
+        long issuedAt,
+        long expiresAt,
+        long tokenId
+) {
+
+    /**
+     * 当前用户在请求属性中的键名
+     */
+    public static final String REQUEST_ATTRIBUTE = "gct.authenticatedUser";
+}
@@ -0,0 +1,195 @@
+package com.gct.reportgenerator.security;
+
+import com.gct.reportgenerator.config.AuthProperties;
+import com.gct.reportgenerator.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 登录限流器
+ *
+ * 按用户名和客户端IP分别统计连续失败次数，超过阈值后按指数退避拒绝登录。
+ * 客户端IP取自请求的remoteAddr，部署在反向代理之后时由受信任代理的X-Forwarded-For解析
+ * （server.forward-headers-strategy=native），否则所有用户共享代理的地址。
+ * 检查在查询用户和BCrypt校验之前进行，被拒绝的请求只需几次数组读取，撞库攻击无法消耗哈希线程池的CPU。
+ *
+ * 计数保存在固定大小的槽位数组中（类似Count-Min Sketch，每个键映射到两个槽位取较小值），
+ * 每个槽位是一个打包了"失败次数+最后失败时间"的long，通过CAS无锁更新；
+ * 内存占用与键的数量无关，超过计数有效期的槽位在下次读写时视为清零，无需后台清理。
+ * 哈希碰撞只会让计数偏大（偏严格），不会放过超限的键。
+ * 登录成功不清零计数：槽位由多个键共享，清零会同时清掉碰撞键的失败次数，计数只随有效期自然清零。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class LoginThrottle {
+
+    private final Stripes usernames;
+    private final Stripes addresses;
+    private final Clock clock;
+
+    private final Counter usernameRejectedCounter;
+    private final Counter addressRejectedCounter;
+
+    @Autowired
+    public LoginThrottle(AuthProperties authProperties, MeterRegistry meterRegistry) {
+        this(authProperties, meterRegistry, Clock.systemUTC());
+    }
+
+    LoginThrottle(AuthProperties authProperties, MeterRegistry meterRegistry, Clock clock) {
+        AuthProperties.LoginThrottle config = authProperties.getLoginThrottle();
+        this.usernames = new Stripes(config, config.getUsernameFreeAttempts());
+        this.addresses = new Stripes(config, config.getAddressFreeAttempts());
+        this.clock = clock;
+
+        this.usernameRejectedCounter = Counter.builder("gct.auth.login.throttled")
+                .description("因连续登录失败被限流的请求数")
+                .tag("key", "username")
+                .register(meterRegistry);
+        this.addressRejectedCounter = Counter.builder("gct.auth.login.throttled")
+                .description("因连续登录失败被限流的请求数")
+                .tag("key", "address")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 检查是否允许本次登录尝试
+     *
+     * @param username      用户名
+     * @param clientAddress 客户端IP
+     * @throws TooManyRequestsException 处于退避期时抛出
+     */
+    public void checkAllowed(String username, String clientAddress) {
+        long now = clock.millis();
+        long usernameWait = usernames.remainingBackoff(usernameKey(username), now);
+        long addressWait = addresses.remainingBackoff(addressKey(clientAddress), now);
+        if (usernameWait <= 0 && addressWait <= 0) {
+            return;
+        }
+
+        if (usernameWait >= addressWait) {
+            usernameRejectedCounter.increment();
+        } else {
+            addressRejectedCounter.increment();
+        }
+        long wait = Math.max(usernameWait, addressWait);
+        long seconds = Math.max(1, (wait + 999) / 1000);
+        log.warn("登录限流, username: {}, ip: {}, 剩余等待: {}s", username, clientAddress, seconds);
+        throw new TooManyRequestsException("LOGIN_THROTTLED",
+                "登录失败次数过多，请" + seconds + "秒后重试", Duration.ofMillis(wait));
+    }
+
+    /**
+     * 记录一次登录失败
+     *
+     * @param username      用户名
+     * @param clientAddress 客户端IP
+     */
+    public void recordFailure(String username, String clientAddress) {
+        long now = clock.millis();
+        usernames.increment(usernameKey(username), now);
+        addresses.increment(addressKey(clientAddress), now);
+    }
+
+    private static int usernameKey(String username) {
+        return username == null ? 0 : username.trim().toLowerCase(Locale.ROOT).hashCode();
+    }
+
+    private static int addressKey(String clientAddress) {
+        return clientAddress == null ? 0 : clientAddress.hashCode();
+    }
+
+    /**
+     * 一组计数槽位
+     *
+     * 槽位格式: 高16位为失败次数，低48位为最后失败时间（毫秒）
+     */
+    private static final class Stripes {
+
+        private static final int COUNT_SHIFT = 48;
+        private static final long TIME_MASK = (1L << COUNT_SHIFT) - 1;
+        private static final long MAX_COUNT = 0xFFFF;
+
+        private final AtomicLongArray slots;
+        private final int mask;
+        private final int freeAttempts;
+        private final long baseDelayMillis;
+        private final long maxDelayMillis;
+        private final long windowMillis;
+
+        private Stripes(AuthProperties.LoginThrottle config, int freeAttempts) {
+            int size = Integer.highestOneBit(Math.max(2, config.getStripes() - 1) << 1);
+            this.slots = new AtomicLongArray(size);
+            this.mask = size - 1;
+            this.freeAttempts = freeAttempts;
+            this.baseDelayMillis = config.getBaseDelay().toMillis();
+            this.maxDelayMillis = config.getMaxDelay().toMillis();
+            this.windowMillis = config.getWindow().toMillis();
+        }
+
+        long remainingBackoff(int key, long now) {
+            long hash = mix(key);
+            long first = slots.get(index(hash));
+            long second = slots.get(index(hash >>> 32));
+            // 两个槽位都被该键计入过，取次数较小者以降低碰撞影响
+            long state = count(first, now) <= count(second, now) ? first : second;
+            long count = count(state, now);
+            if (count < freeAttempts) {
+                return 0;
+            }
+            int exponent = (int) Math.min(count - freeAttempts, 30);
+            long delay = Math.min(baseDelayMillis << exponent, maxDelayMillis);
+            return (state & TIME_MASK) + delay - now;
+        }
+
+        void increment(int key, long now) {
+            long hash = mix(key);
+            incrementSlot(index(hash), now);
+            incrementSlot(index(hash >>> 32), now);
+        }
+
+        private void incrementSlot(int index, long now) {
+            long current;
+            long next;
+            do {
+                current = slots.get(index);
+                long count = Math.min(count(current, now) + 1, MAX_COUNT);
+                next = (count << COUNT_SHIFT) | (now & TIME_MASK);
+            } while (!slots.compareAndSet(index, current, next));
+        }
+
+        /**
+         * 槽位中的有效失败次数，超过计数有效期视为0
+         */
+        private long count(long state, long now) {
+            if (now - (state & TIME_MASK) > windowMillis) {
+                return 0;
+            }
+            return state >>> COUNT_SHIFT;
+        }
+
+        private int index(long hash) {
+            return (int) hash & mask;
+        }
+
+        /**
+         * SplitMix64终结函数，打散String.hashCode的低位分布
+         */
+        private static long mix(long key) {
+            long z = key + 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
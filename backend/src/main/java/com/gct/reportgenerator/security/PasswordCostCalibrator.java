@@ -0,0 +1,86 @@
+package com.gct.reportgenerator.security;
+
+import com.gct.reportgenerator.config.AuthProperties;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * BCrypt强度校准器
+ *
+ * 启动时在当前硬件上实测BCrypt校验耗时，选取p50最接近目标延迟的强度（强度每加1耗时翻倍），
+ * 使登录延迟在不同规格的主机间保持稳定。配置了固定强度时跳过校准。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class PasswordCostCalibrator {
+
+    /**
+     * 每个强度的采样次数
+     */
+    private static final int SAMPLES = 5;
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample";
+
+    /**
+     * 当前使用的BCrypt强度
+     */
+    @Getter
+    private final int strength;
+
+    public PasswordCostCalibrator(AuthProperties authProperties) {
+        AuthProperties.Password config = authProperties.getPassword();
+        if (config.getStrength() != null) {
+            this.strength = config.getStrength();
+            log.info("使用配置的BCrypt强度: {}", strength);
+        } else {
+            this.strength = calibrate(config.getTargetLatency(), config.getMinStrength(), config.getMaxStrength());
+        }
+    }
+
+    /**
+     * 测量并选取最接近目标延迟的BCrypt强度
+     *
+     * @param targetLatency 目标校验延迟（p50）
+     * @param minStrength   最小强度（安全下限）
+     * @param maxStrength   最大强度
+     * @return 选取的强度
+     */
+    public static int calibrate(Duration targetLatency, int minStrength, int maxStrength) {
+        long target = targetLatency.toNanos();
+        // 预热，排除类加载和JIT对首次测量的影响
+        measureMedian(minStrength);
+
+        int strength = minStrength;
+        long median = measureMedian(strength);
+        // 对数尺度上取最接近目标的强度：当前耗时低于 target/√2 时，强度+1更接近目标
+        while (strength < maxStrength && median * Math.sqrt(2) < target) {
+            strength++;
+            median = measureMedian(strength);
+        }
+
+        log.info("BCrypt强度校准完成: strength={}, p50={}ms, 目标={}ms",
+                strength, median / 1_000_000, targetLatency.toMillis());
+        return strength;
+    }
+
+    private static long measureMedian(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        String hash = encoder.encode(SAMPLE_PASSWORD);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.matches(SAMPLE_PASSWORD, hash);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
@@ -0,0 +1,180 @@
+package com.gct.reportgenerator.security;
+
+import com.gct.reportgenerator.config.AuthProperties;
+import com.gct.reportgenerator.exception.BusinessException;
+import com.gct.reportgenerator.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 密码哈希服务
+ *
+ * BCrypt哈希和校验在独立的有界线程池中执行，与Tomcat请求线程隔离：
+ * 同时进行哈希计算的线程数不超过poolSize，排队数不超过queueCapacity，
+ * 队列满时立即拒绝，登录高峰不会占满CPU而拖慢报表查询。
+ * <p>
+ * 等待超时只释放请求线程：BCrypt计算不响应中断，已开始的计算会继续占用池中线程直到完成
+ * （耗时仍计入哈希时间），尚未开始的任务则被取消、不再执行。超时的任务单独计数。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+public class PasswordHashingService implements DisposableBean {
+
+    /**
+     * BCrypt哈希格式: $2a$10$...，第二段为强度
+     */
+    private static final Pattern BCRYPT_COST_PATTERN = Pattern.compile("^\\$2[aby]?\\$(\\d{2})\\$");
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final Timer queueWaitTimer;
+    private final Timer hashTimer;
+    private final Counter rejectedCounter;
+    private final Counter timeoutCounter;
+
+    public PasswordHashingService(BCryptPasswordEncoder passwordEncoder,
+                                  PasswordCostCalibrator passwordCostCalibrator,
+                                  AuthProperties authProperties,
+                                  MeterRegistry meterRegistry) {
+        AuthProperties.Password config = authProperties.getPassword();
+        this.passwordEncoder = passwordEncoder;
+        this.strength = passwordCostCalibrator.getStrength();
+        this.timeoutMillis = config.getTimeout().toMillis();
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hash-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(
+                config.getPoolSize(), config.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.queueWaitTimer = Timer.builder("gct.auth.password.queue.wait")
+                .description("密码哈希任务排队等待时间")
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("gct.auth.password.hash")
+                .description("密码哈希计算时间")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("gct.auth.password.rejected")
+                .description("因线程池已满被拒绝的密码哈希任务数")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("gct.auth.password.timeout")
+                .description("请求线程等待超时的密码哈希任务数（已开始的计算仍会执行完）")
+                .register(meterRegistry);
+        Gauge.builder("gct.auth.password.queue.size", executor, e -> e.getQueue().size())
+                .description("等待中的密码哈希任务数")
+                .register(meterRegistry);
+        Gauge.builder("gct.auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("正在执行的密码哈希任务数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 校验明文密码与哈希是否匹配
+     *
+     * @param rawPassword     明文密码
+     * @param encodedPassword BCrypt哈希
+     * @return 是否匹配
+     * @throws TooManyRequestsException 线程池繁忙时抛出
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * 对明文密码进行哈希
+     *
+     * @param rawPassword 明文密码
+     * @return BCrypt哈希
+     * @throws TooManyRequestsException 线程池繁忙时抛出
+     */
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * 判断哈希强度是否与当前校准强度不一致（过高或过低），需要重新哈希
+     *
+     * @param encodedPassword BCrypt哈希
+     * @return 是否需要重新哈希
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST_PATTERN.matcher(encodedPassword);
+        return !matcher.find() || Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    private <T> T execute(Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueWaitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.get();
+                } finally {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw busy();
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 只取消尚未开始的任务；BCrypt不响应中断，已开始的计算无法提前结束
+            future.cancel(false);
+            timeoutCounter.increment();
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new BusinessException("SYSTEM_ERROR", "密码校验失败", e.getCause());
+        }
+    }
+
+    private TooManyRequestsException busy() {
+        log.warn("密码哈希线程池繁忙, 活跃: {}, 排队: {}", executor.getActiveCount(), executor.getQueue().size());
+        return new TooManyRequestsException("LOGIN_BUSY", "登录请求过多，请稍后重试");
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,139 @@
+package com.gct.reportgenerator.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 会话最后访问时间存储（session_activity表）
+ *
+ * 所有节点共享的持久化状态，供 {@link SessionIdleTracker} 在节点重启后和多节点之间继续计算空闲时间：
+ * <ul>
+ *   <li>跟踪器定时把有变化的会话用一条UPSERT批量写入（每次请求不写数据库），最后访问时间只增不减，
+ *       空闲过期标记一旦写入不再清除</li>
+ *   <li>节点首次见到某个会话，或本地判定会话空闲即将过期时，读取其他节点写入的最后访问时间</li>
+ *   <li>Token过期后的行在批量写入时一并删除</li>
+ * </ul>
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class SessionActivityStore {
+
+    private static final String UPSERT_SQL = "INSERT INTO session_activity "
+            + "(token_id, last_access_at, expires_at, idle_expired) VALUES (?, ?, ?, ?) "
+            + "ON CONFLICT(token_id) DO UPDATE SET "
+            + "last_access_at = MAX(last_access_at, excluded.last_access_at), "
+            + "idle_expired = MAX(idle_expired, excluded.idle_expired)";
+
+    private static final String SELECT_PREFIX = "SELECT token_id, last_access_at, expires_at, idle_expired "
+            + "FROM session_activity WHERE token_id IN (";
+
+    /**
+     * 单条IN查询的最大参数数（SQLite默认上限999）
+     */
+    private static final int MAX_IN_PARAMS = 500;
+
+    private static final RowMapper<SessionActivity> ROW_MAPPER = (rs, rowNum) -> new SessionActivity(
+            rs.getLong("token_id"),
+            rs.getLong("last_access_at"),
+            rs.getLong("expires_at"),
+            rs.getBoolean("idle_expired"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer saveTimer;
+    private final Timer findTimer;
+
+    public SessionActivityStore(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.saveTimer = Timer.builder("gct.auth.session.store.save")
+                .description("会话最后访问时间批量写入耗时")
+                .register(meterRegistry);
+        this.findTimer = Timer.builder("gct.auth.session.store.find")
+                .description("读取会话最后访问时间的耗时")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 读取单个会话的状态
+     *
+     * @param tokenId Token ID
+     * @return 会话状态；没有任何节点写入过时为空
+     */
+    public Optional<SessionActivity> find(long tokenId) {
+        return Optional.ofNullable(findAll(List.of(tokenId)).get(tokenId));
+    }
+
+    /**
+     * 批量读取会话状态
+     *
+     * @param tokenIds Token ID
+     * @return Token ID → 会话状态（没有记录的Token不在结果中）
+     */
+    public Map<Long, SessionActivity> findAll(Collection<Long> tokenIds) {
+        Map<Long, SessionActivity> found = new HashMap<>(tokenIds.size() * 2);
+        List<Long> ids = List.copyOf(tokenIds);
+        findTimer.record(() -> {
+            for (int from = 0; from < ids.size(); from += MAX_IN_PARAMS) {
+                List<Long> chunk = ids.subList(from, Math.min(from + MAX_IN_PARAMS, ids.size()));
+                String sql = SELECT_PREFIX + "?" + ", ?".repeat(chunk.size() - 1) + ")";
+                for (SessionActivity activity : jdbcTemplate.query(sql, ROW_MAPPER, chunk.toArray())) {
+                    found.put(activity.tokenId(), activity);
+                }
+            }
+        });
+        return found;
+    }
+
+    /**
+     * 批量写入会话状态，并删除Token已过期的行
+     *
+     * @param activities 有变化的会话状态
+     * @param now        当前时间（epoch毫秒）
+     */
+    public void save(Collection<SessionActivity> activities, long now) {
+        List<Object[]> args = new ArrayList<>(activities.size());
+        for (SessionActivity activity : activities) {
+            args.add(new Object[]{activity.tokenId(), activity.lastAccess(), activity.expiresAt(),
+                    activity.idleExpired()});
+        }
+        saveTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+            if (!args.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, args);
+            }
+            int deleted = jdbcTemplate.update("DELETE FROM session_activity WHERE expires_at <= ?", now);
+            if (deleted > 0) {
+                log.debug("已删除Token过期的会话记录: {}", deleted);
+            }
+        }));
+    }
+
+    /**
+     * 会话状态（对应session_activity表的一行）
+     *
+     * @param tokenId     Token ID
+     * @param lastAccess  最后访问时间（epoch毫秒）
+     * @param expiresAt   Token过期时间（epoch毫秒）
+     * @param idleExpired 是否已因空闲超时过期
+     */
+    public record SessionActivity(long tokenId, long lastAccess, long expiresAt, boolean idleExpired) {
+    }
+}
@@ -0,0 +1,388 @@
+package com.gct.reportgenerator.security;
+
+import com.gct.reportgenerator.config.AuthProperties;
+import com.gct.reportgenerator.security.SessionActivityStore.SessionActivity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 会话空闲超时跟踪器
+ *
+ * 以Token ID标识会话。请求到达时仅写入一个volatile时间戳（同一时间刻度内的多次访问合并为一次写入），
+ * O(1)且不分配对象；到期判定交给哈希时间轮：会话按"最后访问+超时时间"挂入对应槽位，时间轮每个刻度处理一个槽位，
+ * 槽内会话若期间有访问则惰性重新挂到新的槽位，否则判定为空闲过期。
+ * 过期标记保留在跟踪器中直到Token本身过期，期间该Token的请求返回"Session已过期"；
+ * 空闲过期不写入 {@link TokenRevocationList}（吊销列表只记录主动登出）。
+ * <p>
+ * 最后访问时间和过期标记按flushInterval批量写入 {@link SessionActivityStore}（每次请求不写数据库），
+ * 节点重启或请求落到另一个节点时空闲时间不会重新计算：
+ * <ul>
+ *   <li>本节点首次见到的会话读取一次共享状态，从其中的最后访问时间（没有记录时为Token签发时间）开始计算</li>
+ *   <li>本地判定空闲时先读取共享状态，其他节点期间有访问则以其为准，否则判定过期并写回过期标记</li>
+ * </ul>
+ * 多节点之间的判定误差不超过flushInterval。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class SessionIdleTracker implements DisposableBean {
+
+    /**
+     * 时间轮刻度（毫秒），即空闲过期判定的精度
+     */
+    private static final long TICK_MS = 1_000;
+
+    private final long idleTimeoutMillis;
+    private final SessionActivityStore activityStore;
+    private final Clock clock;
+    private final Object flushLock = new Object();
+
+    private final Map<Long, Session> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * 时间轮槽位（哨兵节点构成的双向循环链表），链表结构由 {@code this} 锁保护
+     */
+    private final Session[] wheel;
+    private final int mask;
+    private long currentTick;
+
+    private final Counter expiredCounter;
+
+    @Autowired
+    public SessionIdleTracker(AuthProperties authProperties, SessionActivityStore activityStore,
+                              MeterRegistry meterRegistry) {
+        this(authProperties, activityStore, meterRegistry, Clock.systemUTC());
+    }
+
+    SessionIdleTracker(AuthProperties authProperties, SessionActivityStore activityStore,
+                       MeterRegistry meterRegistry, Clock clock) {
+        this.idleTimeoutMillis = authProperties.getSession().getIdleTimeout().toMillis();
+        this.activityStore = activityStore;
+        this.clock = clock;
+        this.currentTick = clock.millis() / TICK_MS;
+
+        // 槽位数覆盖整个超时窗口，任意会话最多在一圈内被检查到
+        int slots = Integer.highestOneBit((int) Math.max(1, idleTimeoutMillis / TICK_MS) * 2);
+        this.wheel = new Session[slots];
+        this.mask = slots - 1;
+        for (int i = 0; i < slots; i++) {
+            wheel[i] = Session.sentinel();
+        }
+
+        this.expiredCounter = Counter.builder("gct.auth.session.expired")
+                .description("因空闲超时过期的会话数")
+                .register(meterRegistry);
+        Gauge.builder("gct.auth.session.tracked", sessions, Map::size)
+                .description("跟踪中的会话数（含未到Token过期时间的已过期会话）")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 记录一次会话访问
+     *
+     * 本节点首次见到的会话（登录后首次请求、节点重启后或由其他节点转来）读取一次共享状态。
+     *
+     * @param user 当前请求的已认证用户
+     * @return 会话有效返回true；空闲超时返回false
+     */
+    public boolean touch(AuthenticatedUser user) {
+        Session session = sessions.get(user.tokenId());
+        if (session == null) {
+            session = register(user);
+        }
+        if (session.expired) {
+            return false;
+        }
+        long now = clock.millis();
+        if (now - session.lastAccess >= idleTimeoutMillis && !refreshFromStore(session, now)) {
+            // 时间轮尚未处理到该槽位，直接判定过期
+            expire(session);
+            return false;
+        }
+        if (now - session.lastAccess >= TICK_MS) {
+            session.lastAccess = now;
+        }
+        return true;
+    }
+
+    /**
+     * 判断会话是否已因空闲超时过期
+     *
+     * @param tokenId Token ID
+     * @return 是否已过期
+     */
+    public boolean isExpired(long tokenId) {
+        Session session = sessions.get(tokenId);
+        return session != null && session.expired;
+    }
+
+    /**
+     * 结束会话跟踪（登出时调用）
+     *
+     * @param tokenId Token ID
+     */
+    public synchronized void remove(long tokenId) {
+        Session session = sessions.remove(tokenId);
+        if (session != null) {
+            session.unlink();
+        }
+    }
+
+    /**
+     * 推进时间轮，处理到期槽位；本地判定空闲的会话批量读取共享状态后再判定
+     */
+    @Scheduled(fixedRate = TICK_MS)
+    public void advance() {
+        List<Session> idle = collectIdle();
+        if (!idle.isEmpty()) {
+            confirmIdle(idle);
+        }
+    }
+
+    /**
+     * 把有变化的会话批量写入共享存储，并删除Token已过期的记录
+     */
+    @Scheduled(fixedDelayString = "${gct.auth.session.flush-interval:30s}")
+    public void flush() {
+        synchronized (flushLock) {
+            List<SessionActivity> changed = new ArrayList<>();
+            for (Session session : sessions.values()) {
+                long lastAccess = session.lastAccess;
+                boolean expired = session.expired;
+                if (lastAccess > session.persistedAccess || expired && !session.persistedExpired) {
+                    changed.add(new SessionActivity(session.tokenId, lastAccess, session.tokenExpiresAt, expired));
+                }
+            }
+            try {
+                activityStore.save(changed, clock.millis());
+            } catch (DataAccessException e) {
+                log.warn("会话最后访问时间写入失败，下次重试, 会话数: {}", changed.size(), e);
+                return;
+            }
+            for (SessionActivity activity : changed) {
+                Session session = sessions.get(activity.tokenId());
+                if (session != null) {
+                    session.persistedAccess = Math.max(session.persistedAccess, activity.lastAccess());
+                    session.persistedExpired |= activity.idleExpired();
+                }
+            }
+        }
+    }
+
+    /**
+     * 关闭前写出尚未写入的访问记录
+     */
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+    private synchronized List<Session> collectIdle() {
+        long now = clock.millis();
+        long targetTick = now / TICK_MS;
+        List<Session> idle = new ArrayList<>();
+        // 长时间停顿后最多处理一圈，剩余会话会在后续槽位中被惰性检查
+        long fromTick = Math.max(currentTick, targetTick - mask);
+        for (long tick = fromTick; tick <= targetTick; tick++) {
+            Session head = wheel[(int) (tick & mask)];
+            Session session = head.next;
+            while (session != head) {
+                Session next = session.next;
+                session.unlink();
+                process(session, now, idle);
+                session = next;
+            }
+        }
+        currentTick = targetTick + 1;
+        return idle;
+    }
+
+    /**
+     * 以共享状态为准判定本地空闲的会话，未过期的重新挂入时间轮
+     */
+    private void confirmIdle(List<Session> idle) {
+        Map<Long, SessionActivity> stored;
+        try {
+            stored = activityStore.findAll(idle.stream().map(session -> session.tokenId).toList());
+        } catch (DataAccessException e) {
+            log.warn("读取会话最后访问时间失败，按本节点记录判定, 会话数: {}", idle.size(), e);
+            stored = Map.of();
+        }
+        synchronized (this) {
+            long now = clock.millis();
+            for (Session session : idle) {
+                // 期间已登出，或已由请求线程判定过期并重新挂入时间轮
+                if (sessions.get(session.tokenId) != session || session.isLinked()) {
+                    continue;
+                }
+                SessionActivity activity = stored.get(session.tokenId);
+                boolean expiredElsewhere = merge(session, activity);
+                if (!session.expired && (expiredElsewhere || now - session.lastAccess >= idleTimeoutMillis)) {
+                    markExpired(session);
+                }
+                schedule(session, now);
+            }
+        }
+    }
+
+    private Session register(AuthenticatedUser user) {
+        long lastAccess = user.issuedAt();
+        Optional<SessionActivity> stored = Optional.empty();
+        try {
+            stored = activityStore.find(user.tokenId());
+        } catch (DataAccessException e) {
+            // 无法确认其他节点的访问记录时不拒绝请求，从当前时间开始计算
+            log.warn("读取会话最后访问时间失败, tokenId: {}", user.tokenId(), e);
+            lastAccess = clock.millis();
+        }
+        Session created = new Session(user.tokenId(), user.expiresAt(), lastAccess);
+        stored.ifPresent(activity -> {
+            merge(created, activity);
+            created.expired = activity.idleExpired();
+            created.persistedAccess = activity.lastAccess();
+            created.persistedExpired = activity.idleExpired();
+        });
+        Session existing = sessions.putIfAbsent(user.tokenId(), created);
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (this) {
+            schedule(created, clock.millis());
+        }
+        return created;
+    }
+
+    /**
+     * 本地判定空闲时，以其他节点写入的最后访问时间再判定一次
+     *
+     * @return 会话仍有效
+     */
+    private boolean refreshFromStore(Session session, long now) {
+        try {
+            Optional<SessionActivity> stored = activityStore.find(session.tokenId);
+            if (stored.isPresent() && merge(session, stored.get())) {
+                return false;
+            }
+        } catch (DataAccessException e) {
+            log.warn("读取会话最后访问时间失败，按本节点记录判定, tokenId: {}", session.tokenId, e);
+        }
+        return now - session.lastAccess < idleTimeoutMillis;
+    }
+
+    /**
+     * 合并共享状态中更晚的最后访问时间
+     *
+     * @return 其他节点已判定该会话空闲过期
+     */
+    private static boolean merge(Session session, SessionActivity activity) {
+        if (activity == null) {
+            return false;
+        }
+        if (activity.lastAccess() > session.lastAccess) {
+            session.lastAccess = activity.lastAccess();
+        }
+        return activity.idleExpired();
+    }
+
+    private void process(Session session, long now, List<Session> idle) {
+        if (now >= session.tokenExpiresAt) {
+            sessions.remove(session.tokenId);
+            return;
+        }
+        if (!session.expired && now - session.lastAccess >= idleTimeoutMillis) {
+            // 暂不挂回时间轮，读取共享状态后再判定
+            idle.add(session);
+            return;
+        }
+        schedule(session, now);
+    }
+
+    private synchronized void expire(Session session) {
+        if (!session.expired) {
+            markExpired(session);
+            session.unlink();
+            schedule(session, clock.millis());
+        }
+    }
+
+    private void markExpired(Session session) {
+        session.expired = true;
+        expiredCounter.increment();
+        log.debug("会话空闲超时, tokenId: {}", session.tokenId);
+    }
+
+    /**
+     * 按下一次需要检查的时间挂入槽位：有效会话为空闲到期时间，已过期会话为Token过期时间，
+     * 至少为下一个刻度且不超过时间轮一圈
+     */
+    private void schedule(Session session, long now) {
+        long due = session.expired ? session.tokenExpiresAt : session.lastAccess + idleTimeoutMillis;
+        long nowTick = now / TICK_MS;
+        long dueTick = Math.min(Math.max(due / TICK_MS, nowTick + 1), nowTick + mask);
+        session.linkBefore(wheel[(int) (dueTick & mask)]);
+    }
+
+    /**
+     * 会话节点，同时作为时间轮槽位链表的节点（侵入式链表，挂入槽位不额外分配对象）
+     */
+    private static final class Session {
+
+        private final long tokenId;
+        private final long tokenExpiresAt;
+        private volatile long lastAccess;
+        private volatile boolean expired;
+
+        /**
+         * 已写入共享存储的状态，仅由flush读写
+         */
+        private long persistedAccess;
+        private boolean persistedExpired;
+
+        private Session prev = this;
+        private Session next = this;
+
+        private Session(long tokenId, long tokenExpiresAt, long lastAccess) {
+            this.tokenId = tokenId;
+            this.tokenExpiresAt = tokenExpiresAt;
+            this.lastAccess = lastAccess;
+        }
+
+        private static Session sentinel() {
+            return new Session(0, Long.MAX_VALUE, 0);
+        }
+
+        private void linkBefore(Session head) {
+            prev = head.prev;
+            next = head;
+            head.prev.next = this;
+            head.prev = this;
+        }
+
+        private boolean isLinked() {
+            return next != this;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = this;
+            next = this;
+        }
+    }
+}
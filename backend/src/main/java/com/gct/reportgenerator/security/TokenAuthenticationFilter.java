@@ -0,0 +1,122 @@
+package com.gct.reportgenerator.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gct.reportgenerator.exception.GlobalExceptionHandler.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Token认证过滤器
+ *
+ * 从Authorization头解析Bearer Token并校验签名，校验通过后将当前用户写入请求属性
+ * {@link AuthenticatedUser#REQUEST_ATTRIBUTE}。签名通过后依次检查吊销列表和内存中的认证主体缓存，
+ * 已登出的Token以及用户被禁用、删除或角色变更时已签发的Token立即失效；
+ * 最后记录会话访问，空闲超时的会话返回"Session已过期"（本节点首次见到某个会话时读取一次共享的最后访问时间，
+ * 之后只读写内存）。白名单路径不强制认证。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    /**
+     * 无需登录即可访问的接口
+     */
+    private static final Set<String> PUBLIC_PATHS = Set.of(
+            "/api/v1/",
+            "/api/v1/health",
+            "/api/v1/auth/login",
+            "/api/v1/auth/logout"
+    );
+
+    private final TokenService tokenService;
+    private final TokenRevocationList tokenRevocationList;
+    private final SessionIdleTracker sessionIdleTracker;
+    private final UserPrincipalCache userPrincipalCache;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AuthenticatedUser user = resolveToken(request)
+                .flatMap(tokenService::verify)
+                .filter(this::isPrincipalValid)
+                .orElse(null);
+        boolean sessionExpired = false;
+        if (user != null) {
+            // 先判断空闲过期以返回准确提示，再判断是否已登出
+            sessionExpired = sessionIdleTracker.isExpired(user.tokenId());
+            if (sessionExpired || tokenRevocationList.isRevoked(user.tokenId())) {
+                user = null;
+            } else if (!sessionIdleTracker.touch(user)) {
+                sessionExpired = true;
+                user = null;
+            }
+        }
+
+        if (user != null) {
+            request.setAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE, user);
+        } else if (!isPublicPath(request)) {
+            log.warn("认证拦截, ip: {}, uri: {}, sessionExpired: {}",
+                    request.getRemoteAddr(), request.getRequestURI(), sessionExpired);
+            writeUnauthorized(response, sessionExpired
+                    ? new ErrorResponse("SESSION_EXPIRED", "Session已过期")
+                    : new ErrorResponse("UNAUTHORIZED", "未登录或Token已失效"));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * 用户仍存在、已启用且角色未变更
+     * 过期条目由缓存在后台刷新；只有本节点首次见到该用户或用户刚变更时同步查询一次数据库
+     * （计入 {@code gct.auth.principal.load{mode=sync}}）
+     */
+    private boolean isPrincipalValid(AuthenticatedUser user) {
+        return userPrincipalCache.findById(user.userId())
+                .filter(principal -> principal.enabled() && principal.role() == user.role())
+                .isPresent();
+    }
+
+    private Optional<String> resolveToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            return Optional.empty();
+        }
+        return Optional.of(header.substring(BEARER_PREFIX.length()).trim());
+    }
+
+    private boolean isPublicPath(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return PUBLIC_PATHS.contains(path);
+    }
+
+    private void writeUnauthorized(HttpServletResponse response, ErrorResponse error) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
@@ -0,0 +1,216 @@
+package com.gct.reportgenerator.security;
+
+import com.gct.reportgenerator.config.AuthProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token吊销列表
+ *
+ * 结构: 布隆过滤器 + 精确集合（tokenId → 过期时间）。绝大多数请求携带的是未吊销Token，
+ * 只需做几次位探测即可判定；布隆过滤器命中时再查精确集合排除误判。
+ * 条目随Token过期自动清理，清理时重建布隆过滤器并压缩持久化文件，内存和磁盘占用不随登出次数增长。
+ * 只记录主动登出的Token（空闲过期由 {@link SessionIdleTracker} 自行判定），条目数不超过Token有效期内的登出次数。
+ * 超过容量上限时仍然记录，不淘汰未过期的记录（否则已登出的Token会重新生效），只记录错误日志和指标。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class TokenRevocationList {
+
+    /**
+     * 持久化记录长度: tokenId(8) + expiresAt(8)
+     */
+    private static final int RECORD_SIZE = 16;
+
+    /**
+     * 过期清理间隔（毫秒）
+     */
+    private static final long SWEEP_INTERVAL_MS = 60_000;
+
+    private final AuthProperties.Revocation config;
+    private final Path storeFile;
+    private final Clock clock;
+    private final Map<Long, Long> revoked = new ConcurrentHashMap<>();
+    private volatile LongBloomFilter bloomFilter;
+
+    private final Counter revokedCounter;
+    private final Counter falsePositiveCounter;
+    private final Counter overCapacityCounter;
+    private boolean overCapacityLogged;
+
+    @Autowired
+    public TokenRevocationList(AuthProperties authProperties, MeterRegistry meterRegistry) {
+        this(authProperties, meterRegistry, Clock.systemUTC());
+    }
+
+    TokenRevocationList(AuthProperties authProperties, MeterRegistry meterRegistry, Clock clock) {
+        this.config = authProperties.getRevocation();
+        this.storeFile = Path.of(config.getStoreFile());
+        this.clock = clock;
+        this.bloomFilter = newBloomFilter();
+
+        this.revokedCounter = Counter.builder("gct.auth.revocation.revoked")
+                .description("吊销的Token数")
+                .register(meterRegistry);
+        this.falsePositiveCounter = Counter.builder("gct.auth.revocation.bloom.false.positive")
+                .description("布隆过滤器误判次数")
+                .register(meterRegistry);
+        this.overCapacityCounter = Counter.builder("gct.auth.revocation.over.capacity")
+                .description("超过容量上限后记录的吊销数")
+                .register(meterRegistry);
+        Gauge.builder("gct.auth.revocation.size", revoked, Map::size)
+                .description("吊销列表中未过期的Token数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 启动时从持久化文件恢复未过期的吊销记录
+     */
+    @PostConstruct
+    public synchronized void load() {
+        if (!Files.exists(storeFile)) {
+            return;
+        }
+        long now = clock.millis();
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(storeFile));
+            while (buffer.remaining() >= RECORD_SIZE) {
+                long tokenId = buffer.getLong();
+                long expiresAt = buffer.getLong();
+                if (expiresAt > now) {
+                    revoked.put(tokenId, expiresAt);
+                }
+            }
+            rebuildBloomFilter();
+            compact();
+            log.info("已恢复Token吊销记录: {}", revoked.size());
+        } catch (IOException e) {
+            log.warn("读取Token吊销记录失败: {}", storeFile, e);
+        }
+    }
+
+    /**
+     * 判断Token是否已吊销
+     *
+     * @param tokenId Token ID
+     * @return 是否已吊销
+     */
+    public boolean isRevoked(long tokenId) {
+        if (!bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        if (revoked.containsKey(tokenId)) {
+            return true;
+        }
+        falsePositiveCounter.increment();
+        return false;
+    }
+
+    /**
+     * 吊销Token，记录保留到Token过期为止
+     *
+     * @param tokenId   Token ID
+     * @param expiresAt Token过期时间（毫秒）
+     */
+    public synchronized void revoke(long tokenId, long expiresAt) {
+        if (expiresAt <= clock.millis() || revoked.containsKey(tokenId)) {
+            return;
+        }
+        if (revoked.size() >= config.getMaximumSize()) {
+            overCapacityCounter.increment();
+            // 每个清理周期只记录一次，避免登出高峰时刷屏
+            if (!overCapacityLogged) {
+                overCapacityLogged = true;
+                log.error("Token吊销列表超过容量上限({})，仍继续记录吊销，请按Token有效期内的登出量调大maximum-size",
+                        config.getMaximumSize());
+            }
+        }
+        revoked.put(tokenId, expiresAt);
+        bloomFilter.add(tokenId);
+        revokedCounter.increment();
+        append(tokenId, expiresAt);
+    }
+
+    /**
+     * 清理已过期的吊销记录，重建布隆过滤器并压缩持久化文件
+     */
+    @Scheduled(fixedDelay = SWEEP_INTERVAL_MS)
+    public synchronized void sweep() {
+        long now = clock.millis();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        overCapacityLogged = false;
+        if (revoked.size() != before) {
+            rebuildBloomFilter();
+            compact();
+            log.debug("清理过期Token吊销记录: {}", before - revoked.size());
+        }
+    }
+
+    private void rebuildBloomFilter() {
+        // 条目数超过预期容量时按实际条目数重建，保持误判率
+        LongBloomFilter rebuilt = new LongBloomFilter(Math.max(config.getExpectedEntries(), revoked.size() * 2L),
+                config.getFalsePositiveRate());
+        revoked.keySet().forEach(rebuilt::add);
+        bloomFilter = rebuilt;
+    }
+
+    private LongBloomFilter newBloomFilter() {
+        return new LongBloomFilter(config.getExpectedEntries(), config.getFalsePositiveRate());
+    }
+
+    private void append(long tokenId, long expiresAt) {
+        try {
+            Files.createDirectories(storeFile.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(storeFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                channel.write(ByteBuffer.allocate(RECORD_SIZE).putLong(tokenId).putLong(expiresAt).flip());
+            }
+        } catch (IOException e) {
+            log.warn("写入Token吊销记录失败: {}", storeFile, e);
+        }
+    }
+
+    /**
+     * 以当前未过期记录重写持久化文件（先写临时文件再原子替换）
+     */
+    private void compact() {
+        try {
+            Files.createDirectories(storeFile.toAbsolutePath().getParent());
+            Path temp = storeFile.resolveSibling(storeFile.getFileName() + ".tmp");
+            ByteBuffer buffer = ByteBuffer.allocate(revoked.size() * RECORD_SIZE);
+            revoked.forEach((tokenId, expiresAt) -> {
+                if (buffer.remaining() >= RECORD_SIZE) {
+                    buffer.putLong(tokenId).putLong(expiresAt);
+                }
+            });
+            try (FileChannel channel = FileChannel.open(temp,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(buffer.flip());
+            }
+            Files.move(temp, storeFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("压缩Token吊销记录失败: {}", storeFile, e);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.gct.reportgenerator.security;
+
+import com.gct.reportgenerator.config.AuthProperties;
+import com.gct.reportgenerator.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * 签名Token服务
+ *
+ * Token格式: base64url(载荷).base64url(HMAC-SHA256签名)，载荷包含用户ID、用户名、角色、
+ * 签发时间、过期时间和Token ID。校验只做一次HMAC计算和常量时间比较，不访问数据库或会话，
+ * 任意节点只要共享同一密钥即可校验。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte VERSION = 1;
+    private static final int MIN_SECRET_LENGTH = 32;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadLocal<Mac> macHolder;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    @Autowired
+    public TokenService(AuthProperties authProperties) {
+        this(authProperties, Clock.systemUTC());
+    }
+
+    TokenService(AuthProperties authProperties, Clock clock) {
+        SecretKeySpec key = new SecretKeySpec(resolveSecret(authProperties.getToken().getSecret()), ALGORITHM);
+        this.macHolder = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("初始化Token签名算法失败", e);
+            }
+        });
+        this.ttlMillis = authProperties.getToken().getTtl().toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * 为用户签发Token
+     *
+     * @param principal 用户认证主体
+     * @return token字符串
+     */
+    public String issue(UserPrincipal principal) {
+        long issuedAt = clock.millis();
+        byte[] role = principal.role().name().getBytes(StandardCharsets.US_ASCII);
+        byte[] username = principal.username().getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 8 * 4 + 1 + role.length + 2 + username.length);
+        buffer.put(VERSION)
+                .putLong(principal.id())
+                .putLong(issuedAt)
+                .putLong(issuedAt + ttlMillis)
+                .putLong(random.nextLong())
+                .put((byte) role.length).put(role)
+                .putShort((short) username.length).put(username);
+
+        String payload = ENCODER.encodeToString(buffer.array());
+        return payload + '.' + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * 校验Token并解析当前用户
+     *
+     * @param token token字符串
+     * @return 已认证用户；签名无效、格式错误或已过期时为空
+     */
+    public Optional<AuthenticatedUser> verify(String token) {
+        if (!StringUtils.hasText(token)) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return Optional.empty();
+        }
+        String payload = token.substring(0, dot);
+        try {
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(payload))) {
+                return Optional.empty();
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(DECODER.decode(payload));
+            if (buffer.get() != VERSION) {
+                return Optional.empty();
+            }
+            long userId = buffer.getLong();
+            long issuedAt = buffer.getLong();
+            long expiresAt = buffer.getLong();
+            long tokenId = buffer.getLong();
+            byte[] role = new byte[buffer.get()];
+            buffer.get(role);
+            byte[] username = new byte[buffer.getShort()];
+            buffer.get(username);
+
+            if (expiresAt <= clock.millis()) {
+                return Optional.empty();
+            }
+            return Optional.of(new AuthenticatedUser(
+                    userId,
+                    new String(username, StandardCharsets.UTF_8),
+                    User.UserRole.valueOf(new String(role, StandardCharsets.US_ASCII)),
+                    issuedAt,
+                    expiresAt,
+                    tokenId));
+        } catch (IllegalArgumentException | BufferUnderflowException | NegativeArraySizeException e) {
+            log.debug("Token格式错误: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String payload) {
+        return macHolder.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private byte[] resolveSecret(String secret) {
+        if (!StringUtils.hasText(secret)) {
+            log.warn("未配置gct.auth.token.secret，使用随机密钥：重启后已签发Token失效，且无法多节点共享");
+            byte[] generated = new byte[MIN_SECRET_LENGTH];
+            random.nextBytes(generated);
+            return generated;
+        }
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < MIN_SECRET_LENGTH) {
+            log.warn("gct.auth.token.secret长度不足{}字节，建议使用更长的随机密钥", MIN_SECRET_LENGTH);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,43 @@
+package com.gct.reportgenerator.security;
+
+import com.gct.reportgenerator.entity.User;
+
+/**
+ * 用户认证主体（缓存用的不可变快照）
+ * 
+ * @param id           用户ID
+ * @param username     用户名
+ * @param role         用户角色
+ * @param enabled      是否启用
+ * @param passwordHash 密码哈希（含BCrypt版本与强度）
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+public record UserPrincipal(
+        Long id,
+        String username,
+        User.UserRole role,
+        boolean enabled,
+        String passwordHash
+) {
+
+    /**
+     * 根据用户实体创建认证主体
+     * 
+     * @param user 用户实体
+     * @return 认证主体
+     */
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(
+                user.getId(),
+                user.getUsername(),
+                user.getRole(),
+                Boolean.TRUE.equals(user.getEnabled()),
+                user.getPassword());
+    }
+
+    @Override
+    public String toString() {
+        return "UserPrincipal[id=" + id + ", username=" + username + ", role=" + role + ", enabled=" + enabled + "]";
+    }
+}
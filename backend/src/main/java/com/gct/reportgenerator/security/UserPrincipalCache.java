@@ -0,0 +1,145 @@
+package com.gct.reportgenerator.security;
+
+import com.gct.reportgenerator.config.AuthProperties;
+import com.gct.reportgenerator.entity.User;
+import com.gct.reportgenerator.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 用户认证主体缓存
+ *
+ * 位于UserRepository之前的有界缓存，按用户名和用户ID两种方式索引，
+ * 登录和请求认证的热路径只读内存。用户实体发生任何变更（禁用、角色、密码）时，
+ * 由{@link UserPrincipalCacheListener}立即失效对应条目。
+ * <p>
+ * 按ID的索引供每个请求的Token校验使用：条目超过TTL后仍返回当前值，并在后台线程重新查询数据库，
+ * 请求线程不等待数据库。只有本节点首次见到该用户、条目被容量淘汰或被变更失效后的第一次访问
+ * 才在请求线程中同步查询，耗时记录在 {@code gct.auth.principal.load{mode=sync}}，
+ * 后台刷新记录在 {@code mode=refresh}。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class UserPrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserPrincipal> byUsername;
+    private final LoadingCache<Long, UserPrincipal> byId;
+    private final Timer syncLoadTimer;
+    private final Timer refreshTimer;
+
+    @Autowired
+    public UserPrincipalCache(UserRepository userRepository,
+                              AuthProperties authProperties,
+                              MeterRegistry meterRegistry) {
+        this(userRepository, authProperties, meterRegistry, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    UserPrincipalCache(UserRepository userRepository,
+                       AuthProperties authProperties,
+                       MeterRegistry meterRegistry,
+                       Ticker ticker,
+                       Executor refreshExecutor) {
+        AuthProperties.PrincipalCache config = authProperties.getPrincipalCache();
+        this.userRepository = userRepository;
+        this.syncLoadTimer = Timer.builder("gct.auth.principal.load")
+                .tag("mode", "sync")
+                .description("请求线程中同步查询用户认证主体的耗时")
+                .register(meterRegistry);
+        this.refreshTimer = Timer.builder("gct.auth.principal.load")
+                .tag("mode", "refresh")
+                .description("后台刷新用户认证主体的耗时")
+                .register(meterRegistry);
+        this.byUsername = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getTtl())
+                .recordStats()
+                .build();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .refreshAfterWrite(config.getTtl())
+                .ticker(ticker)
+                .executor(refreshExecutor)
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public UserPrincipal load(Long id) {
+                        return syncLoadTimer.record(() -> loadById(id));
+                    }
+
+                    @Override
+                    public UserPrincipal reload(Long id, UserPrincipal oldValue) {
+                        return refreshTimer.record(() -> loadById(id));
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, byUsername, "userPrincipalsByUsername");
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "userPrincipalsById");
+    }
+
+    /**
+     * 按用户名查找认证主体（不存在的用户不缓存）
+     *
+     * @param username 用户名
+     * @return 认证主体（可选）
+     */
+    public Optional<UserPrincipal> findByUsername(String username) {
+        return Optional.ofNullable(byUsername.get(username, key ->
+                userRepository.findByUsername(key).map(UserPrincipal::from).orElse(null)));
+    }
+
+    /**
+     * 按用户ID查找认证主体（不存在的用户不缓存；超过TTL的条目在后台刷新）
+     *
+     * @param id 用户ID
+     * @return 认证主体（可选）
+     */
+    public Optional<UserPrincipal> findById(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    private UserPrincipal loadById(Long id) {
+        return userRepository.findById(id).map(UserPrincipal::from).orElse(null);
+    }
+
+    /**
+     * 失效用户的所有缓存条目
+     * 按ID清理用户名索引，用户名被修改时旧用户名条目同样失效
+     *
+     * @param user 发生变更的用户
+     */
+    public void invalidate(User user) {
+        Long id = user.getId();
+        if (id != null) {
+            byId.invalidate(id);
+            byUsername.asMap().values().removeIf(principal -> id.equals(principal.id()));
+        }
+        if (user.getUsername() != null) {
+            byUsername.invalidate(user.getUsername());
+        }
+        log.debug("用户认证缓存已失效, id: {}, username: {}", id, user.getUsername());
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        byUsername.invalidateAll();
+        byId.invalidateAll();
+    }
+}
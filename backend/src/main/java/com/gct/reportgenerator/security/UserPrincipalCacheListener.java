@@ -0,0 +1,49 @@
+package com.gct.reportgenerator.security;
+
+import com.gct.reportgenerator.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 用户实体变更监听器
+ *
+ * 用户新增、修改、删除后立即失效认证缓存；处于事务中时在事务结束（提交或回滚）后再失效一次，
+ * 避免并发请求在提交前读到旧数据并重新放入缓存。
+ * 注意：JPQL批量更新不触发实体回调，需要调用方自行失效缓存。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Component
+public class UserPrincipalCacheListener {
+
+    private final ObjectProvider<UserPrincipalCache> userPrincipalCache;
+
+    public UserPrincipalCacheListener(ObjectProvider<UserPrincipalCache> userPrincipalCache) {
+        this.userPrincipalCache = userPrincipalCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        UserPrincipalCache cache = userPrincipalCache.getIfAvailable();
+        if (cache == null) {
+            return;
+        }
+        cache.invalidate(user);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(user);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,12 @@
+/**
+ * Security层 - 认证与访问控制
+ * 
+ * 职责:
+ * - 签发和校验无状态签名Token
+ * - 请求认证过滤器
+ * - 当前登录用户上下文
+ * 
+ * @author GCT Team
+ * @since 1.0.0
+ */
+package com.gct.reportgenerator.security;
@@ -2,12 +2,19 @@ package com.gct.reportgenerator.service;
 
 import com.gct.reportgenerator.dto.LoginRequest;
 import com.gct.reportgenerator.dto.LoginResponse;
-import com.gct.reportgenerator.entity.User;
 import com.gct.reportgenerator.exception.BusinessException;
+import com.gct.reportgenerator.exception.TooManyRequestsException;
 import com.gct.reportgenerator.repository.UserRepository;
+import com.gct.reportgenerator.security.AuthenticatedUser;
+import com.gct.reportgenerator.security.LoginThrottle;
+import com.gct.reportgenerator.security.PasswordHashingService;
+import com.gct.reportgenerator.security.SessionIdleTracker;
+import com.gct.reportgenerator.security.TokenRevocationList;
+import com.gct.reportgenerator.security.TokenService;
+import com.gct.reportgenerator.security.UserPrincipal;
+import com.gct.reportgenerator.security.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 /**
@@ -22,53 +29,98 @@ import org.springframework.stereotype.Service;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final UserPrincipalCache userPrincipalCache;
+    private final PasswordHashingService passwordHashingService;
+    private final TokenService tokenService;
+    private final TokenRevocationList tokenRevocationList;
+    private final SessionIdleTracker sessionIdleTracker;
+    private final LoginThrottle loginThrottle;
 
     /**
      * 用户登录
      * 
      * @param request 登录请求
+     * @param clientAddress 客户端IP
      * @return 登录响应（包含token）
      * @throws BusinessException 登录失败时抛出
+     * @throws TooManyRequestsException 连续失败次数过多处于退避期时抛出
      */
-    public LoginResponse login(LoginRequest request) {
+    public LoginResponse login(LoginRequest request, String clientAddress) {
         log.info("用户登录尝试, username: {}", request.getUsername());
 
-        // 查找用户
-        User user = userRepository.findByUsernameAndEnabled(request.getUsername(), true)
-                .orElseThrow(() -> {
-                    log.warn("登录失败: 用户不存在或已禁用, username: {}", request.getUsername());
-                    return new BusinessException("用户名或密码错误");
-                });
+        // 限流检查在查询用户和哈希校验之前，被拒绝的请求不消耗数据库和CPU
+        loginThrottle.checkAllowed(request.getUsername(), clientAddress);
 
-        // 验证密码
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        // 查找用户（优先读取认证缓存）
+        UserPrincipal user = userPrincipalCache.findByUsername(request.getUsername())
+                .filter(UserPrincipal::enabled)
+                .orElse(null);
+        if (user == null) {
+            log.warn("登录失败: 用户不存在或已禁用, username: {}", request.getUsername());
+            loginThrottle.recordFailure(request.getUsername(), clientAddress);
+            throw new BusinessException("用户名或密码错误");
+        }
+
+        // 验证密码（在独立的哈希线程池中执行）
+        if (!passwordHashingService.matches(request.getPassword(), user.passwordHash())) {
             log.warn("登录失败: 密码错误, username: {}", request.getUsername());
+            loginThrottle.recordFailure(request.getUsername(), clientAddress);
             throw new BusinessException("用户名或密码错误");
         }
 
-        // 生成token（暂时使用简单的token，后续可以改为JWT）
-        String token = generateToken(user);
+        // 哈希强度与当前校准强度不一致时透明重新哈希
+        if (passwordHashingService.needsRehash(user.passwordHash())) {
+            rehashPassword(user, request.getPassword());
+        }
+
+        // 签发无状态签名token
+        String token = tokenService.issue(user);
 
-        log.info("登录成功, username: {}, role: {}", user.getUsername(), user.getRole());
+        log.info("登录成功, username: {}, role: {}", user.username(), user.role());
 
         return LoginResponse.builder()
                 .token(token)
-                .username(user.getUsername())
-                .role(user.getRole().name())
-                .userId(user.getId())
+                .username(user.username())
+                .role(user.role().name())
+                .userId(user.id())
                 .build();
     }
 
     /**
-     * 生成Token
+     * 用户登出
+     * 吊销当前Token，吊销记录保留到Token过期为止
+     * 
+     * @param currentUser 当前用户（未携带有效Token时为null）
+     */
+    public void logout(AuthenticatedUser currentUser) {
+        if (currentUser == null) {
+            return;
+        }
+        tokenRevocationList.revoke(currentUser.tokenId(), currentUser.expiresAt());
+        sessionIdleTracker.remove(currentUser.tokenId());
+        log.info("用户登出, username: {}", currentUser.username());
+    }
+
+    /**
+     * 使用当前校准强度重新哈希并保存密码
+     * 失败不影响本次登录，下次登录时重试
      * 
-     * @param user 用户对象
-     * @return token字符串
+     * @param principal 用户认证主体
+     * @param rawPassword 已校验通过的明文密码
      */
-    private String generateToken(User user) {
-        // 暂时使用简单的token格式: userId_timestamp
-        // 生产环境应使用JWT
-        return String.format("TOKEN_%d_%d", user.getId(), System.currentTimeMillis());
+    private void rehashPassword(UserPrincipal principal, String rawPassword) {
+        try {
+            String newHash = passwordHashingService.encode(rawPassword);
+            // 保存时实体监听器会失效认证缓存
+            userRepository.findById(principal.id()).ifPresent(user -> {
+                user.setPassword(newHash);
+                userRepository.save(user);
+                log.info("密码哈希强度已更新, username: {}", user.getUsername());
+            });
+        } catch (TooManyRequestsException e) {
+            log.debug("哈希线程池繁忙，跳过重新哈希, username: {}", principal.username());
+        } catch (RuntimeException e) {
+            log.warn("重新哈希密码失败, username: {}", principal.username(), e);
+        }
     }
 }
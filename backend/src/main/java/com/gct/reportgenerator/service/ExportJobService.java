@@ -0,0 +1,287 @@
+package com.gct.reportgenerator.service;
+
+import com.gct.reportgenerator.config.ExportProperties;
+import com.gct.reportgenerator.dto.ExportJobStatus;
+import com.gct.reportgenerator.entity.User;
+import com.gct.reportgenerator.exception.BusinessException;
+import com.gct.reportgenerator.exception.QueryCancelledException;
+import com.gct.reportgenerator.exception.ResourceNotFoundException;
+import com.gct.reportgenerator.exception.TooManyRequestsException;
+import com.gct.reportgenerator.execution.ReportDefinition;
+import com.gct.reportgenerator.export.ExportFormat;
+import com.gct.reportgenerator.export.ExportJob;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异步导出任务服务
+ *
+ * 创建任务后立即返回任务ID，由独立的有界线程池把XLSX/CSV/TSV写入本地暂存目录，不占用请求线程和HTTP连接；
+ * 客户端轮询进度（已写出的行数和字节数），完成后下载文件。
+ * 同时执行的任务数不超过poolSize（单节点上限），排队数不超过queueCapacity，每个用户排队和执行中的任务数
+ * 不超过perUserLimit，超出时返回429，导出不会占满数据库连接而拖慢在线查询。
+ * 任务状态只保存在本节点内存中；结束的任务和文件保留ttl后清理，启动时清空暂存目录中上次运行遗留的文件。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+public class ExportJobService implements DisposableBean {
+
+    private static final String PART_SUFFIX = ".part";
+
+    private final ReportExportService reportExportService;
+    private final ExportProperties.Jobs config;
+    private final Path spoolDir;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, Runnable> queued = new ConcurrentHashMap<>();
+
+    private final Counter rejectedCounter;
+    private final Timer jobTimer;
+
+    public ExportJobService(ReportExportService reportExportService,
+                            ExportProperties exportProperties,
+                            MeterRegistry meterRegistry) {
+        this.reportExportService = reportExportService;
+        this.config = exportProperties.getJobs();
+        this.spoolDir = config.getSpoolDir().toAbsolutePath().normalize();
+        prepareSpoolDir();
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("export-job-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(
+                config.getPoolSize(), config.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.rejectedCounter = Counter.builder("gct.export.jobs.rejected")
+                .description("因节点或用户并发上限被拒绝的导出任务数")
+                .register(meterRegistry);
+        this.jobTimer = Timer.builder("gct.export.jobs.duration")
+                .description("导出任务执行耗时（不含排队）")
+                .register(meterRegistry);
+        Gauge.builder("gct.export.jobs.queued", executor, e -> e.getQueue().size())
+                .description("排队中的导出任务数")
+                .register(meterRegistry);
+        Gauge.builder("gct.export.jobs.running", executor, ThreadPoolExecutor::getActiveCount)
+                .description("执行中的导出任务数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 创建导出任务
+     *
+     * @param definition 报表定义
+     * @param params     规范化后的报表参数
+     * @param userId     用户ID
+     * @param role       用户角色
+     * @param format     导出格式
+     * @param gzip       是否gzip压缩（XLSX本身已压缩，忽略该选项）
+     * @return 提交时的任务状态（QUEUED）
+     * @throws TooManyRequestsException 用户任务数达到上限或节点队列已满
+     */
+    public ExportJobStatus submit(ReportDefinition definition, Map<String, Object> params, Long userId,
+                                  User.UserRole role, ExportFormat format, boolean gzip) {
+        String id = UUID.randomUUID().toString();
+        boolean compressed = gzip && format.delimited();
+        ExportJob job = new ExportJob(id, definition.reportId(), definition.report().getName(), userId,
+                role, format, compressed, spoolDir.resolve(format.fileName(id, compressed)), Instant.now());
+        Runnable task = () -> run(job, definition, params);
+        // 提交前生成返回的状态，任务可能在返回前已开始甚至完成
+        ExportJobStatus submitted = ExportJobStatus.from(job, config.getTtl());
+        // 检查用户上限和登记任务须原子完成
+        synchronized (this) {
+            long active = jobs.values().stream()
+                    .filter(j -> Objects.equals(j.getUserId(), userId) && !j.getStatus().finished())
+                    .count();
+            if (active >= config.getPerUserLimit()) {
+                rejectedCounter.increment();
+                throw new TooManyRequestsException("EXPORT_USER_LIMIT",
+                        "导出任务过多，请等待已有任务完成（上限" + config.getPerUserLimit() + "个）");
+            }
+            jobs.put(id, job);
+            queued.put(id, task);
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                jobs.remove(id);
+                queued.remove(id);
+                rejectedCounter.increment();
+                throw new TooManyRequestsException("EXPORT_QUEUE_FULL", "导出任务繁忙，请稍后重试", Duration.ofSeconds(30));
+            }
+        }
+        log.info("导出任务已创建, jobId: {}, reportId: {}, userId: {}", id, definition.reportId(), userId);
+        return submitted;
+    }
+
+    /**
+     * 查询任务状态和进度
+     *
+     * @param jobId  任务ID
+     * @param userId 用户ID
+     * @return 任务状态
+     * @throws ResourceNotFoundException 任务不存在、已清理或不属于该用户
+     */
+    public ExportJobStatus getStatus(String jobId, Long userId) {
+        return ExportJobStatus.from(get(jobId, userId), config.getTtl());
+    }
+
+    /**
+     * 获取任务（只能获取自己创建的任务）
+     *
+     * @param jobId  任务ID
+     * @param userId 用户ID
+     * @return 任务
+     * @throws ResourceNotFoundException 任务不存在、已清理或不属于该用户
+     */
+    private ExportJob get(String jobId, Long userId) {
+        ExportJob job = jobs.get(jobId);
+        if (job == null || !Objects.equals(job.getUserId(), userId)) {
+            throw new ResourceNotFoundException("导出任务不存在: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * 获取已完成的任务（用于下载导出文件）
+     *
+     * @param jobId  任务ID
+     * @param userId 用户ID
+     * @return 任务
+     * @throws ResourceNotFoundException 任务不存在
+     * @throws BusinessException         任务尚未完成
+     */
+    public ExportJob getCompleted(String jobId, Long userId) {
+        ExportJob job = get(jobId, userId);
+        if (job.getStatus() != ExportJob.Status.COMPLETED) {
+            throw new BusinessException("EXPORT_JOB_NOT_READY", "导出任务尚未完成: " + job.getStatus());
+        }
+        return job;
+    }
+
+    /**
+     * 取消排队中或执行中的任务（任务记录保留到过期，之后的查询返回CANCELLED；已结束的任务不受影响）
+     *
+     * @param jobId  任务ID
+     * @param userId 用户ID
+     * @throws ResourceNotFoundException 任务不存在
+     */
+    public void cancel(String jobId, Long userId) {
+        ExportJob job = get(jobId, userId);
+        if (job.cancel(Instant.now())) {
+            Runnable task = queued.remove(jobId);
+            if (task != null) {
+                executor.remove(task);
+            }
+            log.info("导出任务已取消, jobId: {}", jobId);
+        }
+    }
+
+    /**
+     * 清理过期的任务和导出文件
+     */
+    @Scheduled(fixedDelayString = "${gct.export.jobs.cleanup-interval:1m}")
+    public void cleanUp() {
+        Instant expiredBefore = Instant.now().minus(config.getTtl());
+        jobs.values().removeIf(job -> {
+            Instant finishedAt = job.getFinishedAt();
+            if (finishedAt == null || !job.getStatus().finished() || finishedAt.isAfter(expiredBefore)) {
+                return false;
+            }
+            deleteQuietly(job.getFile());
+            return true;
+        });
+    }
+
+    private void run(ExportJob job, ReportDefinition definition, Map<String, Object> params) {
+        queued.remove(job.getId());
+        if (!job.start(Instant.now())) {
+            return;
+        }
+        long start = System.nanoTime();
+        // 先写入临时文件，写完后重命名，下载时不会读到不完整的文件
+        Path part = spoolDir.resolve(job.getId() + PART_SUFFIX);
+        try {
+            long rows;
+            try (FileChannel file = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                rows = reportExportService.export(definition, params, job.getUserId(), job.getRole(),
+                        job.getFormat(), job.isGzip(), job.getCancellation(), job.countBytes(file),
+                        job::updateRowsWritten);
+            }
+            Files.move(part, job.getFile(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.complete(Instant.now(), rows);
+            log.info("导出任务完成, jobId: {}, 行数: {}, 字节数: {}", job.getId(), rows, job.getBytesWritten());
+        } catch (QueryCancelledException e) {
+            deleteQuietly(part);
+            job.cancelled(Instant.now());
+        } catch (BusinessException e) {
+            deleteQuietly(part);
+            job.fail(Instant.now(), e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            log.error("导出任务失败, jobId: {}", job.getId(), e);
+            deleteQuietly(part);
+            job.fail(Instant.now(), "导出失败");
+        } finally {
+            jobTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void prepareSpoolDir() {
+        try {
+            Files.createDirectories(spoolDir);
+            // 任务状态不跨进程保存，上次运行遗留的文件无法再被下载
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(spoolDir)) {
+                for (Path file : files) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("无法创建导出暂存目录: " + spoolDir, e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除导出文件失败: {}", file, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        jobs.values().forEach(job -> job.cancel(Instant.now()));
+    }
+}
@@ -0,0 +1,239 @@
+package com.gct.reportgenerator.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gct.reportgenerator.audit.ExecutionLogEntry;
+import com.gct.reportgenerator.audit.ExecutionLogWriter;
+import com.gct.reportgenerator.config.ExecutionProperties;
+import com.gct.reportgenerator.entity.Report;
+import com.gct.reportgenerator.exception.BusinessException;
+import com.gct.reportgenerator.exception.QueryCancelledException;
+import com.gct.reportgenerator.exception.QueryTimeoutException;
+import com.gct.reportgenerator.exception.TooManyRequestsException;
+import com.gct.reportgenerator.execution.ExecutionGovernor;
+import com.gct.reportgenerator.execution.KeysetStatement;
+import com.gct.reportgenerator.execution.QueryCancellation;
+import com.gct.reportgenerator.execution.ReportQuery;
+import com.gct.reportgenerator.execution.RowStreamHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 报表查询执行服务
+ *
+ * 报表SQL按编译后的执行计划绑定参数，在只读事务中以仅向前、只读游标执行，按fetchSize分批抓取并交给 {@link RowStreamHandler} 逐行处理，
+ * 不把结果集加载到内存；分页查询执行 {@link KeysetStatement}，只读取一页的行。
+ * 每次执行由看门狗在超时后取消语句（同时设置JDBC查询超时，供支持的驱动使用）；
+ * 客户端断开时，写出失败或异步请求出错会取消语句。被取消的查询会立即中断，释放连接和CPU。
+ * 执行耗时、行数和结果通过 {@link ExecutionLogWriter} 异步写入执行日志。
+ * 执行前先经过 {@link ExecutionGovernor} 准入控制，超时时间从取得执行名额后开始计算。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+public class ReportExecutionService implements DisposableBean {
+
+    /**
+     * 超时后重复中断的间隔
+     */
+    private static final long WATCHDOG_REPEAT_MILLIS = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutionLogWriter executionLogWriter;
+    private final ExecutionProperties executionProperties;
+    private final ObjectMapper objectMapper;
+    private final ExecutionGovernor executionGovernor;
+    private final ScheduledThreadPoolExecutor watchdog;
+
+    private final Timer executionTimer;
+    private final Counter timeoutCounter;
+    private final Counter cancelledCounter;
+
+    public ReportExecutionService(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  ExecutionLogWriter executionLogWriter,
+                                  ExecutionProperties executionProperties,
+                                  ObjectMapper objectMapper,
+                                  ExecutionGovernor executionGovernor,
+                                  MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.executionLogWriter = executionLogWriter;
+        this.executionProperties = executionProperties;
+        this.objectMapper = objectMapper;
+        this.executionGovernor = executionGovernor;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("query-watchdog-");
+        threadFactory.setDaemon(true);
+        this.watchdog = new ScheduledThreadPoolExecutor(1, threadFactory);
+        this.watchdog.setRemoveOnCancelPolicy(true);
+
+        this.executionTimer = Timer.builder("gct.report.execution")
+                .description("报表查询执行耗时（含结果读取）")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("gct.report.execution.timeout")
+                .description("超时被取消的报表查询数")
+                .register(meterRegistry);
+        this.cancelledCounter = Counter.builder("gct.report.execution.cancelled")
+                .description("因客户端断开被取消的报表查询数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 执行报表查询并流式处理结果
+     *
+     * @param query   执行请求
+     * @param handler 结果集处理器
+     * @return 处理的行数
+     * @throws QueryTimeoutException    超过查询超时时间
+     * @throws QueryCancelledException  客户端断开或请求中止
+     * @throws TooManyRequestsException 用户或报表达到并发上限，或等待执行名额超时
+     * @throws BusinessException        SQL执行失败
+     */
+    public long execute(ReportQuery query, RowStreamHandler handler) {
+        ExecutionGovernor.Permit permit =
+                executionGovernor.admit(query.getUserId(), query.getRole(), query.getReport().getId());
+        try {
+            return executeAdmitted(query, handler);
+        } finally {
+            permit.close();
+        }
+    }
+
+    private long executeAdmitted(ReportQuery query, RowStreamHandler handler) {
+        Report report = query.getReport();
+        QueryCancellation cancellation = query.getCancellation();
+        Duration timeout = resolveTimeout(query);
+        int fetchSize = query.getFetchSize() != null ? query.getFetchSize() : executionProperties.getFetchSize();
+
+        LocalDateTime executeTime = LocalDateTime.now();
+        long start = System.nanoTime();
+        long[] rows = new long[1];
+        // 超时后每隔一段时间重复中断，覆盖中断恰好落在语句开始执行之前的情况
+        ScheduledFuture<?> timeoutTask = watchdog.scheduleWithFixedDelay(
+                () -> cancellation.cancel(QueryCancellation.Reason.TIMEOUT),
+                timeout.toMillis(), WATCHDOG_REPEAT_MILLIS, TimeUnit.MILLISECONDS);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try {
+                    jdbcTemplate.query(con -> {
+                        KeysetStatement keyset = query.getKeyset();
+                        PreparedStatement ps = con.prepareStatement(
+                                keyset != null ? keyset.sql() : query.getPlan().sql(),
+                                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        query.getPlan().bind(ps, query.getParams());
+                        if (keyset != null) {
+                            keyset.bind(ps, query.getPlan().parameterCount() + 1);
+                            ps.setMaxRows(keyset.maxRows());
+                        }
+                        ps.setFetchSize(fetchSize);
+                        ps.setQueryTimeout((int) Math.max(1, timeout.toSeconds()));
+                        cancellation.attach(ps);
+                        return ps;
+                    }, rs -> {
+                        try {
+                            rows[0] = handler.handle(rs);
+                        } catch (IOException e) {
+                            cancellation.cancel(QueryCancellation.Reason.CLIENT_ABORTED);
+                            throw new UncheckedIOException(e);
+                        }
+                        return null;
+                    });
+                } finally {
+                    // 在连接归还连接池之前解除绑定，之后的取消不会中断复用该连接的其他查询
+                    cancellation.detach();
+                }
+            });
+
+            long durationMs = elapsedMillis(start);
+            log.info("报表执行完成, reportId: {}, 行数: {}, 耗时: {}ms", report.getId(), rows[0], durationMs);
+            record(query, executeTime, true, null, durationMs, rows[0]);
+            return rows[0];
+        } catch (DataAccessException | UncheckedIOException e) {
+            long durationMs = elapsedMillis(start);
+            RuntimeException failure = translate(report, cancellation, timeout, e);
+            record(query, executeTime, false, failure.getMessage(), durationMs, rows[0]);
+            throw failure;
+        } catch (RuntimeException e) {
+            // 参数绑定或结果处理器抛出的业务异常原样抛出，同样记录执行日志
+            record(query, executeTime, false, e.getMessage(), elapsedMillis(start), rows[0]);
+            throw e;
+        } finally {
+            timeoutTask.cancel(false);
+            executionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Duration resolveTimeout(ReportQuery query) {
+        if (query.getTimeout() != null) {
+            return query.getTimeout();
+        }
+        return executionProperties.queryTimeoutOf(query.getReport());
+    }
+
+    private RuntimeException translate(Report report, QueryCancellation cancellation, Duration timeout,
+                                       RuntimeException e) {
+        if (cancellation.getReason() == QueryCancellation.Reason.TIMEOUT) {
+            timeoutCounter.increment();
+            log.warn("报表查询超时已取消, reportId: {}, 超时: {}s", report.getId(), timeout.toSeconds());
+            return new QueryTimeoutException("报表查询超时（" + timeout.toSeconds() + "秒）", e);
+        }
+        if (cancellation.getReason() == QueryCancellation.Reason.CLIENT_ABORTED) {
+            cancelledCounter.increment();
+            log.info("客户端已断开，报表查询已取消, reportId: {}", report.getId());
+            return new QueryCancelledException("报表查询已取消", e);
+        }
+        log.error("报表执行失败, reportId: {}", report.getId(), e);
+        return new BusinessException("QUERY_FAILED", "报表查询执行失败", e);
+    }
+
+    private void record(ReportQuery query, LocalDateTime executeTime, boolean success, String errorMessage,
+                        long durationMs, long rowCount) {
+        executionLogWriter.append(new ExecutionLogEntry(query.getUserId(), query.getReport().getId(),
+                paramsJson(query), executeTime, success, errorMessage, durationMs, rowCount));
+    }
+
+    private String paramsJson(ReportQuery query) {
+        if (query.getParams().isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(query.getParams());
+        } catch (JsonProcessingException e) {
+            log.warn("执行参数序列化失败, reportId: {}", query.getReport().getId(), e);
+            return null;
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    @Override
+    public void destroy() {
+        watchdog.shutdownNow();
+    }
+}
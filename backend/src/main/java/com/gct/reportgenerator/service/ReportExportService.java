@@ -0,0 +1,325 @@
+package com.gct.reportgenerator.service;
+
+import com.gct.reportgenerator.cache.ExportArtifactCache;
+import com.gct.reportgenerator.cache.ExportArtifactKey;
+import com.gct.reportgenerator.cache.ReportDefinitionCache;
+import com.gct.reportgenerator.cache.ReportResultCache;
+import com.gct.reportgenerator.cache.ReportResultKey;
+import com.gct.reportgenerator.config.ExportProperties;
+import com.gct.reportgenerator.entity.Report;
+import com.gct.reportgenerator.entity.User;
+import com.gct.reportgenerator.exception.ResourceNotFoundException;
+import com.gct.reportgenerator.execution.QueryCancellation;
+import com.gct.reportgenerator.execution.ReportDefinition;
+import com.gct.reportgenerator.execution.ReportQuery;
+import com.gct.reportgenerator.execution.ReportResult;
+import com.gct.reportgenerator.export.ByteBufferPool;
+import com.gct.reportgenerator.export.DelimitedWriter;
+import com.gct.reportgenerator.export.ExportColumn;
+import com.gct.reportgenerator.export.ExportFormat;
+import com.gct.reportgenerator.export.StreamingXlsxWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.jackson.JacksonProperties;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 报表导出服务
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportExportService {
+
+    private final ReportDefinitionCache reportDefinitionCache;
+    private final ReportResultCache reportResultCache;
+    private final ExportArtifactCache exportArtifactCache;
+    private final ReportExecutionService reportExecutionService;
+    private final ExportProperties exportProperties;
+    private final JacksonProperties jacksonProperties;
+    private final ByteBufferPool byteBufferPool;
+
+    /**
+     * 获取待导出的报表定义
+     * 
+     * @param reportId 报表ID
+     * @param role 用户角色
+     * @return 报表定义
+     * @throws ResourceNotFoundException 报表不存在或无权访问时抛出
+     */
+    public ReportDefinition getDefinition(Long reportId, User.UserRole role) {
+        return reportDefinitionCache.findPermitted(reportId, role)
+                .orElseThrow(() -> new ResourceNotFoundException("报表不存在"));
+    }
+
+    /**
+     * 导出报表
+     * 
+     * 相同报表版本、参数和格式的导出文件在导出文件缓存中时，直接从文件传输到输出通道，不再执行查询和渲染；
+     * 否则渲染导出文件，同时写入输出通道和缓存的临时文件，渲染成功后加入缓存。
+     * 渲染时通过报表执行服务的仅向前游标逐行读取，不在内存中缓存结果集，导出行数不受堆内存限制，
+     * 使用独立的超时时间；完整结果已在结果缓存中时直接写出缓存的列式结果。
+     * 
+     * @param definition 报表定义
+     * @param params 规范化后的报表参数
+     * @param userId 导出用户ID
+     * @param role 导出用户角色
+     * @param format 导出格式
+     * @param gzip 是否gzip压缩（仅CSV/TSV）
+     * @param cancellation 取消句柄
+     * @param target 输出通道（不会被关闭）
+     * @param progress 进度回调（已写出的行数）
+     * @return 导出行数
+     * @throws IOException 写出失败
+     */
+    public long export(ReportDefinition definition, Map<String, Object> params, Long userId, User.UserRole role,
+                       ExportFormat format, boolean gzip, QueryCancellation cancellation, WritableByteChannel target,
+                       LongConsumer progress) throws IOException {
+        ExportArtifactKey key = ExportArtifactKey.of(definition, params, format, gzip && format.delimited());
+        Optional<ExportArtifactCache.CachedArtifact> cached = exportArtifactCache.open(key);
+        if (cached.isPresent()) {
+            try (FileChannel file = cached.get().channel()) {
+                transfer(file, cached.get().size(), target);
+            }
+            progress.accept(cached.get().rows());
+            log.info("报表导出完成（缓存文件）, reportId: {}, 格式: {}, 行数: {}",
+                    definition.reportId(), format, cached.get().rows());
+            return cached.get().rows();
+        }
+
+        Path rendered = exportArtifactCache.newTempFile(key);
+        long rows;
+        try (FileChannel file = FileChannel.open(rendered, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            WritableByteChannel tee = new TeeChannel(file, target);
+            if (format.delimited()) {
+                rows = exportDelimited(definition, params, userId, role, format, key.gzip(), cancellation, tee, progress);
+            } else {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(tee));
+                rows = exportXlsx(definition, params, userId, role, cancellation, out, progress);
+                out.flush();
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(rendered);
+            throw e;
+        }
+        exportArtifactCache.put(key, definition.report(), rendered, rows);
+        return rows;
+    }
+
+    /**
+     * 流式导出报表为XLSX
+     */
+    private long exportXlsx(ReportDefinition definition, Map<String, Object> params, Long userId,
+                            User.UserRole role, QueryCancellation cancellation, OutputStream out, LongConsumer progress)
+            throws IOException {
+        Report report = definition.report();
+        List<ExportColumn> columns = definition.columns().stream()
+                .map(ExportColumn::from)
+                .toList();
+        StreamingXlsxWriter writer = new StreamingXlsxWriter(exportProperties.getXlsxWindowSize(), resolveZoneId(),
+                progress);
+
+        Optional<ReportResult> cached = reportResultCache.get(ReportResultKey.of(definition, params))
+                .filter(result -> !result.truncated());
+        if (cached.isPresent()) {
+            // 在线查询已缓存完整结果时直接写出，不再执行SQL
+            long rows = writer.write(cached.get(), columns, report.getName(), out);
+            log.info("报表导出完成（缓存结果）, reportId: {}, 行数: {}", report.getId(), rows);
+            return rows;
+        }
+
+        ReportQuery query = ReportQuery.builder()
+                .report(report)
+                .plan(definition.requirePlan())
+                .params(params)
+                .userId(userId)
+                .role(role)
+                .fetchSize(exportProperties.getFetchSize())
+                .timeout(exportProperties.getTimeout())
+                .cancellation(cancellation)
+                .build();
+        long rows = reportExecutionService.execute(query, rs -> writer.write(rs, columns, report.getName(), out));
+        log.info("报表导出完成, reportId: {}, 行数: {}", report.getId(), rows);
+        return rows;
+    }
+
+    /**
+     * 流式导出报表为CSV/TSV
+     * 
+     * 不经过POI：列格式化器把每行追加到复用的缓冲区，编码后整块写入通道。需要gzip时在写入通道前压缩。
+     */
+    private long exportDelimited(ReportDefinition definition, Map<String, Object> params, Long userId,
+                                 User.UserRole role, ExportFormat format, boolean gzip, QueryCancellation cancellation,
+                                 WritableByteChannel channel, LongConsumer progress) throws IOException {
+        if (!gzip) {
+            return exportDelimited(definition, params, userId, role, format, cancellation, channel, progress);
+        }
+        // gzip流写入不关闭调用方通道的包装流，关闭gzip流时释放Deflater的本地内存
+        UnclosedOutputStream target = new UnclosedOutputStream(Channels.newOutputStream(channel));
+        GZIPOutputStream compressed = new GZIPOutputStream(target, byteBufferPool.bufferSize());
+        boolean completed = false;
+        try {
+            long rows = exportDelimited(definition, params, userId, role, format, cancellation,
+                    Channels.newChannel(compressed), progress);
+            completed = true;
+            return rows;
+        } finally {
+            // 导出失败时丢弃剩余的压缩数据和trailer，不完整的导出不会成为合法的gzip文件
+            target.discarding = !completed;
+            compressed.close();
+        }
+    }
+
+    private long exportDelimited(ReportDefinition definition, Map<String, Object> params, Long userId,
+                                 User.UserRole role, ExportFormat format, QueryCancellation cancellation,
+                                 WritableByteChannel channel, LongConsumer progress) throws IOException {
+        Report report = definition.report();
+        List<ExportColumn> columns = definition.columns().stream()
+                .map(ExportColumn::from)
+                .toList();
+        DelimitedWriter writer = new DelimitedWriter(format, byteBufferPool,
+                exportProperties.getDelimited().isBom(), progress);
+
+        Optional<ReportResult> cached = reportResultCache.get(ReportResultKey.of(definition, params))
+                .filter(result -> !result.truncated());
+        if (cached.isPresent()) {
+            long rows = writer.write(cached.get(), columns, definition.formatter(), channel);
+            log.info("报表导出完成（缓存结果）, reportId: {}, 格式: {}, 行数: {}", report.getId(), format, rows);
+            return rows;
+        }
+
+        ReportQuery query = ReportQuery.builder()
+                .report(report)
+                .plan(definition.requirePlan())
+                .params(params)
+                .userId(userId)
+                .role(role)
+                .fetchSize(exportProperties.getFetchSize())
+                .timeout(exportProperties.getTimeout())
+                .cancellation(cancellation)
+                .build();
+        long rows = reportExecutionService.execute(query,
+                rs -> writer.write(rs, columns, definition.formatter(), channel));
+        log.info("报表导出完成, reportId: {}, 格式: {}, 行数: {}", report.getId(), format, rows);
+        return rows;
+    }
+
+    /**
+     * 用transferTo把缓存文件传输到输出通道：目标为文件或套接字通道时由内核直接复制（sendfile/copy_file_range），
+     * 其他通道（如Servlet输出流）按块映射文件后写出
+     */
+    private static void transfer(FileChannel file, long size, WritableByteChannel target) throws IOException {
+        long position = 0;
+        while (position < size) {
+            long transferred = file.transferTo(position, size - position, target);
+            if (transferred <= 0) {
+                throw new EOFException("导出缓存文件被截断");
+            }
+            position += transferred;
+        }
+    }
+
+    private ZoneId resolveZoneId() {
+        return jacksonProperties.getTimeZone() != null
+                ? jacksonProperties.getTimeZone().toZoneId()
+                : ZoneId.systemDefault();
+    }
+
+    /**
+     * 同时写入缓存临时文件和输出通道
+     */
+    private static final class TeeChannel implements WritableByteChannel {
+
+        private final FileChannel file;
+        private final WritableByteChannel target;
+
+        TeeChannel(FileChannel file, WritableByteChannel target) {
+            this.file = file;
+            this.target = target;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            int start = src.position();
+            while (src.hasRemaining()) {
+                file.write(src);
+            }
+            int end = src.position();
+            src.position(start);
+            while (src.hasRemaining()) {
+                target.write(src);
+            }
+            return end - start;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return file.isOpen() && target.isOpen();
+        }
+
+        @Override
+        public void close() {
+            // 两个通道均由调用方管理
+        }
+    }
+
+    /**
+     * 关闭时只刷新、不关闭底层流的包装流；discarding为true时丢弃之后的所有写入
+     */
+    private static final class UnclosedOutputStream extends FilterOutputStream {
+
+        private boolean discarding;
+
+        UnclosedOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!discarding) {
+                out.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (!discarding) {
+                out.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!discarding) {
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
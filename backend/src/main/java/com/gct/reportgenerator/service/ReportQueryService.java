@@ -0,0 +1,286 @@
+package com.gct.reportgenerator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gct.reportgenerator.cache.ReportDefinitionCache;
+import com.gct.reportgenerator.cache.ReportExecutionCoalescer;
+import com.gct.reportgenerator.cache.ReportResultCache;
+import com.gct.reportgenerator.cache.ReportResultKey;
+import com.gct.reportgenerator.config.ExecutionProperties;
+import com.gct.reportgenerator.dto.ReportPage;
+import com.gct.reportgenerator.dto.ReportPageRequest;
+import com.gct.reportgenerator.dto.ReportSummary;
+import com.gct.reportgenerator.entity.User;
+import com.gct.reportgenerator.exception.BusinessException;
+import com.gct.reportgenerator.exception.ResourceNotFoundException;
+import com.gct.reportgenerator.execution.KeysetPlan;
+import com.gct.reportgenerator.execution.PageToken;
+import com.gct.reportgenerator.execution.QueryCancellation;
+import com.gct.reportgenerator.execution.ReportDefinition;
+import com.gct.reportgenerator.execution.ReportPlan;
+import com.gct.reportgenerator.execution.ReportQuery;
+import com.gct.reportgenerator.execution.ReportResult;
+import com.gct.reportgenerator.export.StreamingJsonWriter;
+import com.gct.reportgenerator.format.FormattedResult;
+import com.gct.reportgenerator.security.AuthenticatedUser;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 报表在线查询服务
+ *
+ * 报表目录和执行都读取内存中的报表定义快照；查询结果经过缓存：相同报表版本、相同规范化参数的重复查询直接返回缓存结果，不访问数据库。
+ * 缓存未命中时，同时到达的相同查询由 {@link ReportExecutionCoalescer} 合并为一次执行。
+ * 声明了分页键的报表还可以keyset分页查询，任意一页的代价与第一页相同；
+ * 流式查询边读游标边以NDJSON写出，不在内存中保留结果。
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportQueryService {
+
+    private final ReportDefinitionCache reportDefinitionCache;
+    private final ReportResultCache reportResultCache;
+    private final ReportExecutionCoalescer reportExecutionCoalescer;
+    private final ReportExecutionService reportExecutionService;
+    private final ExecutionProperties executionProperties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 当前用户可见的报表目录（只读内存中的报表定义快照）
+     *
+     * @param role 用户角色；管理员可见全部报表，其他角色只能看到授权给该角色的报表
+     * @return 报表目录
+     */
+    public List<ReportSummary> listReports(User.UserRole role) {
+        return reportDefinitionCache.list(role).stream()
+                .map(ReportSummary::from)
+                .toList();
+    }
+
+    /**
+     * 执行报表查询
+     *
+     * @param reportId 报表ID
+     * @param params   请求参数
+     * @param user     执行用户
+     * @return 查询结果（至多 gct.execution.max-rows 行）
+     * @throws ResourceNotFoundException 报表不存在或用户角色无权访问（不暴露报表是否存在）
+     */
+    public ReportResult execute(Long reportId, Map<String, ?> params, AuthenticatedUser user) {
+        return execute(findDefinition(reportId, user), params, user);
+    }
+
+    /**
+     * 执行报表查询并按列配置格式化（网格展示）
+     *
+     * @param reportId 报表ID
+     * @param params   请求参数
+     * @param user     执行用户
+     * @return 格式化后的查询结果
+     * @throws ResourceNotFoundException 报表不存在或用户角色无权访问
+     */
+    public FormattedResult executeFormatted(Long reportId, Map<String, ?> params, AuthenticatedUser user) {
+        ReportDefinition definition = findDefinition(reportId, user);
+        return FormattedResult.of(execute(definition, params, user), definition.formatter());
+    }
+
+    /**
+     * 按报表声明的分页键分页执行报表查询（keyset分页）
+     *
+     * 每页只读取排在上一页最后一行之后的pageSize + 1行，不使用OFFSET。总行数只在第一页按需统计一次
+     * （结果缓存中有完整结果时直接使用其行数），随续页令牌传递。分页结果不进入结果缓存。
+     *
+     * @param reportId 报表ID
+     * @param request  分页请求
+     * @param user     执行用户
+     * @return 本页数据和续页令牌
+     * @throws ResourceNotFoundException 报表不存在或用户角色无权访问
+     * @throws BusinessException         报表未声明分页键、每页行数超出范围、续页令牌无效或已过期
+     */
+    public ReportPage executePage(Long reportId, ReportPageRequest request, AuthenticatedUser user) {
+        ReportDefinition definition = findDefinition(reportId, user);
+        ReportPlan plan = definition.requirePlan();
+        KeysetPlan keyset = plan.keyset();
+        if (keyset == null) {
+            throw new BusinessException("PAGINATION_UNSUPPORTED", "报表未配置分页键，不支持分页查询");
+        }
+        int pageSize = resolvePageSize(request.getPageSize());
+        Map<String, Object> normalized = plan.normalize(request.getParams());
+        int paramsHash = normalized.hashCode();
+
+        PageToken token = null;
+        if (request.getPageToken() != null && !request.getPageToken().isEmpty()) {
+            token = PageToken.decode(request.getPageToken());
+            if (token.reportId() != reportId || token.paramsHash() != paramsHash) {
+                throw new BusinessException("PAGE_TOKEN_INVALID", "续页令牌与报表或参数不匹配");
+            }
+            if (token.fingerprint() != keyset.fingerprint()) {
+                throw new BusinessException("PAGE_TOKEN_EXPIRED", "报表已更新，请从第一页重新查询");
+            }
+        }
+
+        Long total = token != null ? token.total() : null;
+        if (token == null && request.isIncludeTotal()) {
+            total = countRows(definition, normalized, keyset, user);
+        }
+
+        ReportQuery query = ReportQuery.builder()
+                .report(definition.report())
+                .plan(plan)
+                .keyset(token != null ? keyset.nextPage(token.after(), pageSize) : keyset.firstPage(pageSize))
+                .params(normalized)
+                .userId(user.userId())
+                .role(user.role())
+                .fetchSize(Math.min(pageSize + 1, executionProperties.getFetchSize()))
+                .build();
+        ReportResult[] page = new ReportResult[1];
+        reportExecutionService.execute(query, rs -> {
+            page[0] = ReportResult.read(rs, pageSize);
+            return page[0].rowCount();
+        });
+
+        ReportResult result = page[0];
+        String nextPageToken = null;
+        if (result.truncated()) {
+            Object[] last = keyset.keyOf(result, result.rowCount() - 1);
+            nextPageToken = new PageToken(reportId, keyset.fingerprint(), paramsHash, last, total).encode();
+        }
+        return new ReportPage(new ReportResult(result.columns(), result.rowCount(), false), nextPageToken, total);
+    }
+
+    private int resolvePageSize(Integer requested) {
+        if (requested == null) {
+            return executionProperties.getPageSize();
+        }
+        if (requested < 1 || requested > executionProperties.getMaxPageSize()) {
+            throw new BusinessException("PAGE_SIZE_INVALID",
+                    "每页行数应在1到" + executionProperties.getMaxPageSize() + "之间");
+        }
+        return requested;
+    }
+
+    private long countRows(ReportDefinition definition, Map<String, Object> normalized, KeysetPlan keyset,
+                           AuthenticatedUser user) {
+        Optional<ReportResult> cached = reportResultCache.get(ReportResultKey.of(definition, normalized));
+        if (cached.isPresent() && !cached.get().truncated()) {
+            return cached.get().rowCount();
+        }
+        ReportQuery query = ReportQuery.builder()
+                .report(definition.report())
+                .plan(definition.requirePlan())
+                .keyset(keyset.count())
+                .params(normalized)
+                .userId(user.userId())
+                .role(user.role())
+                .build();
+        long[] total = new long[1];
+        reportExecutionService.execute(query, rs -> {
+            total[0] = rs.next() ? rs.getLong(1) : 0;
+            return 1;
+        });
+        return total[0];
+    }
+
+    /**
+     * 获取当前用户可执行的报表定义（流式查询在写出响应之前校验报表和参数）
+     *
+     * @param reportId 报表ID
+     * @param user     当前用户
+     * @return 报表定义
+     * @throws ResourceNotFoundException 报表不存在或用户角色无权访问
+     */
+    public ReportDefinition getDefinition(Long reportId, AuthenticatedUser user) {
+        return findDefinition(reportId, user);
+    }
+
+    /**
+     * 流式执行报表查询，边读游标边写出
+     *
+     * 不限制行数，每抓取一批（gct.execution.fetch-size行）刷新一次输出，内存占用与行数无关。
+     * 客户端断开时写出失败，查询随即被取消。相同报表版本和参数的完整结果已在结果缓存中时直接写出缓存结果。
+     *
+     * @param definition   报表定义
+     * @param params       规范化后的报表参数
+     * @param user         执行用户
+     * @param format       输出格式
+     * @param cancellation 取消句柄
+     * @param out          输出流
+     * @return 写出的行数
+     * @throws IOException 写出缓存结果失败
+     */
+    public long stream(ReportDefinition definition, Map<String, Object> params, AuthenticatedUser user,
+                       StreamingJsonWriter.Format format, QueryCancellation cancellation, OutputStream out)
+            throws IOException {
+        int batchSize = executionProperties.getFetchSize();
+        StreamingJsonWriter writer = new StreamingJsonWriter(objectMapper, format, batchSize);
+        Optional<ReportResult> cached = reportResultCache.get(ReportResultKey.of(definition, params))
+                .filter(result -> !result.truncated());
+        if (cached.isPresent()) {
+            return writer.write(cached.get(), out);
+        }
+
+        ReportQuery query = ReportQuery.builder()
+                .report(definition.report())
+                .plan(definition.requirePlan())
+                .params(params)
+                .userId(user.userId())
+                .role(user.role())
+                .fetchSize(batchSize)
+                .timeout(executionProperties.getStreamTimeout())
+                .cancellation(cancellation)
+                .build();
+        return reportExecutionService.execute(query, rs -> writer.write(rs, out));
+    }
+
+    private ReportDefinition findDefinition(Long reportId, AuthenticatedUser user) {
+        return reportDefinitionCache.findPermitted(reportId, user.role())
+                .orElseThrow(() -> new ResourceNotFoundException("报表不存在: " + reportId));
+    }
+
+    private ReportResult execute(ReportDefinition definition, Map<String, ?> params, AuthenticatedUser user) {
+        Long reportId = definition.reportId();
+        Map<String, Object> normalized = definition.requirePlan().normalize(params);
+        ReportResultKey key = ReportResultKey.of(definition, normalized);
+
+        Optional<ReportResult> cached = reportResultCache.get(key);
+        if (cached.isPresent()) {
+            log.debug("报表结果缓存命中, reportId: {}", reportId);
+            return cached.get();
+        }
+
+        Duration maxWait = executionProperties.queryTimeoutOf(definition.report())
+                .plus(executionProperties.getAdmission().getQueueTimeout());
+        return reportExecutionCoalescer.execute(key, maxWait, () -> reportResultCache.get(key)
+                .orElseGet(() -> load(definition, key, user)));
+    }
+
+    private ReportResult load(ReportDefinition definition, ReportResultKey key, AuthenticatedUser user) {
+        ReportQuery query = ReportQuery.builder()
+                .report(definition.report())
+                .plan(definition.requirePlan())
+                .params(key.params())
+                .userId(user.userId())
+                .role(user.role())
+                .build();
+        int maxRows = executionProperties.getMaxRows();
+        ReportResult[] result = new ReportResult[1];
+        reportExecutionService.execute(query, rs -> {
+            result[0] = ReportResult.read(rs, maxRows);
+            return result[0].rowCount();
+        });
+        // 先放入缓存再结束合并，之后到达的相同查询直接命中缓存
+        reportResultCache.put(key, definition.report(), result[0]);
+        return result[0];
+    }
+}
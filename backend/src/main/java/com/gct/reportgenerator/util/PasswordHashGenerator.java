@@ -1,18 +1,28 @@
 package com.gct.reportgenerator.util;
 
+import com.gct.reportgenerator.security.PasswordCostCalibrator;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.time.Duration;
+
 /**
  * Utility class to generate BCrypt hashed passwords
  * Used for creating initial test data
  * 
+ * Usage: PasswordHashGenerator [strength]
+ * Without a strength argument the cost is calibrated on this machine
+ * against a 50ms verification target, same as the backend does at startup.
+ * 
  * @author GCT Team
  * @since 1.0.0
  */
 public class PasswordHashGenerator {
 
     public static void main(String[] args) {
-        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+        int strength = args.length > 0
+                ? Integer.parseInt(args[0])
+                : PasswordCostCalibrator.calibrate(Duration.ofMillis(50), 10, 14);
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
         
         // Generate hashed passwords for test accounts
         String adminPassword = encoder.encode("admin123");
@@ -21,6 +31,7 @@ public class PasswordHashGenerator {
         
         System.out.println("-- BCrypt hashed passwords for test accounts");
         System.out.println("-- Generated at: " + java.time.LocalDateTime.now());
+        System.out.println("-- Strength: " + strength);
         System.out.println();
         System.out.println("Admin password (admin123):");
         System.out.println(adminPassword);
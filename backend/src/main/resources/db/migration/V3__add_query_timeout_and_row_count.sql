@@ -0,0 +1,8 @@
+-- V3__add_query_timeout_and_row_count.sql
+-- 报表级查询超时和执行日志行数
+
+-- 报表查询超时（秒），为空时使用全局默认值 gct.execution.query-timeout
+ALTER TABLE reports ADD COLUMN query_timeout_seconds INTEGER;
+
+-- 本次执行返回的行数
+ALTER TABLE execution_logs ADD COLUMN row_count INTEGER;
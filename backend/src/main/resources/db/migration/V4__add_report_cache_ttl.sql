@@ -0,0 +1,5 @@
+-- V4__add_report_cache_ttl.sql
+-- 报表级结果缓存有效期
+
+-- 结果缓存有效期（秒），为空时使用全局默认值 gct.report-cache.result-default-ttl，0表示不缓存
+ALTER TABLE reports ADD COLUMN cache_ttl_seconds INTEGER;
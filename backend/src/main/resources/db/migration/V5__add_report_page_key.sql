@@ -0,0 +1,6 @@
+-- V5__add_report_page_key.sql
+-- 报表分页键（keyset分页）
+
+-- 分页键：查询结果中唯一且非空的排序列，逗号分隔组成复合键，可加ASC/DESC（如 "order_date DESC, id DESC"）；
+-- 为空时报表不支持分页查询。排序列应有索引，翻到任意一页的代价与第一页相同
+ALTER TABLE reports ADD COLUMN page_key VARCHAR(200);
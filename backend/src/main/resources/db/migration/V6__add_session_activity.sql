@@ -0,0 +1,13 @@
+-- V6__add_session_activity.sql
+-- 会话最后访问时间（空闲超时在节点重启和多节点之间保持一致）
+
+-- 各节点定时批量写入，节点首次见到某个会话时读取；时间均为epoch毫秒。
+-- expires_at为Token过期时间，Token过期后的行随下一次批量写入删除
+CREATE TABLE session_activity (
+    token_id INTEGER PRIMARY KEY,
+    last_access_at INTEGER NOT NULL,
+    expires_at INTEGER NOT NULL,
+    idle_expired BOOLEAN NOT NULL DEFAULT 0
+);
+
+CREATE INDEX idx_session_activity_expires_at ON session_activity(expires_at);
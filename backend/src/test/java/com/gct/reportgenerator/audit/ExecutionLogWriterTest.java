@@ -0,0 +1,134 @@
+package com.gct.reportgenerator.audit;
+
+import com.gct.reportgenerator.config.AuditProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ExecutionLogWriter单元测试
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("执行日志异步写入单元测试")
+class ExecutionLogWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private AuditProperties auditProperties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:sqlite:" + tempDir.resolve("audit.db"), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE execution_logs (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    user_id INTEGER NOT NULL,
+                    report_id INTEGER NOT NULL,
+                    params_json TEXT,
+                    execute_time TIMESTAMP NOT NULL,
+                    success BOOLEAN NOT NULL DEFAULT 1,
+                    error_message TEXT,
+                    execution_duration_ms INTEGER,
+                    row_count INTEGER,
+                    created_at TIMESTAMP NOT NULL,
+                    updated_at TIMESTAMP NOT NULL
+                )""");
+        auditProperties = new AuditProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    @DisplayName("停止时写完缓冲区中的全部日志")
+    void stop_FlushesPendingEntries() {
+        // Given
+        auditProperties.setBatchSize(50);
+        auditProperties.setFlushInterval(Duration.ofMinutes(1));
+        ExecutionLogWriter writer = newWriter();
+        writer.start();
+
+        // When
+        for (int i = 0; i < 120; i++) {
+            assertTrue(writer.append(entry(i)));
+        }
+        writer.stop();
+
+        // Then
+        assertEquals(120, count());
+        assertEquals(120.0, meterRegistry.get("gct.audit.execution-log.written").counter().count());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM execution_logs WHERE report_id = 7 AND success = 0 AND error_message = 'boom'",
+                Integer.class));
+    }
+
+    @Test
+    @DisplayName("未攒满一批时按时间间隔写入")
+    void flushInterval_WritesPartialBatch() throws Exception {
+        // Given
+        auditProperties.setFlushInterval(Duration.ofMillis(50));
+        ExecutionLogWriter writer = newWriter();
+        writer.start();
+
+        // When
+        writer.append(entry(1));
+        writer.append(entry(2));
+
+        // Then
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (count() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(2, count());
+        writer.stop();
+    }
+
+    @Test
+    @DisplayName("缓冲区已满或未启动时丢弃并计数")
+    void append_DropsWhenFull() {
+        // Given
+        auditProperties.setQueueCapacity(2);
+        ExecutionLogWriter writer = newWriter();
+
+        // When & Then
+        assertFalse(writer.append(entry(1)));
+        assertEquals(1.0, meterRegistry.get("gct.audit.execution-log.dropped").counter().count());
+    }
+
+    private ExecutionLogWriter newWriter() {
+        return new ExecutionLogWriter(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                auditProperties, meterRegistry);
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM execution_logs", Integer.class);
+    }
+
+    private static ExecutionLogEntry entry(int i) {
+        boolean failed = i == 7;
+        return new ExecutionLogEntry(1L, (long) i, "{}", LocalDateTime.now(), !failed,
+                failed ? "boom" : null, 15L, 3L);
+    }
+}
@@ -0,0 +1,243 @@
+package com.gct.reportgenerator.cache;
+
+import com.gct.reportgenerator.config.ReportCacheProperties;
+import com.gct.reportgenerator.entity.Report;
+import com.gct.reportgenerator.event.ReportChangedEvent;
+import com.gct.reportgenerator.export.ExportFormat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ExportArtifactCache单元测试
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("导出文件缓存单元测试")
+class ExportArtifactCacheTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    private final Report report = Report.builder().id(1L).name("销售汇总").build();
+    private final ManualClock clock = new ManualClock();
+    private ReportCacheProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ExportArtifactCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReportCacheProperties();
+        properties.setExportDirectory(directory);
+        properties.setExportDiskBudget(DataSize.ofBytes(100));
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ExportArtifactCache(properties, meterRegistry, clock);
+    }
+
+    @Test
+    @DisplayName("相同报表版本、参数和格式命中同一文件，参数类型或格式不同时不命中")
+    void open_HitsSameKey() throws Exception {
+        // Given
+        ExportArtifactKey key = key(1L, Map.of("day", LocalDate.of(2024, 2, 29)), ExportFormat.CSV);
+        cache.put(key, report, render(key, "a,b\r\n"), 1);
+
+        // When
+        Optional<ExportArtifactCache.CachedArtifact> hit =
+                cache.open(key(1L, Map.of("day", LocalDate.of(2024, 2, 29)), ExportFormat.CSV));
+
+        // Then
+        assertTrue(hit.isPresent());
+        assertEquals(1, hit.get().rows());
+        assertEquals("a,b\r\n", read(hit.get()));
+        assertTrue(cache.open(key(1L, Map.of("day", "2024-02-29"), ExportFormat.CSV)).isEmpty());
+        assertTrue(cache.open(key(1L, Map.of("day", LocalDate.of(2024, 2, 29)), ExportFormat.TSV)).isEmpty());
+        assertEquals(1, meterRegistry.get("gct.export.artifact-cache.requests").tag("result", "hit")
+                .counter().count());
+        assertEquals(2, meterRegistry.get("gct.export.artifact-cache.requests").tag("result", "miss")
+                .counter().count());
+        try (var files = Files.list(directory)) {
+            assertEquals(List.of(directory.resolve(key.digest() + ".csv")), files.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("超出磁盘预算时淘汰最近最少使用的文件")
+    void put_EvictsLeastRecentlyUsed() throws Exception {
+        // Given
+        ExportArtifactKey first = key(1L, Map.of("n", 1L), ExportFormat.CSV);
+        ExportArtifactKey second = key(1L, Map.of("n", 2L), ExportFormat.CSV);
+        ExportArtifactKey third = key(1L, Map.of("n", 3L), ExportFormat.CSV);
+        cache.put(first, report, render(first, "x".repeat(40)), 1);
+        cache.put(second, report, render(second, "y".repeat(40)), 1);
+        // 访问first后second成为最久未使用
+        cache.open(first).orElseThrow().channel().close();
+
+        // When
+        cache.put(third, report, render(third, "z".repeat(40)), 1);
+
+        // Then
+        assertTrue(cache.open(second).isEmpty());
+        assertTrue(cache.open(first).isPresent());
+        assertTrue(cache.open(third).isPresent());
+        assertEquals(80, cache.totalBytes());
+        assertFalse(Files.exists(directory.resolve(second.digest() + ".csv")));
+        assertEquals(1, meterRegistry.get("gct.export.artifact-cache.evictions").counter().count());
+    }
+
+    @Test
+    @DisplayName("已打开的文件被淘汰后仍可读完")
+    void open_SurvivesEviction() throws Exception {
+        // Given
+        ExportArtifactKey first = key(1L, Map.of("n", 1L), ExportFormat.CSV);
+        ExportArtifactKey second = key(1L, Map.of("n", 2L), ExportFormat.CSV);
+        cache.put(first, report, render(first, "x".repeat(60)), 1);
+        ExportArtifactCache.CachedArtifact opened = cache.open(first).orElseThrow();
+
+        // When
+        cache.put(second, report, render(second, "y".repeat(60)), 1);
+
+        // Then
+        assertTrue(cache.open(first).isEmpty());
+        assertEquals("x".repeat(60), read(opened));
+    }
+
+    @Test
+    @DisplayName("超过报表缓存有效期后不再命中，有效期为0的报表不缓存")
+    void open_ExpiresAfterTtl() throws Exception {
+        // Given
+        ExportArtifactKey key = key(1L, Map.of(), ExportFormat.XLSX);
+        Report shortLived = Report.builder().id(1L).cacheTtlSeconds(60).build();
+        cache.put(key, shortLived, render(key, "xlsx"), 1);
+        ExportArtifactKey uncachedKey = key(2L, Map.of(), ExportFormat.XLSX);
+        Path uncached = render(uncachedKey, "xlsx");
+
+        // When
+        cache.put(uncachedKey, Report.builder().id(2L).cacheTtlSeconds(0).build(), uncached, 1);
+        clock.advance(59_000);
+        boolean hitBeforeExpiry = cache.open(key).map(this::close).isPresent();
+        clock.advance(1_000);
+
+        // Then
+        assertTrue(hitBeforeExpiry);
+        assertTrue(cache.open(key).isEmpty());
+        assertTrue(cache.open(uncachedKey).isEmpty());
+        assertFalse(Files.exists(uncached));
+        assertEquals(0, cache.totalBytes());
+    }
+
+    @Test
+    @DisplayName("报表变更后立即失效，文件由定时清理删除")
+    void onReportChanged_InvalidatesReport() throws Exception {
+        // Given
+        ExportArtifactKey changed = key(1L, Map.of(), ExportFormat.CSV);
+        ExportArtifactKey other = key(2L, Map.of(), ExportFormat.CSV);
+        cache.put(changed, report, render(changed, "a"), 1);
+        cache.put(other, report, render(other, "b"), 1);
+        Path file = directory.resolve(changed.digest() + ".csv");
+
+        // When
+        cache.onReportChanged(new ReportChangedEvent(1L));
+        boolean hit = cache.open(changed).isPresent();
+        boolean fileKept = Files.exists(file);
+        cache.cleanUp();
+
+        // Then
+        assertFalse(hit);
+        assertTrue(fileKept);
+        assertFalse(Files.exists(file));
+        assertTrue(cache.open(other).map(this::close).isPresent());
+    }
+
+    @Test
+    @DisplayName("启动时清空缓存目录中上次运行遗留的文件")
+    void constructor_ClearsDirectory() throws Exception {
+        // Given
+        Files.writeString(directory.resolve("leftover.csv"), "old");
+
+        // When
+        new ExportArtifactCache(properties, new SimpleMeterRegistry(), clock);
+
+        // Then
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private Path render(ExportArtifactKey key, String content) throws Exception {
+        Path file = cache.newTempFile(key);
+        Files.writeString(file, content);
+        return file;
+    }
+
+    private static ExportArtifactKey key(Long reportId, Map<String, Object> params, ExportFormat format) {
+        return new ExportArtifactKey(reportId, UPDATED_AT, 1L, new TreeMap<>(params), format, false);
+    }
+
+    private static String read(ExportArtifactCache.CachedArtifact artifact) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (FileChannel channel = artifact.channel()) {
+            channel.transferTo(0, artifact.size(), Channels.newChannel(out));
+        }
+        return out.toString();
+    }
+
+    private ExportArtifactCache.CachedArtifact close(ExportArtifactCache.CachedArtifact artifact) {
+        try {
+            artifact.channel().close();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return artifact;
+    }
+
+    /**
+     * 可手动推进的时钟
+     */
+    private static final class ManualClock extends Clock {
+
+        private long millis = 1_700_000_000_000L;
+
+        void advance(long deltaMillis) {
+            millis += deltaMillis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
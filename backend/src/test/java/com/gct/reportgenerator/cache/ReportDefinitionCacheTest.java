@@ -0,0 +1,202 @@
+package com.gct.reportgenerator.cache;
+
+import com.gct.reportgenerator.config.ReportCacheProperties;
+import com.gct.reportgenerator.entity.Report;
+import com.gct.reportgenerator.entity.User;
+import com.gct.reportgenerator.event.ReportChangedEvent;
+import com.gct.reportgenerator.execution.ReportDefinition;
+import com.gct.reportgenerator.repository.ReportRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * ReportDefinitionCache单元测试
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("报表目录缓存单元测试")
+class ReportDefinitionCacheTest {
+
+    private static final LocalDateTime V1 = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime V2 = LocalDateTime.of(2024, 1, 2, 0, 0);
+
+    private ReportMetadataLoader loader;
+    private ReportRepository reportRepository;
+    private ReportDefinitionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        loader = mock(ReportMetadataLoader.class);
+        reportRepository = mock(ReportRepository.class);
+        cache = new ReportDefinitionCache(loader, reportRepository, new ReportCacheProperties(),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("首次访问时一次加载全部报表，之后只读内存")
+    void find_LoadsCatalogOnce() {
+        // Given
+        when(loader.loadAll()).thenReturn(catalog(definition(1L, V1), definition(2L, V1)));
+
+        // When
+        ReportDefinition first = cache.find(1L).orElseThrow();
+        ReportDefinition second = cache.find(2L).orElseThrow();
+        List<ReportDefinition> list = cache.list();
+
+        // Then
+        assertEquals(1L, first.reportId());
+        assertEquals(2L, second.reportId());
+        assertEquals(List.of(1L, 2L), list.stream().map(ReportDefinition::reportId).toList());
+        verify(loader, times(1)).loadAll();
+        verify(loader, never()).load(any());
+    }
+
+    @Test
+    @DisplayName("未访问前定时刷新不查询数据库")
+    void refresh_SkippedBeforeLoad() {
+        // When
+        cache.refresh();
+
+        // Then
+        verifyNoInteractions(loader, reportRepository);
+    }
+
+    @Test
+    @DisplayName("报表变更后标记过期，下次访问时重新加载")
+    void onReportChanged_ReloadsOnNextAccess() {
+        // Given
+        when(loader.loadAll()).thenReturn(catalog(definition(1L, V1)));
+        cache.find(1L);
+        when(loader.load(Set.of(1L))).thenReturn(catalog(definition(1L, V2)));
+
+        // When
+        cache.onReportChanged(new ReportChangedEvent(1L));
+
+        // Then
+        assertEquals(V2, cache.find(1L).orElseThrow().updatedAt());
+        assertEquals(V2, cache.find(1L).orElseThrow().updatedAt());
+        verify(loader, times(1)).load(Set.of(1L));
+    }
+
+    @Test
+    @DisplayName("目录加载之后新建的报表按需加载，不存在的报表返回空")
+    void find_LoadsNewReportOnDemand() {
+        // Given
+        when(loader.loadAll()).thenReturn(catalog(definition(1L, V1)));
+        when(loader.load(Set.of(2L))).thenReturn(catalog(definition(2L, V1)));
+        when(loader.load(Set.of(3L))).thenReturn(Map.of());
+
+        // When & Then
+        assertTrue(cache.find(2L).isPresent());
+        assertTrue(cache.find(3L).isEmpty());
+        assertEquals(2, cache.list().size());
+    }
+
+    @Test
+    @DisplayName("不存在的报表短时间内记为不存在，重复查找不访问数据库，变更事件后重新加载")
+    void find_CachesAbsentReport() {
+        // Given
+        when(loader.loadAll()).thenReturn(catalog(definition(1L, V1)));
+        when(loader.load(Set.of(3L))).thenReturn(Map.of());
+        assertTrue(cache.find(3L).isEmpty());
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            assertTrue(cache.find(3L).isEmpty());
+        }
+        when(loader.load(Set.of(3L))).thenReturn(catalog(definition(3L, V1)));
+        cache.onReportChanged(new ReportChangedEvent(3L));
+
+        // Then
+        assertTrue(cache.find(3L).isPresent());
+        verify(loader, times(2)).load(Set.of(3L));
+    }
+
+    @Test
+    @DisplayName("定时刷新只重新加载updated_at变化的报表，并移除已删除的报表")
+    void refresh_ReloadsChangedAndDropsDeleted() {
+        // Given
+        when(loader.loadAll()).thenReturn(catalog(definition(1L, V1), definition(2L, V1), definition(3L, V1)));
+        cache.list();
+        when(reportRepository.findAllVersions()).thenReturn(List.of(version(1L, V1), version(2L, V2)));
+        when(loader.load(Set.of(2L))).thenReturn(catalog(definition(2L, V2)));
+
+        // When
+        cache.refresh();
+
+        // Then
+        verify(loader).load(Set.of(2L));
+        assertEquals(Set.of(1L, 2L), cache.snapshot().keySet());
+        assertEquals(V2, cache.find(2L).orElseThrow().updatedAt());
+        assertEquals(List.of(1L, 2L), cache.list().stream().map(ReportDefinition::reportId).toList());
+    }
+
+    @Test
+    @DisplayName("按角色过滤报表，权限变更后重新加载生效")
+    void findPermitted_FollowsPermissionChanges() {
+        // Given
+        when(loader.loadAll()).thenReturn(catalog(
+                definition(1L, V1, Set.of(User.UserRole.VIEWER)),
+                definition(2L, V1, Set.of(User.UserRole.DESIGNER))));
+        assertEquals(List.of(1L), ids(cache.list(User.UserRole.VIEWER)));
+        assertEquals(List.of(1L, 2L), ids(cache.list(User.UserRole.ADMIN)));
+        assertTrue(cache.findPermitted(2L, User.UserRole.VIEWER).isEmpty());
+        when(loader.load(Set.of(2L))).thenReturn(catalog(
+                definition(2L, V1, Set.of(User.UserRole.DESIGNER, User.UserRole.VIEWER))));
+
+        // When
+        cache.onReportChanged(new ReportChangedEvent(2L));
+
+        // Then
+        assertTrue(cache.findPermitted(2L, User.UserRole.VIEWER).isPresent());
+        assertEquals(List.of(1L, 2L), ids(cache.list(User.UserRole.VIEWER)));
+    }
+
+    private static List<Long> ids(List<ReportDefinition> definitions) {
+        return definitions.stream().map(ReportDefinition::reportId).toList();
+    }
+
+    private static Map<Long, ReportDefinition> catalog(ReportDefinition... definitions) {
+        Map<Long, ReportDefinition> catalog = new HashMap<>();
+        for (ReportDefinition definition : definitions) {
+            catalog.put(definition.reportId(), definition);
+        }
+        return catalog;
+    }
+
+    private static ReportDefinition definition(Long id, LocalDateTime updatedAt) {
+        return definition(id, updatedAt, Set.of());
+    }
+
+    private static ReportDefinition definition(Long id, LocalDateTime updatedAt, Set<User.UserRole> roles) {
+        Report report = Report.builder().id(id).name("报表" + id).sqlContent("SELECT 1").updatedAt(updatedAt).build();
+        return new ReportDefinition(report, List.of(), List.of(), roles, null, null, null, 1);
+    }
+
+    private static ReportRepository.ReportVersion version(Long id, LocalDateTime updatedAt) {
+        return new ReportRepository.ReportVersion() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return updatedAt;
+            }
+        };
+    }
+}
@@ -0,0 +1,277 @@
+package com.gct.reportgenerator.cache;
+
+import com.gct.reportgenerator.exception.QueryCancelledException;
+import com.gct.reportgenerator.exception.QueryTimeoutException;
+import com.gct.reportgenerator.exception.TooManyRequestsException;
+import com.gct.reportgenerator.execution.ReportResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ReportExecutionCoalescer单元测试
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("报表执行合并单元测试")
+class ReportExecutionCoalescerTest {
+
+    private static final int WAITERS = 8;
+    private static final Duration MAX_WAIT = Duration.ofSeconds(5);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReportExecutionCoalescer coalescer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new ReportExecutionCoalescer(meterRegistry);
+        executor = Executors.newFixedThreadPool(WAITERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("执行期间到达的相同请求等待同一次执行，得到同一个结果")
+    void execute_CoalescesConcurrentRequests() throws Exception {
+        // Given
+        ReportResult result = ReportResult.of(List.of("total"), List.<Object[]>of(new Object[]{1L}), false);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        Future<ReportResult> leader = executor.submit(() -> coalescer.execute(key(1L, "100"), MAX_WAIT, () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            return result;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When
+        List<Future<ReportResult>> followers = new ArrayList<>();
+        for (int i = 1; i < WAITERS; i++) {
+            followers.add(executor.submit(() -> coalescer.execute(key(1L, "100"), MAX_WAIT, () -> {
+                executions.incrementAndGet();
+                return result;
+            })));
+        }
+        waitUntilCoalesced(WAITERS - 1);
+        release.countDown();
+
+        // Then
+        assertSame(result, leader.get(5, TimeUnit.SECONDS));
+        for (Future<ReportResult> follower : followers) {
+            assertSame(result, follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals((WAITERS - 1) / (double) WAITERS, coalescer.coalescingRatio(), 1e-9);
+        assertEquals(WAITERS - 1, meterRegistry.get("gct.report.execution.coalescing")
+                .tag("result", "coalesced").counter().count());
+        assertEquals(0, meterRegistry.get("gct.report.execution.in-flight").gauge().value());
+    }
+
+    @Test
+    @DisplayName("执行失败时等待的请求得到同一个异常，之后的请求重新执行")
+    void execute_PropagatesFailureToWaiters() throws Exception {
+        // Given
+        QueryTimeoutException failure = new QueryTimeoutException("报表查询超时（30秒）", null);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<ReportResult> leader = executor.submit(() -> coalescer.execute(key(1L, "100"), MAX_WAIT, () -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<ReportResult> follower = executor.submit(() -> coalescer.execute(key(1L, "100"), MAX_WAIT,
+                () -> fail("不应重新执行")));
+        waitUntilCoalesced(1);
+
+        // When
+        release.countDown();
+
+        // Then
+        assertSame(failure, assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS))
+                .getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS))
+                .getCause());
+        ReportResult retried = ReportResult.of(List.of("total"), List.of(), false);
+        assertSame(retried, coalescer.execute(key(1L, "100"), MAX_WAIT, () -> retried));
+    }
+
+    @Test
+    @DisplayName("执行方的查询被取消时，等待的请求改为自己执行")
+    void execute_RetriesWhenLeaderCancelled() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<ReportResult> leader = executor.submit(() -> coalescer.execute(key(1L, "100"), MAX_WAIT, () -> {
+            started.countDown();
+            await(release);
+            throw new QueryCancelledException("报表查询已取消", null);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        ReportResult result = ReportResult.of(List.of("total"), List.of(), false);
+        Future<ReportResult> follower = executor.submit(() -> coalescer.execute(key(1L, "100"), MAX_WAIT,
+                () -> result));
+        waitUntilCoalesced(1);
+
+        // When
+        release.countDown();
+
+        // Then
+        assertInstanceOf(QueryCancelledException.class,
+                assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+        assertSame(result, follower.get(5, TimeUnit.SECONDS));
+        assertEquals(2, meterRegistry.get("gct.report.execution.coalescing")
+                .tag("result", "executed").counter().count());
+    }
+
+    @Test
+    @DisplayName("执行方用户达到并发上限时，等待的请求按自己的名额执行；报表名额拒绝共享")
+    void execute_UserLimitNotShared() throws Exception {
+        // Given
+        ReportResult result = ReportResult.of(List.of("total"), List.of(), false);
+        TooManyRequestsException reportLimit = new TooManyRequestsException("EXECUTION_REPORT_LIMIT",
+                "该报表同时执行的查询过多，请稍后重试", Duration.ofSeconds(2));
+
+        // When
+        ReportResult afterUserLimit = coalesceAfterFailure(key(1L, "100"), new TooManyRequestsException(
+                "EXECUTION_USER_LIMIT", "您同时执行的报表查询过多（上限2个），请稍后重试", Duration.ofSeconds(2)),
+                () -> result);
+        TooManyRequestsException afterReportLimit = assertThrows(TooManyRequestsException.class,
+                () -> coalesceAfterFailure(key(1L, "200"), reportLimit, () -> fail("不应重新执行")));
+
+        // Then
+        assertSame(result, afterUserLimit);
+        assertSame(reportLimit, afterReportLimit);
+    }
+
+    @Test
+    @DisplayName("等待超过最长等待时间时按查询超时处理")
+    void execute_BoundsFollowerWait() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<ReportResult> leader = executor.submit(() -> coalescer.execute(key(1L, "100"), MAX_WAIT, () -> {
+            started.countDown();
+            await(release);
+            return ReportResult.of(List.of("total"), List.of(), false);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When
+        assertThrows(QueryTimeoutException.class, () -> coalescer.execute(key(1L, "100"), Duration.ofMillis(50),
+                () -> fail("不应重新执行")));
+        release.countDown();
+
+        // Then
+        assertNotNull(leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("参数或报表版本不同的请求不合并")
+    void execute_DifferentKeysNotCoalesced() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<ReportResult> leader = executor.submit(() -> coalescer.execute(key(1L, "100"), MAX_WAIT, () -> {
+            started.countDown();
+            await(release);
+            return ReportResult.of(List.of("total"), List.of(), false);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        ReportResult other = ReportResult.of(List.of("total"), List.of(), false);
+
+        // When
+        ReportResult otherParams = coalescer.execute(key(1L, "200"), MAX_WAIT, () -> other);
+        ReportResult otherRevision = coalescer.execute(
+                new ReportResultKey(1L, LocalDateTime.of(2024, 1, 1, 0, 0), 2L, params("100")), MAX_WAIT,
+                () -> other);
+        release.countDown();
+
+        // Then
+        assertSame(other, otherParams);
+        assertSame(other, otherRevision);
+        leader.get(5, TimeUnit.SECONDS);
+        assertEquals(0, coalescer.coalescingRatio());
+    }
+
+    /**
+     * 执行方以指定异常失败时，返回合并到该执行上的请求的结果
+     */
+    private ReportResult coalesceAfterFailure(ReportResultKey key, RuntimeException failure,
+                                              Supplier<ReportResult> followerLoader) throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        double coalesced = coalescedCount();
+        Future<ReportResult> leader = executor.submit(() -> coalescer.execute(key, MAX_WAIT, () -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<ReportResult> follower = executor.submit(() -> coalescer.execute(key, MAX_WAIT, followerLoader));
+        waitUntilCoalesced(coalesced + 1);
+        release.countDown();
+        assertSame(failure, assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS))
+                .getCause());
+        try {
+            return follower.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+
+    private double coalescedCount() {
+        return meterRegistry.get("gct.report.execution.coalescing").tag("result", "coalesced").counter().count();
+    }
+
+    private void waitUntilCoalesced(double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescedCount() < expected) {
+            assertTrue(System.nanoTime() < deadline, "等待请求合并超时");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ReportResultKey key(Long reportId, String minAmount) {
+        return new ReportResultKey(reportId, LocalDateTime.of(2024, 1, 1, 0, 0), 1L, params(minAmount));
+    }
+
+    private static Map<String, Object> params(String minAmount) {
+        return new TreeMap<>(Map.of("minAmount", minAmount));
+    }
+}
@@ -0,0 +1,97 @@
+package com.gct.reportgenerator.cache;
+
+import com.gct.reportgenerator.entity.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ReportPermissionIndex单元测试
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("报表权限索引单元测试")
+class ReportPermissionIndexTest {
+
+    @Test
+    @DisplayName("按角色判断权限，ADMIN始终有权限")
+    void permits_ByRole() {
+        // Given
+        ReportPermissionIndex index = new ReportPermissionIndex();
+        index.update(Map.of(
+                1L, Set.of(User.UserRole.VIEWER, User.UserRole.DESIGNER),
+                2L, Set.of(User.UserRole.DESIGNER),
+                3L, Set.of()), List.of());
+
+        // When & Then
+        assertTrue(index.permits(User.UserRole.VIEWER, 1L));
+        assertFalse(index.permits(User.UserRole.VIEWER, 2L));
+        assertTrue(index.permits(User.UserRole.DESIGNER, 2L));
+        assertFalse(index.permits(User.UserRole.DESIGNER, 3L));
+        assertTrue(index.permits(User.UserRole.ADMIN, 3L));
+        assertTrue(index.permits(User.UserRole.ADMIN, 404L));
+        assertFalse(index.permits(null, 1L));
+    }
+
+    @Test
+    @DisplayName("按报表ID升序列出角色可见的报表")
+    void forEachPermitted_Ascending() {
+        // Given
+        ReportPermissionIndex index = new ReportPermissionIndex();
+        index.update(Map.of(
+                130L, Set.of(User.UserRole.VIEWER),
+                5L, Set.of(User.UserRole.VIEWER),
+                64L, Set.of(User.UserRole.VIEWER, User.UserRole.DESIGNER)), List.of());
+        List<Integer> ids = new ArrayList<>();
+
+        // When
+        index.forEachPermitted(User.UserRole.VIEWER, ids::add);
+
+        // Then
+        assertEquals(List.of(5, 64, 130), ids);
+        assertEquals(3, index.count(User.UserRole.VIEWER));
+        assertEquals(1, index.count(User.UserRole.DESIGNER));
+    }
+
+    @Test
+    @DisplayName("增量更新覆盖单个报表的授权，删除报表时清除全部授权")
+    void update_Incremental() {
+        // Given
+        ReportPermissionIndex index = new ReportPermissionIndex();
+        index.update(Map.of(
+                1L, Set.of(User.UserRole.VIEWER),
+                2L, Set.of(User.UserRole.VIEWER, User.UserRole.DESIGNER)), List.of());
+
+        // When
+        index.update(Map.of(1L, Set.of(User.UserRole.DESIGNER)), List.of(2L));
+
+        // Then
+        assertFalse(index.permits(User.UserRole.VIEWER, 1L));
+        assertTrue(index.permits(User.UserRole.DESIGNER, 1L));
+        assertFalse(index.permits(User.UserRole.VIEWER, 2L));
+        assertFalse(index.permits(User.UserRole.DESIGNER, 2L));
+        assertEquals(0, index.count(User.UserRole.VIEWER));
+    }
+
+    @Test
+    @DisplayName("超出索引范围的报表ID只有ADMIN可以访问")
+    void permits_OutOfRangeId() {
+        // Given
+        ReportPermissionIndex index = new ReportPermissionIndex();
+        long hugeId = Integer.MAX_VALUE + 1L;
+
+        // When
+        index.update(Map.of(hugeId, Set.of(User.UserRole.VIEWER)), List.of());
+
+        // Then
+        assertFalse(index.permits(User.UserRole.VIEWER, hugeId));
+        assertTrue(index.permits(User.UserRole.ADMIN, hugeId));
+    }
+}
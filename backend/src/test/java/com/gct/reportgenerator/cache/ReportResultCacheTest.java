@@ -0,0 +1,121 @@
+package com.gct.reportgenerator.cache;
+
+import com.gct.reportgenerator.config.ReportCacheProperties;
+import com.gct.reportgenerator.entity.Report;
+import com.gct.reportgenerator.event.ReportChangedEvent;
+import com.gct.reportgenerator.execution.ReportResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ReportResultCache单元测试
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("报表结果缓存单元测试")
+class ReportResultCacheTest {
+
+    private static final LocalDateTime VERSION = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private ReportCacheProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReportCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("相同报表版本和参数命中缓存")
+    void get_HitWithSameKey() {
+        // Given
+        ReportResultCache cache = new ReportResultCache(properties, meterRegistry);
+        ReportResult result = result(3);
+        cache.put(key(1L, 1, Map.of("region", "east")), report(1L, null), result);
+
+        // When & Then
+        assertSame(result, cache.get(key(1L, 1, Map.of("region", "east"))).orElseThrow());
+        assertTrue(cache.get(key(1L, 1, Map.of("region", "west"))).isEmpty());
+        assertTrue(cache.get(key(1L, 2, Map.of("region", "east"))).isEmpty());
+    }
+
+    @Test
+    @DisplayName("报表变更时立即删除该报表的全部结果")
+    void onReportChanged_InvalidatesReport() {
+        // Given
+        ReportResultCache cache = new ReportResultCache(properties, meterRegistry);
+        cache.put(key(1L, 1, Map.of("region", "east")), report(1L, null), result(1));
+        cache.put(key(1L, 1, Map.of("region", "west")), report(1L, null), result(1));
+        cache.put(key(2L, 1, Map.of()), report(2L, null), result(1));
+
+        // When
+        cache.onReportChanged(new ReportChangedEvent(1L));
+
+        // Then
+        assertTrue(cache.get(key(1L, 1, Map.of("region", "east"))).isEmpty());
+        assertTrue(cache.get(key(1L, 1, Map.of("region", "west"))).isEmpty());
+        assertTrue(cache.get(key(2L, 1, Map.of())).isPresent());
+    }
+
+    @Test
+    @DisplayName("报表缓存有效期为0时不缓存")
+    void put_DisabledByReportTtl() {
+        // Given
+        ReportResultCache cache = new ReportResultCache(properties, meterRegistry);
+
+        // When
+        cache.put(key(1L, 1, Map.of()), report(1L, 0), result(1));
+
+        // Then
+        assertTrue(cache.get(key(1L, 1, Map.of())).isEmpty());
+    }
+
+    @Test
+    @DisplayName("超出内存预算时淘汰条目")
+    void put_EvictsOverMemoryBudget() {
+        // Given
+        properties.setResultMemoryBudget(DataSize.ofKilobytes(64));
+        ReportResultCache cache = new ReportResultCache(properties, meterRegistry);
+        ReportResult result = result(200);
+        assertTrue(result.estimatedBytes() > 8 * 1024);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            cache.put(key((long) i, 1, Map.of()), report((long) i, null), result);
+        }
+        cache.cleanUp();
+
+        // Then
+        double bytes = meterRegistry.get("gct.report.result-cache.bytes").gauge().value();
+        assertTrue(bytes <= 64 * 1024, "缓存占用超出预算: " + bytes);
+        assertTrue(meterRegistry.get("cache.evictions").tag("cache", "reportResults").functionCounter().count() > 0);
+    }
+
+    private static ReportResultKey key(Long reportId, long revision, Map<String, Object> params) {
+        return new ReportResultKey(reportId, VERSION, revision, params);
+    }
+
+    private static Report report(Long id, Integer cacheTtlSeconds) {
+        return Report.builder().id(id).cacheTtlSeconds(cacheTtlSeconds).build();
+    }
+
+    private static ReportResult result(int rows) {
+        List<Object[]> data = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            data.add(new Object[]{(long) i, "row-" + i});
+        }
+        return ReportResult.of(List.of("id", "name"), data, false);
+    }
+}
@@ -0,0 +1,84 @@
+package com.gct.reportgenerator.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SQLite性能模式数据源单元测试
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("SQLite性能模式数据源单元测试")
+class SqliteDataSourceConfigTest {
+
+    @TempDir
+    Path tempDir;
+
+    private HikariDataSource writer;
+    private HikariDataSource reader;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        DataSourceProperties dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl("jdbc:sqlite:" + tempDir.resolve("report.db"));
+        SqliteProperties sqliteProperties = new SqliteProperties();
+        sqliteProperties.setReadPoolSize(2);
+
+        SqliteDataSourceConfig config = new SqliteDataSourceConfig();
+        writer = config.sqliteWriteDataSource(dataSourceProperties, sqliteProperties);
+        reader = config.sqliteReadDataSource(dataSourceProperties, sqliteProperties);
+        dataSource = config.dataSource(writer, reader, sqliteProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reader.close();
+        writer.close();
+    }
+
+    @Test
+    @DisplayName("写连接启用WAL日志")
+    void writer_UsesWal() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        assertEquals("wal", jdbcTemplate.queryForObject("PRAGMA journal_mode", String.class));
+        assertEquals(1, writer.getMaximumPoolSize());
+    }
+
+    @Test
+    @DisplayName("只读事务路由到只读连接池，其余走写连接")
+    void readOnlyTransaction_RoutedToReader() {
+        // Given
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE t (id INTEGER PRIMARY KEY)");
+        jdbcTemplate.update("INSERT INTO t (id) VALUES (1)");
+
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+
+        // When
+        Integer count = readOnly.execute(status ->
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM t", Integer.class));
+
+        // Then
+        assertEquals(1, count);
+        assertEquals(1, reader.getHikariPoolMXBean().getTotalConnections());
+        assertThrows(Exception.class, () -> readOnly.executeWithoutResult(status ->
+                jdbcTemplate.update("INSERT INTO t (id) VALUES (2)")));
+    }
+}
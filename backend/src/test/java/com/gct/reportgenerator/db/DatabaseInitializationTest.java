@@ -29,7 +29,7 @@ class DatabaseInitializationTest {
     private JdbcTemplate jdbcTemplate;
 
     @Test
-    @DisplayName("T003-1: 验证6张核心表创建成功")
+    @DisplayName("T003-1: 验证7张核心表创建成功")
     void testTablesCreated() {
         // Given: Database initialized by Flyway
         String[] expectedTables = {
@@ -38,15 +38,16 @@ class DatabaseInitializationTest {
             "report_params",
             "report_columns",
             "report_permissions",
-            "execution_logs"
+            "execution_logs",
+            "session_activity"
         };
         
         // When: Query SQLite master table
         String sql = "SELECT name FROM sqlite_master WHERE type='table' AND name NOT LIKE 'sqlite_%' AND name != 'flyway_schema_history' ORDER BY name";
         List<String> actualTables = jdbcTemplate.queryForList(sql, String.class);
         
-        // Then: All 6 tables should exist
-        assertEquals(6, actualTables.size(), "应该有6张核心表");
+        // Then: All 7 tables should exist
+        assertEquals(7, actualTables.size(), "应该有7张核心表");
         for (String expectedTable : expectedTables) {
             assertTrue(actualTables.contains(expectedTable), 
                 "表 " + expectedTable + " 应该存在");
@@ -0,0 +1,158 @@
+package com.gct.reportgenerator.execution;
+
+import com.gct.reportgenerator.config.ExecutionProperties;
+import com.gct.reportgenerator.entity.User;
+import com.gct.reportgenerator.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ExecutionGovernor单元测试
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("报表执行准入控制单元测试")
+class ExecutionGovernorTest {
+
+    private ExecutionProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutionGovernor governor;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ExecutionProperties();
+        properties.getAdmission().setGlobalLimit(2);
+        properties.getAdmission().setQueueCapacity(1);
+        properties.getAdmission().setQueueTimeout(Duration.ofMillis(200));
+        properties.getAdmission().setReportLimit(2);
+        meterRegistry = new SimpleMeterRegistry();
+        governor = new ExecutionGovernor(properties, meterRegistry);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("用户并发上限按角色分级，达到上限立即拒绝，不影响其他用户")
+    void admit_UserLimitByRole() {
+        // Given
+        ExecutionGovernor.Permit viewer1 = governor.admit(1L, User.UserRole.VIEWER, 10L);
+        ExecutionGovernor.Permit viewer2 = governor.admit(1L, User.UserRole.VIEWER, 11L);
+
+        // When
+        TooManyRequestsException rejected = assertThrows(TooManyRequestsException.class,
+                () -> governor.admit(1L, User.UserRole.VIEWER, 12L));
+        viewer1.close();
+        viewer2.close();
+        ExecutionGovernor.Permit designer1 = governor.admit(2L, User.UserRole.DESIGNER, 10L);
+        ExecutionGovernor.Permit designer2 = governor.admit(2L, User.UserRole.DESIGNER, 11L);
+
+        // Then
+        assertEquals("EXECUTION_USER_LIMIT", rejected.getCode());
+        assertEquals(Duration.ofMillis(200), rejected.getRetryAfter());
+        assertEquals(0, meterRegistry.get("gct.report.admission.queued").gauge().value());
+        // DESIGNER上限为3，仅受全局名额限制
+        assertEquals("EXECUTION_QUEUE_TIMEOUT", assertThrows(TooManyRequestsException.class,
+                () -> governor.admit(2L, User.UserRole.DESIGNER, 12L)).getCode());
+        designer1.close();
+        designer2.close();
+    }
+
+    @Test
+    @DisplayName("报表达到并发上限时立即拒绝，名额归还后可再次执行")
+    void admit_ReportLimit() {
+        // Given
+        properties.getAdmission().setGlobalLimit(4);
+        governor = new ExecutionGovernor(properties, new SimpleMeterRegistry());
+        ExecutionGovernor.Permit first = governor.admit(1L, User.UserRole.ADMIN, 10L);
+        ExecutionGovernor.Permit second = governor.admit(2L, User.UserRole.ADMIN, 10L);
+
+        // When
+        TooManyRequestsException rejected = assertThrows(TooManyRequestsException.class,
+                () -> governor.admit(3L, User.UserRole.ADMIN, 10L));
+        ExecutionGovernor.Permit otherReport = governor.admit(3L, User.UserRole.ADMIN, 11L);
+        first.close();
+        first.close();
+
+        // Then
+        assertEquals("EXECUTION_REPORT_LIMIT", rejected.getCode());
+        governor.admit(3L, User.UserRole.ADMIN, 10L).close();
+        second.close();
+        otherReport.close();
+    }
+
+    @Test
+    @DisplayName("全局名额不足时排队，名额归还后按顺序放行并记录等待时间")
+    void admit_QueuesForGlobalPermit() throws Exception {
+        // Given
+        ExecutionGovernor.Permit first = governor.admit(1L, User.UserRole.ADMIN, 10L);
+        ExecutionGovernor.Permit second = governor.admit(2L, User.UserRole.ADMIN, 11L);
+        properties.getAdmission().setQueueTimeout(Duration.ofSeconds(5));
+        Future<ExecutionGovernor.Permit> waiting = executor.submit(() -> governor.admit(3L, null, 12L));
+        awaitQueued(1);
+
+        // When
+        TooManyRequestsException queueFull = assertThrows(TooManyRequestsException.class,
+                () -> governor.admit(4L, User.UserRole.ADMIN, 13L));
+        first.close();
+
+        // Then
+        waiting.get(5, TimeUnit.SECONDS).close();
+        second.close();
+        assertEquals("EXECUTION_QUEUE_FULL", queueFull.getCode());
+        assertEquals(1, meterRegistry.get("gct.report.admission.rejected").tag("reason", "queue_full")
+                .counter().count());
+        assertEquals(3, meterRegistry.get("gct.report.admission.wait").tag("result", "admitted")
+                .timer().count());
+        assertEquals(0, meterRegistry.get("gct.report.admission.active").gauge().value());
+    }
+
+    @Test
+    @DisplayName("等待超过排队期限时拒绝并归还已占用的用户和报表名额")
+    void admit_QueueTimeout() {
+        // Given
+        ExecutionGovernor.Permit first = governor.admit(1L, User.UserRole.ADMIN, 10L);
+        ExecutionGovernor.Permit second = governor.admit(2L, User.UserRole.ADMIN, 11L);
+
+        // When
+        long start = System.nanoTime();
+        TooManyRequestsException rejected = assertThrows(TooManyRequestsException.class,
+                () -> governor.admit(3L, User.UserRole.VIEWER, 12L));
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        first.close();
+
+        // Then
+        assertEquals("EXECUTION_QUEUE_TIMEOUT", rejected.getCode());
+        assertTrue(waitedMillis >= 150, "等待了" + waitedMillis + "ms");
+        assertEquals(1, meterRegistry.get("gct.report.admission.wait").tag("result", "rejected")
+                .timer().count());
+        // VIEWER上限为2，若超时未归还名额则第二次会被拒绝
+        governor.admit(3L, User.UserRole.VIEWER, 12L).close();
+        governor.admit(3L, User.UserRole.VIEWER, 12L).close();
+        second.close();
+    }
+
+    private void awaitQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("gct.report.admission.queued").gauge().value() < expected) {
+            assertTrue(System.nanoTime() < deadline, "等待排队超时");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.gct.reportgenerator.execution;
+
+import com.gct.reportgenerator.entity.Report;
+import com.gct.reportgenerator.entity.ReportParam;
+import com.gct.reportgenerator.exception.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * KeysetPlan / PageToken单元测试
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("keyset分页单元测试")
+class KeysetPlanTest {
+
+    private static final List<ReportParam> PARAMS = List.of(ReportParam.builder()
+            .paramName("minAmount")
+            .paramType(ReportParam.ParamType.NUMBER)
+            .required(true)
+            .build());
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE orders (id INTEGER PRIMARY KEY, day TEXT NOT NULL, amount INTEGER)");
+            statement.execute("CREATE INDEX idx_orders_day ON orders(day, id)");
+            for (int i = 1; i <= 50; i++) {
+                statement.execute("INSERT INTO orders VALUES (" + i + ", '2024-01-" + (10 + i % 7) + "', " + i + ")");
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("报表SQL作为子查询，按复合分页键生成续页条件")
+    void compile_GeneratesKeysetSql() {
+        // When
+        ReportPlan plan = compile("SELECT id, day FROM orders WHERE amount >= :minAmount; -- 注释", "day DESC, id");
+        KeysetStatement next = plan.keyset().nextPage(new Object[]{"2024-01-12", 30L}, 10);
+
+        // Then
+        assertEquals("SELECT id, day FROM orders WHERE amount >= ?", plan.sql());
+        assertEquals(List.of("day", "id"), plan.keyset().keys());
+        assertEquals("SELECT * FROM (\nSELECT id, day FROM orders WHERE amount >= ?\n) page_src"
+                + " WHERE ((day < ?) OR (day = ? AND id > ?)) ORDER BY day DESC, id ASC", next.sql());
+        assertArrayEquals(new Object[]{"2024-01-12", "2024-01-12", 30L}, next.args());
+        assertEquals(11, next.maxRows());
+        assertEquals(0, plan.keyset().count().maxRows());
+    }
+
+    @Test
+    @DisplayName("分页键格式错误时编译失败")
+    void compile_RejectsInvalidPageKey() {
+        // When & Then
+        for (String pageKey : List.of("day; DROP TABLE orders", "day DOWN", "1id", "day,", "a b c")) {
+            assertEquals("REPORT_PAGE_KEY_INVALID", assertThrows(BusinessException.class,
+                    () -> compile("SELECT id FROM orders", pageKey)).getCode(), pageKey);
+        }
+        assertNull(compile("SELECT id FROM orders", " ").keyset());
+    }
+
+    @Test
+    @DisplayName("逐页读取覆盖全部行，不重复不遗漏")
+    void pages_CoverAllRowsInOrder() throws Exception {
+        // Given
+        ReportPlan plan = compile("SELECT id, day, amount FROM orders WHERE amount >= :minAmount",
+                "day DESC, id DESC");
+        Map<String, Object> params = plan.normalize(Map.of("minAmount", "5"));
+        List<Long> expected = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT id FROM orders WHERE amount >= 5 ORDER BY day DESC, id DESC")) {
+            while (rs.next()) {
+                expected.add(rs.getLong(1));
+            }
+        }
+
+        // When
+        List<Long> ids = new ArrayList<>();
+        KeysetStatement statement = plan.keyset().firstPage(7);
+        int pages = 0;
+        while (statement != null) {
+            ReportResult page = execute(plan, params, statement, 7);
+            for (int row = 0; row < page.rowCount(); row++) {
+                ids.add((Long) page.get(row, 0));
+            }
+            pages++;
+            statement = page.truncated()
+                    ? plan.keyset().nextPage(plan.keyset().keyOf(page, page.rowCount() - 1), 7)
+                    : null;
+        }
+
+        // Then
+        assertEquals(expected, ids);
+        assertEquals(7, pages);
+    }
+
+    @Test
+    @DisplayName("续页语句沿分页键索引扫描，不需要排序")
+    void nextPage_UsesIndexWithoutSorting() throws Exception {
+        // Given
+        ReportPlan plan = compile("SELECT id, day FROM orders WHERE amount >= :minAmount", "day, id");
+        KeysetStatement next = plan.keyset().nextPage(new Object[]{"2024-01-12", 30L}, 10);
+
+        // When
+        StringBuilder queryPlan = new StringBuilder();
+        try (PreparedStatement ps = connection.prepareStatement("EXPLAIN QUERY PLAN " + next.sql())) {
+            plan.bind(ps, plan.normalize(Map.of("minAmount", "0")));
+            next.bind(ps, plan.parameterCount() + 1);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    queryPlan.append(rs.getString("detail")).append('\n');
+                }
+            }
+        }
+
+        // Then
+        assertTrue(queryPlan.toString().contains("idx_orders_day"), queryPlan.toString());
+        assertFalse(queryPlan.toString().contains("TEMP B-TREE"), queryPlan.toString());
+    }
+
+    @Test
+    @DisplayName("分页键为空或结果中缺少分页键列时报错")
+    void keyOf_RejectsMissingOrNullKey() {
+        // Given
+        KeysetPlan keyset = compile("SELECT id, day FROM orders", "day, id").keyset();
+        ReportResult withNull = ReportResult.of(List.of("day", "id"), List.<Object[]>of(new Object[]{null, 1L}), false);
+        ReportResult withoutKey = ReportResult.of(List.of("id"), List.<Object[]>of(new Object[]{1L}), false);
+
+        // When & Then
+        assertEquals("PAGE_KEY_NULL", assertThrows(BusinessException.class,
+                () -> keyset.keyOf(withNull, 0)).getCode());
+        assertEquals("PAGE_KEY_INVALID", assertThrows(BusinessException.class,
+                () -> keyset.keyOf(withoutKey, 0)).getCode());
+    }
+
+    @Test
+    @DisplayName("续页令牌编码后可还原，篡改后无效")
+    void pageToken_RoundTrip() {
+        // Given
+        Object[] after = {42L, 1.5, new BigDecimal("12.30"), "华东", LocalDate.of(2024, 2, 29),
+                LocalDateTime.of(2024, 1, 15, 10, 30, 5, 123_000_000)};
+        PageToken token = new PageToken(7L, 123, -456, after, 1000L);
+
+        // When
+        String text = token.encode();
+        PageToken decoded = PageToken.decode(text);
+
+        // Then
+        assertTrue(text.matches("[A-Za-z0-9_-]+"));
+        assertEquals(7L, decoded.reportId());
+        assertEquals(123, decoded.fingerprint());
+        assertEquals(-456, decoded.paramsHash());
+        assertArrayEquals(after, decoded.after());
+        assertEquals(1000L, decoded.total());
+        assertNull(PageToken.decode(new PageToken(7L, 1, 1, new Object[]{1L}, null).encode()).total());
+        for (String tampered : List.of("", "not a token", text.substring(0, text.length() - 3), text + "AA")) {
+            assertEquals("PAGE_TOKEN_INVALID", assertThrows(BusinessException.class,
+                    () -> PageToken.decode(tampered)).getCode(), tampered);
+        }
+    }
+
+    private ReportResult execute(ReportPlan plan, Map<String, Object> params, KeysetStatement statement,
+                                 int pageSize) throws Exception {
+        try (PreparedStatement ps = connection.prepareStatement(statement.sql())) {
+            plan.bind(ps, params);
+            statement.bind(ps, plan.parameterCount() + 1);
+            ps.setMaxRows(statement.maxRows());
+            try (ResultSet rs = ps.executeQuery()) {
+                return ReportResult.read(rs, pageSize);
+            }
+        }
+    }
+
+    private static ReportPlan compile(String sql, String pageKey) {
+        return ReportPlanCompiler.compile(Report.builder().id(1L).sqlContent(sql).pageKey(pageKey).build(), PARAMS);
+    }
+}
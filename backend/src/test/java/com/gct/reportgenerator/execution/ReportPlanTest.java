@@ -0,0 +1,179 @@
+package com.gct.reportgenerator.execution;
+
+import com.gct.reportgenerator.entity.Report;
+import com.gct.reportgenerator.entity.ReportParam;
+import com.gct.reportgenerator.exception.BusinessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * ReportPlanCompiler / ReportPlan单元测试
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("报表执行计划单元测试")
+class ReportPlanTest {
+
+    private static final List<ReportParam> PARAMS = List.of(
+            param("region", ReportParam.ParamType.STRING, false, "east"),
+            param("minAmount", ReportParam.ParamType.NUMBER, false, null),
+            param("day", ReportParam.ParamType.DATE, true, null),
+            param("since", ReportParam.ParamType.DATETIME, false, null)
+    );
+
+    @Test
+    @DisplayName("命名参数改写为位置参数，重复引用按出现顺序绑定")
+    void compile_RewritesNamedParams() {
+        // When
+        ReportPlan plan = compile("SELECT * FROM sales WHERE region = :region AND (day = :day OR :day IS NULL)");
+
+        // Then
+        assertEquals("SELECT * FROM sales WHERE region = ? AND (day = ? OR ? IS NULL)", plan.sql());
+        assertEquals(List.of("region", "day", "day"), plan.bindOrder());
+    }
+
+    @Test
+    @DisplayName("字符串、注释、带引号标识符和::中的冒号不视为参数")
+    void compile_IgnoresColonsOutsideCode() {
+        // Given
+        String sql = """
+                SELECT 'a:b '' :region', "x:y", `k:v`, [m:n], amount::text -- :unknown
+                /* :unknown */ FROM sales WHERE day = :day""";
+
+        // When
+        ReportPlan plan = compile(sql);
+
+        // Then
+        assertEquals(sql.replace("= :day", "= ?"), plan.sql());
+        assertEquals(List.of("day"), plan.bindOrder());
+    }
+
+    @Test
+    @DisplayName("引用未定义参数或使用位置参数时编译失败")
+    void compile_RejectsInvalidSql() {
+        // When & Then
+        assertEquals("REPORT_SQL_INVALID", assertThrows(BusinessException.class,
+                () -> compile("SELECT * FROM sales WHERE id = :id")).getCode());
+        assertEquals("REPORT_SQL_INVALID", assertThrows(BusinessException.class,
+                () -> compile("SELECT * FROM sales WHERE id = ?")).getCode());
+    }
+
+    @Test
+    @DisplayName("默认值格式错误时编译失败")
+    void compile_RejectsInvalidDefault() {
+        // Given
+        Report report = Report.builder().id(1L).sqlContent("SELECT 1").build();
+        List<ReportParam> params = List.of(param("day", ReportParam.ParamType.DATE, false, "yesterday"));
+
+        // When & Then
+        assertEquals("REPORT_PARAM_INVALID", assertThrows(BusinessException.class,
+                () -> ReportPlanCompiler.compile(report, params)).getCode());
+    }
+
+    @Test
+    @DisplayName("按参数类型转换并使用默认值")
+    void normalize_TypedValuesAndDefaults() {
+        // When
+        Map<String, Object> normalized = compile("SELECT 1").normalize(
+                Map.of("minAmount", "100.50", "day", "2024-03-01", "since", "2024-03-01 08:30:00"));
+
+        // Then
+        assertEquals("east", normalized.get("region"));
+        assertEquals(new BigDecimal("100.5"), normalized.get("minAmount"));
+        assertEquals(LocalDate.of(2024, 3, 1), normalized.get("day"));
+        assertEquals(LocalDateTime.of(2024, 3, 1, 8, 30), normalized.get("since"));
+    }
+
+    @Test
+    @DisplayName("语义相同的参数规范化结果相等")
+    void normalize_EquivalentValuesAreEqual() {
+        // Given
+        ReportPlan plan = compile("SELECT 1");
+        Map<String, Object> first = new HashMap<>();
+        first.put("minAmount", 100);
+        first.put("day", "2024-03-01");
+        first.put("since", "2024-03-01T08:30");
+        first.put("region", "");
+
+        // When & Then
+        assertEquals(plan.normalize(first), plan.normalize(Map.of("minAmount", "1.00E+2", "day", "2024-03-01",
+                "since", "2024-03-01 08:30:00", "region", "east")));
+    }
+
+    @Test
+    @DisplayName("日期时间参数截断秒的小数部分，规范值与绑定值一致")
+    void normalize_DateTimeTruncatesFraction() throws Exception {
+        // Given
+        ReportPlan plan = compile("SELECT * FROM t WHERE c = :since");
+        PreparedStatement ps = mock(PreparedStatement.class);
+
+        // When
+        Map<String, Object> values = plan.normalize(Map.of("day", "2024-03-01", "since", "2024-03-01T08:30:15.999"));
+        plan.bind(ps, values);
+
+        // Then
+        assertEquals(LocalDateTime.of(2024, 3, 1, 8, 30, 15), values.get("since"));
+        assertEquals(plan.normalize(Map.of("day", "2024-03-01", "since", "2024-03-01 08:30:15")), values);
+        verify(ps).setString(1, "2024-03-01 08:30:15");
+    }
+
+    @Test
+    @DisplayName("缺少必填参数、参数格式错误或未定义")
+    void normalize_InvalidParams() {
+        // Given
+        ReportPlan plan = compile("SELECT 1");
+
+        // When & Then
+        assertEquals("PARAM_REQUIRED", assertThrows(BusinessException.class,
+                () -> plan.normalize(Map.of())).getCode());
+        assertEquals("PARAM_INVALID", assertThrows(BusinessException.class,
+                () -> plan.normalize(Map.of("day", "2024/03/01"))).getCode());
+        assertEquals("PARAM_UNKNOWN", assertThrows(BusinessException.class,
+                () -> plan.normalize(Map.of("day", "2024-03-01", "x", "1"))).getCode());
+    }
+
+    @Test
+    @DisplayName("按绑定顺序和类型绑定参数")
+    void bind_TypedValues() throws Exception {
+        // Given
+        ReportPlan plan = compile("SELECT * FROM t WHERE a = :minAmount AND b = :day AND c = :since AND d = :minAmount");
+        Map<String, Object> values = plan.normalize(Map.of("minAmount", "12.5", "day", "2024-03-01"));
+        PreparedStatement ps = mock(PreparedStatement.class);
+
+        // When
+        plan.bind(ps, values);
+
+        // Then
+        verify(ps).setDouble(1, 12.5);
+        verify(ps).setString(2, "2024-03-01");
+        verify(ps).setNull(3, Types.NULL);
+        verify(ps).setDouble(4, 12.5);
+    }
+
+    private static ReportPlan compile(String sql) {
+        return ReportPlanCompiler.compile(Report.builder().id(1L).sqlContent(sql).build(), PARAMS);
+    }
+
+    private static ReportParam param(String name, ReportParam.ParamType type, boolean required, String defaultValue) {
+        return ReportParam.builder()
+                .reportId(1L)
+                .paramName(name)
+                .paramType(type)
+                .required(required)
+                .defaultValue(defaultValue)
+                .build();
+    }
+}
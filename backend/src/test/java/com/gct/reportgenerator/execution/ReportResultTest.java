@@ -0,0 +1,166 @@
+package com.gct.reportgenerator.execution;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ReportResult / ResultColumn单元测试
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("列式查询结果单元测试")
+class ReportResultTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE sales (id INTEGER, region TEXT, amount REAL, qty INTEGER)");
+            for (int i = 1; i <= 1000; i++) {
+                stmt.execute(String.format("INSERT INTO sales VALUES (%d, '%s', %d.25, %s)",
+                        i, i % 2 == 0 ? "east" : "west", i, i % 10 == 0 ? "NULL" : String.valueOf(i)));
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("按列类型保存为原始类型数组，字符串字典编码，null用位图表示")
+    void read_TypedColumns() throws Exception {
+        // When
+        ReportResult result = query("SELECT id, region, amount, qty FROM sales ORDER BY id", 10_000);
+
+        // Then
+        assertEquals(List.of("id", "region", "amount", "qty"), result.columnNames());
+        assertEquals(1000, result.rowCount());
+        assertFalse(result.truncated());
+        ResultColumn id = result.columns().get(0);
+        ResultColumn region = result.columns().get(1);
+        ResultColumn amount = result.columns().get(2);
+        ResultColumn qty = result.columns().get(3);
+        assertEquals(ResultColumn.Type.LONG, id.type());
+        assertEquals(ResultColumn.Type.STRING, region.type());
+        assertEquals(ResultColumn.Type.DOUBLE, amount.type());
+        assertEquals(ResultColumn.Type.LONG, qty.type());
+
+        assertEquals(1L, id.getLong(0));
+        assertEquals("west", region.getString(0));
+        assertEquals(2, region.dictionarySize());
+        assertEquals(1.25, amount.getDouble(0));
+        assertTrue(qty.isNull(9));
+        assertNull(result.get(9, 3));
+        assertEquals(11L, result.get(10, 3));
+    }
+
+    @Test
+    @DisplayName("超过行数上限时截断")
+    void read_Truncated() throws Exception {
+        // When
+        ReportResult result = query("SELECT id FROM sales", 100);
+
+        // Then
+        assertEquals(100, result.rowCount());
+        assertTrue(result.truncated());
+    }
+
+    @Test
+    @DisplayName("动态类型列按实际值提升类型，不丢失值")
+    void of_PromotesMixedTypes() {
+        // When
+        ReportResult result = ReportResult.of(List.of("n", "mixed", "day", "at", "dec"), List.of(
+                new Object[]{1, 1L, LocalDate.of(2024, 3, 1), LocalDateTime.of(2024, 3, 1, 8, 30, 0, 123_456_000), null},
+                new Object[]{2.5, "x", java.sql.Date.valueOf("1969-12-31"), null, new BigDecimal("1.10")}
+        ), false);
+
+        // Then
+        assertEquals(ResultColumn.Type.DOUBLE, result.columns().get(0).type());
+        assertEquals(1.0, result.get(0, 0));
+        assertEquals(2.5, result.get(1, 0));
+        assertEquals(ResultColumn.Type.OBJECT, result.columns().get(1).type());
+        assertEquals(1L, result.get(0, 1));
+        assertEquals("x", result.get(1, 1));
+        assertEquals(ResultColumn.Type.DATE, result.columns().get(2).type());
+        assertEquals(LocalDate.of(1969, 12, 31), result.get(1, 2));
+        assertEquals(ResultColumn.Type.DATETIME, result.columns().get(3).type());
+        assertEquals(LocalDateTime.of(2024, 3, 1, 8, 30, 0, 123_456_000), result.get(0, 3));
+        assertEquals(new BigDecimal("1.10"), result.get(1, 4));
+    }
+
+    @Test
+    @DisplayName("JSON按行输出，不生成中间行对象")
+    void serialize_RowArrays() throws Exception {
+        // Given
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ReportResult result = ReportResult.of(List.of("id", "name", "day"), List.of(
+                new Object[]{1L, "a", LocalDate.of(2024, 3, 1)},
+                new Object[]{2L, null, null}), false);
+
+        // When
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(result));
+
+        // Then
+        assertEquals("[\"id\",\"name\",\"day\"]", json.get("columns").toString());
+        assertEquals("[[1,\"a\",\"2024-03-01\"],[2,null,null]]", json.get("rows").toString());
+        assertEquals(2, json.get("rowCount").asInt());
+        assertFalse(json.get("truncated").asBoolean());
+    }
+
+    @Test
+    @DisplayName("数值为主的结果占用内存为逐行Map的几分之一")
+    void estimatedBytes_SmallerThanRowMaps() throws Exception {
+        // Given
+        ReportResult result = query("SELECT id, amount, qty, region FROM sales", 10_000);
+
+        // When
+        long columnar = result.estimatedBytes();
+        long rowMaps = estimateRowMaps(result);
+
+        // Then
+        assertTrue(columnar * 3 < rowMaps, "列式: " + columnar + ", 逐行Map: " + rowMaps);
+    }
+
+    private ReportResult query(String sql, int maxRows) throws Exception {
+        try (Statement stmt = connection.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            return ReportResult.read(rs, maxRows);
+        }
+    }
+
+    /**
+     * 按List&lt;Map&lt;String, Object&gt;&gt;保存时的估算：每行一个HashMap（对象头、桶数组、每个键值一个Entry）和装箱后的值
+     */
+    private static long estimateRowMaps(ReportResult result) {
+        int columns = result.columns().size();
+        long perRow = 48 + 16 + 8L * Integer.highestOneBit(columns * 2) + 32L * columns;
+        long bytes = 16 + (8 + perRow) * result.rowCount();
+        for (int row = 0; row < result.rowCount(); row++) {
+            for (int column = 0; column < columns; column++) {
+                bytes += ResultColumn.sizeOf(result.get(row, column));
+            }
+        }
+        return bytes;
+    }
+}
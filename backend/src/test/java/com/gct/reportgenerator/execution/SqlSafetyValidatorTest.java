@@ -0,0 +1,94 @@
+package com.gct.reportgenerator.execution;
+
+import com.gct.reportgenerator.config.ReportCacheProperties;
+import com.gct.reportgenerator.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SqlSafetyValidator单元测试
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("SQL安全校验单元测试")
+class SqlSafetyValidatorTest {
+
+    @ParameterizedTest
+    @DisplayName("允许单条SELECT查询")
+    @ValueSource(strings = {
+            "SELECT * FROM sales",
+            "select id, replace(name, 'a', 'b') from sales;",
+            "  -- 统计\n SELECT t.update, t.\"delete\" FROM logs t WHERE note = 'drop table; --'",
+            "/* insert into */ (SELECT 1) UNION ALL SELECT 2",
+            "WITH RECURSIVE c(x) AS (SELECT 1 UNION ALL SELECT x + 1 FROM c WHERE x < 10) SELECT * FROM c",
+            "SELECT [order], `delete` FROM t WHERE d >= :since ;  -- 结尾注释"
+    })
+    void inspect_Allowed(String sql) {
+        assertTrue(SqlSafetyValidator.inspect(sql).allowed(), () -> SqlSafetyValidator.inspect(sql).reason());
+    }
+
+    @ParameterizedTest
+    @DisplayName("COMMENT、LOCK等非保留字作为列名、别名时允许")
+    @ValueSource(strings = {
+            "SELECT comment FROM t",
+            "SELECT id, lock, release FROM t",
+            "SELECT call, analyze AS a, rename FROM t ORDER BY begin DESC",
+            "SELECT t.comment, max(release) AS begin FROM t WHERE lock = 1 AND (call IS NULL OR rename <> '')",
+            "WITH comment AS (SELECT 1 AS x) SELECT x FROM comment"
+    })
+    void inspect_StatementKeywordsAsIdentifiers(String sql) {
+        assertTrue(SqlSafetyValidator.inspect(sql).allowed(), () -> SqlSafetyValidator.inspect(sql).reason());
+    }
+
+    @ParameterizedTest
+    @DisplayName("拒绝写操作、多语句和非SELECT语句")
+    @ValueSource(strings = {
+            "DELETE FROM sales",
+            "SELECT 1; DROP TABLE users",
+            "SELECT 1; -- ok\n UPDATE users SET role = 'ADMIN'",
+            "WITH x AS (SELECT 1) DELETE FROM sales",
+            "SELECT * FROM users FOR UPDATE",
+            "SELECT * INTO backup FROM users",
+            "PRAGMA table_info(users)",
+            "ATTACH DATABASE 'x.db' AS x",
+            "SELECT load_extension('evil')",
+            "SELECT (SELECT 1; SELECT 2)",
+            "SELECT 'unterminated",
+            "SELECT 1 /* unterminated",
+            "SELECT 1 FROM t WHERE a = 1 REPLACE INTO t VALUES (1)",
+            "VALUES (1)",
+            "WITH x AS (SELECT 1) CALL refresh_all()",
+            "SELECT * FROM t WHERE id = 1 LOCK IN SHARE MODE",
+            "SELECT 1 BEGIN"
+    })
+    void inspect_Rejected(String sql) {
+        assertFalse(SqlSafetyValidator.inspect(sql).allowed(), sql);
+    }
+
+    @Test
+    @DisplayName("校验结论按SQL内容缓存")
+    void validate_CachesVerdictByContent() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SqlSafetyValidator validator = new SqlSafetyValidator(new ReportCacheProperties(), meterRegistry);
+
+        // When
+        SqlVerdict first = validator.validate("DELETE FROM sales");
+        SqlVerdict second = validator.validate("DELETE FROM sales");
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "sqlVerdicts").tag("result", "hit")
+                .functionCounter().count());
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> validator.requireAllowed("DELETE FROM sales"));
+        assertEquals("SQL_NOT_ALLOWED", exception.getCode());
+        assertFalse(validator.validate("  ").allowed());
+    }
+}
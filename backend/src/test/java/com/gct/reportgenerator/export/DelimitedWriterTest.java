@@ -0,0 +1,227 @@
+package com.gct.reportgenerator.export;
+
+import com.gct.reportgenerator.entity.ReportColumn;
+import com.gct.reportgenerator.entity.ReportColumn.FormatType;
+import com.gct.reportgenerator.execution.ReportResult;
+import com.gct.reportgenerator.format.FormatContext;
+import com.gct.reportgenerator.format.ReportFormatter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * DelimitedWriter单元测试
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("CSV/TSV写出器单元测试")
+class DelimitedWriterTest {
+
+    private static final List<ReportColumn> COLUMNS = List.of(
+            column("amount", "金额", FormatType.CURRENCY),
+            column("ORDER_NO", "订单号", FormatType.TEXT),
+            column("day", "日期", FormatType.DATE));
+
+    private static final ReportFormatter FORMATTER =
+            ReportFormatter.compile(COLUMNS, FormatContext.of(ZoneOffset.UTC, Locale.ROOT));
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE orders (id INTEGER, order_no TEXT, amount REAL, day TEXT)");
+            stmt.execute("INSERT INTO orders VALUES (1, 'NO-1', 1234.5, '2024-02-29')");
+            stmt.execute("INSERT INTO orders VALUES (2, 'A,\"B\"\nC', NULL, NULL)");
+            stmt.execute("INSERT INTO orders VALUES (3, '华东\t😀', -0.5, '2024-03-01')");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("CSV按列配置顺序写出表头和格式化值，按RFC 4180转义")
+    void write_Csv() throws Exception {
+        // Given
+        DelimitedWriter writer = new DelimitedWriter(ExportFormat.CSV, new ByteBufferPool(64, 1), true, rows -> {
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = query(rs -> writer.write(rs, exportColumns(), FORMATTER, Channels.newChannel(out)));
+
+        // Then
+        assertEquals(3, rows);
+        byte[] bytes = out.toByteArray();
+        assertArrayEquals(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}, Arrays.copyOf(bytes, 3));
+        assertEquals("金额,订单号,日期\r\n"
+                + "\"¥1,234.50\",NO-1,2024-02-29\r\n"
+                + ",\"A,\"\"B\"\"\nC\",\r\n"
+                + "-¥0.50,华东\t😀,2024-03-01\r\n",
+                new String(bytes, 3, bytes.length - 3, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("TSV把字段内的制表符和换行替换为空格，未配置列时按结果列输出")
+    void write_Tsv() throws Exception {
+        // Given
+        DelimitedWriter writer = new DelimitedWriter(ExportFormat.TSV, new ByteBufferPool(64, 1), false, rows -> {
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        query(rs -> writer.write(rs, List.of(), FORMATTER, Channels.newChannel(out)));
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals("id\torder_no\tamount\tday", lines[0]);
+        assertEquals("2\tA,\"B\" C\t\t", lines[2]);
+        assertEquals("3\t华东 😀\t-¥0.50\t2024-03-01", lines[3]);
+    }
+
+    @Test
+    @DisplayName("列式结果与结果集写出相同的内容")
+    void write_ColumnarResultMatchesResultSet() throws Exception {
+        // Given
+        DelimitedWriter writer = new DelimitedWriter(ExportFormat.CSV, new ByteBufferPool(16, 1), true, rows -> {
+        });
+        ByteArrayOutputStream fromCursor = new ByteArrayOutputStream();
+        ByteArrayOutputStream fromResult = new ByteArrayOutputStream();
+        ReportResult result;
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT id, order_no, amount, day FROM orders ORDER BY id")) {
+            result = ReportResult.read(rs, 100);
+        }
+
+        // When
+        query(rs -> writer.write(rs, exportColumns(), FORMATTER, Channels.newChannel(fromCursor)));
+        writer.write(result, exportColumns(), FORMATTER, Channels.newChannel(fromResult));
+
+        // Then
+        assertEquals(fromCursor.toString(StandardCharsets.UTF_8), fromResult.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("UTF-8编码跨缓冲区边界时与String.getBytes一致")
+    void write_EncodesAcrossBufferBoundaries() throws Exception {
+        // Given
+        String text = "a华😀é\uD800z".repeat(50);
+        ReportResult result = ReportResult.of(List.of("order_no"), List.<Object[]>of(new Object[]{text}), false);
+        DelimitedWriter writer = new DelimitedWriter(ExportFormat.TSV, new ByteBufferPool(7, 1), false, rows -> {
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        writer.write(result, List.of(), FORMATTER, Channels.newChannel(out));
+
+        // Then
+        assertArrayEquals(("order_no\r\n" + text + "\r\n").getBytes(StandardCharsets.UTF_8), out.toByteArray());
+    }
+
+    @Test
+    @DisplayName("写出列式结果时每行不分配内存，进度按间隔回调")
+    void write_AllocationFree() throws Exception {
+        // Given
+        com.sun.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean()
+                instanceof com.sun.management.ThreadMXBean bean ? bean : null;
+        assumeTrue(threads != null && threads.isThreadAllocatedMemorySupported());
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            rows.add(new Object[]{i * 10.25, "NO-" + i, LocalDate.of(2024, 1, 1).plusDays(i % 366)});
+        }
+        ReportResult result = ReportResult.of(List.of("amount", "order_no", "day"), rows, false);
+        ByteBufferPool pool = new ByteBufferPool(64 * 1024, 1);
+        List<Long> progress = new ArrayList<>(100);
+        DelimitedWriter writer = new DelimitedWriter(ExportFormat.CSV, pool, true, progress::add);
+        CountingChannel channel = new CountingChannel();
+        // 预热：初始化格式化器、缓冲池和进度列表
+        writer.write(result, exportColumns(), FORMATTER, channel);
+        progress.clear();
+
+        // When
+        long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        writer.write(result, exportColumns(), FORMATTER, channel);
+        long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+
+        // Then
+        assertTrue(allocated < 64 * 1024, "写出5万行分配了" + allocated + "字节");
+        assertEquals(50_000 / 1024 + 1, progress.size());
+        assertEquals(50_000L, progress.get(progress.size() - 1));
+        assertTrue(channel.bytes > 50_000 * 20);
+    }
+
+    private long query(ResultSetHandler handler) throws Exception {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT id, order_no, amount, day FROM orders ORDER BY id")) {
+            return handler.handle(rs);
+        }
+    }
+
+    private static List<ExportColumn> exportColumns() {
+        return COLUMNS.stream().map(ExportColumn::from).toList();
+    }
+
+    private static ReportColumn column(String fieldName, String displayName, FormatType formatType) {
+        return ReportColumn.builder()
+                .fieldName(fieldName)
+                .displayName(displayName)
+                .formatType(formatType)
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface ResultSetHandler {
+        long handle(ResultSet rs) throws Exception;
+    }
+
+    /**
+     * 只统计字节数的通道
+     */
+    private static final class CountingChannel implements WritableByteChannel {
+
+        private long bytes;
+
+        @Override
+        public int write(ByteBuffer src) {
+            int remaining = src.remaining();
+            src.position(src.limit());
+            bytes += remaining;
+            return remaining;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
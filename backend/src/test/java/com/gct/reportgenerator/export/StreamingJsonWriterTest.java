@@ -0,0 +1,173 @@
+package com.gct.reportgenerator.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gct.reportgenerator.execution.ReportResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * StreamingJsonWriter单元测试
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("流式JSON写出器单元测试")
+class StreamingJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE orders (id INTEGER, order_no TEXT, amount REAL)");
+            for (int i = 1; i <= 250; i++) {
+                stmt.execute(String.format("INSERT INTO orders VALUES (%d, 'NO-%d', %d.5)", i, i, i));
+            }
+            stmt.execute("INSERT INTO orders VALUES (251, NULL, NULL)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("NDJSON：首行列名，每行一个数据行，末行为行数，每批刷新一次")
+    void write_Ndjson() throws Exception {
+        // Given
+        StreamingJsonWriter writer = new StreamingJsonWriter(objectMapper, StreamingJsonWriter.Format.NDJSON, 100);
+        CountingOutputStream out = new CountingOutputStream();
+
+        // When
+        long rows = query(rs -> writer.write(rs, out));
+
+        // Then
+        assertEquals(251, rows);
+        String[] lines = out.text().split("\n");
+        assertEquals(253, lines.length);
+        assertEquals("{\"columns\":[\"id\",\"order_no\",\"amount\"]}", lines[0]);
+        assertEquals("[1,\"NO-1\",1.5]", lines[1]);
+        assertEquals("[251,null,null]", lines[251]);
+        assertEquals("{\"rowCount\":251}", lines[252]);
+        // 列名 + 两个整批 + 关闭时写出结尾
+        assertEquals(4, out.flushes);
+    }
+
+    @Test
+    @DisplayName("JSON：与在线查询结果格式相同")
+    void write_Json() throws Exception {
+        // Given
+        StreamingJsonWriter writer = new StreamingJsonWriter(objectMapper, StreamingJsonWriter.Format.JSON, 100);
+        CountingOutputStream out = new CountingOutputStream();
+
+        // When
+        query(rs -> writer.write(rs, out));
+
+        // Then
+        JsonNode json = objectMapper.readTree(out.text());
+        assertEquals(3, json.get("columns").size());
+        assertEquals(251, json.get("rows").size());
+        assertEquals("NO-250", json.get("rows").get(249).get(1).asText());
+        assertEquals(251, json.get("rowCount").asInt());
+        assertFalse(json.get("truncated").asBoolean());
+    }
+
+    @Test
+    @DisplayName("写出列式结果时日期与在线查询结果一致")
+    void write_ColumnarResult() throws Exception {
+        // Given
+        StreamingJsonWriter writer = new StreamingJsonWriter(objectMapper, StreamingJsonWriter.Format.NDJSON, 100);
+        ReportResult result = ReportResult.of(List.of("day", "qty", "name"),
+                List.<Object[]>of(new Object[]{LocalDate.of(2024, 2, 29), 3L, "东区"}), false);
+        CountingOutputStream out = new CountingOutputStream();
+
+        // When
+        writer.write(result, out);
+
+        // Then
+        assertEquals("{\"columns\":[\"day\",\"qty\",\"name\"]}\n[\"2024-02-29\",3,\"东区\"]\n{\"rowCount\":1}\n",
+                out.text());
+        assertEquals("\"2024-02-29\",3,\"东区\"",
+                objectMapper.writeValueAsString(result).replaceAll(".*\"rows\":\\[\\[(.*)]].*", "$1"));
+    }
+
+    @Test
+    @DisplayName("客户端断开时写出失败并停止读取，不补全结尾")
+    void write_ClientDisconnected() {
+        // Given
+        StreamingJsonWriter writer = new StreamingJsonWriter(objectMapper, StreamingJsonWriter.Format.JSON, 10);
+        CountingOutputStream out = new CountingOutputStream();
+        out.failAfterFlushes = 3;
+
+        // When & Then
+        assertThrows(IOException.class, () -> query(rs -> writer.write(rs, out)));
+        assertFalse(out.text().endsWith("}"));
+        assertTrue(out.text().length() < 2_000);
+    }
+
+    private long query(ResultSetHandler handler) throws Exception {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT id, order_no, amount FROM orders ORDER BY id")) {
+            return handler.handle(rs);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResultSetHandler {
+        long handle(ResultSet rs) throws Exception;
+    }
+
+    /**
+     * 记录刷新次数，可模拟客户端断开
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private int flushes;
+        private int failAfterFlushes = Integer.MAX_VALUE;
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (flushes >= failAfterFlushes) {
+                throw new IOException("Broken pipe");
+            }
+            bytes.write(b, off, len);
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+
+        String text() {
+            return bytes.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.gct.reportgenerator.export;
+
+import com.gct.reportgenerator.entity.ReportColumn.FormatType;
+import com.gct.reportgenerator.execution.ReportResult;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * StreamingXlsxWriter单元测试
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("流式XLSX写出器单元测试")
+class StreamingXlsxWriterTest {
+
+    private Connection connection;
+    private StreamingXlsxWriter writer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE orders (order_no TEXT, amount REAL, created_at TEXT)");
+            for (int i = 1; i <= 250; i++) {
+                stmt.execute(String.format(
+                        "INSERT INTO orders VALUES ('NO-%d', %d.5, '2024-01-15 10:30:00')", i, i));
+            }
+        }
+        // 窗口小于行数，确保走刷盘路径
+        writer = new StreamingXlsxWriter(10, ZoneId.of("Asia/Shanghai"));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("按列配置写出表头、列宽和格式")
+    void write_WithColumnConfig() throws Exception {
+        // Given
+        List<ExportColumn> columns = List.of(
+                new ExportColumn("amount", "金额", 140, FormatType.CURRENCY),
+                new ExportColumn("ORDER_NO", "订单号", 120, FormatType.TEXT),
+                new ExportColumn("created_at", "创建时间", 160, FormatType.DATETIME));
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows;
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT order_no, amount, created_at FROM orders")) {
+            rows = writer.write(rs, columns, "订单报表", out);
+        }
+
+        // Then
+        assertEquals(250, rows);
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("订单报表");
+            assertNotNull(sheet);
+            assertEquals(250, sheet.getLastRowNum());
+
+            Row header = sheet.getRow(0);
+            assertEquals("金额", header.getCell(0).getStringCellValue());
+            assertEquals("订单号", header.getCell(1).getStringCellValue());
+            assertEquals("创建时间", header.getCell(2).getStringCellValue());
+            assertEquals(140 * 256 / 7, sheet.getColumnWidth(0));
+
+            Row first = sheet.getRow(1);
+            assertEquals(1.5, first.getCell(0).getNumericCellValue());
+            assertEquals("¥#,##0.00", first.getCell(0).getCellStyle().getDataFormatString());
+            assertEquals("NO-1", first.getCell(1).getStringCellValue());
+            assertEquals(LocalDateTime.of(2024, 1, 15, 10, 30), first.getCell(2).getLocalDateTimeCellValue());
+        }
+    }
+
+    @Test
+    @DisplayName("行数窗口小于1时拒绝创建")
+    void constructor_RejectsInvalidWindowSize() {
+        assertThrows(IllegalArgumentException.class, () -> new StreamingXlsxWriter(0, ZoneId.of("UTC")));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingXlsxWriter(-1, ZoneId.of("UTC")));
+    }
+
+    @Test
+    @DisplayName("无列配置时按结果集原始列写出")
+    void write_WithoutColumnConfig() throws Exception {
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT order_no, amount FROM orders WHERE amount < 3")) {
+            writer.write(rs, List.of(), "orders", out);
+        }
+
+        // Then
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals("order_no", sheet.getRow(0).getCell(0).getStringCellValue());
+            assertEquals("amount", sheet.getRow(0).getCell(1).getStringCellValue());
+            assertEquals(2, sheet.getLastRowNum());
+            assertEquals(2.5, sheet.getRow(2).getCell(1).getNumericCellValue());
+        }
+    }
+
+    @Test
+    @DisplayName("写出内存中的列式结果，与从结果集写出一致")
+    void write_FromColumnarResult() throws Exception {
+        // Given
+        List<ExportColumn> columns = List.of(
+                new ExportColumn("amount", "金额", 140, FormatType.CURRENCY),
+                new ExportColumn("order_no", "订单号", 120, FormatType.TEXT));
+        ReportResult result;
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT order_no, amount, NULL AS remark FROM orders")) {
+            result = ReportResult.read(rs, 1000);
+        }
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = writer.write(result, columns, "订单报表", out);
+
+        // Then
+        assertEquals(250, rows);
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("订单报表");
+            assertEquals(250, sheet.getLastRowNum());
+            Row last = sheet.getRow(250);
+            assertEquals(250.5, last.getCell(0).getNumericCellValue());
+            assertEquals("¥#,##0.00", last.getCell(0).getCellStyle().getDataFormatString());
+            assertEquals("NO-250", last.getCell(1).getStringCellValue());
+        }
+    }
+}
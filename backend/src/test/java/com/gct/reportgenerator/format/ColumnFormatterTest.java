@@ -0,0 +1,181 @@
+package com.gct.reportgenerator.format;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gct.reportgenerator.entity.ReportColumn;
+import com.gct.reportgenerator.entity.ReportColumn.FormatType;
+import com.gct.reportgenerator.execution.ReportResult;
+import com.gct.reportgenerator.execution.ResultColumn;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * ColumnFormatter / ReportFormatter单元测试
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("列格式化器单元测试")
+class ColumnFormatterTest {
+
+    private static final FormatContext CONTEXT = FormatContext.of(ZoneId.of("Asia/Shanghai"), Locale.SIMPLIFIED_CHINESE);
+
+    @Test
+    @DisplayName("数值和货币按千分位、两位小数四舍五入输出")
+    void number_Formats() {
+        // Given
+        ColumnFormatter number = ColumnFormatter.of(FormatType.NUMBER, CONTEXT);
+        ColumnFormatter currency = ColumnFormatter.of(FormatType.CURRENCY, CONTEXT);
+
+        // When & Then
+        assertEquals("1,234,567.00", format(number, 1_234_567L));
+        assertEquals("0.00", format(number, 0));
+        assertEquals("-1,000.50", format(number, -1000.5));
+        assertEquals("12.35", format(number, 12.345));
+        assertEquals("0.00", format(number, -0.001));
+        assertEquals("123,456,789,012,345,678.90", format(number, new BigDecimal("123456789012345678.9")));
+        assertEquals("3.14", format(number, "3.14159"));
+        assertEquals("N/A", format(number, "N/A"));
+        assertEquals("¥99.90", format(currency, 99.9));
+        assertEquals("-¥1,000.00", format(currency, -1000L));
+    }
+
+    @Test
+    @DisplayName("千分位和小数点符号随区域设置变化")
+    void number_UsesLocaleSymbols() {
+        // Given
+        ColumnFormatter number = ColumnFormatter.of(FormatType.NUMBER, FormatContext.of(ZoneId.of("UTC"), Locale.GERMANY));
+
+        // When & Then
+        assertEquals("1.234,50", format(number, 1234.5));
+    }
+
+    @Test
+    @DisplayName("日期和日期时间按固定格式输出，时间戳按配置的时区换算")
+    void temporal_Formats() {
+        // Given
+        ColumnFormatter date = ColumnFormatter.of(FormatType.DATE, CONTEXT);
+        ColumnFormatter dateTime = ColumnFormatter.of(FormatType.DATETIME, CONTEXT);
+        long epochMilli = 1_705_285_800_000L; // 2024-01-15T02:30:00Z
+
+        // When & Then
+        assertEquals("2024-01-15", format(date, LocalDate.of(2024, 1, 15)));
+        assertEquals("1969-12-31", format(date, java.sql.Date.valueOf("1969-12-31")));
+        assertEquals("2024-01-15", format(date, "2024-01-15 10:30:00"));
+        assertEquals("2024-01-15 10:30:00", format(dateTime, epochMilli));
+        assertEquals("2024-01-15 10:30:00", format(dateTime, LocalDateTime.of(2024, 1, 15, 10, 30)));
+        assertEquals("2024-01-15 10:30:00", format(dateTime, "2024-01-15T10:30:00.123"));
+        assertEquals("2024-01-15 10:30:00", format(dateTime, "2024-01-15 10:30"));
+        assertEquals("2024-01-15 00:00:00", format(dateTime, "2024-01-15"));
+        assertEquals("下周一", format(dateTime, "下周一"));
+        assertEquals("2000-02-29 23:59:59", format(dateTime, java.sql.Timestamp.valueOf("2000-02-29 23:59:59")));
+    }
+
+    @Test
+    @DisplayName("列式结果按原始类型格式化，与按值格式化一致")
+    void formatColumn_MatchesValueFormatting() {
+        // Given
+        ReportResult result = ReportResult.of(List.of("amount", "day", "at", "name"), List.of(
+                new Object[]{1234.5, LocalDate.of(2024, 2, 29), LocalDateTime.of(2024, 1, 15, 10, 30, 5), "东区"},
+                new Object[]{null, LocalDate.of(1900, 3, 1), LocalDateTime.of(1970, 1, 1, 0, 0), null}), false);
+        ReportFormatter formatter = ReportFormatter.compile(List.of(
+                column("AMOUNT", FormatType.CURRENCY),
+                column("day", FormatType.DATE),
+                column("at", FormatType.DATETIME)), CONTEXT);
+
+        // When
+        FormattedResult formatted = FormattedResult.of(result, formatter);
+
+        // Then
+        assertEquals("¥1,234.50", formatted.text(0, 0));
+        assertEquals("2024-02-29", formatted.text(0, 1));
+        assertEquals("2024-01-15 10:30:05", formatted.text(0, 2));
+        assertEquals("东区", formatted.text(0, 3));
+        assertNull(formatted.text(1, 0));
+        assertEquals("1900-03-01", formatted.text(1, 1));
+        assertEquals("1970-01-01 00:00:00", formatted.text(1, 2));
+    }
+
+    @Test
+    @DisplayName("格式化结果序列化为按行排列的文本")
+    void formattedResult_Serializes() throws Exception {
+        // Given
+        ReportResult result = ReportResult.of(List.of("amount", "name"), List.of(
+                new Object[]{1000L, "a"},
+                new Object[]{null, "b"}), false);
+        FormattedResult formatted = FormattedResult.of(result,
+                ReportFormatter.compile(List.of(column("amount", FormatType.NUMBER)), CONTEXT));
+
+        // When
+        String json = new ObjectMapper().writeValueAsString(formatted);
+
+        // Then
+        assertEquals("{\"columns\":[\"amount\",\"name\"],\"rows\":[[\"1,000.00\",\"a\"],[null,\"b\"]],"
+                + "\"rowCount\":2,\"truncated\":false}", json);
+    }
+
+    @Test
+    @DisplayName("格式化10万个单元格几乎不产生垃圾")
+    void formatColumn_AllocationFree() {
+        // Given
+        com.sun.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean()
+                instanceof com.sun.management.ThreadMXBean bean ? bean : null;
+        assumeTrue(threads != null && threads.isThreadAllocatedMemorySupported());
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 25_000; i++) {
+            rows.add(new Object[]{i * 10.25, (long) i, LocalDate.of(2024, 1, 1).plusDays(i % 366),
+                    LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(i * 37L)});
+        }
+        ReportResult result = ReportResult.of(List.of("amount", "qty", "day", "at"), rows, false);
+        ColumnFormatter[] formatters = ReportFormatter.compile(List.of(
+                column("amount", FormatType.CURRENCY),
+                column("qty", FormatType.NUMBER),
+                column("day", FormatType.DATE),
+                column("at", FormatType.DATETIME)), CONTEXT).bind(result.columnNames());
+        StringBuilder buffer = new StringBuilder(64);
+        renderAll(result, formatters, buffer);
+
+        // When
+        long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        long checksum = renderAll(result, formatters, buffer);
+        long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+
+        // Then
+        assertTrue(checksum > 0);
+        assertTrue(allocated < 64 * 1024, "格式化10万个单元格分配了" + allocated + "字节");
+    }
+
+    private static long renderAll(ReportResult result, ColumnFormatter[] formatters, StringBuilder buffer) {
+        long checksum = 0;
+        for (int row = 0; row < result.rowCount(); row++) {
+            for (int i = 0; i < formatters.length; i++) {
+                ResultColumn column = result.columns().get(i);
+                buffer.setLength(0);
+                formatters[i].format(column, row, buffer);
+                checksum += buffer.length();
+            }
+        }
+        return checksum;
+    }
+
+    private static String format(ColumnFormatter formatter, Object value) {
+        StringBuilder out = new StringBuilder();
+        formatter.format(value, out);
+        return out.toString();
+    }
+
+    private static ReportColumn column(String fieldName, FormatType formatType) {
+        return ReportColumn.builder().fieldName(fieldName).displayName(fieldName).formatType(formatType).build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.gct.reportgenerator.security;
+
+import com.gct.reportgenerator.config.AuthProperties;
+import com.gct.reportgenerator.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LoginThrottle单元测试
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("登录限流单元测试")
+class LoginThrottleTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+    private static final String ADDRESS = "10.0.0.1";
+
+    private AuthProperties authProperties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        authProperties = new AuthProperties();
+        authProperties.getLoginThrottle().setStripes(1024);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("未超过阈值时允许登录")
+    void checkAllowed_UnderThreshold() {
+        LoginThrottle throttle = throttleAt(NOW);
+        for (int i = 0; i < 4; i++) {
+            throttle.recordFailure("admin", ADDRESS);
+        }
+
+        assertDoesNotThrow(() -> throttle.checkAllowed("admin", ADDRESS));
+    }
+
+    @Test
+    @DisplayName("超过用户名阈值后指数退避")
+    void checkAllowed_ExponentialBackoff() {
+        MutableClock clock = new MutableClock(NOW);
+        LoginThrottle throttle = new LoginThrottle(authProperties, meterRegistry, clock);
+        for (int i = 0; i < 8; i++) {
+            throttle.recordFailure("admin", "10.0.0." + i);
+        }
+
+        // 第8次失败: 退避 1s * 2^(8-5) = 8s
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> throttle.checkAllowed("admin", ADDRESS));
+        assertEquals("LOGIN_THROTTLED", exception.getCode());
+        assertEquals(Duration.ofSeconds(8), exception.getRetryAfter());
+        clock.advance(8_000);
+        assertDoesNotThrow(() -> throttle.checkAllowed("admin", ADDRESS));
+        assertEquals(1.0, meterRegistry.get("gct.auth.login.throttled").tag("key", "username").counter().count());
+    }
+
+    @Test
+    @DisplayName("同一IP尝试多个用户名时按IP限流")
+    void checkAllowed_ThrottledByAddress() {
+        LoginThrottle throttle = throttleAt(NOW);
+        for (int i = 0; i < 20; i++) {
+            throttle.recordFailure("user" + i, ADDRESS);
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> throttle.checkAllowed("another", ADDRESS));
+        assertDoesNotThrow(() -> throttle.checkAllowed("another", "10.0.0.2"));
+        assertEquals(1.0, meterRegistry.get("gct.auth.login.throttled").tag("key", "address").counter().count());
+    }
+
+    @Test
+    @DisplayName("用户名计数大小写不敏感，不影响其他用户名")
+    void recordFailure_UsernameCaseInsensitive() {
+        LoginThrottle throttle = throttleAt(NOW);
+        for (int i = 0; i < 6; i++) {
+            throttle.recordFailure("Admin", "10.0.0." + i);
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> throttle.checkAllowed(" admin ", ADDRESS));
+        assertDoesNotThrow(() -> throttle.checkAllowed("designer", ADDRESS));
+    }
+
+    @Test
+    @DisplayName("超过计数有效期后自动清零")
+    void counters_ExpireAfterWindow() {
+        MutableClock clock = new MutableClock(NOW);
+        LoginThrottle throttle = new LoginThrottle(authProperties, meterRegistry, clock);
+        for (int i = 0; i < 30; i++) {
+            throttle.recordFailure("admin", ADDRESS);
+        }
+        assertThrows(TooManyRequestsException.class, () -> throttle.checkAllowed("admin", ADDRESS));
+
+        clock.advance(Duration.ofMinutes(16).toMillis());
+
+        assertDoesNotThrow(() -> throttle.checkAllowed("admin", ADDRESS));
+        throttle.recordFailure("admin", ADDRESS);
+        assertDoesNotThrow(() -> throttle.checkAllowed("admin", ADDRESS));
+    }
+
+    private LoginThrottle throttleAt(long millis) {
+        return new LoginThrottle(authProperties, meterRegistry,
+                Clock.fixed(Instant.ofEpochMilli(millis), ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,147 @@
+package com.gct.reportgenerator.security;
+
+import com.gct.reportgenerator.config.AuthProperties;
+import com.gct.reportgenerator.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * PasswordHashingService单元测试
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("密码哈希线程池单元测试")
+class PasswordHashingServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("哈希与校验在线程池中执行并记录耗时")
+    void encodeAndMatches() {
+        // Given
+        AuthProperties properties = properties(2, 4);
+        service = new PasswordHashingService(new BCryptPasswordEncoder(4),
+                new PasswordCostCalibrator(properties), properties, meterRegistry);
+
+        // When
+        String hash = service.encode("admin123");
+
+        // Then
+        assertTrue(service.matches("admin123", hash));
+        assertFalse(service.matches("wrong", hash));
+        assertEquals(3, meterRegistry.get("gct.auth.password.hash").timer().count());
+        assertEquals(3, meterRegistry.get("gct.auth.password.queue.wait").timer().count());
+    }
+
+    @Test
+    @DisplayName("线程池和队列已满时快速拒绝")
+    void matches_RejectedWhenSaturated() throws Exception {
+        // Given: 1个线程 + 1个排队位，哈希计算被阻塞
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        BCryptPasswordEncoder encoder = mock(BCryptPasswordEncoder.class);
+        when(encoder.matches(any(), anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+        AuthProperties properties = properties(1, 1);
+        service = new PasswordHashingService(encoder, new PasswordCostCalibrator(properties), properties, meterRegistry);
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> service.matches("a", "h"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> service.matches("b", "h"));
+        waitForQueued();
+
+        // When & Then
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> service.matches("c", "h"));
+        assertEquals("LOGIN_BUSY", exception.getCode());
+        assertEquals(1.0, meterRegistry.get("gct.auth.password.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("等待超时时释放请求线程并单独计数，已开始的计算继续执行完")
+    void matches_TimeoutFreesRequestThreadOnly() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        BCryptPasswordEncoder encoder = mock(BCryptPasswordEncoder.class);
+        when(encoder.matches(any(), anyString())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            finished.countDown();
+            return true;
+        });
+        AuthProperties properties = properties(1, 1);
+        properties.getPassword().setTimeout(Duration.ofMillis(50));
+        service = new PasswordHashingService(encoder, new PasswordCostCalibrator(properties), properties, meterRegistry);
+
+        // When
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> service.matches("a", "h"));
+        release.countDown();
+
+        // Then
+        assertEquals("LOGIN_BUSY", exception.getCode());
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.get("gct.auth.password.timeout").counter().count());
+        assertEquals(0.0, meterRegistry.get("gct.auth.password.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("哈希强度与校准强度不一致时需要重新哈希")
+    void needsRehash() {
+        AuthProperties properties = properties(1, 1);
+        service = new PasswordHashingService(new BCryptPasswordEncoder(4),
+                new PasswordCostCalibrator(properties), properties, meterRegistry);
+
+        assertFalse(service.needsRehash(new BCryptPasswordEncoder(4).encode("pwd")));
+        assertTrue(service.needsRehash(new BCryptPasswordEncoder(5).encode("pwd")));
+        assertTrue(service.needsRehash("$2a$10$N.zmdr9k7uOCQb376NoUnuTJ8iAt6Z5EHsM8lE9lBOsl7iKTVKIUi"));
+        assertTrue(service.needsRehash("plain-text"));
+    }
+
+    private void waitForQueued() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("gct.auth.password.queue.size").gauge().value() < 1
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private AuthProperties properties(int poolSize, int queueCapacity) {
+        AuthProperties properties = new AuthProperties();
+        properties.getPassword().setPoolSize(poolSize);
+        properties.getPassword().setQueueCapacity(queueCapacity);
+        properties.getPassword().setTimeout(Duration.ofSeconds(10));
+        properties.getPassword().setStrength(4);
+        return properties;
+    }
+}
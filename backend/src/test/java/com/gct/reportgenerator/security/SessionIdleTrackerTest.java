@@ -0,0 +1,267 @@
+package com.gct.reportgenerator.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gct.reportgenerator.config.AuthProperties;
+import com.gct.reportgenerator.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * SessionIdleTracker单元测试
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("会话空闲超时单元测试")
+class SessionIdleTrackerTest {
+
+    private static final long START = 1_700_000_000_000L;
+    private static final long MINUTE = 60_000L;
+
+    @TempDir
+    Path tempDir;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private SessionActivityStore activityStore;
+    private AuthProperties authProperties;
+    private MutableClock clock;
+    private SessionIdleTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:sqlite:" + tempDir.resolve("session.db"), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE session_activity (
+                    token_id INTEGER PRIMARY KEY,
+                    last_access_at INTEGER NOT NULL,
+                    expires_at INTEGER NOT NULL,
+                    idle_expired BOOLEAN NOT NULL DEFAULT 0
+                )""");
+        activityStore = new SessionActivityStore(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                new SimpleMeterRegistry());
+        authProperties = new AuthProperties();
+        authProperties.getSession().setIdleTimeout(Duration.ofMinutes(30));
+        clock = new MutableClock(START);
+        tracker = newTracker();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    @DisplayName("持续访问的会话不过期")
+    void touch_SlidingWindow() {
+        AuthenticatedUser user = user(1L, START);
+
+        for (int i = 0; i < 6; i++) {
+            assertTrue(tracker.touch(user));
+            advanceMinutes(20);
+        }
+
+        assertTrue(tracker.touch(user));
+    }
+
+    @Test
+    @DisplayName("空闲超过30分钟后由时间轮判定过期")
+    void advance_ExpiresIdleSession() {
+        AuthenticatedUser user = user(1L, START);
+        assertTrue(tracker.touch(user));
+
+        advanceMinutes(29);
+        assertFalse(tracker.isExpired(1L));
+
+        advanceMinutes(2);
+        assertTrue(tracker.isExpired(1L));
+        assertFalse(tracker.touch(user));
+    }
+
+    @Test
+    @DisplayName("时间轮尚未推进时访问也能判定过期")
+    void touch_ExpiresBeforeTick() {
+        AuthenticatedUser user = user(1L, START);
+        assertTrue(tracker.touch(user));
+
+        clock.set(START + 31 * MINUTE);
+
+        assertFalse(tracker.touch(user));
+        assertTrue(tracker.isExpired(1L));
+    }
+
+    @Test
+    @DisplayName("签发后从未使用的Token按签发时间计算空闲")
+    void touch_UnusedTokenExpires() {
+        advanceMinutes(40);
+
+        assertFalse(tracker.touch(user(1L, START + 5 * MINUTE)));
+        assertTrue(tracker.touch(user(2L, START + 35 * MINUTE)));
+    }
+
+    @Test
+    @DisplayName("Token过期后释放过期标记")
+    void advance_ReleasesAfterTokenExpiry() {
+        AuthenticatedUser user = user(1L, START);
+        tracker.touch(user);
+        advanceMinutes(31);
+        assertTrue(tracker.isExpired(1L));
+
+        advanceMinutes(12 * 60);
+
+        assertFalse(tracker.isExpired(1L));
+    }
+
+    @Test
+    @DisplayName("登出后不再跟踪会话")
+    void remove_StopsTracking() {
+        tracker.touch(user(1L, START));
+
+        tracker.remove(1L);
+        advanceMinutes(31);
+
+        assertFalse(tracker.isExpired(1L));
+    }
+
+    @Test
+    @DisplayName("重启后已空闲的会话仍然过期，未空闲的会话保留原最后访问时间")
+    void touch_IdleStateSurvivesRestart() throws Exception {
+        // Given
+        AuthenticatedUser idle = user(1L, START);
+        AuthenticatedUser active = user(2L, START);
+        tracker.touch(idle);
+        advanceMinutes(20);
+        tracker.touch(active);
+        tracker.flush();
+
+        // When: 重启后新的跟踪器首次见到这两个会话
+        tracker.destroy();
+        clock.set(START + 31 * MINUTE);
+        SessionIdleTracker restarted = newTracker();
+
+        // Then
+        MockHttpServletResponse response = authenticate(restarted, idle);
+        assertEquals(401, response.getStatus());
+        assertTrue(response.getContentAsString().contains("SESSION_EXPIRED"));
+        assertTrue(restarted.isExpired(1L));
+        clock.set(START + 49 * MINUTE);
+        assertTrue(newTracker().touch(active));
+        clock.set(START + 51 * MINUTE);
+        assertFalse(newTracker().touch(active));
+    }
+
+    @Test
+    @DisplayName("已判定过期的会话写回共享存储，其他节点直接拒绝")
+    void flush_SharesExpiredState() {
+        // Given
+        AuthenticatedUser user = user(1L, START);
+        tracker.touch(user);
+        advanceMinutes(31);
+        assertTrue(tracker.isExpired(1L));
+
+        // When
+        tracker.flush();
+        SessionIdleTracker otherNode = newTracker();
+
+        // Then
+        assertFalse(otherNode.touch(user));
+        assertTrue(otherNode.isExpired(1L));
+    }
+
+    @Test
+    @DisplayName("其他节点期间有访问时，本节点不判定空闲过期")
+    void advance_UsesAccessFromOtherNode() {
+        // Given
+        AuthenticatedUser user = user(1L, START);
+        SessionIdleTracker otherNode = newTracker();
+        tracker.touch(user);
+        otherNode.touch(user);
+
+        // When: 只有另一个节点在第20分钟收到请求
+        clock.set(START + 20 * MINUTE);
+        assertTrue(otherNode.touch(user));
+        otherNode.flush();
+        advanceMinutes(15);
+
+        // Then
+        assertFalse(tracker.isExpired(1L));
+        assertTrue(tracker.touch(user));
+    }
+
+    @Test
+    @DisplayName("Token过期后删除共享存储中的记录")
+    void flush_DeletesRowsAfterTokenExpiry() {
+        // Given
+        tracker.touch(user(1L, START));
+        tracker.flush();
+        assertEquals(1, rows());
+
+        // When
+        clock.set(START + 13 * 60 * MINUTE);
+        tracker.flush();
+
+        // Then
+        assertEquals(0, rows());
+    }
+
+    /**
+     * 经过认证过滤器处理一次请求（签名、吊销和用户状态均视为有效）
+     */
+    private MockHttpServletResponse authenticate(SessionIdleTracker sessionIdleTracker, AuthenticatedUser user)
+            throws Exception {
+        TokenService tokenService = mock(TokenService.class);
+        when(tokenService.verify("token")).thenReturn(Optional.of(user));
+        UserPrincipalCache userPrincipalCache = mock(UserPrincipalCache.class);
+        when(userPrincipalCache.findById(user.userId())).thenReturn(Optional.of(
+                new UserPrincipal(user.userId(), user.username(), user.role(), true, "hash")));
+        TokenAuthenticationFilter filter = new TokenAuthenticationFilter(tokenService,
+                mock(TokenRevocationList.class), sessionIdleTracker, userPrincipalCache, new ObjectMapper());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/reports");
+        request.addHeader("Authorization", "Bearer token");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private SessionIdleTracker newTracker() {
+        return new SessionIdleTracker(authProperties, activityStore, new SimpleMeterRegistry(), clock);
+    }
+
+    private int rows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM session_activity", Integer.class);
+    }
+
+    private AuthenticatedUser user(long tokenId, long issuedAt) {
+        return new AuthenticatedUser(1L, "admin", User.UserRole.ADMIN,
+                issuedAt, issuedAt + 12 * 60 * MINUTE, tokenId);
+    }
+
+    /**
+     * 按秒推进时钟并驱动时间轮
+     */
+    private void advanceMinutes(int minutes) {
+        for (int i = 0; i < minutes * 60; i++) {
+            clock.set(clock.millis() + 1_000);
+            tracker.advance();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.gct.reportgenerator.security;
+
+import com.gct.reportgenerator.config.AuthProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TokenRevocationList单元测试
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("Token吊销列表单元测试")
+class TokenRevocationListTest {
+
+    private static final long NOW = 1_000_000L;
+
+    @TempDir
+    Path tempDir;
+
+    private AuthProperties authProperties;
+
+    @BeforeEach
+    void setUp() {
+        authProperties = new AuthProperties();
+        authProperties.getRevocation().setStoreFile(tempDir.resolve("revoked.dat").toString());
+        authProperties.getRevocation().setExpectedEntries(1_000);
+    }
+
+    @Test
+    @DisplayName("吊销后判定为已吊销，其他Token不受影响")
+    void revoke_ThenIsRevoked() {
+        TokenRevocationList list = newList(NOW);
+
+        list.revoke(1L, NOW + 1000);
+
+        assertTrue(list.isRevoked(1L));
+        for (long tokenId = 2; tokenId < 1_000; tokenId++) {
+            assertFalse(list.isRevoked(tokenId));
+        }
+    }
+
+    @Test
+    @DisplayName("已过期的Token无需记录")
+    void revoke_AlreadyExpiredIgnored() {
+        TokenRevocationList list = newList(NOW);
+
+        list.revoke(1L, NOW - 1);
+
+        assertFalse(list.isRevoked(1L));
+    }
+
+    @Test
+    @DisplayName("Token过期后记录被清理")
+    void sweep_RemovesExpired() {
+        newList(NOW).revoke(1L, NOW + 1000);
+        TokenRevocationList list = newList(NOW);
+        list.load();
+        list.revoke(2L, NOW + 5000);
+
+        TokenRevocationList later = newList(NOW + 2000);
+        later.load();
+        later.sweep();
+
+        assertFalse(later.isRevoked(1L));
+        assertTrue(later.isRevoked(2L));
+    }
+
+    @Test
+    @DisplayName("重启后恢复未过期的吊销记录并压缩文件")
+    void load_SurvivesRestart() throws Exception {
+        TokenRevocationList list = newList(NOW);
+        list.revoke(1L, NOW + 1000);
+        list.revoke(2L, NOW + 5000);
+
+        TokenRevocationList restarted = newList(NOW + 2000);
+        restarted.load();
+
+        assertFalse(restarted.isRevoked(1L));
+        assertTrue(restarted.isRevoked(2L));
+        assertEquals(16, Files.size(tempDir.resolve("revoked.dat")));
+    }
+
+    @Test
+    @DisplayName("超过容量上限时仍记录吊销，不淘汰未过期的记录")
+    void revoke_OverCapacityNeverUnrevokes() throws Exception {
+        authProperties.getRevocation().setMaximumSize(2);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TokenRevocationList list = newList(NOW, meterRegistry);
+
+        list.revoke(1L, NOW + 1000);
+        list.revoke(2L, NOW + 3000);
+        list.revoke(3L, NOW + 2000);
+
+        assertTrue(list.isRevoked(1L));
+        assertTrue(list.isRevoked(2L));
+        assertTrue(list.isRevoked(3L));
+        assertEquals(1, meterRegistry.get("gct.auth.revocation.over.capacity").counter().count());
+        TokenRevocationList restarted = newList(NOW);
+        restarted.load();
+        assertTrue(restarted.isRevoked(1L));
+        assertEquals(3 * 16, Files.size(tempDir.resolve("revoked.dat")));
+    }
+
+    private TokenRevocationList newList(long millis) {
+        return newList(millis, new SimpleMeterRegistry());
+    }
+
+    private TokenRevocationList newList(long millis, SimpleMeterRegistry meterRegistry) {
+        return new TokenRevocationList(authProperties, meterRegistry,
+                Clock.fixed(Instant.ofEpochMilli(millis), ZoneOffset.UTC));
+    }
+}
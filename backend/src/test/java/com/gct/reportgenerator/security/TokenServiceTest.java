@@ -0,0 +1,119 @@
+package com.gct.reportgenerator.security;
+
+import com.gct.reportgenerator.config.AuthProperties;
+import com.gct.reportgenerator.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TokenService单元测试
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("签名Token服务单元测试")
+class TokenServiceTest {
+
+    private static final String SECRET = "unit-test-secret-unit-test-secret-0123456789";
+
+    private AuthProperties authProperties;
+    private UserPrincipal testUser;
+
+    @BeforeEach
+    void setUp() {
+        authProperties = new AuthProperties();
+        authProperties.getToken().setSecret(SECRET);
+        authProperties.getToken().setTtl(Duration.ofHours(1));
+
+        testUser = new UserPrincipal(42L, "设计者", User.UserRole.DESIGNER, true, "$2a$04$hash");
+    }
+
+    @Test
+    @DisplayName("签发后可校验并还原用户信息")
+    void issueAndVerify_RoundTrip() {
+        // Given
+        TokenService tokenService = new TokenService(authProperties, fixedClock(1_000_000L));
+
+        // When
+        String token = tokenService.issue(testUser);
+        Optional<AuthenticatedUser> user = tokenService.verify(token);
+
+        // Then
+        assertTrue(user.isPresent());
+        assertEquals(42L, user.get().userId());
+        assertEquals("设计者", user.get().username());
+        assertEquals(User.UserRole.DESIGNER, user.get().role());
+        assertEquals(1_000_000L, user.get().issuedAt());
+        assertEquals(1_000_000L + Duration.ofHours(1).toMillis(), user.get().expiresAt());
+    }
+
+    @Test
+    @DisplayName("每次签发的Token ID不同")
+    void issue_UniqueTokenId() {
+        TokenService tokenService = new TokenService(authProperties, fixedClock(1_000_000L));
+
+        long first = tokenService.verify(tokenService.issue(testUser)).orElseThrow().tokenId();
+        long second = tokenService.verify(tokenService.issue(testUser)).orElseThrow().tokenId();
+
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("篡改载荷后校验失败")
+    void verify_TamperedPayload() {
+        TokenService tokenService = new TokenService(authProperties, fixedClock(1_000_000L));
+        String token = tokenService.issue(testUser);
+
+        char first = token.charAt(0);
+        String tampered = (first == 'A' ? 'B' : 'A') + token.substring(1);
+
+        assertTrue(tokenService.verify(tampered).isEmpty());
+    }
+
+    @Test
+    @DisplayName("不同密钥签发的Token校验失败")
+    void verify_DifferentSecret() {
+        String token = new TokenService(authProperties, fixedClock(1_000_000L)).issue(testUser);
+
+        AuthProperties otherProperties = new AuthProperties();
+        otherProperties.getToken().setSecret(SECRET + "-other");
+        TokenService otherService = new TokenService(otherProperties, fixedClock(1_000_000L));
+
+        assertTrue(otherService.verify(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("过期Token校验失败")
+    void verify_Expired() {
+        String token = new TokenService(authProperties, fixedClock(1_000_000L)).issue(testUser);
+        TokenService later = new TokenService(authProperties,
+                fixedClock(1_000_000L + Duration.ofHours(1).toMillis()));
+
+        assertTrue(later.verify(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("格式错误的Token校验失败")
+    void verify_Malformed() {
+        TokenService tokenService = new TokenService(authProperties, fixedClock(1_000_000L));
+
+        assertTrue(tokenService.verify(null).isEmpty());
+        assertTrue(tokenService.verify("").isEmpty());
+        assertTrue(tokenService.verify("TOKEN_1_1737878400000").isEmpty());
+        assertTrue(tokenService.verify("abc.").isEmpty());
+        assertTrue(tokenService.verify("!!!.@@@").isEmpty());
+    }
+
+    private Clock fixedClock(long millis) {
+        return Clock.fixed(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,148 @@
+package com.gct.reportgenerator.security;
+
+import com.gct.reportgenerator.config.AuthProperties;
+import com.gct.reportgenerator.entity.User;
+import com.gct.reportgenerator.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * UserPrincipalCache单元测试
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("用户认证缓存单元测试")
+class UserPrincipalCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserPrincipalCache cache;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserPrincipalCache(userRepository, new AuthProperties(), new SimpleMeterRegistry());
+        testUser = User.builder()
+                .id(7L)
+                .username("viewer")
+                .password("$2a$04$hash")
+                .role(User.UserRole.VIEWER)
+                .enabled(true)
+                .build();
+    }
+
+    @Test
+    @DisplayName("重复查询只访问一次数据库")
+    void findByUsername_CachedAfterFirstLoad() {
+        when(userRepository.findByUsername("viewer")).thenReturn(Optional.of(testUser));
+
+        assertEquals(7L, cache.findByUsername("viewer").orElseThrow().id());
+        assertEquals(7L, cache.findByUsername("viewer").orElseThrow().id());
+
+        verify(userRepository, times(1)).findByUsername("viewer");
+    }
+
+    @Test
+    @DisplayName("不存在的用户不缓存")
+    void findByUsername_MissNotCached() {
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertTrue(cache.findByUsername("ghost").isEmpty());
+        assertTrue(cache.findByUsername("ghost").isEmpty());
+
+        verify(userRepository, times(2)).findByUsername("ghost");
+    }
+
+    @Test
+    @DisplayName("用户变更后立即失效两种索引")
+    void invalidate_ReloadsChangedUser() {
+        when(userRepository.findByUsername("viewer")).thenReturn(Optional.of(testUser));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(testUser));
+        cache.findByUsername("viewer");
+        cache.findById(7L);
+
+        // 禁用并修改角色
+        User changed = User.builder()
+                .id(7L)
+                .username("viewer")
+                .password("$2a$04$hash")
+                .role(User.UserRole.DESIGNER)
+                .enabled(false)
+                .build();
+        when(userRepository.findByUsername("viewer")).thenReturn(Optional.of(changed));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(changed));
+        cache.invalidate(changed);
+
+        UserPrincipal byName = cache.findByUsername("viewer").orElseThrow();
+        UserPrincipal byId = cache.findById(7L).orElseThrow();
+        assertFalse(byName.enabled());
+        assertEquals(User.UserRole.DESIGNER, byId.role());
+    }
+
+    @Test
+    @DisplayName("按ID的条目超过TTL后返回当前值并在后台刷新，请求线程不查询数据库")
+    void findById_RefreshesInBackground() {
+        // Given
+        AtomicLong nanos = new AtomicLong();
+        List<Runnable> refreshes = new ArrayList<>();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        cache = new UserPrincipalCache(userRepository, new AuthProperties(), meterRegistry, nanos::get,
+                refreshes::add);
+        User disabled = User.builder()
+                .id(7L)
+                .username("viewer")
+                .password("$2a$04$hash")
+                .role(User.UserRole.VIEWER)
+                .enabled(false)
+                .build();
+        when(userRepository.findById(7L)).thenReturn(Optional.of(testUser), Optional.of(disabled));
+        assertTrue(cache.findById(7L).orElseThrow().enabled());
+
+        // When
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        boolean staleEnabled = cache.findById(7L).orElseThrow().enabled();
+        verify(userRepository, times(1)).findById(7L);
+        while (!refreshes.isEmpty()) {
+            refreshes.remove(0).run();
+        }
+
+        // Then
+        assertTrue(staleEnabled);
+        assertFalse(cache.findById(7L).orElseThrow().enabled());
+        verify(userRepository, times(2)).findById(7L);
+        assertEquals(1, meterRegistry.get("gct.auth.principal.load").tag("mode", "sync").timer().count());
+        assertEquals(1, meterRegistry.get("gct.auth.principal.load").tag("mode", "refresh").timer().count());
+    }
+
+    @Test
+    @DisplayName("用户名修改后旧用户名条目失效")
+    void invalidate_RenamedUser() {
+        when(userRepository.findByUsername("viewer")).thenReturn(Optional.of(testUser));
+        cache.findByUsername("viewer");
+
+        User renamed = User.builder().id(7L).username("viewer2").build();
+        when(userRepository.findByUsername("viewer")).thenReturn(Optional.empty());
+        cache.invalidate(renamed);
+
+        assertTrue(cache.findByUsername("viewer").isEmpty());
+    }
+}
@@ -4,7 +4,16 @@ import com.gct.reportgenerator.dto.LoginRequest;
 import com.gct.reportgenerator.dto.LoginResponse;
 import com.gct.reportgenerator.entity.User;
 import com.gct.reportgenerator.exception.BusinessException;
+import com.gct.reportgenerator.exception.TooManyRequestsException;
 import com.gct.reportgenerator.repository.UserRepository;
+import com.gct.reportgenerator.security.AuthenticatedUser;
+import com.gct.reportgenerator.security.LoginThrottle;
+import com.gct.reportgenerator.security.PasswordHashingService;
+import com.gct.reportgenerator.security.SessionIdleTracker;
+import com.gct.reportgenerator.security.TokenRevocationList;
+import com.gct.reportgenerator.security.TokenService;
+import com.gct.reportgenerator.security.UserPrincipal;
+import com.gct.reportgenerator.security.UserPrincipalCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,14 +21,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -32,16 +44,34 @@ import static org.mockito.Mockito.when;
 @DisplayName("认证服务单元测试")
 class AuthServiceTest {
 
+    private static final String CLIENT_ADDRESS = "127.0.0.1";
+
     @Mock
     private UserRepository userRepository;
 
     @Mock
-    private BCryptPasswordEncoder passwordEncoder;
+    private UserPrincipalCache userPrincipalCache;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    @Mock
+    private SessionIdleTracker sessionIdleTracker;
+
+    @Mock
+    private LoginThrottle loginThrottle;
 
     @InjectMocks
     private AuthService authService;
 
     private User testUser;
+    private UserPrincipal testPrincipal;
     private LoginRequest loginRequest;
 
     @BeforeEach
@@ -56,6 +86,7 @@ class AuthServiceTest {
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
+        testPrincipal = UserPrincipal.from(testUser);
 
         loginRequest = LoginRequest.builder()
                 .username("admin")
@@ -67,33 +98,33 @@ class AuthServiceTest {
     @DisplayName("登录成功 - 正确的用户名和密码")
     void login_Success() {
         // Given
-        when(userRepository.findByUsernameAndEnabled("admin", true))
-                .thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches("admin123", testUser.getPassword()))
+        when(userPrincipalCache.findByUsername("admin"))
+                .thenReturn(Optional.of(testPrincipal));
+        when(passwordHashingService.matches("admin123", testUser.getPassword()))
                 .thenReturn(true);
+        when(tokenService.issue(testPrincipal)).thenReturn("signed.token");
 
         // When
-        LoginResponse response = authService.login(loginRequest);
+        LoginResponse response = authService.login(loginRequest, CLIENT_ADDRESS);
 
         // Then
         assertNotNull(response);
         assertEquals("admin", response.getUsername());
         assertEquals("ADMIN", response.getRole());
         assertEquals(1L, response.getUserId());
-        assertNotNull(response.getToken());
-        assertTrue(response.getToken().startsWith("TOKEN_"));
+        assertEquals("signed.token", response.getToken());
     }
 
     @Test
     @DisplayName("登录失败 - 用户不存在")
     void login_UserNotFound() {
         // Given
-        when(userRepository.findByUsernameAndEnabled(anyString(), anyBoolean()))
+        when(userPrincipalCache.findByUsername(anyString()))
                 .thenReturn(Optional.empty());
 
         // When & Then
         BusinessException exception = assertThrows(BusinessException.class, () -> {
-            authService.login(loginRequest);
+            authService.login(loginRequest, CLIENT_ADDRESS);
         });
 
         assertEquals("用户名或密码错误", exception.getMessage());
@@ -103,9 +134,9 @@ class AuthServiceTest {
     @DisplayName("登录失败 - 密码错误")
     void login_WrongPassword() {
         // Given
-        when(userRepository.findByUsernameAndEnabled("admin", true))
-                .thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches("wrongpassword", testUser.getPassword()))
+        when(userPrincipalCache.findByUsername("admin"))
+                .thenReturn(Optional.of(testPrincipal));
+        when(passwordHashingService.matches("wrongpassword", testUser.getPassword()))
                 .thenReturn(false);
 
         LoginRequest wrongRequest = LoginRequest.builder()
@@ -115,41 +146,124 @@ class AuthServiceTest {
 
         // When & Then
         BusinessException exception = assertThrows(BusinessException.class, () -> {
-            authService.login(wrongRequest);
+            authService.login(wrongRequest, CLIENT_ADDRESS);
         });
 
         assertEquals("用户名或密码错误", exception.getMessage());
+        verify(loginThrottle).recordFailure("admin", CLIENT_ADDRESS);
+    }
+
+    @Test
+    @DisplayName("登录限流 - 退避期内不查询用户也不校验密码")
+    void login_Throttled() {
+        // Given
+        doThrow(new TooManyRequestsException("LOGIN_THROTTLED", "登录失败次数过多，请1秒后重试"))
+                .when(loginThrottle).checkAllowed("admin", CLIENT_ADDRESS);
+
+        // When & Then
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class, () -> {
+            authService.login(loginRequest, CLIENT_ADDRESS);
+        });
+
+        assertEquals("LOGIN_THROTTLED", exception.getCode());
+        verify(userPrincipalCache, never()).findByUsername(anyString());
+        verify(passwordHashingService, never()).matches(any(), any());
     }
 
     @Test
     @DisplayName("登录失败 - 用户已禁用")
     void login_UserDisabled() {
         // Given
-        when(userRepository.findByUsernameAndEnabled("admin", true))
-                .thenReturn(Optional.empty());
+        testUser.setEnabled(false);
+        when(userPrincipalCache.findByUsername("admin"))
+                .thenReturn(Optional.of(UserPrincipal.from(testUser)));
 
         // When & Then
         BusinessException exception = assertThrows(BusinessException.class, () -> {
-            authService.login(loginRequest);
+            authService.login(loginRequest, CLIENT_ADDRESS);
         });
 
         assertEquals("用户名或密码错误", exception.getMessage());
     }
 
     @Test
-    @DisplayName("Token生成测试 - Token格式正确")
-    void generateToken_Format() {
+    @DisplayName("Token生成测试 - 登录成功后为用户签发Token")
+    void generateToken_IssuedForUser() {
+        // Given
+        when(userPrincipalCache.findByUsername("admin"))
+                .thenReturn(Optional.of(testPrincipal));
+        when(passwordHashingService.matches("admin123", testUser.getPassword()))
+                .thenReturn(true);
+        when(tokenService.issue(testPrincipal)).thenReturn("signed.token");
+
+        // When
+        authService.login(loginRequest, CLIENT_ADDRESS);
+
+        // Then
+        verify(tokenService).issue(testPrincipal);
+    }
+
+    @Test
+    @DisplayName("登录成功 - 哈希强度不一致时重新哈希并保存")
+    void login_RehashWhenCostChanged() {
         // Given
-        when(userRepository.findByUsernameAndEnabled("admin", true))
-                .thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches("admin123", testUser.getPassword()))
+        when(userPrincipalCache.findByUsername("admin"))
+                .thenReturn(Optional.of(testPrincipal));
+        when(passwordHashingService.matches("admin123", testUser.getPassword()))
                 .thenReturn(true);
+        when(passwordHashingService.needsRehash(testUser.getPassword())).thenReturn(true);
+        when(passwordHashingService.encode("admin123")).thenReturn("$2a$12$rehashed");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(tokenService.issue(testPrincipal)).thenReturn("signed.token");
+
+        // When
+        authService.login(loginRequest, CLIENT_ADDRESS);
+
+        // Then
+        assertEquals("$2a$12$rehashed", testUser.getPassword());
+        verify(userRepository).save(testUser);
+    }
+
+    @Test
+    @DisplayName("登录成功 - 哈希强度一致时不重新哈希")
+    void login_NoRehashWhenCostMatches() {
+        // Given
+        when(userPrincipalCache.findByUsername("admin"))
+                .thenReturn(Optional.of(testPrincipal));
+        when(passwordHashingService.matches("admin123", testUser.getPassword()))
+                .thenReturn(true);
+        when(tokenService.issue(testPrincipal)).thenReturn("signed.token");
+
+        // When
+        authService.login(loginRequest, CLIENT_ADDRESS);
+
+        // Then
+        verify(passwordHashingService, never()).encode(any());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("登出 - 吊销当前Token")
+    void logout_RevokesToken() {
+        // Given
+        AuthenticatedUser currentUser = new AuthenticatedUser(
+                1L, "admin", User.UserRole.ADMIN, 1_000L, 2_000L, 42L);
 
         // When
-        LoginResponse response = authService.login(loginRequest);
+        authService.logout(currentUser);
+
+        // Then
+        verify(tokenRevocationList).revoke(42L, 2_000L);
+        verify(sessionIdleTracker).remove(42L);
+    }
+
+    @Test
+    @DisplayName("登出 - 未携带Token时忽略")
+    void logout_WithoutToken() {
+        // When
+        authService.logout(null);
 
         // Then
-        String token = response.getToken();
-        assertTrue(token.matches("TOKEN_\\d+_\\d+"));
+        verify(tokenRevocationList, never()).revoke(anyLong(), anyLong());
     }
 }
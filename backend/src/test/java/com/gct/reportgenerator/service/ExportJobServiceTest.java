@@ -0,0 +1,302 @@
+package com.gct.reportgenerator.service;
+
+import com.gct.reportgenerator.config.ExportProperties;
+import com.gct.reportgenerator.dto.ExportJobStatus;
+import com.gct.reportgenerator.entity.Report;
+import com.gct.reportgenerator.entity.User;
+import com.gct.reportgenerator.exception.BusinessException;
+import com.gct.reportgenerator.exception.QueryCancelledException;
+import com.gct.reportgenerator.exception.ResourceNotFoundException;
+import com.gct.reportgenerator.exception.TooManyRequestsException;
+import com.gct.reportgenerator.execution.QueryCancellation;
+import com.gct.reportgenerator.execution.ReportDefinition;
+import com.gct.reportgenerator.export.ExportFormat;
+import com.gct.reportgenerator.export.ExportJob;
+import com.gct.reportgenerator.format.FormatContext;
+import com.gct.reportgenerator.format.ReportFormatter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * ExportJobService单元测试
+ *
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("异步导出任务单元测试")
+class ExportJobServiceTest {
+
+    private static final ReportDefinition DEFINITION = new ReportDefinition(
+            Report.builder().id(1L).name("销售汇总").sqlContent("SELECT 1").build(),
+            List.of(), List.of(), Set.of(), null, null,
+            ReportFormatter.compile(List.of(), FormatContext.of(ZoneOffset.UTC, Locale.ROOT)), 1L);
+
+    @TempDir
+    Path spoolDir;
+
+    private ReportExportService reportExportService;
+    private ExportProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ExportJobService exportJobService;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        reportExportService = mock(ReportExportService.class);
+        properties = new ExportProperties();
+        properties.getJobs().setSpoolDir(spoolDir);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (exportJobService != null) {
+            exportJobService.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("任务完成后可查询进度并获取导出文件，暂存文件已重命名")
+    void submit_CompletesAndSpoolsFile() throws Exception {
+        // Given
+        whenExport((cancellation, out, progress) -> {
+            out.write("xlsx-bytes".getBytes(StandardCharsets.US_ASCII));
+            progress.accept(100);
+            return 150;
+        });
+        createService();
+
+        // When
+        ExportJobStatus submitted = submit(7L);
+        ExportJobStatus status = awaitFinished(submitted.getId(), 7L);
+
+        // Then
+        assertEquals("QUEUED", submitted.getStatus());
+        assertEquals("COMPLETED", status.getStatus());
+        assertEquals(150, status.getRowsWritten());
+        assertEquals(10, status.getBytesWritten());
+        assertEquals(status.getFinishedAt().plus(Duration.ofMinutes(30)), status.getExpiresAt());
+        ExportJob job = exportJobService.getCompleted(submitted.getId(), 7L);
+        assertEquals("销售汇总", job.getReportName());
+        assertEquals("xlsx-bytes", Files.readString(job.getFile()));
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(List.of(job.getFile()), files.toList());
+        }
+        assertEquals(1, meterRegistry.get("gct.export.jobs.duration").timer().count());
+    }
+
+    @Test
+    @DisplayName("CSV任务通过文件通道写出并按需gzip压缩，XLSX忽略压缩选项")
+    void submit_DelimitedFormat() throws Exception {
+        // Given
+        when(reportExportService.export(any(), any(), any(), any(), eq(ExportFormat.CSV), eq(true), any(), any(),
+                any())).thenAnswer(invocation -> {
+            WritableByteChannel channel = invocation.getArgument(7);
+            channel.write(ByteBuffer.wrap("a,b\r\n".getBytes(StandardCharsets.US_ASCII)));
+            return 1L;
+        });
+        createService();
+
+        // When
+        ExportJobStatus csv = exportJobService.submit(DEFINITION, Map.of(), 7L, User.UserRole.VIEWER,
+                ExportFormat.CSV, true);
+        ExportJobStatus xlsx = exportJobService.submit(DEFINITION, Map.of(), 8L, User.UserRole.VIEWER,
+                ExportFormat.XLSX, true);
+        awaitFinished(csv.getId(), 7L);
+
+        // Then
+        ExportJob job = exportJobService.getCompleted(csv.getId(), 7L);
+        assertEquals("销售汇总.csv.gz", job.fileName());
+        assertEquals("application/gzip", job.mediaType());
+        assertTrue(job.getFile().getFileName().toString().endsWith(".csv.gz"));
+        assertEquals("a,b\r\n", Files.readString(job.getFile()));
+        assertEquals(5, exportJobService.getStatus(csv.getId(), 7L).getBytesWritten());
+        assertFalse(xlsx.isGzip());
+    }
+
+    @Test
+    @DisplayName("导出失败时任务失败并删除暂存文件，未完成的任务不能下载")
+    void submit_Failure() throws Exception {
+        // Given
+        whenExport((cancellation, out, progress) -> {
+            out.write(new byte[1024]);
+            throw new BusinessException("REPORT_SQL_INVALID", "报表SQL无效");
+        });
+        createService();
+
+        // When
+        String jobId = submit(7L).getId();
+        ExportJobStatus status = awaitFinished(jobId, 7L);
+
+        // Then
+        assertEquals("FAILED", status.getStatus());
+        assertEquals("报表SQL无效", status.getError());
+        assertEquals("EXPORT_JOB_NOT_READY", assertThrows(BusinessException.class,
+                () -> exportJobService.getCompleted(jobId, 7L)).getCode());
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("每个用户排队和执行中的任务数受限，其他用户不受影响")
+    void submit_PerUserLimit() throws Exception {
+        // Given
+        whenExport((cancellation, out, progress) -> {
+            release.await();
+            return 0;
+        });
+        properties.getJobs().setPerUserLimit(2);
+        createService();
+        submit(7L);
+        submit(7L);
+
+        // When & Then
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                () -> submit(7L));
+        assertEquals("EXPORT_USER_LIMIT", e.getCode());
+        assertNotNull(submit(8L).getId());
+        assertEquals(1, meterRegistry.get("gct.export.jobs.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("节点执行和排队的任务数达到上限时拒绝新任务")
+    void submit_QueueFull() {
+        // Given
+        whenExport((cancellation, out, progress) -> {
+            release.await();
+            return 0;
+        });
+        properties.getJobs().setPoolSize(1);
+        properties.getJobs().setQueueCapacity(1);
+        properties.getJobs().setPerUserLimit(10);
+        createService();
+        submit(7L);
+        submit(7L);
+
+        // When & Then
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                () -> submit(7L));
+        assertEquals("EXPORT_QUEUE_FULL", e.getCode());
+        assertNotNull(e.getRetryAfter());
+        assertEquals(1.0, meterRegistry.get("gct.export.jobs.queued").gauge().value());
+    }
+
+    @Test
+    @DisplayName("取消执行中的任务会取消查询，取消排队中的任务不再执行")
+    void cancel_RunningAndQueued() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        whenExport((cancellation, out, progress) -> {
+            started.countDown();
+            while (!cancellation.isCancelled()) {
+                Thread.sleep(5);
+            }
+            throw new QueryCancelledException("导出已取消", null);
+        });
+        properties.getJobs().setPoolSize(1);
+        createService();
+        String running = submit(7L).getId();
+        String queued = submit(7L).getId();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When
+        exportJobService.cancel(queued, 7L);
+        exportJobService.cancel(running, 7L);
+
+        // Then
+        assertEquals("CANCELLED", exportJobService.getStatus(queued, 7L).getStatus());
+        assertEquals("CANCELLED", awaitFinished(running, 7L).getStatus());
+        verify(reportExportService, times(1)).export(any(), any(), any(), any(), any(), anyBoolean(), any(), any(),
+                any());
+        // 取消后用户可以再次创建任务
+        assertNotNull(submit(7L).getId());
+    }
+
+    @Test
+    @DisplayName("过期任务被清理，其他用户看不到任务")
+    void cleanUp_RemovesExpiredJobs() throws Exception {
+        // Given
+        whenExport((cancellation, out, progress) -> {
+            out.write(1);
+            return 1;
+        });
+        properties.getJobs().setTtl(Duration.ZERO);
+        createService();
+        String jobId = submit(7L).getId();
+        awaitFinished(jobId, 7L);
+        Path file = exportJobService.getCompleted(jobId, 7L).getFile();
+        assertThrows(ResourceNotFoundException.class, () -> exportJobService.getStatus(jobId, 8L));
+
+        // When
+        Thread.sleep(5);
+        exportJobService.cleanUp();
+
+        // Then
+        assertThrows(ResourceNotFoundException.class, () -> exportJobService.getStatus(jobId, 7L));
+        assertFalse(Files.exists(file));
+    }
+
+    private ExportJobStatus submit(Long userId) {
+        return exportJobService.submit(DEFINITION, Map.of(), userId, User.UserRole.VIEWER, ExportFormat.XLSX, false);
+    }
+
+    private void createService() {
+        exportJobService = new ExportJobService(reportExportService, properties, meterRegistry);
+    }
+
+    private void whenExport(ExportBody body) {
+        try {
+            when(reportExportService.export(any(), any(), any(), any(), eq(ExportFormat.XLSX), anyBoolean(), any(),
+                    any(), any()))
+                    .thenAnswer(invocation -> body.export(invocation.getArgument(6),
+                            Channels.newOutputStream(invocation.<WritableByteChannel>getArgument(7)),
+                            invocation.getArgument(8)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ExportJobStatus awaitFinished(String jobId, Long userId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            ExportJobStatus status = exportJobService.getStatus(jobId, userId);
+            if (status.getFinishedAt() != null) {
+                return status;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("导出任务未在5秒内结束: " + jobId);
+    }
+
+    @FunctionalInterface
+    private interface ExportBody {
+        long export(QueryCancellation cancellation, OutputStream out, LongConsumer progress) throws Exception;
+    }
+}
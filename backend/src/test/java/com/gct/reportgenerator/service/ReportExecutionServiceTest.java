@@ -0,0 +1,274 @@
+package com.gct.reportgenerator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gct.reportgenerator.audit.ExecutionLogEntry;
+import com.gct.reportgenerator.audit.ExecutionLogWriter;
+import com.gct.reportgenerator.config.ExecutionProperties;
+import com.gct.reportgenerator.entity.Report;
+import com.gct.reportgenerator.entity.ReportParam;
+import com.gct.reportgenerator.entity.User;
+import com.gct.reportgenerator.exception.BusinessException;
+import com.gct.reportgenerator.exception.QueryCancelledException;
+import com.gct.reportgenerator.exception.QueryTimeoutException;
+import com.gct.reportgenerator.exception.TooManyRequestsException;
+import com.gct.reportgenerator.execution.ExecutionGovernor;
+import com.gct.reportgenerator.execution.QueryCancellation;
+import com.gct.reportgenerator.execution.ReportPlan;
+import com.gct.reportgenerator.execution.ReportPlanCompiler;
+import com.gct.reportgenerator.execution.ReportQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * ReportExecutionService单元测试
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("报表查询执行单元测试")
+class ReportExecutionServiceTest {
+
+    /**
+     * 无限递归的CTE，只能被取消
+     */
+    private static final String ENDLESS_SQL =
+            "WITH RECURSIVE c(x) AS (SELECT 1 UNION ALL SELECT x + 1 FROM c) SELECT count(*) FROM c";
+
+    @TempDir
+    Path tempDir;
+
+    private SingleConnectionDataSource dataSource;
+    private ExecutionLogWriter executionLogWriter;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutionProperties executionProperties;
+    private ReportExecutionService reportExecutionService;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:sqlite:" + tempDir.resolve("exec.db"), true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE sales (id INTEGER PRIMARY KEY, amount INTEGER)");
+        for (int i = 1; i <= 25; i++) {
+            jdbcTemplate.update("INSERT INTO sales (id, amount) VALUES (?, ?)", i, i * 10);
+        }
+        executionLogWriter = mock(ExecutionLogWriter.class);
+        meterRegistry = new SimpleMeterRegistry();
+        executionProperties = new ExecutionProperties();
+        reportExecutionService = new ReportExecutionService(jdbcTemplate,
+                new DataSourceTransactionManager(dataSource), executionLogWriter, executionProperties,
+                new ObjectMapper().findAndRegisterModules(), new ExecutionGovernor(executionProperties, meterRegistry),
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reportExecutionService.destroy();
+        dataSource.destroy();
+    }
+
+    @Test
+    @DisplayName("逐行处理结果并记录执行日志")
+    void execute_StreamsRowsAndLogs() {
+        // Given
+        ReportQuery query = query("SELECT id, amount FROM sales ORDER BY id", Duration.ofSeconds(5));
+
+        // When
+        long rows = reportExecutionService.execute(query, rs -> {
+            long count = 0;
+            while (rs.next()) {
+                count++;
+            }
+            return count;
+        });
+
+        // Then
+        assertEquals(25, rows);
+        ArgumentCaptor<ExecutionLogEntry> captor = ArgumentCaptor.forClass(ExecutionLogEntry.class);
+        verify(executionLogWriter).append(captor.capture());
+        assertTrue(captor.getValue().success());
+        assertEquals(25, captor.getValue().rowCount());
+        assertEquals(7L, captor.getValue().userId());
+    }
+
+    @Test
+    @DisplayName("超过查询超时时间时中断查询")
+    void execute_Timeout() {
+        // Given
+        ReportQuery query = query(ENDLESS_SQL, Duration.ofMillis(200));
+
+        // When & Then
+        long start = System.nanoTime();
+        assertThrows(QueryTimeoutException.class, () -> reportExecutionService.execute(query, rs -> {
+            rs.next();
+            return 1;
+        }));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toSeconds() < 5);
+        assertEquals(1, meterRegistry.counter("gct.report.execution.timeout").count());
+        ArgumentCaptor<ExecutionLogEntry> captor = ArgumentCaptor.forClass(ExecutionLogEntry.class);
+        verify(executionLogWriter).append(captor.capture());
+        assertFalse(captor.getValue().success());
+
+        // 连接被中断后仍可继续使用
+        assertEquals(25, reportExecutionService.execute(query("SELECT id FROM sales", null), rs -> {
+            long count = 0;
+            while (rs.next()) {
+                count++;
+            }
+            return count;
+        }));
+    }
+
+    @Test
+    @DisplayName("客户端断开时取消查询")
+    void execute_ClientAborted() {
+        // Given
+        ReportQuery query = query("SELECT id FROM sales", Duration.ofSeconds(5));
+
+        // When & Then
+        assertThrows(QueryCancelledException.class, () -> reportExecutionService.execute(query, rs -> {
+            throw new IOException("Broken pipe");
+        }));
+        assertTrue(query.getCancellation().isCancelled());
+        assertEquals(1, meterRegistry.counter("gct.report.execution.cancelled").count());
+    }
+
+    @Test
+    @DisplayName("提前取消的查询不再执行")
+    void execute_CancelledBeforeStart() {
+        // Given
+        ReportQuery query = query(ENDLESS_SQL, Duration.ofMinutes(1));
+        query.getCancellation().cancel(QueryCancellation.Reason.CLIENT_ABORTED);
+
+        // When & Then
+        assertThrows(QueryCancelledException.class, () -> reportExecutionService.execute(query, rs -> {
+            rs.next();
+            return 1;
+        }));
+    }
+
+    @Test
+    @DisplayName("SQL错误转换为业务异常")
+    void execute_SqlError() {
+        // Given
+        ReportQuery query = query("SELECT * FROM missing_table", null);
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> reportExecutionService.execute(query, rs -> 0));
+        assertEquals("QUERY_FAILED", exception.getCode());
+    }
+
+    @Test
+    @DisplayName("结果处理器抛出业务异常时原样抛出并记录执行日志")
+    void execute_HandlerFailureLogged() {
+        // Given
+        ReportQuery query = query("SELECT id FROM sales", Duration.ofSeconds(5));
+        BusinessException failure = new BusinessException("EXPORT_FAILED", "导出失败");
+
+        // When
+        BusinessException thrown = assertThrows(BusinessException.class,
+                () -> reportExecutionService.execute(query, rs -> {
+                    throw failure;
+                }));
+
+        // Then
+        assertSame(failure, thrown);
+        ArgumentCaptor<ExecutionLogEntry> captor = ArgumentCaptor.forClass(ExecutionLogEntry.class);
+        verify(executionLogWriter).append(captor.capture());
+        assertFalse(captor.getValue().success());
+        assertEquals("导出失败", captor.getValue().errorMessage());
+        assertTrue(captor.getValue().durationMs() >= 0);
+    }
+
+    @Test
+    @DisplayName("按执行计划绑定参数并记录参数")
+    void execute_BindsParams() {
+        // Given
+        Report report = report("SELECT id FROM sales WHERE amount >= :minAmount AND id <> :skip");
+        ReportPlan plan = ReportPlanCompiler.compile(report, List.of(
+                param("minAmount", ReportParam.ParamType.NUMBER), param("skip", ReportParam.ParamType.NUMBER)));
+        ReportQuery query = ReportQuery.builder()
+                .report(report)
+                .plan(plan)
+                .params(plan.normalize(Map.of("minAmount", "200", "skip", "25")))
+                .userId(7L)
+                .build();
+
+        // When
+        long rows = reportExecutionService.execute(query, rs -> {
+            long count = 0;
+            while (rs.next()) {
+                count++;
+            }
+            return count;
+        });
+
+        // Then
+        assertEquals(5, rows);
+        ArgumentCaptor<ExecutionLogEntry> captor = ArgumentCaptor.forClass(ExecutionLogEntry.class);
+        verify(executionLogWriter).append(captor.capture());
+        assertEquals("{\"minAmount\":200,\"skip\":25}", captor.getValue().paramsJson());
+    }
+
+    @Test
+    @DisplayName("用户达到并发上限时拒绝执行，执行结束（含失败）后归还名额")
+    void execute_AdmissionControl() {
+        // Given
+        executionProperties.getAdmission().getUserLimits().put(User.UserRole.VIEWER, 1);
+        ReportQuery query = query("SELECT id FROM sales", null);
+
+        // When
+        TooManyRequestsException rejected = assertThrows(TooManyRequestsException.class,
+                () -> reportExecutionService.execute(query, rs -> reportExecutionService.execute(query, inner -> 0)));
+        assertThrows(BusinessException.class,
+                () -> reportExecutionService.execute(query("SELECT * FROM missing_table", null), rs -> 0));
+        long rows = reportExecutionService.execute(query, rs -> 1);
+
+        // Then
+        assertEquals("EXECUTION_USER_LIMIT", rejected.getCode());
+        assertEquals(1, rows);
+        assertEquals(1, meterRegistry.get("gct.report.admission.rejected").tag("reason", "user")
+                .counter().count());
+        assertEquals(3, meterRegistry.get("gct.report.admission.wait").tag("result", "admitted")
+                .timer().count());
+    }
+
+    private ReportQuery query(String sql, Duration timeout) {
+        Report report = report(sql);
+        return ReportQuery.builder()
+                .report(report)
+                .plan(ReportPlanCompiler.compile(report, List.of()))
+                .userId(7L)
+                .timeout(timeout)
+                .build();
+    }
+
+    private static Report report(String sql) {
+        Report report = new Report();
+        report.setId(1L);
+        report.setName("销售");
+        report.setSqlContent(sql);
+        return report;
+    }
+
+    private static ReportParam param(String name, ReportParam.ParamType type) {
+        return ReportParam.builder().reportId(1L).paramName(name).paramType(type).required(true).build();
+    }
+}
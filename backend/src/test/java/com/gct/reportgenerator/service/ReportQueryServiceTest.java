@@ -0,0 +1,191 @@
+package com.gct.reportgenerator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gct.reportgenerator.cache.ReportDefinitionCache;
+import com.gct.reportgenerator.cache.ReportExecutionCoalescer;
+import com.gct.reportgenerator.cache.ReportResultCache;
+import com.gct.reportgenerator.config.ExecutionProperties;
+import com.gct.reportgenerator.config.ReportCacheProperties;
+import com.gct.reportgenerator.dto.ReportPage;
+import com.gct.reportgenerator.dto.ReportPageRequest;
+import com.gct.reportgenerator.entity.Report;
+import com.gct.reportgenerator.entity.ReportParam;
+import com.gct.reportgenerator.entity.User;
+import com.gct.reportgenerator.event.ReportChangedEvent;
+import com.gct.reportgenerator.exception.BusinessException;
+import com.gct.reportgenerator.exception.ResourceNotFoundException;
+import com.gct.reportgenerator.execution.PageToken;
+import com.gct.reportgenerator.execution.ReportDefinition;
+import com.gct.reportgenerator.execution.ReportPlanCompiler;
+import com.gct.reportgenerator.execution.ReportQuery;
+import com.gct.reportgenerator.execution.ReportResult;
+import com.gct.reportgenerator.execution.RowStreamHandler;
+import com.gct.reportgenerator.format.FormatContext;
+import com.gct.reportgenerator.format.ReportFormatter;
+import com.gct.reportgenerator.security.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * ReportQueryService单元测试
+ * 
+ * @author GCT Reporter
+ * @since 1.0.0
+ */
+@DisplayName("报表在线查询服务单元测试")
+class ReportQueryServiceTest {
+
+    private static final AuthenticatedUser VIEWER =
+            new AuthenticatedUser(7L, "viewer", User.UserRole.VIEWER, 0L, Long.MAX_VALUE, 1L);
+
+    private ReportDefinitionCache reportDefinitionCache;
+    private ReportExecutionService reportExecutionService;
+    private ReportResultCache reportResultCache;
+    private ReportQueryService reportQueryService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        reportDefinitionCache = mock(ReportDefinitionCache.class);
+        reportExecutionService = mock(ReportExecutionService.class);
+        reportResultCache = new ReportResultCache(new ReportCacheProperties(), new SimpleMeterRegistry());
+        reportQueryService = new ReportQueryService(reportDefinitionCache, reportResultCache,
+                new ReportExecutionCoalescer(new SimpleMeterRegistry()), reportExecutionService,
+                new ExecutionProperties(), new ObjectMapper());
+
+        ResultSet rs = mock(ResultSet.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(rs.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(metaData.getColumnLabel(1)).thenReturn("total");
+        when(reportExecutionService.execute(any(), any())).thenAnswer(invocation ->
+                invocation.<RowStreamHandler>getArgument(1).handle(rs));
+    }
+
+    @Test
+    @DisplayName("重复查询命中缓存，不再执行SQL")
+    void execute_RepeatedQueryServedFromCache() {
+        // Given
+        when(reportDefinitionCache.findPermitted(1L, User.UserRole.VIEWER)).thenReturn(Optional.of(definition(1)));
+
+        // When
+        ReportResult first = reportQueryService.execute(1L, Map.of("minAmount", "100"), VIEWER);
+        ReportResult second = reportQueryService.execute(1L, Map.of("minAmount", "100.0"), VIEWER);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(List.of("total"), first.columnNames());
+        ArgumentCaptor<ReportQuery> captor = ArgumentCaptor.forClass(ReportQuery.class);
+        verify(reportExecutionService, times(1)).execute(captor.capture(), any());
+        assertEquals(7L, captor.getValue().getUserId());
+        assertEquals(1, captor.getValue().getParams().size());
+    }
+
+    @Test
+    @DisplayName("报表变更后重新执行")
+    void execute_ReExecutesAfterReportChanged() {
+        // Given
+        when(reportDefinitionCache.findPermitted(1L, User.UserRole.VIEWER)).thenReturn(Optional.of(definition(1)));
+        reportQueryService.execute(1L, Map.of(), VIEWER);
+
+        // When
+        reportResultCache.onReportChanged(new ReportChangedEvent(1L));
+        reportQueryService.execute(1L, Map.of(), VIEWER);
+
+        // Then
+        verify(reportExecutionService, times(2)).execute(any(), any());
+    }
+
+    @Test
+    @DisplayName("报表不存在或无权访问")
+    void execute_ReportNotFound() {
+        // Given
+        when(reportDefinitionCache.findPermitted(99L, User.UserRole.VIEWER)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> reportQueryService.execute(99L, Map.of(), VIEWER));
+        verify(reportExecutionService, never()).execute(any(), any());
+    }
+
+    @Test
+    @DisplayName("分页查询执行keyset语句，最后一页不返回续页令牌")
+    void executePage_FirstPage() {
+        // Given
+        when(reportDefinitionCache.findPermitted(1L, User.UserRole.VIEWER))
+                .thenReturn(Optional.of(definition(1, "total")));
+
+        // When
+        ReportPage page = reportQueryService.executePage(1L,
+                ReportPageRequest.builder().pageSize(20).build(), VIEWER);
+
+        // Then
+        assertNull(page.nextPageToken());
+        assertNull(page.estimatedTotal());
+        ArgumentCaptor<ReportQuery> captor = ArgumentCaptor.forClass(ReportQuery.class);
+        verify(reportExecutionService).execute(captor.capture(), any());
+        assertEquals(21, captor.getValue().getKeyset().maxRows());
+        assertTrue(captor.getValue().getKeyset().sql().endsWith("ORDER BY total ASC"));
+    }
+
+    @Test
+    @DisplayName("未配置分页键、每页行数超出范围或续页令牌与参数不匹配时拒绝分页查询")
+    void executePage_Rejected() {
+        // Given
+        when(reportDefinitionCache.findPermitted(1L, User.UserRole.VIEWER)).thenReturn(Optional.of(definition(1)));
+        when(reportDefinitionCache.findPermitted(2L, User.UserRole.VIEWER))
+                .thenReturn(Optional.of(definition(1, "total")));
+        ReportDefinition pageable = definition(1, "total");
+        String token = new PageToken(1L, pageable.plan().keyset().fingerprint(), Map.of().hashCode(),
+                new Object[]{10L}, null).encode();
+
+        // When & Then
+        assertEquals("PAGINATION_UNSUPPORTED", assertThrows(BusinessException.class,
+                () -> reportQueryService.executePage(1L, new ReportPageRequest(), VIEWER)).getCode());
+        assertEquals("PAGE_SIZE_INVALID", assertThrows(BusinessException.class,
+                () -> reportQueryService.executePage(2L,
+                        ReportPageRequest.builder().pageSize(100_000).build(), VIEWER)).getCode());
+        assertEquals("PAGE_TOKEN_INVALID", assertThrows(BusinessException.class,
+                () -> reportQueryService.executePage(2L,
+                        ReportPageRequest.builder().pageToken(token).build(), VIEWER)).getCode());
+        verify(reportExecutionService, never()).execute(any(), any());
+    }
+
+    private static ReportDefinition definition(long revision) {
+        return definition(revision, null);
+    }
+
+    private static ReportDefinition definition(long revision, String pageKey) {
+        Report report = Report.builder()
+                .id(1L)
+                .name("销售汇总")
+                .sqlContent("SELECT sum(amount) AS total FROM sales")
+                .pageKey(pageKey)
+                .updatedAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .build();
+        ReportParam param = ReportParam.builder()
+                .reportId(1L)
+                .paramName("minAmount")
+                .paramType(ReportParam.ParamType.NUMBER)
+                .required(false)
+                .build();
+        return new ReportDefinition(report, List.of(param), List.of(), Set.of(),
+                ReportPlanCompiler.compile(report, List.of(param)), null,
+                ReportFormatter.compile(List.of(), FormatContext.of(ZoneOffset.UTC, Locale.ROOT)), revision);
+    }
+}